@@ -17,6 +17,8 @@ package com.vittoriopiotti.pathgraph.app;
 
 
 
+import com.vittoriopiotti.pathgraph.graph.AllPairsShortestPaths;
+import com.vittoriopiotti.pathgraph.graph.ReachabilityOracle;
 import com.vittoriopiotti.pathgraph.graphview.*;
 import javafx.animation.*;
 import javafx.application.Platform;
@@ -34,6 +36,7 @@ import javafx.scene.shape.Rectangle;
 import javafx.stage.Window;
 import javafx.util.Duration;
 import java.io.File;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -208,6 +211,17 @@ public class PathGraph extends Pane {
         return graphView.isDoubleEdge(v1,v2);
     }
 
+    /**
+     * Checks if the edge between two nodes identified by their ids is a double edge.
+     *
+     * @param v1 the id of the start node of the edge to check.
+     * @param v2 the id of the end node of the edge to check.
+     * @return true if the edge is a double edge, false otherwise.
+     */
+    public boolean isDoubleEdge(int v1, int v2){
+        return graphView.isDoubleEdge(v1,v2);
+    }
+
 
     /**
      * Checks if the specified edge is bidirectional.
@@ -248,6 +262,15 @@ public class PathGraph extends Pane {
         return graphView.getNewRandomNodeLabel();
     }
 
+    /**
+     * Retrieves a free label for creating a new node in the graph, with no limit on the number of nodes.
+     *
+     * @return the label for a new node, from "A" to "Z" and then "AA", "AB" and so on.
+     */
+    public String getNewNodeLabel() {
+        return graphView.getNewNodeLabel();
+    }
+
     /**
      * Retrieves a random character label from existing node labels.
      *
@@ -293,6 +316,16 @@ public class PathGraph extends Pane {
         return graphView.disabledConnectionsWithNode(param);
     }
 
+    /**
+     * Disables all connections (edges) associated with the node with the given id.
+     *
+     * @param id the id of the node whose connections are to be disabled.
+     * @return true if the connections were successfully disabled, false otherwise.
+     */
+    public boolean disabledConnectionsWithNode(int id){
+        return graphView.disabledConnectionsWithNode(id);
+    }
+
     /**
      * Checks if the connections with the specified node, based on the given node DTO, are disabled.
      *
@@ -354,6 +387,46 @@ public class PathGraph extends Pane {
         return graphView.isExistNode(v);
     }
 
+    /**
+     * Checks if a node with the given id exists in the graph.
+     *
+     * @param id the id of the node to check.
+     * @return true if the node exists, false otherwise.
+     */
+    public boolean isExistNode(int id){
+        return graphView.isExistNode(id);
+    }
+
+    /**
+     * Returns the id of the node with the given label.
+     *
+     * @param label the label of the node.
+     * @return the id of the node, or -1 if no node has this label.
+     */
+    public int getNodeId(String label){
+        return graphView.getNodeId(label);
+    }
+
+    /**
+     * Returns the id of the node with the given label.
+     *
+     * @param label the label of the node.
+     * @return the id of the node, or -1 if no node has this label.
+     */
+    public int getNodeId(char label){
+        return graphView.getNodeId(label);
+    }
+
+    /**
+     * Returns the label of the node with the given id.
+     *
+     * @param id the id of the node.
+     * @return the label of the node, or null if no node has this id.
+     */
+    public String getNodeLabel(int id){
+        return graphView.getNodeLabel(id);
+    }
+
 
 
 
@@ -381,6 +454,17 @@ public class PathGraph extends Pane {
         return graphView.isExistEdge(v1,v2);
     }
 
+    /**
+     * Checks if an edge exists between two vertices identified by their ids.
+     *
+     * @param v1 the id of the first vertex.
+     * @param v2 the id of the second vertex.
+     * @return true if the edge exists, false otherwise.
+     */
+    public boolean isExistEdge(int v1,int v2){
+        return graphView.isExistEdge(v1,v2);
+    }
+
 
 
     /**
@@ -454,6 +538,17 @@ public class PathGraph extends Pane {
         return graphView.splitEdge(v1,v2);
     }
 
+    /**
+     * Splits the edge between two vertices identified by their ids.
+     *
+     * @param v1 the id of the first vertex.
+     * @param v2 the id of the second vertex.
+     * @return true if the edge was successfully split, false otherwise.
+     */
+    public boolean splitEdge (int v1,int v2){
+        return graphView.splitEdge(v1,v2);
+    }
+
 
     /**
      * Splits the edge between the specified starting and ending nodes.
@@ -490,6 +585,17 @@ public class PathGraph extends Pane {
         return graphView.deleteEdge(start,end);
     }
 
+    /**
+     * Deletes the edge between two vertices identified by their ids.
+     *
+     * @param start the id of the first vertex.
+     * @param end the id of the second vertex.
+     * @return true if the edge was successfully deleted, false otherwise.
+     */
+    public boolean deleteEdge (int start, int end){
+        return graphView.deleteEdge(start,end);
+    }
+
 
     /**
      * Deletes the edge between two vertices from the graph.
@@ -681,6 +787,38 @@ public class PathGraph extends Pane {
         return  graphView.getConnectableNodes(label);
     }
 
+    /**
+     * Checks whether two nodes are in the same connected component, ignoring the direction of the edges.
+     *
+     * @param start the label of the first node
+     * @param end the label of the second node
+     * @return true if a chain of edges joins the two nodes
+     */
+    public boolean isSameComponent(char start, char end){
+        return graphView.isSameComponent(start, end);
+    }
+
+    /**
+     * Checks whether two nodes can reach each other following the direction of the edges.
+     *
+     * @param start the label of the first node
+     * @param end the label of the second node
+     * @return true if the two nodes are in the same strongly connected component
+     */
+    public boolean isStronglyConnected(char start, char end){
+        return graphView.isStronglyConnected(start, end);
+    }
+
+    /**
+     * Returns the id of the connected component of a node, ignoring the direction of the edges.
+     *
+     * @param label the label of the node
+     * @return the id of the component, or -1 if the node does not exist
+     */
+    public int getComponentId(char label){
+        return graphView.getComponentId(label);
+    }
+
     /**
      * Retrieves a list of edges that are connected to the specified node defined by its label.
      *
@@ -719,6 +857,17 @@ public class PathGraph extends Pane {
         return graphView.rotateEdge(v1,v2);
     }
 
+    /**
+     * Rotates the edge between two vertices identified by their ids.
+     *
+     * @param v1 the id of the first vertex.
+     * @param v2 the id of the second vertex.
+     * @return true if the edge was successfully rotated, false otherwise.
+     */
+    public boolean rotateEdge(int v1,int v2){
+        return graphView.rotateEdge(v1,v2);
+    }
+
 
 
 
@@ -795,6 +944,18 @@ public class PathGraph extends Pane {
         return graphView.setCost(start,end,cost);
     }
 
+    /**
+     * Sets the cost of the edge between two vertices identified by their ids.
+     *
+     * @param start id of the start node of the edge.
+     * @param end id of the end node of the edge.
+     * @param cost the new cost value for the edge.
+     * @return true if the edge was successfully renamed, false otherwise.
+     */
+    public boolean setCost(int start, int end,int cost){
+        return graphView.setCost(start,end,cost);
+    }
+
 
     /**
      * Sets the cost of the edge specified by the given {@link EdgeDTO}.
@@ -985,9 +1146,9 @@ public class PathGraph extends Pane {
      * Retrieves a connectable node from the graph based on the specified starting {@link NodeDTO}.
      *
      * @param node the {@link NodeDTO} representing the starting node
-     * @return the label of the connectable node
+     * @return the label of the connectable node, or null if no connectable node is found
      */
-    public char getConnectableNode(NodeDTO node){
+    public String getConnectableNode(NodeDTO node){
         return graphView.getConnectableNode(node);
     }
 
@@ -1015,6 +1176,26 @@ public class PathGraph extends Pane {
     public boolean newNode(char v){
         return graphView.newNode(v);
     }
+    /**
+     * Creates a new node with the given label.
+     *
+     * @param label the label of the new node.
+     * @return true if the node was successfully created, false if the label is empty or is already used.
+     */
+    public boolean newNode(String label){
+        return graphView.newNode(label);
+    }
+    /**
+     * Creates a new node at the specified coordinates with the given label.
+     *
+     * @param x the x-coordinate for the new node.
+     * @param y the y-coordinate for the new node.
+     * @param label the label of the new node.
+     * @return true if the node was successfully created, false if the label is empty or is already used.
+     */
+    public boolean newNode(double x, double y, String label){
+        return graphView.newNode(x, y, label);
+    }
     /**
      * Creates a new node with a random label in the graph.
      *
@@ -1048,6 +1229,16 @@ public class PathGraph extends Pane {
         return graphView.deleteNode(v);
     }
 
+    /**
+     * Deletes the node with the specified id from the graph.
+     *
+     * @param id the id of the node to delete.
+     * @return true if the node was successfully deleted, false otherwise.
+     */
+    public boolean deleteNode (int id){
+        return graphView.deleteNode(id);
+    }
+
     /**
      * Deletes the specified node from the graph based on the given node DTO.
      *
@@ -1073,6 +1264,17 @@ public class PathGraph extends Pane {
         return graphView.renameNode(v1,v2);
     }
 
+    /**
+     * Renames the node with the given id.
+     *
+     * @param id the id of the node.
+     * @param newLabel the new label to assign to the node.
+     * @return true if the node was successfully renamed, false otherwise.
+     */
+    public boolean renameNode(int id, String newLabel){
+        return graphView.renameNode(id,newLabel);
+    }
+
 
 
     /**
@@ -1156,6 +1358,45 @@ public class PathGraph extends Pane {
     public boolean newEdge(char start, char end,int cost,boolean isArrowed) {
         return graphView.newEdge(start, end,cost, isArrowed);
     }
+
+    /**
+     * Creates a new edge between two existing nodes identified by their ids.
+     *
+     * @param start the id of the starting node
+     * @param end the id of the ending node
+     * @param cost the cost of the edge
+     * @param isArrowed true if the edge should have an arrow, false otherwise
+     * @return true if the edge was successfully created, false otherwise
+     */
+    public boolean newEdge(int start, int end,int cost,boolean isArrowed) {
+        return graphView.newEdge(start, end,cost, isArrowed);
+    }
+
+    /**
+     * Creates a new edge between two existing nodes identified by their ids with the given cost and direction.
+     *
+     * @param start the id of the first node
+     * @param end the id of the second node
+     * @param cost the cost of the edge
+     * @param direction the direction of the edge
+     * @return true if the edge was successfully created, false otherwise
+     */
+    public boolean newEdge(int start, int end,int cost,int direction) {
+        return graphView.newEdge(start, end, cost, direction);
+    }
+
+    /**
+     * Creates a new edge between two nodes specified by their labels, creating the nodes that do not exist yet.
+     *
+     * @param start the label of the first node
+     * @param end the label of the second node
+     * @param cost the cost of the edge
+     * @param isArrowed true if the edge should have an arrow, false otherwise
+     * @return true if the edge was successfully created, false otherwise
+     */
+    public boolean newEdge(String start, String end,int cost,boolean isArrowed) {
+        return graphView.newEdge(start, end, cost, isArrowed);
+    }
     /**
      * Creates a new random edge from the start node to a connectable node with the given cost and direction.
      *
@@ -1258,6 +1499,14 @@ public class PathGraph extends Pane {
      */
     public boolean isActiveNode(char label){return graphView.isActiveNode(label);}
 
+    /**
+     * Checks if the node with the given id is currently active.
+     *
+     * @param id the id of the node to check.
+     * @return true if the node is active, false otherwise.
+     */
+    public boolean isActiveNode(int id){return graphView.isActiveNode(id);}
+
 
     /**
      * Checks if the specified node is active in the graph.
@@ -1319,7 +1568,7 @@ public class PathGraph extends Pane {
     /**
      * Sets a callback to be executed when an edge in the graph is clicked.
      *
-     * @param onClickEdge a  {@link EdgeCallback} that accepts a MouseEvent and two Characters (the source and target nodes of the clicked edge).
+     * @param onClickEdge a  {@link EdgeCallback} that accepts a MouseEvent and the labels of the source and target nodes of the clicked edge.
      */
     public void setEdgeCallback(EdgeCallback onClickEdge) {
         graphView.setEdgeCallback(onClickEdge);
@@ -1329,7 +1578,7 @@ public class PathGraph extends Pane {
     /**
      * Sets a callback to be executed when a node in the graph is clicked.
      *
-     * @param onClickNode a {@link NodeCallback} that accepts a MouseEvent and a Character (the clicked node).
+     * @param onClickNode a {@link NodeCallback} that accepts a MouseEvent and the label of the clicked node.
      */
     public void setNodeCallback(NodeCallback onClickNode) {
         graphView.setNodeCallback(onClickNode);
@@ -1356,6 +1605,15 @@ public class PathGraph extends Pane {
         update();
     }
 
+    /**
+     * Sets a callback to be executed when an edit cannot be written to the journal, which is then turned off.
+     *
+     * @param onJournalError a {@link GenericCallback} that accepts the exception raised by the journal.
+     */
+    public void setJournalErrorCallback(GenericCallback onJournalError) {
+        graphView.setJournalErrorCallback(onJournalError);
+    }
+
     /**
      * Initializes and sets up the graph asynchronously, running it on the JavaFX thread.
      *
@@ -1393,6 +1651,17 @@ public class PathGraph extends Pane {
         return graphView.downloadJSON(file);
     }
 
+    /**
+     * Downloads the graph data to a specified JSON file, optionally without indentation.
+     *
+     * @param file the file to which the graph data will be written
+     * @param compact true to drop the indentation whitespace
+     * @return a status code indicating the result of the operation
+     */
+    public int downloadJSON(File file, boolean compact){
+        return graphView.downloadJSON(file, compact);
+    }
+
     /**
      * Clears the entire graph asynchronously.
      *
@@ -1434,6 +1703,109 @@ public class PathGraph extends Pane {
         return graphView.uploadJSON(file);
     }
 
+    /**
+     * Uploads a graph saved in the compact binary format.
+     *
+     * @param file the binary file to upload
+     * @return an integer representing the status of the upload (e.g., success or failure).
+     */
+    public int uploadBinary(File file){
+        return graphView.uploadBinary(file);
+    }
+
+    /**
+     * Uploads a JSON file to set the graph data on a background thread, reporting the progress and
+     * supporting cancellation through the returned future.
+     *
+     * @param file     the JSON file to upload
+     * @param progress the callback told the fraction of the file read; can be null
+     * @return a CompletableFuture that completes with the status of the upload (e.g., success or failure).
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Integer> uploadJSONAsync(File file, ProgressCallback progress){
+        return graphView.uploadJSONAsync(file, progress);
+    }
+
+    /**
+     * Downloads the graph data in JSON format on a background thread, reporting the progress and
+     * supporting cancellation through the returned future.
+     *
+     * @param file     the file where the graph data will be saved
+     * @param compact  true to drop the indentation whitespace
+     * @param progress the callback told the fraction of the graph written; can be null
+     * @return a CompletableFuture that completes with the status of the download (e.g., success or failure).
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Integer> downloadJSONAsync(File file, boolean compact, ProgressCallback progress){
+        return graphView.downloadJSONAsync(file, compact, progress);
+    }
+
+    /**
+     * Uploads a graph saved in the compact binary format, allowing the user to select the file using a window prompt.
+     *
+     * @param window the window used for file selection.
+     * @return an integer representing the status of the upload (e.g., success or failure).
+     */
+    public int uploadBinary(Window window){
+        return graphView.uploadBinary(window);
+    }
+
+    /**
+     * Downloads the graph in the compact binary format, saving it to the specified file.
+     *
+     * @param file the file where the graph will be saved.
+     * @return an integer representing the status of the download (e.g., success or failure).
+     */
+    public int downloadBinary(File file){
+        return graphView.downloadBinary(file);
+    }
+
+    /**
+     * Downloads the graph in the compact binary format, allowing the user to select the destination using a window prompt.
+     *
+     * @param window the window used for file selection.
+     * @return an integer representing the status of the download (e.g., success or failure).
+     */
+    public int downloadBinary(Window window){
+        return graphView.downloadBinary(window);
+    }
+
+    /**
+     * Turns on the journaling of the edits to a file, restoring the graph saved in it.
+     *
+     * @param file              the journal file, created if it does not exist
+     * @param groupCommitMillis the longest delay in milliseconds before an edit reaches the disk, or 0 to sync after every edit
+     * @return an integer representing the status of the operation (e.g., success or failure).
+     */
+    public int openJournal(File file, long groupCommitMillis){
+        return graphView.openJournal(file, groupCommitMillis);
+    }
+
+    /**
+     * Compacts the journal into a single snapshot of the current graph.
+     *
+     * @return an integer representing the status of the operation (e.g., success or failure).
+     */
+    public int compactJournal(){
+        return graphView.compactJournal();
+    }
+
+    /**
+     * Syncs the pending edits to the disk and turns off the journaling.
+     */
+    public void closeJournal(){
+        graphView.closeJournal();
+    }
+
+    /**
+     * Checks whether the edits are being journaled.
+     *
+     * @return true if a journal is open
+     */
+    public boolean isJournalOpen(){
+        return graphView.isJournalOpen();
+    }
+
     /**
      * Takes a screenshot of the graph, with an option to capture an animated screenshot.
      *
@@ -1476,6 +1848,410 @@ public class PathGraph extends Pane {
         return graphView.showPath(lpn);
     }
 
+    /**
+     * Finds the path with the lowest cost between two nodes, using the path cache of the graph.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @return a copy of the nodes of the path, which the caller is free to modify, or null if no path exists
+     */
+    @SuppressWarnings("unchecked")
+    public List<NodeDTO> findPath(String start, String end){
+        return graphView.findPath(start, end);
+    }
+
+    /**
+     * Finds the path with the lowest cost between two nodes, using the path cache of the graph.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @return a copy of the nodes of the path, which the caller is free to modify, or null if no path exists
+     */
+    @SuppressWarnings("unchecked")
+    public List<NodeDTO> findPath(char start, char end){
+        return graphView.findPath(start, end);
+    }
+
+    /**
+     * Finds the path with the lowest cost between two nodes with a bidirectional search.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @return the nodes of the path, or null if no path exists
+     */
+    @SuppressWarnings("unchecked")
+    public List<NodeDTO> findPathBidirectional(String start, String end){
+        return graphView.findPathBidirectional(start, end);
+    }
+
+    /**
+     * Finds the path with the lowest cost between two nodes with a bidirectional search.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @return the nodes of the path, or null if no path exists
+     */
+    @SuppressWarnings("unchecked")
+    public List<NodeDTO> findPathBidirectional(char start, char end){
+        return graphView.findPathBidirectional(start, end);
+    }
+
+    /**
+     * Finds the paths with the lowest cost of many queries at once, grouping them by starting node and searching in parallel.
+     *
+     * @param queries the starting and ending nodes of each path
+     * @return the path of each query, in the iteration order of <code>queries</code>; null for the queries without a path
+     */
+    @SuppressWarnings("unchecked")
+    public List<List<NodeDTO>> findPaths(Collection<PathQueryDTO> queries){
+        return graphView.findPaths(queries);
+    }
+
+    /**
+     * Finds up to <code>k</code> alternative paths without repeated nodes between two nodes, ordered by increasing cost.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @param k     the maximum number of paths
+     * @return the paths, or an empty list if no path exists
+     */
+    @SuppressWarnings("unchecked")
+    public List<List<NodeDTO>> findKShortestPaths(String start, String end, int k){
+        return graphView.findKShortestPaths(start, end, k);
+    }
+
+    /**
+     * Finds up to <code>k</code> alternative paths without repeated nodes between two nodes, ordered by increasing cost.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @param k     the maximum number of paths
+     * @return the paths, or an empty list if no path exists
+     */
+    @SuppressWarnings("unchecked")
+    public List<List<NodeDTO>> findKShortestPaths(char start, char end, int k){
+        return graphView.findKShortestPaths(start, end, k);
+    }
+
+    /**
+     * Highlights one of the alternative paths between two nodes, 0 being the path with the lowest cost.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @param index the position of the path among the alternatives
+     * @return true if the path exists and was highlighted, false otherwise
+     */
+    public boolean showPath(String start, String end, int index){
+        return graphView.showPath(start, end, index);
+    }
+
+    /**
+     * Highlights one of the alternative paths between two nodes, 0 being the path with the lowest cost.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @param index the position of the path among the alternatives
+     * @return true if the path exists and was highlighted, false otherwise
+     */
+    public boolean showPath(char start, char end, int index){
+        return graphView.showPath(start, end, index);
+    }
+
+    /**
+     * Highlights the path with the lowest cost between two nodes.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @return true if a path exists and was highlighted, false otherwise
+     */
+    public boolean showPath(String start, String end){
+        return graphView.showPath(start, end);
+    }
+
+    /**
+     * Highlights the path with the lowest cost between two nodes.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @return true if a path exists and was highlighted, false otherwise
+     */
+    public boolean showPath(char start, char end){
+        return graphView.showPath(start, end);
+    }
+
+    /**
+     * Finds the path with the lowest cost between two nodes with the A* algorithm, guided by the positions of the nodes
+     * at the last change of the graph.
+     *
+     * @param start       the label of the starting node
+     * @param end         the label of the ending node
+     * @param costPerUnit the minimum cost of a unit of distance, zero for a plain Dijkstra search
+     * @return the nodes of the path, or null if no path exists
+     */
+    @SuppressWarnings("unchecked")
+    public List<NodeDTO> findPathAStar(String start, String end, double costPerUnit){
+        return graphView.findPathAStar(start, end, costPerUnit);
+    }
+
+    /**
+     * Finds the path with the lowest cost between two nodes with the A* algorithm, guided by the positions of the nodes
+     * at the last change of the graph.
+     *
+     * @param start       the label of the starting node
+     * @param end         the label of the ending node
+     * @param costPerUnit the minimum cost of a unit of distance, zero for a plain Dijkstra search
+     * @return the nodes of the path, or null if no path exists
+     */
+    @SuppressWarnings("unchecked")
+    public List<NodeDTO> findPathAStar(char start, char end, double costPerUnit){
+        return graphView.findPathAStar(start, end, costPerUnit);
+    }
+
+    /**
+     * Returns the number of nodes expanded by the last A* search.
+     *
+     * @return the number of expanded nodes
+     */
+    public int getExpandedNodeCount(){
+        return graphView.getExpandedNodeCount();
+    }
+
+    /**
+     * Returns the version of the graph, incremented by every change of its nodes, edges or costs.
+     *
+     * @return the version of the graph
+     */
+    public long getGraphVersion(){
+        return graphView.getGraphVersion();
+    }
+
+    /**
+     * Returns the shortest paths between every pair of nodes, rebuilt only when the graph changes.
+     *
+     * @return the all-pairs shortest paths of the graph
+     */
+    @SuppressWarnings("unchecked")
+    public AllPairsShortestPaths<NodeDTO> getAllPairsShortestPaths(){
+        return graphView.getAllPairsShortestPaths();
+    }
+
+    /**
+     * Returns the transitive closure of the graph, rebuilt only when the graph changes.
+     *
+     * @return the reachability oracle of the graph
+     */
+    @SuppressWarnings("unchecked")
+    public ReachabilityOracle<NodeDTO> getReachabilityOracle(){
+        return graphView.getReachabilityOracle();
+    }
+
+    /**
+     * Checks whether a node can reach another following the direction of the edges.
+     *
+     * @param start the label of the starting node
+     * @param end the label of the ending node
+     * @return true if there is a path from the starting node to the ending node
+     */
+    public boolean isReachable(String start, String end){
+        return graphView.isReachable(start, end);
+    }
+
+    /**
+     * Checks whether a node can reach another following the direction of the edges.
+     *
+     * @param start the label of the starting node
+     * @param end the label of the ending node
+     * @return true if there is a path from the starting node to the ending node
+     */
+    public boolean isReachable(char start, char end){
+        return graphView.isReachable(start, end);
+    }
+
+    /**
+     * Retrieves the nodes that can be reached from a node following the direction of the edges.
+     *
+     * @param label the label of the starting node
+     * @return a list of {@link NodeDTO} representing the reachable nodes
+     */
+    @SuppressWarnings("unchecked")
+    public List<NodeDTO> getReachableNodes(String label){
+        return graphView.getReachableNodes(label);
+    }
+
+    /**
+     * Retrieves the nodes that can be reached from a node following the direction of the edges.
+     *
+     * @param label the label of the starting node
+     * @return a list of {@link NodeDTO} representing the reachable nodes
+     */
+    @SuppressWarnings("unchecked")
+    public List<NodeDTO> getReachableNodes(char label){
+        return graphView.getReachableNodes(label);
+    }
+
+    /**
+     * Builds the contraction hierarchy of the current graph on a background thread.
+     *
+     * @return a future completed with true if the hierarchy is ready for the current graph
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Boolean> buildContractionHierarchy(){
+        return graphView.buildContractionHierarchy();
+    }
+
+    /**
+     * Enables or disables answering the path queries through a contraction hierarchy, rebuilt in the background when the graph changes.
+     *
+     * @param enabled true to use the contraction hierarchy
+     */
+    public void setContractionHierarchyEnabled(boolean enabled){
+        graphView.setContractionHierarchyEnabled(enabled);
+    }
+
+    /**
+     * Checks whether a contraction hierarchy is ready for the current graph.
+     *
+     * @return true if the path queries can use the contraction hierarchy
+     */
+    public boolean isContractionHierarchyReady(){
+        return graphView.isContractionHierarchyReady();
+    }
+
+    /**
+     * Returns the number of path queries answered by the path cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getPathCacheHitCount(){
+        return graphView.getPathCacheHitCount();
+    }
+
+    /**
+     * Returns the number of path queries that had to search the path.
+     *
+     * @return the number of cache misses
+     */
+    public long getPathCacheMissCount(){
+        return graphView.getPathCacheMissCount();
+    }
+
+    /**
+     * Sets the maximum number of paths kept by the path cache.
+     *
+     * @param capacity the maximum number of cached paths
+     */
+    public void setPathCacheCapacity(int capacity){
+        graphView.setPathCacheCapacity(capacity);
+    }
+
+    /**
+     * Pins a node as a source whose shortest paths are kept up to date while the graph is edited.
+     * All the sources are unpinned when an edge gets a negative cost.
+     *
+     * @param label the label of the node to pin
+     * @return true if the node is pinned, false if it does not exist or an edge has a negative cost
+     */
+    public boolean pinSource(String label){
+        return graphView.pinSource(label);
+    }
+
+    /**
+     * Pins a node as a source whose shortest paths are kept up to date while the graph is edited.
+     * All the sources are unpinned when an edge gets a negative cost.
+     *
+     * @param label the label of the node to pin
+     * @return true if the node is pinned, false if it does not exist or an edge has a negative cost
+     */
+    public boolean pinSource(char label){
+        return graphView.pinSource(label);
+    }
+
+    /**
+     * Unpins a source pinned by {@link #pinSource(String)}.
+     *
+     * @param label the label of the pinned node
+     * @return true if the node was pinned
+     */
+    public boolean unpinSource(String label){
+        return graphView.unpinSource(label);
+    }
+
+    /**
+     * Unpins a source pinned by {@link #pinSource(String)}.
+     *
+     * @param label the label of the pinned node
+     * @return true if the node was pinned
+     */
+    public boolean unpinSource(char label){
+        return graphView.unpinSource(label);
+    }
+
+    /**
+     * Checks whether a node is pinned as a source.
+     *
+     * @param label the label of the node
+     * @return true if the node is pinned
+     */
+    public boolean isPinnedSource(String label){
+        return graphView.isPinnedSource(label);
+    }
+
+    /**
+     * Checks whether a node is pinned as a source.
+     *
+     * @param label the label of the node
+     * @return true if the node is pinned
+     */
+    public boolean isPinnedSource(char label){
+        return graphView.isPinnedSource(label);
+    }
+
+    /**
+     * Returns the cost of the shortest path from a pinned source to a node.
+     *
+     * @param source the label of the pinned source
+     * @param target the label of the target node
+     * @return the cost of the path, or -1 if the source is not pinned or the node cannot be reached
+     */
+    public int getPinnedDistance(String source, String target){
+        return graphView.getPinnedDistance(source, target);
+    }
+
+    /**
+     * Returns the cost of the shortest path from a pinned source to a node.
+     *
+     * @param source the label of the pinned source
+     * @param target the label of the target node
+     * @return the cost of the path, or -1 if the source is not pinned or the node cannot be reached
+     */
+    public int getPinnedDistance(char source, char target){
+        return graphView.getPinnedDistance(source, target);
+    }
+
+    /**
+     * Returns the shortest path from a pinned source to a node.
+     *
+     * @param source the label of the pinned source
+     * @param target the label of the target node
+     * @return the nodes of the path, or null if the source is not pinned or no path exists
+     */
+    @SuppressWarnings("unchecked")
+    public List<NodeDTO> getPinnedPath(String source, String target){
+        return graphView.getPinnedPath(source, target);
+    }
+
+    /**
+     * Returns the shortest path from a pinned source to a node.
+     *
+     * @param source the label of the pinned source
+     * @param target the label of the target node
+     * @return the nodes of the path, or null if the source is not pinned or no path exists
+     */
+    @SuppressWarnings("unchecked")
+    public List<NodeDTO> getPinnedPath(char source, char target){
+        return graphView.getPinnedPath(source, target);
+    }
+
 
 
 
@@ -32,8 +32,6 @@ import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 import com.vittoriopiotti.pathgraph.utilities.SvgConstants;
-import com.vittoriopiotti.pathgraph.dto.GraphDTO;
-import com.vittoriopiotti.pathgraph.dto.NodeDTO;
 import com.vittoriopiotti.pathgraph.graph.*;
 import java.util.*;
 import java.util.function.BiConsumer;
@@ -107,12 +105,12 @@ public class PathGraphUI extends PathGraph {
     /**
      * The inbound vertex associated with an edge.
      */
-    private char vertexInbound;
+    private String vertexInbound;
 
     /**
      * The outbound vertex associated with an edge.
      */
-    private char vertexOutbound;
+    private String vertexOutbound;
 
     /**
      * Text field for user input.
@@ -226,19 +224,19 @@ public class PathGraphUI extends PathGraph {
      *
      * @param param The Vertex instance involved in the low-level edge creation.
      */
-    private void _newEdge(char param) {
+    private void _newEdge(String param) {
         hideContextMenu.handle();
         vertexInbound = param;
         @SuppressWarnings("unused")
-        boolean flag = this.disabledConnectionsWithNode(vertexInbound);
+        boolean flag = this.disabledConnectionsWithNode(this.getNodeId(vertexInbound));
         clickNodeAction = WAIT_CLICK;
     }
 
     /**
      * BiConsumer for handling low-level edge creation.
-     * Calls the {@link #_newEdge(char)} method with the parameter.
+     * Calls the {@link #_newEdge(String)} method with the parameter.
      */
-    private final BiConsumer<MouseEvent, Character> lowLevelNewEdge = (event, param) -> _newEdge(param);
+    private final BiConsumer<MouseEvent, String> lowLevelNewEdge = (event, param) -> _newEdge(param);
 
     /**
      * Runnable for creating a high-level edge.
@@ -249,37 +247,37 @@ public class PathGraphUI extends PathGraph {
 
     /**
      * BiConsumer for handling low-level node deletion.
-     * Calls the {@link #_deleteNode(char)} method with the parameter.
+     * Calls the {@link #_deleteNode(String)} method with the parameter.
      */
-    private final BiConsumer<MouseEvent, Character> lowLevelDeleteNode = (event, param) -> _deleteNode(param);
+    private final BiConsumer<MouseEvent, String> lowLevelDeleteNode = (event, param) -> _deleteNode(param);
 
     /**
      * BiConsumer for handling low-level edge deletion.
-     * Calls the {@link #_deleteEdge(char,char)} method with the parameter.
+     * Calls the {@link #_deleteEdge(String,String)} method with the parameter.
      */
     private final EdgeCallback lowLevelDeleteEdge = (event, start, end) -> _deleteEdge(start,end);
 
     /**
      * BiConsumer for handling edge direction changes at a low level.
-     * Calls the {@link #_rotateEdge(char,char)} method with the parameter.
+     * Calls the {@link #_rotateEdge(String,String)} method with the parameter.
      */
     private final EdgeCallback lowLevelRotateEdge = (event, start,end) -> _rotateEdge(start,end);
 
     /**
      * BiConsumer for handling edge splitting at a low level.
-     * Calls the {@link #_splitEdge(char,char)} method with the parameter.
+     * Calls the {@link #_splitEdge(String,String)} method with the parameter.
      */
     private final EdgeCallback lowLevelSplitEdge = (event, start,end) -> _splitEdge( start,end);
 
     /**
      * BiConsumer for handling edge renaming operations.
-     * Calls the {@link #lowLevelEdgeRenameHandler(char,char)} method with the parameter.
+     * Calls the {@link #lowLevelEdgeRenameHandler(String,String)} method with the parameter.
      */
     private final EdgeCallback lowLevelRenameEdgeHandler = (event, start,end) -> lowLevelEdgeRenameHandler(start,end);
 
     /**
      * BiConsumer for handling pre-rename operations for an edge.
-     * Calls the {@link #lowLevelEdgeRenameBefore(char,char)} method with the parameter.
+     * Calls the {@link #lowLevelEdgeRenameBefore(String,String)} method with the parameter.
      */
     private final EdgeCallback lowLevelEdgeRenameBefore = (event, start,end) -> lowLevelEdgeRenameBefore(start,end);
 
@@ -625,9 +623,7 @@ public class PathGraphUI extends PathGraph {
             hideContextMenu.handle();
             clickNodeAction = OPEN_MENU;
             if (startEnd.length() == 2) {
-                GraphDTO g = this.getGraph();
-                List<NodeDTO> lpn = g.findPath(startEnd.charAt(0), startEnd.charAt(1));
-                boolean flag = this.showPath(lpn);
+                boolean flag = this.showPath(startEnd.charAt(0), startEnd.charAt(1));
                 if (flag) {
                     this.setOnMousePressed((MouseEvent event) -> {
                         dragged = false;
@@ -771,7 +767,7 @@ public class PathGraphUI extends PathGraph {
      * @param event The mouse event that triggers this action.
      * @param vertex The vertex associated with the node being clicked.
      */
-    private void setOnClickNode(MouseEvent event,Character vertex) {
+    private void setOnClickNode(MouseEvent event,String vertex) {
         if (clickNodeAction == OPEN_MENU) {
             openNodeMenu(event, vertex);
         } else {
@@ -787,11 +783,11 @@ public class PathGraphUI extends PathGraph {
      * @param start start node of the edge object to be renamed.
      * @param end end node of the edge object to be renamed.
      */
-    private void lowLevelEdgeRenameBefore(char start, char end) {
+    private void lowLevelEdgeRenameBefore(String start, String end) {
         String inputValue = textField.getText();
         if (!inputValue.isEmpty() && Integer.parseInt(inputValue) > 0) {
             @SuppressWarnings("unused")
-            boolean flag = this.setCost(start, end,  Integer.parseInt(inputValue));
+            boolean flag = this.setCost(this.getNodeId(start), this.getNodeId(end),  Integer.parseInt(inputValue));
         }
         hideContextMenu.handle();
     }
@@ -807,7 +803,7 @@ public class PathGraphUI extends PathGraph {
         clickNodeAction = OPEN_MENU;
         hideContextMenu.handle();
         @SuppressWarnings("unused")
-        boolean flag = this.newEdge(vertexOutbound, vertexInbound, Integer.parseInt(textField.getText()), Constants.BIDIRECTIONAL);
+        boolean flag = this.newEdge(this.getNodeId(vertexOutbound), this.getNodeId(vertexInbound), Integer.parseInt(textField.getText()), Constants.BIDIRECTIONAL);
         activeAllNodes();
     }
 
@@ -819,10 +815,10 @@ public class PathGraphUI extends PathGraph {
      * @param event the mouse event that triggered the edge creation.
      * @param vertex the vertex associated with which the new edge is created.
      */
-    private void createNewEdge(MouseEvent event, Character vertex) {
+    private void createNewEdge(MouseEvent event, String vertex) {
         clickNodeAction = OPEN_MENU;
         hideContextMenu.handle();
-        if (this.isActiveNode(vertex)) {
+        if (this.isActiveNode(this.getNodeId(vertex))) {
             vertexOutbound = vertex;
             textField = UtilitiesUI.createTextField("123",true, false, true, 4, 52.5, 5, 0, 0, 5, 1, 0, 1, 1, lowLevelEdgeRanameAfter);
             textField.requestFocus();
@@ -850,7 +846,7 @@ public class PathGraphUI extends PathGraph {
      * @param event the mouse event that triggered the opening of the node menu.
      * @param vertex the vertex for which the menu is opened.
      */
-    private void openNodeMenu(MouseEvent event,Character vertex) {
+    private void openNodeMenu(MouseEvent event,String vertex) {
         if (event.getButton() == MouseButton.SECONDARY || event.getClickCount() == 2) {
             hideContextMenu.handle();
             Button button1 = UtilitiesUI.createButton(SvgConstants.SVG_MINUS,"", Color.RED, 35, 5, 0, 0, 5, 1, 0, 1, 1, lowLevelDeleteNode,  vertex);
@@ -896,7 +892,7 @@ public class PathGraphUI extends PathGraph {
      * @param c1  start node of the edge associated with which the arrow click action is performed.
      * @param c2  end node of the edge associated with which the arrow click action is performed.
      */
-    private void setOnClickArrow(MouseEvent event, char c1, char c2) {
+    private void setOnClickArrow(MouseEvent event, String c1, String c2) {
 
             lastArrowMenuY = event.getScreenY();
             lastArrowMenuX = event.getScreenX();
@@ -914,7 +910,7 @@ public class PathGraphUI extends PathGraph {
                         new CornerRadii(5), Insets.EMPTY)));
                 buttonBoxTop.setBorder(Border.EMPTY);
                 HBox buttonBoxBottom = new HBox(0);
-                if (this.isDoubleEdge(c1, c2)) {// TAG IMPORTANT CORREGGI QUI CON MODIFICA CALLBACK
+                if (this.isDoubleEdge(this.getNodeId(c1), this.getNodeId(c2))) {// TAG IMPORTANT CORREGGI QUI CON MODIFICA CALLBACK
                     Button button3 = UtilitiesUI.createButton(SvgConstants.SVG_ARROW_REPEAT, "", Color.BLACK, 70, 0, 0, 5, 5, 0, 1, 1, 1, lowLevelRotateEdge, c1, c2);
                     buttonBoxBottom.getChildren().add(button3);
                     buttonBoxBottom.setPadding(Insets.EMPTY);
@@ -953,7 +949,7 @@ public class PathGraphUI extends PathGraph {
      * @param event the mouse event containing the click coordinates
      */
     private void newNode(MouseEvent event) {
-        char newNodeLabel = this.getNewRandomNodeLabel();
+        String newNodeLabel = this.getNewNodeLabel();
         hideContextMenu.handle();
         @SuppressWarnings("unused")
         boolean flag = this.newNode(event.getX(), event.getY(), newNodeLabel);
@@ -1164,9 +1160,9 @@ public class PathGraphUI extends PathGraph {
      *
      * @param param The Vertex instance representing the node to be deleted.
      */
-    private void _deleteNode( char param) {
+    private void _deleteNode( String param) {
         @SuppressWarnings("unused")
-            boolean flag = this.deleteNode(param);
+            boolean flag = this.deleteNode(this.getNodeId(param));
             hideContextMenu.handle();
     }
 
@@ -1177,14 +1173,16 @@ public class PathGraphUI extends PathGraph {
      * @param start start node of the edge to delete.
      * @param end end node of the edge to delete.
      */
-    private void _deleteEdge(char start, char end) {
+    private void _deleteEdge(String start, String end) {
+        int v1 = this.getNodeId(start);
+        int v2 = this.getNodeId(end);
         if(
-            this.isExistNode(start) &&
-            this.isExistNode(end) &&
-            this.isExistEdge(start,end)
+            this.isExistNode(v1) &&
+            this.isExistNode(v2) &&
+            this.isExistEdge(v1,v2)
         ) {
             @SuppressWarnings("unused")
-            boolean flag = this.deleteEdge(start, end);
+            boolean flag = this.deleteEdge(v1, v2);
             hideContextMenu.handle();
         }
 
@@ -1196,9 +1194,9 @@ public class PathGraphUI extends PathGraph {
      * @param start start node of the edge to rotate.
      * @param end end node of the edge to rotate.
      */
-    private void _rotateEdge( char start, char end) {
+    private void _rotateEdge( String start, String end) {
         @SuppressWarnings("unused")
-        boolean flag = this.rotateEdge(start,end);
+        boolean flag = this.rotateEdge(this.getNodeId(start),this.getNodeId(end));
         hideContextMenu.handle();
 
     }
@@ -1209,9 +1207,9 @@ public class PathGraphUI extends PathGraph {
      * @param start start node of the edge to split.
      * @param end end node of the edge to split.
      */
-    private void _splitEdge(char start, char end) {
+    private void _splitEdge(String start, String end) {
         @SuppressWarnings("unused")
-        boolean flag = this.splitEdge(start,end);
+        boolean flag = this.splitEdge(this.getNodeId(start),this.getNodeId(end));
         hideContextMenu.handle();
     }
 
@@ -1222,7 +1220,7 @@ public class PathGraphUI extends PathGraph {
      * @param start start node of the Edge instance to be renamed.
      * @param end end node of the Edge instance to be renamed.
      */
-    private void lowLevelEdgeRenameHandler( char start, char end) {
+    private void lowLevelEdgeRenameHandler( String start, String end) {
             hideContextMenu.handle();
             textField = UtilitiesUI.createTextField("123",true, false, true, 4, 52.5, 5, 0, 0, 5, 1, 0, 1, 1,lowLevelEdgeRenameBefore,start,end);
             textField.requestFocus();
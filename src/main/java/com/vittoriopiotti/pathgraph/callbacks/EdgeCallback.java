@@ -3,7 +3,7 @@ package com.vittoriopiotti.pathgraph.callbacks;
 import javafx.scene.input.MouseEvent;
 
 /**
- * A callback interface for handling edge events with mouse and characters.
+ * A callback interface for handling edge events with mouse and node labels.
  *
  * @author vittoriopiotti
  */
@@ -11,8 +11,8 @@ public interface EdgeCallback extends GenericCallback {
 
     @Override
     default void handle(Object... params) {
-        if (params.length == 3 &&  (params[0] == null || params[0] instanceof MouseEvent ) && params[1] instanceof Character && params[2] instanceof Character) {
-            handle((MouseEvent) params[0], (Character) params[1], (Character) params[2]);
+        if (params.length == 3 &&  (params[0] == null || params[0] instanceof MouseEvent ) && params[1] instanceof String && params[2] instanceof String) {
+            handle((MouseEvent) params[0], (String) params[1], (String) params[2]);
         }
 
     }
@@ -21,8 +21,8 @@ public interface EdgeCallback extends GenericCallback {
      * Handles the edge event.
      *
      * @param event the mouse event
-     * @param from  the character representing the starting node
-     * @param to    the character representing the ending node
+     * @param from  the label of the starting node
+     * @param to    the label of the ending node
      */
-    void handle(MouseEvent event, Character from, Character to);
+    void handle(MouseEvent event, String from, String to);
 }
\ No newline at end of file
@@ -3,7 +3,7 @@ package com.vittoriopiotti.pathgraph.callbacks;
 import javafx.scene.input.MouseEvent;
 
 /**
- * A callback interface for handling node events with mouse and a character.
+ * A callback interface for handling node events with mouse and a node label.
  *
  * @author vittoriopiotti
  */
@@ -11,8 +11,8 @@ public interface NodeCallback extends GenericCallback {
 
     @Override
     default void handle(Object... params) {
-        if (params.length == 2 && params[0] instanceof MouseEvent && params[1] instanceof Character) {
-            handle((MouseEvent) params[0], (Character) params[1]);
+        if (params.length == 2 && params[0] instanceof MouseEvent && params[1] instanceof String) {
+            handle((MouseEvent) params[0], (String) params[1]);
         }
     }
 
@@ -20,7 +20,7 @@ public interface NodeCallback extends GenericCallback {
      * Handles the node event.
      *
      * @param event the mouse event
-     * @param node  the character representing the node
+     * @param node  the label of the node
      */
-    void handle(MouseEvent event, Character node);
+    void handle(MouseEvent event, String node);
 }
@@ -0,0 +1,23 @@
+package com.vittoriopiotti.pathgraph.callbacks;
+
+/**
+ * A callback interface for reporting the progress of a long running operation.
+ *
+ * @author vittoriopiotti
+ */
+public interface ProgressCallback extends GenericCallback {
+
+    @Override
+    default void handle(Object... params) {
+        if (params.length == 1 && params[0] instanceof Double) {
+            handle((Double) params[0]);
+        }
+    }
+
+    /**
+     * Handles a progress update.
+     *
+     * @param progress the completed fraction of the operation, from 0.0 to 1.0
+     */
+    void handle(Double progress);
+}
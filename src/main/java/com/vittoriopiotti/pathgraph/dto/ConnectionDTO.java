@@ -16,26 +16,36 @@ package com.vittoriopiotti.pathgraph.dto;
 @SuppressWarnings("all")
 public class ConnectionDTO {
 
-    private final char label;
+    private final String label;
     private final int cost;
 
     /**
      * Constructs a new ConnectionDTO with the specified label and cost.
      *
-     * @param label the character representing the label of the connection
+     * @param label the label of the connection
      * @param cost  the integer representing the cost associated with the connection
      */
-    public ConnectionDTO(char label, int cost) {
+    public ConnectionDTO(String label, int cost) {
         this.label = label;
         this.cost = cost;
     }
 
+    /**
+     * Constructs a new ConnectionDTO with a single-character label.
+     *
+     * @param label the character representing the label of the connection
+     * @param cost  the integer representing the cost associated with the connection
+     */
+    public ConnectionDTO(char label, int cost) {
+        this(String.valueOf(label), cost);
+    }
+
     /**
      * Returns the label of the connection.
      *
-     * @return the character label of the connection
+     * @return the label of the connection
      */
-    public char getLabel() {
+    public String getLabel() {
         return label;
     }
 
@@ -19,14 +19,14 @@ import com.vittoriopiotti.pathgraph.app.Constants;
 public class EdgeDTO {
 
     /**
-     * The character representing the starting point of the edge.
+     * The label of the starting point of the edge.
      */
-    private final char from;
+    private final String from;
 
     /**
-     * The character representing the endpoint of the edge.
+     * The label of the endpoint of the edge.
      */
-    private final char to;
+    private final String to;
 
     /**
      * The integer representing the cost associated with the edge.
@@ -42,30 +42,42 @@ public class EdgeDTO {
      * Constructs a new EdgeDTO with the specified start point, end point,
      * cost, and direction indicator.
      *
-     * @param from     the character representing the starting point of the edge
-     * @param to       the character representing the endpoint of the edge
+     * @param from     the label of the starting point of the edge
+     * @param to       the label of the endpoint of the edge
      * @param cost     the integer representing the cost associated with the edge
      * @param isArrowed a boolean indicating whether the edge is directed
      */
-    public EdgeDTO(char from, char to, int cost, boolean isArrowed) {
+    public EdgeDTO(String from, String to, int cost, boolean isArrowed) {
         this.from = from;
         this.to = to;
         this.cost = cost;
         this.isArrowed = isArrowed;
     }
 
+    /**
+     * Constructs a new EdgeDTO between single-character labels.
+     *
+     * @param from     the character representing the starting point of the edge
+     * @param to       the character representing the endpoint of the edge
+     * @param cost     the integer representing the cost associated with the edge
+     * @param isArrowed a boolean indicating whether the edge is directed
+     */
+    public EdgeDTO(char from, char to, int cost, boolean isArrowed) {
+        this(String.valueOf(from), String.valueOf(to), cost, isArrowed);
+    }
+
     /**
      * Constructs a new EdgeDTO with the specified start point, end point,
      * cost, and direction. The direction determines whether the edge is
      * considered directed or not.
      *
-     * @param from     the character representing the starting point of the edge
-     * @param to       the character representing the endpoint of the edge
+     * @param from     the label of the starting point of the edge
+     * @param to       the label of the endpoint of the edge
      * @param cost     the integer representing the cost associated with the edge
      * @param dir      an integer indicating the direction of the edge
      *                 (see AppConstants for direction constants)
      */
-    public EdgeDTO(char from, char to, int cost, int dir) {
+    public EdgeDTO(String from, String to, int cost, int dir) {
         if (dir == Constants.OPPOSITE_DIRECTION) {
             this.from = to;
             this.to = from;
@@ -77,21 +89,35 @@ public class EdgeDTO {
         this.isArrowed = dir != Constants.BIDIRECTIONAL;
     }
 
+    /**
+     * Constructs a new EdgeDTO between single-character labels with the
+     * specified direction.
+     *
+     * @param from     the character representing the starting point of the edge
+     * @param to       the character representing the endpoint of the edge
+     * @param cost     the integer representing the cost associated with the edge
+     * @param dir      an integer indicating the direction of the edge
+     *                 (see AppConstants for direction constants)
+     */
+    public EdgeDTO(char from, char to, int cost, int dir) {
+        this(String.valueOf(from), String.valueOf(to), cost, dir);
+    }
+
     /**
      * Returns the starting point of the edge.
      *
-     * @return the character representing the starting point of the edge
+     * @return the label of the starting point of the edge
      */
-    public char getFrom() {
+    public String getFrom() {
         return from;
     }
 
     /**
      * Returns the endpoint of the edge.
      *
-     * @return the character representing the endpoint of the edge
+     * @return the label of the endpoint of the edge
      */
-    public char getTo() {
+    public String getTo() {
         return to;
     }
 
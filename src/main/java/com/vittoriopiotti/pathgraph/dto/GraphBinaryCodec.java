@@ -0,0 +1,292 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.dto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary format of a graph, much faster to load than JSON.
+ * <br>
+ * The layout is:
+ * <ol>
+ *     <li>the magic bytes <code>PGRB</code>, the format version and a flags byte, whose lowest bit
+ *     tells whether a checksum follows the data;</li>
+ *     <li>the label table: the number of distinct labels, then each label once as its length followed
+ *     by its characters;</li>
+ *     <li>the nodes: their number, then the index of each label in the table;</li>
+ *     <li>the edges: their number, then for each edge the index of <code>from</code> shifted left by one
+ *     with the direction in the lowest bit, the index of <code>to</code> and the zigzag encoded cost;</li>
+ *     <li>optionally, the CRC-32 of the label table, nodes and edges, as four big-endian bytes.</li>
+ * </ol>
+ * All counts, lengths, characters and indices are unsigned LEB128 varints, so a typical edge takes three
+ * or four bytes.
+ * <br>
+ * Version 1 of the format, where every label was a single character with no length, is still read.
+ * <br>
+ * Decoding reads from a {@link ByteBuffer}, which can be a memory-mapped file, and passes primitives
+ * to a {@link GraphHandler}: no intermediate objects are created per node or edge.
+ *
+ * @author vittoriopiotti
+ */
+public final class GraphBinaryCodec {
+
+    /**
+     * The bytes every binary graph starts with.
+     */
+    public static final byte[] MAGIC = {'P', 'G', 'R', 'B'};
+
+    /**
+     * The version of the format written by {@link #write(List, List, OutputStream, boolean)}.
+     */
+    public static final int VERSION = 2;
+
+    /* the first version, with single-character labels */
+    private static final int VERSION_CHAR_LABELS = 1;
+
+    private static final int FLAG_CHECKSUM = 1;
+    private static final int HEADER_SIZE = MAGIC.length + 2;
+
+    private GraphBinaryCodec() {
+    }
+
+    /**
+     * Checks whether a buffer starts with the {@link #MAGIC magic bytes} of the binary format,
+     * without moving its position.
+     *
+     * @param buffer the bytes to check
+     * @return true if the bytes look like a binary graph
+     */
+    public static boolean isBinary(ByteBuffer buffer) {
+        if (buffer.remaining() < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(buffer.position() + i) != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes a graph to a stream, which is flushed but not closed.
+     *
+     * @param nodes    the nodes of the graph
+     * @param edges    the edges of the graph
+     * @param out      the target of the encoded graph
+     * @param checksum true to append the CRC-32 of the data
+     * @throws IOException if the target cannot be written
+     */
+    public static void write(List<NodeDTO> nodes, List<EdgeDTO> edges, OutputStream out, boolean checksum) throws IOException {
+        Objects.requireNonNull(nodes, "nodes");
+        Objects.requireNonNull(edges, "edges");
+        Objects.requireNonNull(out, "out");
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> labels = new ArrayList<>();
+        for (NodeDTO node : nodes) {
+            intern(node.getLabel(), ids, labels);
+        }
+        for (EdgeDTO edge : edges) {
+            intern(edge.getFrom(), ids, labels);
+            intern(edge.getTo(), ids, labels);
+        }
+        Encoder encoder = new Encoder(out);
+        out.write(MAGIC);
+        out.write(VERSION);
+        out.write(checksum ? FLAG_CHECKSUM : 0);
+        encoder.writeVarint(labels.size());
+        for (String label : labels) {
+            encoder.writeVarint(label.length());
+            for (int i = 0; i < label.length(); i++) {
+                encoder.writeVarint(label.charAt(i));
+            }
+        }
+        encoder.writeVarint(nodes.size());
+        for (NodeDTO node : nodes) {
+            encoder.writeVarint(ids.get(node.getLabel()));
+        }
+        encoder.writeVarint(edges.size());
+        for (EdgeDTO edge : edges) {
+            encoder.writeVarint(((long) ids.get(edge.getFrom()) << 1) | (edge.getIsArrowed() ? 1 : 0));
+            encoder.writeVarint(ids.get(edge.getTo()));
+            encoder.writeVarint(zigzag(edge.getCost()));
+        }
+        encoder.drain();
+        if (checksum) {
+            long crc = encoder.crc.getValue();
+            out.write((int) (crc >>> 24));
+            out.write((int) (crc >>> 16));
+            out.write((int) (crc >>> 8));
+            out.write((int) crc);
+        }
+        out.flush();
+    }
+
+    /**
+     * Decodes a graph from the remaining bytes of a buffer, passing its nodes and edges to a handler.
+     * <br>
+     * When the data has a checksum, it is verified before anything is passed to the handler.
+     * The position of the buffer is moved past the decoded graph.
+     *
+     * @param buffer  the encoded graph
+     * @param handler the receiver of the nodes and edges
+     * @throws IOException if the bytes are not a binary graph, are truncated or fail the checksum
+     */
+    public static void read(ByteBuffer buffer, GraphHandler handler) throws IOException {
+        Objects.requireNonNull(buffer, "buffer");
+        Objects.requireNonNull(handler, "handler");
+        if (!isBinary(buffer) || buffer.remaining() < HEADER_SIZE) {
+            throw new IOException("not a binary graph");
+        }
+        buffer.position(buffer.position() + MAGIC.length);
+        int version = buffer.get() & 0xFF;
+        if (version != VERSION && version != VERSION_CHAR_LABELS) {
+            throw new IOException("unsupported binary graph version " + version);
+        }
+        boolean checksum = (buffer.get() & FLAG_CHECKSUM) != 0;
+        try {
+            if (checksum) {
+                verify(buffer);
+            }
+            String[] labels = new String[readCount(buffer)];
+            for (int i = 0; i < labels.length; i++) {
+                labels[i] = version == VERSION_CHAR_LABELS
+                        ? String.valueOf((char) readVarint(buffer))
+                        : readLabel(buffer);
+            }
+            int nodes = readCount(buffer);
+            for (int i = 0; i < nodes; i++) {
+                handler.node(labels[readIndex(buffer, labels.length)]);
+            }
+            int edges = readCount(buffer);
+            for (int i = 0; i < edges; i++) {
+                long from = readVarint(buffer);
+                int to = readIndex(buffer, labels.length);
+                int cost = unzigzag(readVarint(buffer));
+                if ((from >>> 1) >= labels.length) {
+                    throw new IOException("label index out of range: " + (from >>> 1));
+                }
+                handler.edge(labels[(int) (from >>> 1)], labels[to], cost, (from & 1) != 0);
+            }
+            if (checksum) {
+                buffer.position(buffer.position() + Integer.BYTES);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("truncated binary graph", e);
+        }
+    }
+
+    /**
+     * Checks the CRC-32 stored in the last four bytes against the bytes from the position to them.
+     */
+    private static void verify(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            throw new IOException("truncated binary graph");
+        }
+        int end = buffer.limit() - Integer.BYTES;
+        ByteBuffer data = buffer.duplicate();
+        data.limit(end);
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        if ((int) crc.getValue() != buffer.getInt(end)) {
+            throw new IOException("binary graph checksum mismatch");
+        }
+    }
+
+    private static void intern(String label, Map<String, Integer> ids, List<String> labels) {
+        if (ids.putIfAbsent(label, labels.size()) == null) {
+            labels.add(label);
+        }
+    }
+
+    private static String readLabel(ByteBuffer buffer) throws IOException {
+        char[] label = new char[readCount(buffer)];
+        for (int i = 0; i < label.length; i++) {
+            label[i] = (char) readVarint(buffer);
+        }
+        return new String(label);
+    }
+
+    private static int readCount(ByteBuffer buffer) throws IOException {
+        long count = readVarint(buffer);
+        /* every element takes at least one byte */
+        if (count > buffer.remaining()) {
+            throw new IOException("invalid count: " + count);
+        }
+        return (int) count;
+    }
+
+    private static int readIndex(ByteBuffer buffer, int size) throws IOException {
+        long index = readVarint(buffer);
+        if (index >= size) {
+            throw new IOException("label index out of range: " + index);
+        }
+        return (int) index;
+    }
+
+    private static long readVarint(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("malformed varint");
+    }
+
+    private static long zigzag(int value) {
+        return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL;
+    }
+
+    private static int unzigzag(long value) {
+        int v = (int) value;
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /**
+     * Buffered varint encoder that keeps the CRC-32 of everything it writes.
+     */
+    private static final class Encoder {
+
+        private final OutputStream out;
+        private final byte[] buffer = new byte[8192];
+        private final CRC32 crc = new CRC32();
+        private int size;
+
+        Encoder(OutputStream out) {
+            this.out = out;
+        }
+
+        void writeVarint(long value) throws IOException {
+            if (size + 10 > buffer.length) {
+                drain();
+            }
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void drain() throws IOException {
+            crc.update(buffer, 0, size);
+            out.write(buffer, 0, size);
+            size = 0;
+        }
+    }
+}
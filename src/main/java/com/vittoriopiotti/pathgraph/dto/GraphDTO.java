@@ -6,15 +6,34 @@
 
 package com.vittoriopiotti.pathgraph.dto;
 
+import com.vittoriopiotti.pathgraph.graph.BidirectionalDijkstra;
+import com.vittoriopiotti.pathgraph.graph.CsrGraph;
+import com.vittoriopiotti.pathgraph.graph.DijkstraEngine;
+import com.vittoriopiotti.pathgraph.graph.KShortestPaths;
+
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 
 /**
@@ -43,6 +62,11 @@ public class GraphDTO {
      */
     private final Map<NodeDTO, List<ConnectionDTO>> connections = new HashMap<>();
 
+    /**
+     * Index in {@link #nodes} of the first node with each label, to resolve labels in constant time.
+     */
+    private final Map<String, Integer> labelIndex = new HashMap<>();
+
     /**
      * Constructs a GraphDTO using a file or JSON content to populate nodes and edges.
      *
@@ -53,34 +77,32 @@ public class GraphDTO {
      */
     public GraphDTO(File file, String jsonContent, List<NodeDTO> nodes, List<EdgeDTO> edges) {
         if (file != null && Files.exists(file.toPath())) {
-            try {
-                String _jsonContent = Files.readString(file.toPath());
-                setGraphDTO(_jsonContent);
+            try (Reader reader = Files.newBufferedReader(file.toPath())) {
+                setGraphDTO(reader);
                 return;
             } catch (IOException ignored) {
+                this.nodes.clear();
+                this.edges.clear();
+                this.labelIndex.clear();
             }
         }
 
         if (jsonContent != null && !jsonContent.isEmpty()) {
-            setGraphDTO(jsonContent);
+            try {
+                setGraphDTO(new StringReader(jsonContent));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
             return;
         }
 
         if (nodes != null && edges != null) {
             this.nodes.addAll(nodes);
             this.edges.addAll(edges);
-            nodes.forEach(node -> this.connections.put(node,
-                    edges.stream()
-                            .filter(edge -> edge.getIsArrowed()
-                                    ? edge.getFrom() == node.getLabel()
-                                    : edge.getFrom() == node.getLabel() || edge.getTo() == node.getLabel()
-                            )
-                            .map(edge -> new ConnectionDTO(
-                                    edge.getFrom() == node.getLabel() ? findNode(edge.getTo()).getLabel() : findNode(edge.getFrom()).getLabel(),
-                                    edge.getCost()
-                            ))
-                            .collect(Collectors.toList())
-            ));
+            for (int i = 0; i < this.nodes.size(); i++) {
+                labelIndex.putIfAbsent(this.nodes.get(i).getLabel(), i);
+            }
+            buildConnections();
         } else {
             this.nodes.clear();
             this.edges.clear();
@@ -115,6 +137,56 @@ public class GraphDTO {
         this(null, jsonContent, new ArrayList<>(), new ArrayList<>());
     }
 
+    /**
+     * Constructs a GraphDTO streaming JSON content from a reader with a {@link GraphJsonReader}.
+     * <br>
+     * The reader is read to the end but not closed.
+     *
+     * @param reader the source of the JSON text representing the graph data
+     * @throws IOException if the source cannot be read
+     * @throws IllegalArgumentException if the content has neither nodes nor edges
+     */
+    public GraphDTO(Reader reader) throws IOException {
+        setGraphDTO(reader);
+    }
+
+    /**
+     * Constructs a GraphDTO decoding the binary format of {@link GraphBinaryCodec} from the remaining bytes of a buffer,
+     * which can be a memory-mapped file.
+     *
+     * @param buffer the encoded graph
+     * @throws IOException if the bytes are not a binary graph, are truncated or fail the checksum
+     */
+    public GraphDTO(ByteBuffer buffer) throws IOException {
+        GraphBinaryCodec.read(buffer, collector());
+    }
+
+    /**
+     * Constructs a GraphDTO from a file mapped in memory, in JSON or in the binary format of {@link GraphBinaryCodec},
+     * told apart by its first bytes.
+     * <br>
+     * The file is parsed in place from the mapping, so the heap used while loading depends on the size of the graph
+     * and not on the size of the file.
+     *
+     * @param path the file to load
+     * @throws IOException              if the file cannot be read, is too large to map or is a corrupted binary graph
+     * @throws IllegalArgumentException if the JSON content has neither nodes nor edges
+     */
+    public GraphDTO(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("file too large to map: " + size + " bytes");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (GraphBinaryCodec.isBinary(buffer)) {
+                GraphBinaryCodec.read(buffer, collector());
+            } else {
+                setGraphDTO(new GraphJsonReader(buffer));
+            }
+        }
+    }
+
     /**
      * Returns the list of nodes in the graph.
      *
@@ -145,55 +217,231 @@ public class GraphDTO {
         return connections;
     }
 
+    /**
+     * Builds an immutable compressed sparse row snapshot of the graph.
+     * <br>
+     * Each node is mapped to a dense id following the order of {@link #getNodes()};
+     * arrowed edges produce one arc from <code>from</code> to <code>to</code>, while
+     * non-arrowed edges produce one arc per direction. Edges that reference a label
+     * without a matching node are skipped.
+     *
+     * @return the CSR snapshot of the nodes and edges of the graph
+     */
+    public CsrGraph<NodeDTO> toCsrGraph() {
+        CsrGraph.Builder<NodeDTO> builder = new CsrGraph.Builder<>(nodes.size(), edges.size() * 2);
+        Map<String, Integer> ids = new HashMap<>(nodes.size() * 2);
+        for (NodeDTO node : nodes) {
+            int id = builder.addVertex(node);
+            ids.putIfAbsent(node.getLabel(), id);
+        }
+        for (EdgeDTO edge : edges) {
+            Integer from = ids.get(edge.getFrom());
+            Integer to = ids.get(edge.getTo());
+            if (from != null && to != null) {
+                builder.addEdge(from, to, edge.getCost(), edge.getIsArrowed());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Decodes the binary format of {@link GraphBinaryCodec} straight into a compressed sparse row snapshot,
+     * following the same rules as {@link #toCsrGraph()}.
+     * <br>
+     * The edges are fed to the builder as primitives, so no {@link EdgeDTO} is created: this is the way to load
+     * a saved graph only to search it. A GraphDTO keeps its edges as objects, since {@link #getEdges()} returns them.
+     *
+     * @param buffer the encoded graph, which can be a memory-mapped file
+     * @return the CSR snapshot of the nodes and edges of the graph
+     * @throws IOException if the bytes are not a binary graph, are truncated or fail the checksum
+     */
+    public static CsrGraph<NodeDTO> readCsrGraph(ByteBuffer buffer) throws IOException {
+        CsrGraph.Builder<NodeDTO> builder = new CsrGraph.Builder<>();
+        Map<String, Integer> ids = new HashMap<>();
+        GraphBinaryCodec.read(buffer, new GraphHandler() {
+            @Override
+            public void node(String label) {
+                int id = builder.addVertex(new NodeDTO(label));
+                ids.putIfAbsent(label, id);
+            }
+
+            @Override
+            public void edge(String from, String to, int cost, boolean isArrowed) {
+                Integer fromId = ids.get(from);
+                Integer toId = ids.get(to);
+                if (fromId != null && toId != null) {
+                    builder.addEdge(fromId, toId, cost, isArrowed);
+                }
+            }
+        });
+        return builder.build();
+    }
+
     /**
      * Finds a path from a starting node to an ending node using Dijkstra's algorithm.
+     * <br>
+     * The search runs on the {@link CsrGraph} returned by {@link #toCsrGraph()} through a {@link DijkstraEngine};
+     * to answer many queries over the same graph, build the engine once and query it directly.
+     *
+     * @param startLabel the label of the starting node
+     * @param endLabel   the label of the ending node
+     * @return a list of NodeDTO representing the path, or null if no path exists
+     */
+    public List<NodeDTO> findPath(String startLabel, String endLabel) {
+        if (isLabel(startLabel) && isLabel(endLabel) && !startLabel.equals(endLabel)) {
+            NodeDTO startNode = findNode(startLabel);
+            NodeDTO endNode = findNode(endLabel);
+            if (startNode != null && endNode != null) {
+                return new DijkstraEngine<>(toCsrGraph()).shortestPath(startNode, endNode);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds a path between single-character labels, as {@link #findPath(String, String)} does.
      *
      * @param startLabel the label of the starting node
      * @param endLabel   the label of the ending node
      * @return a list of NodeDTO representing the path, or null if no path exists
      */
     public List<NodeDTO> findPath(char startLabel, char endLabel) {
-        if (startLabel != '\0' && endLabel != '\0') {
+        return findPath(label(startLabel), label(endLabel));
+    }
+
+    /**
+     * Finds a path from a starting node to an ending node with a bidirectional Dijkstra search,
+     * which expands forward from the starting node and backward from the ending node until the two searches meet.
+     * <br>
+     * The path has the same cost as the one returned by {@link #findPath(String, String)}, usually settling fewer nodes.
+     *
+     * @param startLabel the label of the starting node
+     * @param endLabel   the label of the ending node
+     * @return a list of NodeDTO representing the path, or null if no path exists
+     */
+    public List<NodeDTO> findPathBidirectional(String startLabel, String endLabel) {
+        if (isLabel(startLabel) && isLabel(endLabel) && !startLabel.equals(endLabel)) {
             NodeDTO startNode = findNode(startLabel);
             NodeDTO endNode = findNode(endLabel);
-            Map<NodeDTO, Integer> distanceMap = new HashMap<>();
-            Map<NodeDTO, NodeDTO> predecessorMap = new HashMap<>();
-            PriorityQueue<NodeDTO> queue = new PriorityQueue<>(Comparator.comparingInt(distanceMap::get));
-            for (NodeDTO node : nodes) {
-                distanceMap.put(node, Integer.MAX_VALUE);
+            if (startNode != null && endNode != null) {
+                return new BidirectionalDijkstra<>(toCsrGraph()).shortestPath(startNode, endNode);
             }
-            distanceMap.put(startNode, 0);
-            queue.add(startNode);
-            while (!queue.isEmpty()) {
-                NodeDTO current = queue.poll();
-                int currentDistance = distanceMap.get(current);
-                for (ConnectionDTO connection : connections.get(current)) {
-                    NodeDTO neighbor = findNode(connection.getLabel());
-                    if (neighbor == null) continue;
-                    int edgeCost = connection.getCost();
-                    int newDistance = currentDistance + edgeCost;
-                    if (newDistance < distanceMap.get(neighbor)) {
-                        distanceMap.put(neighbor, newDistance);
-                        predecessorMap.put(neighbor, current);
-                        queue.add(neighbor);
-                    }
+        }
+        return null;
+    }
+
+    /**
+     * Finds a path between single-character labels, as {@link #findPathBidirectional(String, String)} does.
+     *
+     * @param startLabel the label of the starting node
+     * @param endLabel   the label of the ending node
+     * @return a list of NodeDTO representing the path, or null if no path exists
+     */
+    public List<NodeDTO> findPathBidirectional(char startLabel, char endLabel) {
+        return findPathBidirectional(label(startLabel), label(endLabel));
+    }
+
+
+    /**
+     * Finds the paths of many queries at once, on the common {@link ForkJoinPool}.
+     *
+     * @param queries the starting and ending nodes of each path
+     * @return the path of each query, in the iteration order of <code>queries</code>
+     * @see #findPaths(Collection, ForkJoinPool)
+     */
+    public List<List<NodeDTO>> findPaths(Collection<PathQueryDTO> queries) {
+        return findPaths(queries, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Finds the paths of many queries at once.
+     * <br>
+     * The graph is converted to a single {@link CsrGraph} shared by all the searches, which run through
+     * {@link DijkstraEngine#shortestPaths(CsrGraph, int[], int[], ForkJoinPool)}: queries are grouped by
+     * starting node, so each group needs one single-source search whatever the number of its ending nodes,
+     * and the groups run in parallel on the given pool.
+     * Each path follows the same rules as {@link #findPath(String, String)}.
+     *
+     * @param queries the starting and ending nodes of each path
+     * @param pool    the pool that runs the searches
+     * @return the path of each query, in the iteration order of <code>queries</code>; null for the queries without a path
+     */
+    public List<List<NodeDTO>> findPaths(Collection<PathQueryDTO> queries, ForkJoinPool pool) {
+        List<PathQueryDTO> list = new ArrayList<>(queries);
+        List<List<NodeDTO>> paths = new ArrayList<>(Collections.nCopies(list.size(), null));
+        if (list.isEmpty()) {
+            return paths;
+        }
+        CsrGraph<NodeDTO> csr = toCsrGraph();
+        Map<String, Integer> ids = new HashMap<>(nodes.size() * 2);
+        for (int id = csr.numVertices() - 1; id >= 0; id--) {
+            ids.put(csr.vertex(id).getLabel(), id);
+        }
+        int[] sources = new int[list.size()];
+        int[] targets = new int[list.size()];
+        for (int i = 0; i < list.size(); i++) {
+            sources[i] = ids.getOrDefault(list.get(i).getStart(), -1);
+            targets[i] = ids.getOrDefault(list.get(i).getEnd(), -1);
+        }
+        int[][] found = DijkstraEngine.shortestPaths(csr, sources, targets, pool);
+        for (int i = 0; i < found.length; i++) {
+            if (found[i] != null) {
+                List<NodeDTO> nodePath = new ArrayList<>(found[i].length);
+                for (int id : found[i]) {
+                    nodePath.add(csr.vertex(id));
                 }
+                paths.set(i, nodePath);
             }
-            List<NodeDTO> path = new ArrayList<>();
-            NodeDTO step = endNode;
-            if (predecessorMap.get(step) == null) {
-                return null;
-            }
-            path.add(step);
-            while (predecessorMap.get(step) != null) {
-                step = predecessorMap.get(step);
-                path.add(step);
+        }
+        return paths;
+    }
+
+    /**
+     * Finds up to <code>k</code> alternative paths without repeated nodes from a starting node to an ending node,
+     * with Yen's algorithm.
+     * <br>
+     * The first path is the one returned by {@link #findPath(String, String)}; the following ones are ordered by increasing total cost.
+     *
+     * @param startLabel the label of the starting node
+     * @param endLabel   the label of the ending node
+     * @param k          the maximum number of paths
+     * @return the paths, each one a list of NodeDTO, or an empty list if no path exists
+     * @throws IllegalArgumentException if <code>k</code> is negative
+     */
+    public List<List<NodeDTO>> findKShortestPaths(String startLabel, String endLabel, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        List<List<NodeDTO>> paths = new ArrayList<>();
+        if (isLabel(startLabel) && isLabel(endLabel) && !startLabel.equals(endLabel)) {
+            NodeDTO startNode = findNode(startLabel);
+            NodeDTO endNode = findNode(endLabel);
+            if (startNode != null && endNode != null) {
+                CsrGraph<NodeDTO> csr = toCsrGraph();
+                for (int[] ids : KShortestPaths.find(csr, csr.idOf(startNode), csr.idOf(endNode), k)) {
+                    List<NodeDTO> path = new ArrayList<>(ids.length);
+                    for (int id : ids) {
+                        path.add(csr.vertex(id));
+                    }
+                    paths.add(path);
+                }
             }
-            Collections.reverse(path);
-            return path;
         }
-        return null;
+        return paths;
+    }
 
+    /**
+     * Finds up to <code>k</code> alternative paths between single-character labels,
+     * as {@link #findKShortestPaths(String, String, int)} does.
+     *
+     * @param startLabel the label of the starting node
+     * @param endLabel   the label of the ending node
+     * @param k          the maximum number of paths
+     * @return the paths, each one a list of NodeDTO, or an empty list if no path exists
+     * @throws IllegalArgumentException if <code>k</code> is negative
+     */
+    public List<List<NodeDTO>> findKShortestPaths(char startLabel, char endLabel, int k) {
+        return findKShortestPaths(label(startLabel), label(endLabel), k);
     }
 
 
@@ -203,33 +451,72 @@ public class GraphDTO {
      * @return json string
      */
     public String getGraphJson(){
-        StringBuilder jsonBuilder = new StringBuilder();
-        jsonBuilder.append("{\n");
-        jsonBuilder.append("  \"nodes\": [\n");
-        for (int j = 0; j < nodes.size(); j++) {
-            jsonBuilder.append("    \"").append(nodes.get(j).getLabel()).append("\"");
-            if (j < nodes.size() - 1) {
-                jsonBuilder.append(",");
-            }
-            jsonBuilder.append("\n");
+        StringWriter writer = new StringWriter();
+        try {
+            writeGraphJson(writer, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        jsonBuilder.append("  ],\n");
-        jsonBuilder.append("  \"edges\": [\n");
-        for (int j = 0; j < edges.size(); j++) {
-            jsonBuilder.append("    {\n");
-            jsonBuilder.append("      \"from\": \"").append(edges.get(j).getFrom() ).append("\",\n");
-            jsonBuilder.append("      \"to\": \"").append(edges.get(j).getTo()).append("\",\n");
-            jsonBuilder.append("      \"cost\": \"").append(edges.get(j).getCost()).append("\",\n");
-            jsonBuilder.append("      \"isArrowed\": ").append(edges.get(j).getIsArrowed()).append("\n");
-            jsonBuilder.append("    }");
-            if (j < edges.size() - 1) {
-                jsonBuilder.append(",");
-            }
-            jsonBuilder.append("\n");
-        }
-        jsonBuilder.append("  ]\n");
-        jsonBuilder.append("}");
-        return jsonBuilder.toString();
+        return writer.toString();
+    }
+
+    /**
+     * Streams the json document including nodes and edges to a writer, through a {@link GraphJsonWriter}.
+     * <br>
+     * The writer is flushed but not closed.
+     *
+     * @param writer  the target of the document
+     * @param compact true to drop the indentation whitespace
+     * @throws IOException if the target cannot be written
+     */
+    public void writeGraphJson(Writer writer, boolean compact) throws IOException {
+        GraphJsonWriter json = new GraphJsonWriter(writer, compact);
+        json.writeGraph(nodes, edges);
+        json.flush();
+    }
+
+    /**
+     * Streams the json document including nodes and edges to a stream, encoded in UTF-8.
+     * <br>
+     * The stream is flushed but not closed.
+     *
+     * @param out     the target of the document
+     * @param compact true to drop the indentation whitespace
+     * @throws IOException if the target cannot be written
+     */
+    public void writeGraphJson(OutputStream out, boolean compact) throws IOException {
+        GraphJsonWriter json = new GraphJsonWriter(out, compact);
+        json.writeGraph(nodes, edges);
+        json.flush();
+    }
+
+    /**
+     * Streams the json document including nodes and edges to a channel, encoded in UTF-8.
+     * <br>
+     * The channel is not closed.
+     *
+     * @param channel the target of the document
+     * @param compact true to drop the indentation whitespace
+     * @throws IOException if the target cannot be written
+     */
+    public void writeGraphJson(WritableByteChannel channel, boolean compact) throws IOException {
+        GraphJsonWriter json = new GraphJsonWriter(channel, compact);
+        json.writeGraph(nodes, edges);
+        json.flush();
+    }
+
+
+    /**
+     * Encodes the nodes and edges in the binary format of {@link GraphBinaryCodec}.
+     * <br>
+     * The stream is flushed but not closed.
+     *
+     * @param out      the target of the encoded graph
+     * @param checksum true to append the CRC-32 of the data
+     * @throws IOException if the target cannot be written
+     */
+    public void writeBinary(OutputStream out, boolean checksum) throws IOException {
+        GraphBinaryCodec.write(nodes, edges, out, checksum);
     }
 
 
@@ -239,19 +526,28 @@ public class GraphDTO {
      * @return a JSON object containing an array of node labels.
      */
     public String getNodesJson() {
-        StringBuilder jsonBuilder = new StringBuilder();
-        jsonBuilder.append("{\n");
-        jsonBuilder.append("  \"nodes\": [\n");
-        for (int j = 0; j < nodes.size(); j++) {
-            jsonBuilder.append("    \"").append(nodes.get(j).getLabel()).append("\"");
-            if (j < nodes.size() - 1) {
-                jsonBuilder.append(",");
-            }
-            jsonBuilder.append("\n");
+        StringWriter writer = new StringWriter();
+        try {
+            writeNodesJson(writer, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        jsonBuilder.append("  ]\n");
-        jsonBuilder.append("}");
-        return jsonBuilder.toString();
+        return writer.toString();
+    }
+
+    /**
+     * Streams a JSON object with the labels of all nodes to a writer.
+     * <br>
+     * The writer is flushed but not closed.
+     *
+     * @param writer  the target of the document
+     * @param compact true to drop the indentation whitespace
+     * @throws IOException if the target cannot be written
+     */
+    public void writeNodesJson(Writer writer, boolean compact) throws IOException {
+        GraphJsonWriter json = new GraphJsonWriter(writer, compact);
+        json.writeNodes(nodes);
+        json.flush();
     }
 
 
@@ -262,24 +558,28 @@ public class GraphDTO {
      * @return a JSON object containing an array of edge objects.
      */
     public String getEdgesJson() {
-        StringBuilder jsonBuilder = new StringBuilder();
-        jsonBuilder.append("{\n");
-        jsonBuilder.append("  \"edges\": [\n");
-        for (int j = 0; j < edges.size(); j++) {
-            jsonBuilder.append("    {\n");
-            jsonBuilder.append("      \"from\": \"").append(edges.get(j).getFrom()).append("\",\n");
-            jsonBuilder.append("      \"to\": \"").append(edges.get(j).getTo()).append("\",\n");
-            jsonBuilder.append("      \"cost\": \"").append(edges.get(j).getCost()).append("\",\n");
-            jsonBuilder.append("      \"isArrowed\": ").append(edges.get(j).getIsArrowed()).append("\n");
-            jsonBuilder.append("    }");
-            if (j < edges.size() - 1) {
-                jsonBuilder.append(",");
-            }
-            jsonBuilder.append("\n");
+        StringWriter writer = new StringWriter();
+        try {
+            writeEdgesJson(writer, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        jsonBuilder.append("  ]\n");
-        jsonBuilder.append("}");
-        return jsonBuilder.toString();
+        return writer.toString();
+    }
+
+    /**
+     * Streams a JSON object with all edges to a writer.
+     * <br>
+     * The writer is flushed but not closed.
+     *
+     * @param writer  the target of the document
+     * @param compact true to drop the indentation whitespace
+     * @throws IOException if the target cannot be written
+     */
+    public void writeEdgesJson(Writer writer, boolean compact) throws IOException {
+        GraphJsonWriter json = new GraphJsonWriter(writer, compact);
+        json.writeEdges(edges);
+        json.flush();
     }
 
 
@@ -293,45 +593,28 @@ public class GraphDTO {
      * @return a formatted JSON string representing the connections
      */
     public String getConnectionsJson() {
-        StringBuilder jsonBuilder = new StringBuilder();
-        jsonBuilder.append("{\n");
-        jsonBuilder.append("  \"connections\": [\n");
-
-        // Itera attraverso la mappa connections
-        int nodeIndex = 0;
-        for (Map.Entry<NodeDTO, List<ConnectionDTO>> entry : connections.entrySet()) {
-            NodeDTO node = entry.getKey();
-            List<ConnectionDTO> connectionList = entry.getValue();
-
-            jsonBuilder.append("    {\n");
-            jsonBuilder.append("      \"node\": \"").append(node.getLabel()).append("\",\n");
-            jsonBuilder.append("      \"edges\": [\n");
-
-            // Itera attraverso le connessioni di ciascun nodo
-            for (int i = 0; i < connectionList.size(); i++) {
-                ConnectionDTO connection = connectionList.get(i);
-                jsonBuilder.append("        {\n");
-                jsonBuilder.append("          \"to\": \"").append(connection.getLabel()).append("\",\n");
-                jsonBuilder.append("          \"cost\": ").append(connection.getCost()).append("\n");
-                jsonBuilder.append("        }");
-                if (i < connectionList.size() - 1) {
-                    jsonBuilder.append(",");
-                }
-                jsonBuilder.append("\n");
-            }
-
-            jsonBuilder.append("      ]\n");
-            jsonBuilder.append("    }");
-            if (nodeIndex < connections.size() - 1) {
-                jsonBuilder.append(",");
-            }
-            jsonBuilder.append("\n");
-            nodeIndex++;
+        StringWriter writer = new StringWriter();
+        try {
+            writeConnectionsJson(writer, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+        return writer.toString();
+    }
 
-        jsonBuilder.append("  ]\n");
-        jsonBuilder.append("}");
-        return jsonBuilder.toString();
+    /**
+     * Streams the JSON representation of the node connections to a writer.
+     * <br>
+     * The writer is flushed but not closed.
+     *
+     * @param writer  the target of the document
+     * @param compact true to drop the indentation whitespace
+     * @throws IOException if the target cannot be written
+     */
+    public void writeConnectionsJson(Writer writer, boolean compact) throws IOException {
+        GraphJsonWriter json = new GraphJsonWriter(writer, compact);
+        json.writeConnections(connections);
+        json.flush();
     }
 
 
@@ -342,83 +625,100 @@ public class GraphDTO {
      * @return the NodeDTO object representing the node with the specified label,
      *         or null if no such node exists in the graph.
      */
-    private NodeDTO findNode(char label) {
-        return nodes.stream().filter(n -> n.getLabel() == label).findFirst().orElse(null);
+    private NodeDTO findNode(String label) {
+        Integer index = labelIndex.get(label);
+        if (index != null && index < nodes.size() && label.equals(nodes.get(index).getLabel())) {
+            return nodes.get(index);
+        }
+        /* the list returned by getNodes() was changed from outside */
+        return nodes.stream().filter(n -> label.equals(n.getLabel())).findFirst().orElse(null);
     }
 
+    private static boolean isLabel(String label) {
+        return label != null && !label.isEmpty();
+    }
 
     /**
-     * Processes the JSON content to extract nodes and edges.
-     *
-     * @param jsonContent the JSON string representing the graph data
+     * Converts a single-character label, mapping <code>'\0'</code> to no label as the char methods always did.
      */
-    private void setGraphDTO(String jsonContent) {
-        nodes.clear();
-        edges.clear();
-        setNodesDTO(jsonContent, nodes);
-        setEdgesDTO(jsonContent, edges);
+    private static String label(char label) {
+        return label == '\0' ? null : String.valueOf(label);
     }
 
     /**
-     * Processes the JSON content to extract nodes.
+     * Fills {@link #connections} in a single pass over the edges, appending each edge to the lists of its ends
+     * in the order of the edges: the list of <code>from</code> always, the list of <code>to</code> too
+     * if the edge has no arrow.
      *
-     * @param json   JSON string with graph data.
-     * @param nodes  list to populate with parsed nodes.
+     * @throws NullPointerException if an edge joins a node to a label with no node
      */
-    private void setNodesDTO(String json, List<NodeDTO> nodes) {
-        String nodesSection = json.split("\"nodes\":")[1].split("]")[0] + "]";
-        String[] nodeArray = nodesSection.replaceAll("[\\[\\]\"]", "").trim().split(",");
-        for (String nodeName : nodeArray) {
-            nodeName = nodeName.trim();
-            if (!nodeName.isEmpty()) {
-                char nodeChar = nodeName.charAt(0);
-                nodes.add(new NodeDTO(nodeChar)); // Assuming NodeDTO has a constructor that takes a char
+    private void buildConnections() {
+        List<List<ConnectionDTO>> lists = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            lists.add(null);
+        }
+        for (Integer index : labelIndex.values()) {
+            lists.set(index, new ArrayList<>());
+        }
+        for (EdgeDTO edge : edges) {
+            Integer from = labelIndex.get(edge.getFrom());
+            Integer to = labelIndex.get(edge.getTo());
+            if (from != null) {
+                Objects.requireNonNull(to, () -> "no node with label " + edge.getTo());
+                lists.get(from).add(new ConnectionDTO(edge.getTo(), edge.getCost()));
             }
+            if (to != null && !edge.getIsArrowed() && !edge.getTo().equals(edge.getFrom())) {
+                Objects.requireNonNull(from, () -> "no node with label " + edge.getFrom());
+                lists.get(to).add(new ConnectionDTO(edge.getFrom(), edge.getCost()));
+            }
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            NodeDTO node = nodes.get(i);
+            int index = labelIndex.get(node.getLabel());
+            /* nodes sharing a label get equal lists, not the same one */
+            connections.put(node, index == i ? lists.get(index) : new ArrayList<>(lists.get(index)));
         }
     }
 
+
     /**
-     * Processes the JSON content to extract edges.
-     *
-     * @param json   JSON string with graph data.
-     * @param edges  list to populate with parsed edges.
-     */
-    private void setEdgesDTO(String json, List<EdgeDTO> edges) {
-        String edgesSection = json.split("\"edges\":")[1].split("]")[0] + "]";
-        String[] edgeStrings = edgesSection.split("},\\s*\\{");
-        for (String edgeString : edgeStrings) {
-            edgeString = edgeString.replaceAll("[\\[\\]{}]", "");
-            edgeString = edgeString.trim();
-            String[] properties = edgeString.split(",");
-            char from = '\0';
-            char to = '\0';
-            int cost = -1;
-            boolean isArrowed = false;
-            for (String property : properties) {
-                String[] keyValue = property.split(":");
-                if (keyValue.length < 2) continue;
-                String key = keyValue[0].trim().replaceAll("\"", "");
-                String value = keyValue[1].trim().replaceAll("\"", "");
-                switch (key) {
-                    case "from":
-                        from = value.charAt(0);
-                        break;
-                    case "to":
-                        to = value.charAt(0);
-                        break;
-                    case "cost":
-                        cost = Integer.parseInt(value);
-                        break;
-                    case "isArrowed":
-                        isArrowed = Boolean.parseBoolean(value);
-                        break;
-                }
+     * Processes the JSON content to extract nodes and edges, in a single pass over the reader.
+     *
+     * @param reader the source of the JSON text representing the graph data
+     * @throws IOException if the source cannot be read
+     * @throws IllegalArgumentException if the content has neither nodes nor edges
+     */
+    private void setGraphDTO(Reader reader) throws IOException {
+        setGraphDTO(new GraphJsonReader(reader));
+    }
+
+    private void setGraphDTO(GraphJsonReader reader) throws IOException {
+        nodes.clear();
+        edges.clear();
+        labelIndex.clear();
+        if (!reader.read(collector())) {
+            throw new IllegalArgumentException("the JSON content has neither nodes nor edges");
+        }
+    }
+
+    /**
+     * Returns a handler that appends the decoded nodes and edges to this graph.
+     *
+     * @return the handler
+     */
+    private GraphHandler collector() {
+        return new GraphHandler() {
+            @Override
+            public void node(String label) {
+                labelIndex.putIfAbsent(label, nodes.size());
+                nodes.add(new NodeDTO(label));
             }
-            if (from != '\0' && to != '\0' && cost != -1) {
-                EdgeDTO edge = new EdgeDTO(from, to, cost, isArrowed);
-                edges.add(edge);
+
+            @Override
+            public void edge(String from, String to, int cost, boolean isArrowed) {
+                edges.add(new EdgeDTO(from, to, cost, isArrowed));
             }
-        }
+        };
     }
 
 
@@ -0,0 +1,33 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.dto;
+
+/**
+ * Receives the nodes and edges of a saved graph in the order they are decoded,
+ * so that readers can build a graph without creating intermediate objects.
+ *
+ * @author vittoriopiotti
+ */
+public interface GraphHandler {
+
+    /**
+     * Handles a node.
+     *
+     * @param label the label of the node
+     */
+    void node(String label);
+
+    /**
+     * Handles an edge.
+     *
+     * @param from      the label of the starting node
+     * @param to        the label of the ending node
+     * @param cost      the cost of the edge
+     * @param isArrowed whether the edge is directed
+     */
+    void edge(String from, String to, int cost, boolean isArrowed);
+}
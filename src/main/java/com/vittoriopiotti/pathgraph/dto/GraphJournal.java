@@ -0,0 +1,597 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.dto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of the edits of a graph, for saving in constant time per edit.
+ * <br>
+ * Every edit appends a small record to the file; replaying the file applies the same edits in the same order.
+ * To keep the file bounded, {@link #compact(GraphDTO)} replaces it with a single record holding the whole
+ * graph in the format of {@link GraphBinaryCodec}: the new file is written aside and renamed over the old one,
+ * so after a crash the file holds either the old log or the new snapshot, never a mix of the two.
+ * <br>
+ * Every record is prefixed by its length and its CRC-32. A record cut short by a crash, and anything after it,
+ * is dropped by {@link #replay(Handler)}, which keeps the edits completed before.
+ * <br>
+ * Records reach the disk with an <code>fsync</code> after every edit or, with group commit, at most a given
+ * number of milliseconds later, with a single <code>fsync</code> for all the edits made in the meantime.
+ *
+ * @author vittoriopiotti
+ */
+public final class GraphJournal implements Closeable {
+
+    /**
+     * Receiver of the records of a journal during a {@link #replay(Handler) replay}.
+     *
+     * @author vittoriopiotti
+     */
+    public interface Handler {
+
+        /**
+         * Replaces the whole graph.
+         *
+         * @param graph the graph saved by the last compaction
+         */
+        void snapshot(GraphDTO graph);
+
+        /**
+         * Creates a node.
+         *
+         * @param label the label of the node
+         */
+        void newNode(String label);
+
+        /**
+         * Deletes a node.
+         *
+         * @param label the label of the node
+         */
+        void deleteNode(String label);
+
+        /**
+         * Creates an edge.
+         *
+         * @param from      the label of the start node
+         * @param to        the label of the end node
+         * @param cost      the cost of the edge
+         * @param isArrowed true if the edge has an arrow
+         */
+        void newEdge(String from, String to, int cost, boolean isArrowed);
+
+        /**
+         * Deletes an edge.
+         *
+         * @param from the label of the start node
+         * @param to   the label of the end node
+         */
+        void deleteEdge(String from, String to);
+
+        /**
+         * Sets the cost of an edge.
+         *
+         * @param from the label of the start node
+         * @param to   the label of the end node
+         * @param cost the new cost
+         */
+        void setCost(String from, String to, int cost);
+
+        /**
+         * Rotates an edge to its next direction.
+         *
+         * @param from the label of the first node
+         * @param to   the label of the second node
+         */
+        void rotateEdge(String from, String to);
+
+        /**
+         * Rotates an edge to a given direction.
+         *
+         * @param from      the label of the first node
+         * @param to        the label of the second node
+         * @param direction the new direction of the edge
+         */
+        void rotateEdge(String from, String to, int direction);
+
+        /**
+         * Renames a node.
+         *
+         * @param label    the current label of the node
+         * @param newLabel the new label of the node
+         */
+        void renameNode(String label, String newLabel);
+
+        /**
+         * Splits an edge into two edges of opposite direction.
+         *
+         * @param from the label of the first node
+         * @param to   the label of the second node
+         */
+        void splitEdge(String from, String to);
+    }
+
+    private static final byte[] MAGIC = {'P', 'G', 'R', 'J'};
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = MAGIC.length + 1;
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final byte SNAPSHOT = 0;
+    private static final byte NEW_NODE = 1;
+    private static final byte DELETE_NODE = 2;
+    private static final byte NEW_EDGE = 3;
+    private static final byte DELETE_EDGE = 4;
+    private static final byte SET_COST = 5;
+    private static final byte ROTATE_EDGE = 6;
+    private static final byte ROTATE_EDGE_TO = 7;
+    private static final byte RENAME_NODE = 8;
+    private static final byte SPLIT_EDGE = 9;
+
+    /**
+     * Thread of the group commits of all the journals; a daemon, so an open journal never keeps the application alive.
+     */
+    private static final ScheduledExecutorService COMMITTER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pathgraph-journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path file;
+    private final long groupCommitMillis;
+    private final ScheduledFuture<?> committer;
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer record = ByteBuffer.allocate(256);
+    private volatile FileChannel channel;
+    private volatile boolean dirty;
+    private int size;
+
+    /**
+     * Opens a journal, creating the file if it does not exist.
+     * <br>
+     * New records are appended after the existing ones: call {@link #replay(Handler)} first to read them back
+     * and to drop a record cut short by a crash.
+     *
+     * @param file              the journal file
+     * @param groupCommitMillis the longest delay in milliseconds before an edit reaches the disk,
+     *                          or 0 for an <code>fsync</code> after every edit
+     * @throws IOException              if the file cannot be opened or is not a journal
+     * @throws IllegalArgumentException if the delay is negative
+     */
+    public GraphJournal(Path file, long groupCommitMillis) throws IOException {
+        if (groupCommitMillis < 0) {
+            throw new IllegalArgumentException("negative group commit delay: " + groupCommitMillis);
+        }
+        this.file = Objects.requireNonNull(file, "file");
+        this.groupCommitMillis = groupCommitMillis;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() == 0) {
+            writeFully(channel, header());
+            channel.force(true);
+        } else {
+            checkHeader();
+        }
+        channel.position(channel.size());
+        this.committer = groupCommitMillis > 0
+                ? COMMITTER.scheduleWithFixedDelay(this::commit, groupCommitMillis, groupCommitMillis, TimeUnit.MILLISECONDS)
+                : null;
+    }
+
+    /**
+     * Reads the journal from the start, passing every record to the handler in order.
+     * <br>
+     * Reading stops at the first record that is incomplete or fails its checksum: the file is truncated there,
+     * and new records are appended after the last valid one.
+     *
+     * @param handler the receiver of the records
+     * @return the number of records read
+     * @throws IOException if the file cannot be read or holds a record of an unknown type
+     */
+    public synchronized int replay(Handler handler) throws IOException {
+        Objects.requireNonNull(handler, "handler");
+        long fileSize = channel.size();
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("journal too large to replay: " + fileSize + " bytes");
+        }
+        /* read on the heap rather than mapped, as a mapped file cannot be truncated on every platform */
+        ByteBuffer buffer = ByteBuffer.allocate((int) fileSize);
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0) {
+            /* read the whole file */
+        }
+        buffer.flip().position(HEADER_SIZE);
+        int records = 0;
+        int valid = HEADER_SIZE;
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                break;
+            }
+            ByteBuffer payload = buffer.slice(buffer.position(), length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            try {
+                apply(payload, handler);
+            } catch (BufferUnderflowException e) {
+                throw new IOException("malformed journal record at " + valid, e);
+            }
+            buffer.position(buffer.position() + length);
+            valid = buffer.position();
+            records++;
+        }
+        if (valid < channel.size()) {
+            channel.truncate(valid);
+            channel.force(true);
+        }
+        channel.position(valid);
+        size = records;
+        return records;
+    }
+
+    /**
+     * Records the creation of a node.
+     *
+     * @param label the label of the node
+     * @throws IOException if the record cannot be written
+     */
+    public synchronized void newNode(String label) throws IOException {
+        start(NEW_NODE).putString(label).append();
+    }
+
+    /**
+     * Records the deletion of a node.
+     *
+     * @param label the label of the node
+     * @throws IOException if the record cannot be written
+     */
+    public synchronized void deleteNode(String label) throws IOException {
+        start(DELETE_NODE).putString(label).append();
+    }
+
+    /**
+     * Records the creation of an edge.
+     *
+     * @param from      the label of the start node
+     * @param to        the label of the end node
+     * @param cost      the cost of the edge
+     * @param isArrowed true if the edge has an arrow
+     * @throws IOException if the record cannot be written
+     */
+    public synchronized void newEdge(String from, String to, int cost, boolean isArrowed) throws IOException {
+        start(NEW_EDGE).putString(from).putString(to).putInt(cost).putByte(isArrowed ? 1 : 0).append();
+    }
+
+    /**
+     * Records the deletion of an edge.
+     *
+     * @param from the label of the start node
+     * @param to   the label of the end node
+     * @throws IOException if the record cannot be written
+     */
+    public synchronized void deleteEdge(String from, String to) throws IOException {
+        start(DELETE_EDGE).putString(from).putString(to).append();
+    }
+
+    /**
+     * Records the change of the cost of an edge.
+     *
+     * @param from the label of the start node
+     * @param to   the label of the end node
+     * @param cost the new cost
+     * @throws IOException if the record cannot be written
+     */
+    public synchronized void setCost(String from, String to, int cost) throws IOException {
+        start(SET_COST).putString(from).putString(to).putInt(cost).append();
+    }
+
+    /**
+     * Records the rotation of an edge to its next direction.
+     *
+     * @param from the label of the first node
+     * @param to   the label of the second node
+     * @throws IOException if the record cannot be written
+     */
+    public synchronized void rotateEdge(String from, String to) throws IOException {
+        start(ROTATE_EDGE).putString(from).putString(to).append();
+    }
+
+    /**
+     * Records the rotation of an edge to a given direction.
+     *
+     * @param from      the label of the first node
+     * @param to        the label of the second node
+     * @param direction the new direction of the edge
+     * @throws IOException if the record cannot be written
+     */
+    public synchronized void rotateEdge(String from, String to, int direction) throws IOException {
+        start(ROTATE_EDGE_TO).putString(from).putString(to).putByte(direction).append();
+    }
+
+    /**
+     * Records the renaming of a node.
+     *
+     * @param label    the current label of the node
+     * @param newLabel the new label of the node
+     * @throws IOException if the record cannot be written
+     */
+    public synchronized void renameNode(String label, String newLabel) throws IOException {
+        start(RENAME_NODE).putString(label).putString(newLabel).append();
+    }
+
+    /**
+     * Records the split of an edge.
+     *
+     * @param from the label of the first node
+     * @param to   the label of the second node
+     * @throws IOException if the record cannot be written
+     */
+    public synchronized void splitEdge(String from, String to) throws IOException {
+        start(SPLIT_EDGE).putString(from).putString(to).append();
+    }
+
+    /**
+     * Replaces the journal with a single record holding the whole graph.
+     * <br>
+     * The new file is written and synced next to the journal, then renamed over it, and the directory is synced.
+     *
+     * @param graph the current graph
+     * @throws IOException if the snapshot cannot be written, in which case the journal is left as it was,
+     *                     or if the rename cannot be synced, in which case the journal already holds the snapshot
+     */
+    public synchronized void compact(GraphDTO graph) throws IOException {
+        Objects.requireNonNull(graph, "graph");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(SNAPSHOT);
+        graph.writeBinary(bytes, false);
+        ByteBuffer payload = ByteBuffer.wrap(bytes.toByteArray());
+        Path part = file.resolveSibling(file.getFileName() + ".part");
+        try (FileChannel out = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(out, header());
+            writeFully(out, recordHeader(payload));
+            writeFully(out, payload);
+            out.force(true);
+        }
+        try {
+            Files.move(part, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(part, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        FileChannel old = channel;
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        dirty = false;
+        size = 1;
+        old.close();
+        syncDirectory(file.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Returns the number of records in the journal, the snapshot included.
+     *
+     * @return the number of records
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Forces the records appended so far to the disk.
+     *
+     * @throws IOException if the file cannot be synced
+     */
+    public void sync() throws IOException {
+        dirty = false;
+        channel.force(false);
+    }
+
+    /**
+     * Syncs the pending records and closes the journal.
+     *
+     * @throws IOException if the file cannot be synced or closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (committer != null) {
+            committer.cancel(false);
+        }
+        if (channel.isOpen()) {
+            try {
+                sync();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Group commit: one <code>fsync</code> for all the records appended since the previous one.
+     */
+    private void commit() {
+        if (dirty) {
+            try {
+                sync();
+            } catch (ClosedChannelException ignored) {
+                /* replaced by a compaction, which synced it */
+            } catch (IOException ignored) {
+                dirty = true;
+            }
+        }
+    }
+
+    private void apply(ByteBuffer payload, Handler handler) throws IOException {
+        byte type = payload.get();
+        switch (type) {
+            case SNAPSHOT -> handler.snapshot(new GraphDTO(payload));
+            case NEW_NODE -> handler.newNode(getString(payload));
+            case DELETE_NODE -> handler.deleteNode(getString(payload));
+            case NEW_EDGE -> handler.newEdge(getString(payload), getString(payload), payload.getInt(), payload.get() != 0);
+            case DELETE_EDGE -> handler.deleteEdge(getString(payload), getString(payload));
+            case SET_COST -> handler.setCost(getString(payload), getString(payload), payload.getInt());
+            case ROTATE_EDGE -> handler.rotateEdge(getString(payload), getString(payload));
+            case ROTATE_EDGE_TO -> handler.rotateEdge(getString(payload), getString(payload), payload.get());
+            case RENAME_NODE -> handler.renameNode(getString(payload), getString(payload));
+            case SPLIT_EDGE -> handler.splitEdge(getString(payload), getString(payload));
+            default -> throw new IOException("unknown journal record type " + type);
+        }
+    }
+
+    private static String getString(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.getShort() & 0xFFFF];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private GraphJournal start(byte type) {
+        record.clear();
+        record.position(RECORD_HEADER_SIZE);
+        return putByte(type);
+    }
+
+    private GraphJournal putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("label too long: " + bytes.length + " bytes");
+        }
+        ensureRemaining(Short.BYTES + bytes.length);
+        record.putShort((short) bytes.length).put(bytes);
+        return this;
+    }
+
+    private GraphJournal putInt(int value) {
+        ensureRemaining(Integer.BYTES);
+        record.putInt(value);
+        return this;
+    }
+
+    private GraphJournal putByte(int value) {
+        ensureRemaining(1);
+        record.put((byte) value);
+        return this;
+    }
+
+    private void ensureRemaining(int bytes) {
+        if (record.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(record.capacity() * 2, record.position() + bytes));
+            record.flip();
+            larger.put(record);
+            record = larger;
+        }
+    }
+
+    /**
+     * Fills in the length and checksum of the record being built and appends it.
+     * <br>
+     * If the record cannot be written, the file is truncated back to where the record started, so a partial
+     * record never sits in front of the records appended after it.
+     */
+    private void append() throws IOException {
+        record.flip();
+        int length = record.limit() - RECORD_HEADER_SIZE;
+        crc.reset();
+        crc.update(record.slice(RECORD_HEADER_SIZE, length));
+        record.putInt(0, length);
+        record.putInt(Integer.BYTES, (int) crc.getValue());
+        long start = channel.position();
+        try {
+            writeFully(channel, record);
+            if (groupCommitMillis == 0) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            try {
+                channel.truncate(start);
+                channel.position(start);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        size++;
+        if (groupCommitMillis != 0) {
+            dirty = true;
+        }
+    }
+
+    private ByteBuffer recordHeader(ByteBuffer payload) {
+        crc.reset();
+        crc.update(payload.duplicate());
+        return ByteBuffer.allocate(RECORD_HEADER_SIZE)
+                .putInt(payload.remaining())
+                .putInt((int) crc.getValue())
+                .flip();
+    }
+
+    private void checkHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            /* read the whole header */
+        }
+        if (header.hasRemaining() || !header.flip().equals(header())) {
+            channel.close();
+            throw new IOException("not a graph journal: " + file);
+        }
+    }
+
+    private static ByteBuffer header() {
+        return ByteBuffer.allocate(HEADER_SIZE).put(MAGIC).put((byte) VERSION).flip();
+    }
+
+    /**
+     * Syncs a directory, so that a file renamed into it survives a crash.
+     * Platforms that cannot open a directory, such as Windows, already make the rename durable and are skipped.
+     */
+    private static void syncDirectory(Path dir) throws IOException {
+        if (dir == null) {
+            return;
+        }
+        FileChannel directory;
+        try {
+            directory = FileChannel.open(dir, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (directory) {
+            directory.force(true);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GraphJournal{" +
+                "file=" + file +
+                ", records=" + size +
+                ", groupCommitMillis=" + groupCommitMillis +
+                '}';
+    }
+}
@@ -0,0 +1,490 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.dto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Single pass reader of the JSON format written by {@link GraphDTO#getGraphJson()}.
+ * <br>
+ * The input is tokenized straight from a {@link Reader} through a fixed buffer, and every node and edge
+ * is handed to a {@link GraphHandler} as soon as it is read, so a graph of any size is read in linear time
+ * with constant extra memory: at most {@value #MAX_TEXT} characters of each string are kept, enough for
+ * labels, costs and property names.
+ * <br>
+ * The reader is lenient about the layout: whitespace, the order of the properties, quoted or bare values,
+ * missing or trailing commas, unknown properties and nested values are all accepted, and the
+ * <code>"nodes"</code> and <code>"edges"</code> arrays are found in any object. A node is each non-empty
+ * value of <code>"nodes"</code>; an edge is an object of <code>"edges"</code> with non-empty
+ * <code>from</code> and <code>to</code> and an integer <code>cost</code>, anything else is skipped;
+ * a label longer than {@value #MAX_TEXT} characters or a cost that does not fit in an <code>int</code>
+ * is an error.
+ * Input that ends early is read up to where it stops.
+ *
+ * @author vittoriopiotti
+ */
+public final class GraphJsonReader implements Closeable {
+
+    /* characters kept of every string or bare value */
+    private static final int MAX_TEXT = 256;
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder text = new StringBuilder(MAX_TEXT);
+    private int position;
+    private int limit;
+    private boolean truncated;
+    private boolean sectionFound;
+
+    /**
+     * Creates a reader of the given characters.
+     *
+     * @param reader the source of the JSON text
+     * @throws NullPointerException if the source is <code>null</code>
+     */
+    public GraphJsonReader(Reader reader) {
+        this.reader = Objects.requireNonNull(reader, "reader");
+    }
+
+    /**
+     * Creates a reader of the given UTF-8 bytes.
+     *
+     * @param in the source of the JSON text
+     * @throws NullPointerException if the source is <code>null</code>
+     */
+    public GraphJsonReader(InputStream in) {
+        this(new InputStreamReader(Objects.requireNonNull(in, "in"), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a reader of the remaining UTF-8 bytes of a buffer, which can be a memory-mapped file.
+     * <br>
+     * The bytes are decoded a block at a time straight into the reading buffer, so the text is never
+     * held in memory as a whole.
+     *
+     * @param bytes the source of the JSON text
+     * @throws NullPointerException if the source is <code>null</code>
+     */
+    public GraphJsonReader(ByteBuffer bytes) {
+        this(new ByteBufferReader(Objects.requireNonNull(bytes, "bytes")));
+    }
+
+    /**
+     * Reads the whole input, passing every node and edge to the handler.
+     *
+     * @param handler the receiver of the nodes and edges
+     * @return true if a <code>"nodes"</code> or <code>"edges"</code> array was found
+     * @throws IOException if the source cannot be read, a label is too long or an edge has a cost out of
+     *                     the range of <code>int</code>
+     */
+    public boolean read(GraphHandler handler) throws IOException {
+        Objects.requireNonNull(handler, "handler");
+        int c;
+        while ((c = peek()) != -1) {
+            if (c == '{') {
+                readObject(handler);
+            } else if (isCloser(c)) {
+                consume();
+            } else {
+                skipValue();
+            }
+        }
+        return sectionFound;
+    }
+
+    /**
+     * Closes the source.
+     *
+     * @throws IOException if the source cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Reads an object, looking for the node and edge arrays in its properties and in the nested objects.
+     */
+    private void readObject(GraphHandler handler) throws IOException {
+        consume();
+        int c;
+        while ((c = peek()) != -1) {
+            if (c == '}') {
+                consume();
+                return;
+            }
+            if (c == ',' || c == ':' || c == ']') {
+                consume();
+                continue;
+            }
+            readScalar();
+            skipColon();
+            boolean nodes = isText("nodes");
+            boolean edges = isText("edges");
+            c = peek();
+            if (c == '[' && (nodes || edges)) {
+                sectionFound = true;
+                if (nodes) {
+                    readNodes(handler);
+                } else {
+                    readEdges(handler);
+                }
+            } else if (c == '{') {
+                readObject(handler);
+            } else {
+                skipValue();
+            }
+        }
+    }
+
+    private void readNodes(GraphHandler handler) throws IOException {
+        consume();
+        int c;
+        while ((c = peek()) != -1) {
+            if (c == ']') {
+                consume();
+                return;
+            }
+            if (c == ',' || c == '}') {
+                consume();
+            } else if (readScalar() && text.length() > 0) {
+                handler.node(label());
+            }
+        }
+    }
+
+    private void readEdges(GraphHandler handler) throws IOException {
+        consume();
+        int c;
+        while ((c = peek()) != -1) {
+            if (c == ']') {
+                consume();
+                return;
+            }
+            if (c == ',' || c == '}') {
+                consume();
+            } else if (c == '{') {
+                readEdge(handler);
+            } else {
+                skipValue();
+            }
+        }
+    }
+
+    private void readEdge(GraphHandler handler) throws IOException {
+        consume();
+        String from = null;
+        String to = null;
+        int cost = 0;
+        boolean hasCost = false;
+        boolean isArrowed = false;
+        int c;
+        while ((c = peek()) != -1 && c != '}') {
+            if (c == ',' || c == ':' || c == ']') {
+                consume();
+                continue;
+            }
+            readScalar();
+            skipColon();
+            if (isText("from")) {
+                from = readScalar() && text.length() > 0 ? label() : null;
+            } else if (isText("to")) {
+                to = readScalar() && text.length() > 0 ? label() : null;
+            } else if (isText("cost")) {
+                hasCost = readScalar() && isInteger();
+                if (hasCost) {
+                    cost = parseCost();
+                }
+            } else if (isText("isArrowed")) {
+                isArrowed = readScalar() && isTextIgnoreCase("true");
+            } else {
+                skipValue();
+            }
+        }
+        if (c == '}') {
+            consume();
+            if (from != null && to != null && hasCost) {
+                handler.edge(from, to, cost, isArrowed);
+            }
+        }
+    }
+
+    /**
+     * Reads a string or a bare value into {@link #text}, skipping objects, arrays and stray separators.
+     * Closing brackets are left to the caller.
+     *
+     * @return true if the value was a string or a bare value
+     */
+    private boolean readScalar() throws IOException {
+        text.setLength(0);
+        truncated = false;
+        int c = peek();
+        if (c == '"' || c == '\'') {
+            consume();
+            readString(c, true);
+            return true;
+        }
+        if (c == -1 || isDelimiter(c)) {
+            skipValue();
+            return false;
+        }
+        while (c != -1 && !isDelimiter(c)) {
+            keep((char) c);
+            consume();
+            c = peekRaw();
+        }
+        return true;
+    }
+
+    /**
+     * Skips the next value, whatever its type. Closing brackets are left to the caller.
+     */
+    private void skipValue() throws IOException {
+        int c = peek();
+        if (c == '"' || c == '\'') {
+            consume();
+            readString(c, false);
+        } else if (c == '{' || c == '[') {
+            int depth = 0;
+            while ((c = readRaw()) != -1) {
+                if (c == '"' || c == '\'') {
+                    readString(c, false);
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if ((c == '}' || c == ']') && --depth == 0) {
+                    return;
+                }
+            }
+        } else if (isDelimiter(c)) {
+            /* a stray separator: drop it so the caller moves on */
+            if (!isCloser(c)) {
+                consume();
+            }
+        } else {
+            while (c != -1 && !isDelimiter(c)) {
+                consume();
+                c = peekRaw();
+            }
+        }
+    }
+
+    /**
+     * Reads the rest of a string opened by <code>quote</code>, keeping its first characters if asked.
+     */
+    private void readString(int quote, boolean keep) throws IOException {
+        int c;
+        while ((c = readRaw()) != -1 && c != quote) {
+            if (c == '\\') {
+                c = readEscape();
+            }
+            if (keep && c != -1) {
+                keep((char) c);
+            }
+        }
+    }
+
+    private int readEscape() throws IOException {
+        int c = readRaw();
+        switch (c) {
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(readRaw(), 16);
+                    if (digit < 0) {
+                        return '?';
+                    }
+                    value = value * 16 + digit;
+                }
+                return value;
+            default:
+                return c;
+        }
+    }
+
+    private void skipColon() throws IOException {
+        if (peek() == ':') {
+            consume();
+        }
+    }
+
+    private void keep(char c) {
+        if (text.length() < MAX_TEXT) {
+            text.append(c);
+        } else {
+            truncated = true;
+        }
+    }
+
+    /**
+     * Returns {@link #text} as a node label.
+     *
+     * @throws IOException if the label was longer than {@value #MAX_TEXT} characters
+     */
+    private String label() throws IOException {
+        if (truncated) {
+            throw new IOException("node label longer than " + MAX_TEXT + " characters: " + text + "...");
+        }
+        return text.toString();
+    }
+
+    private boolean isText(String value) {
+        return value.contentEquals(text);
+    }
+
+    private boolean isTextIgnoreCase(String value) {
+        return value.equalsIgnoreCase(text.toString());
+    }
+
+    private boolean isInteger() {
+        int length = text.length();
+        int start = length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+') ? 1 : 0;
+        if (length == start) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            if (text.charAt(i) < '0' || text.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses {@link #text}, which {@link #isInteger()} accepted, as a cost.
+     *
+     * @throws IOException if the integer does not fit in an <code>int</code>
+     */
+    private int parseCost() throws IOException {
+        boolean negative = text.charAt(0) == '-';
+        int start = negative || text.charAt(0) == '+' ? 1 : 0;
+        long value = 0;
+        /* a value that was cut is out of range anyway unless padded with zeros */
+        boolean fits = !truncated;
+        for (int i = start; i < text.length() && fits; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+            fits = value <= (long) Integer.MAX_VALUE + 1;
+        }
+        value = negative ? -value : value;
+        if (!fits || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IOException("edge cost out of range: " + text);
+        }
+        return (int) value;
+    }
+
+    private static boolean isCloser(int c) {
+        return c == '}' || c == ']';
+    }
+
+    private static boolean isDelimiter(int c) {
+        return c == ',' || c == ':' || c == '{' || c == '}' || c == '[' || c == ']'
+                || c == '"' || c == '\'' || Character.isWhitespace(c);
+    }
+
+    /**
+     * Returns the next character that is not whitespace, without consuming it.
+     */
+    private int peek() throws IOException {
+        int c;
+        while ((c = peekRaw()) != -1 && Character.isWhitespace(c)) {
+            position++;
+        }
+        return c;
+    }
+
+    private int peekRaw() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private int readRaw() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private void consume() {
+        position++;
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "GraphJsonReader{" +
+                "sectionFound=" + sectionFound +
+                '}';
+    }
+
+    /**
+     * Characters decoded on demand from UTF-8 bytes, with malformed input replaced as {@link InputStreamReader} does.
+     */
+    private static final class ByteBufferReader extends Reader {
+
+        private final ByteBuffer bytes;
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private boolean flushed;
+
+        ByteBufferReader(ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read(char[] chars, int offset, int length) {
+            if (flushed) {
+                return -1;
+            }
+            CharBuffer out = CharBuffer.wrap(chars, offset, length);
+            decoder.decode(bytes, out, true);
+            if (!bytes.hasRemaining() && out.position() == offset) {
+                decoder.flush(out);
+                flushed = true;
+            }
+            int read = out.position() - offset;
+            return read == 0 && flushed ? -1 : read;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
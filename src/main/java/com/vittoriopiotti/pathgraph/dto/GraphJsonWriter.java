@@ -0,0 +1,366 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.dto;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Streaming writer of the JSON format read by {@link GraphJsonReader}.
+ * <br>
+ * The document is written element by element through a fixed buffer, so exporting a graph of any size
+ * needs constant memory. In the indented mode the output is the same as {@link GraphDTO#getGraphJson()};
+ * the compact mode drops all the indentation whitespace.
+ * <br>
+ * Writing does not flush nor close the target: call {@link #flush()} or {@link #close()} when done.
+ *
+ * @author vittoriopiotti
+ */
+public final class GraphJsonWriter implements Closeable, Flushable {
+
+    private final Writer out;
+    private final boolean compact;
+    private final char[] buffer = new char[8192];
+    private int size;
+    private DoubleConsumer progressListener;
+    private long written;
+    private long total;
+
+    /**
+     * Creates a writer to the given characters.
+     *
+     * @param out     the target of the JSON text
+     * @param compact true to drop the indentation whitespace
+     * @throws NullPointerException if the target is <code>null</code>
+     */
+    public GraphJsonWriter(Writer out, boolean compact) {
+        this.out = Objects.requireNonNull(out, "out");
+        this.compact = compact;
+    }
+
+    /**
+     * Creates a writer to the given stream, encoding the JSON text in UTF-8.
+     *
+     * @param out     the target of the JSON text
+     * @param compact true to drop the indentation whitespace
+     * @throws NullPointerException if the target is <code>null</code>
+     */
+    public GraphJsonWriter(OutputStream out, boolean compact) {
+        this(new OutputStreamWriter(Objects.requireNonNull(out, "out"), StandardCharsets.UTF_8), compact);
+    }
+
+    /**
+     * Creates a writer to the given channel, encoding the JSON text in UTF-8.
+     *
+     * @param channel the target of the JSON text
+     * @param compact true to drop the indentation whitespace
+     * @throws NullPointerException if the target is <code>null</code>
+     */
+    public GraphJsonWriter(WritableByteChannel channel, boolean compact) {
+        this(Channels.newWriter(Objects.requireNonNull(channel, "channel"), StandardCharsets.UTF_8), compact);
+    }
+
+    /**
+     * Sets a listener told the fraction of the elements of the document written so far, after every node,
+     * edge or connection list.
+     *
+     * @param listener the listener, or <code>null</code> to remove it
+     */
+    public void setProgressListener(DoubleConsumer listener) {
+        this.progressListener = listener;
+    }
+
+    /**
+     * Writes a document with the nodes and the edges of a graph.
+     *
+     * @param nodes the nodes of the graph
+     * @param edges the edges of the graph
+     * @throws IOException if the target cannot be written
+     */
+    public void writeGraph(List<NodeDTO> nodes, List<EdgeDTO> edges) throws IOException {
+        startDocument(nodes.size() + (long) edges.size());
+        write('{');
+        newLine();
+        writeNodeArray(nodes);
+        write(',');
+        newLine();
+        writeEdgeArray(edges);
+        newLine();
+        write('}');
+    }
+
+    /**
+     * Writes a document with the nodes of a graph.
+     *
+     * @param nodes the nodes of the graph
+     * @throws IOException if the target cannot be written
+     */
+    public void writeNodes(List<NodeDTO> nodes) throws IOException {
+        startDocument(nodes.size());
+        write('{');
+        newLine();
+        writeNodeArray(nodes);
+        newLine();
+        write('}');
+    }
+
+    /**
+     * Writes a document with the edges of a graph.
+     *
+     * @param edges the edges of the graph
+     * @throws IOException if the target cannot be written
+     */
+    public void writeEdges(List<EdgeDTO> edges) throws IOException {
+        startDocument(edges.size());
+        write('{');
+        newLine();
+        writeEdgeArray(edges);
+        newLine();
+        write('}');
+    }
+
+    /**
+     * Writes a document with the connections of every node of a graph.
+     *
+     * @param connections the connections of each node
+     * @throws IOException if the target cannot be written
+     */
+    public void writeConnections(Map<NodeDTO, List<ConnectionDTO>> connections) throws IOException {
+        startDocument(connections.size());
+        write('{');
+        newLine();
+        indent(1);
+        writeKey("connections");
+        write('[');
+        newLine();
+        int i = 0;
+        for (Map.Entry<NodeDTO, List<ConnectionDTO>> entry : connections.entrySet()) {
+            indent(2);
+            write('{');
+            newLine();
+            indent(3);
+            writeKey("node");
+            writeString(entry.getKey().getLabel());
+            write(',');
+            newLine();
+            indent(3);
+            writeKey("edges");
+            write('[');
+            newLine();
+            List<ConnectionDTO> list = entry.getValue();
+            for (int j = 0; j < list.size(); j++) {
+                ConnectionDTO connection = list.get(j);
+                indent(4);
+                write('{');
+                newLine();
+                indent(5);
+                writeKey("to");
+                writeString(connection.getLabel());
+                write(',');
+                newLine();
+                indent(5);
+                writeKey("cost");
+                write(Integer.toString(connection.getCost()));
+                newLine();
+                indent(4);
+                write('}');
+                separator(j, list.size());
+            }
+            indent(3);
+            write(']');
+            newLine();
+            indent(2);
+            write('}');
+            separator(i++, connections.size());
+            written();
+        }
+        indent(1);
+        write(']');
+        newLine();
+        write('}');
+    }
+
+    /**
+     * Writes the buffered characters and flushes the target.
+     *
+     * @throws IOException if the target cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    /**
+     * Writes the buffered characters and closes the target.
+     *
+     * @throws IOException if the target cannot be written or closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeNodeArray(List<NodeDTO> nodes) throws IOException {
+        indent(1);
+        writeKey("nodes");
+        write('[');
+        newLine();
+        for (int j = 0; j < nodes.size(); j++) {
+            indent(2);
+            writeString(nodes.get(j).getLabel());
+            separator(j, nodes.size());
+            written();
+        }
+        indent(1);
+        write(']');
+    }
+
+    private void writeEdgeArray(List<EdgeDTO> edges) throws IOException {
+        indent(1);
+        writeKey("edges");
+        write('[');
+        newLine();
+        for (int j = 0; j < edges.size(); j++) {
+            EdgeDTO edge = edges.get(j);
+            indent(2);
+            write('{');
+            newLine();
+            indent(3);
+            writeKey("from");
+            writeString(edge.getFrom());
+            write(',');
+            newLine();
+            indent(3);
+            writeKey("to");
+            writeString(edge.getTo());
+            write(',');
+            newLine();
+            indent(3);
+            writeKey("cost");
+            write('"');
+            write(Integer.toString(edge.getCost()));
+            write('"');
+            write(',');
+            newLine();
+            indent(3);
+            writeKey("isArrowed");
+            write(edge.getIsArrowed() ? "true" : "false");
+            newLine();
+            indent(2);
+            write('}');
+            separator(j, edges.size());
+            written();
+        }
+        indent(1);
+        write(']');
+    }
+
+    private void startDocument(long elements) {
+        written = 0;
+        total = elements;
+    }
+
+    private void written() {
+        if (progressListener != null) {
+            progressListener.accept((double) ++written / total);
+        }
+    }
+
+    /**
+     * Ends an element of an array, with a comma unless it is the last one.
+     */
+    private void separator(int index, int count) throws IOException {
+        if (index < count - 1) {
+            write(',');
+        }
+        newLine();
+    }
+
+    private void writeKey(String key) throws IOException {
+        write('"');
+        write(key);
+        write('"');
+        write(':');
+        if (!compact) {
+            write(' ');
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                write('\\');
+                write(c);
+            } else if (c < 0x20) {
+                write(String.format("\\u%04x", (int) c));
+            } else {
+                write(c);
+            }
+        }
+        write('"');
+    }
+
+    private void newLine() throws IOException {
+        if (!compact) {
+            write('\n');
+        }
+    }
+
+    private void indent(int depth) throws IOException {
+        if (!compact) {
+            for (int i = 0; i < depth; i++) {
+                write(' ');
+                write(' ');
+            }
+        }
+    }
+
+    private void write(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            write(s.charAt(i));
+        }
+    }
+
+    private void write(char c) throws IOException {
+        if (size == buffer.length) {
+            drain();
+        }
+        buffer[size++] = c;
+    }
+
+    private void drain() throws IOException {
+        if (size > 0) {
+            out.write(buffer, 0, size);
+            size = 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GraphJsonWriter{" +
+                "compact=" + compact +
+                '}';
+    }
+}
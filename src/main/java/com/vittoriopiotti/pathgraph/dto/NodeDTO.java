@@ -16,23 +16,32 @@ package com.vittoriopiotti.pathgraph.dto;
 @SuppressWarnings("all")
 public class NodeDTO {
 
-    private final char label;
+    private final String label;
 
     /**
      * Constructs a NodeDTO with the specified label.
      *
      * @param label the label of the node
      */
-    public NodeDTO(char label) {
+    public NodeDTO(String label) {
         this.label = label;
     }
 
+    /**
+     * Constructs a NodeDTO with a single-character label.
+     *
+     * @param label the label of the node
+     */
+    public NodeDTO(char label) {
+        this(String.valueOf(label));
+    }
+
     /**
      * Returns the label of the node.
      *
      * @return the label of the node
      */
-    public char getLabel() {
+    public String getLabel() {
         return label;
     }
 
@@ -48,4 +57,3 @@ public class NodeDTO {
                 '}';
     }
 }
-
@@ -0,0 +1,71 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.dto;
+
+/**
+ * Represents a path query between a starting node and an ending node.
+ * This class is used to submit many queries at once to {@link GraphDTO#findPaths(java.util.Collection)}.
+ *
+ * @author vittoriopiotti
+ */
+public class PathQueryDTO {
+
+    private final String start;
+    private final String end;
+
+    /**
+     * Constructs a new PathQueryDTO with the specified starting and ending nodes.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     */
+    public PathQueryDTO(String start, String end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Constructs a new PathQueryDTO between single-character labels.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     */
+    public PathQueryDTO(char start, char end) {
+        this(String.valueOf(start), String.valueOf(end));
+    }
+
+    /**
+     * Returns the label of the starting node.
+     *
+     * @return the label of the starting node
+     */
+    public String getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the label of the ending node.
+     *
+     * @return the label of the ending node
+     */
+    public String getEnd() {
+        return end;
+    }
+
+    /**
+     * Returns a string representation of the PathQueryDTO.
+     *
+     * @return a string in the format "PathQueryDTO{start=X, end=Y}"
+     */
+    @Override
+    public String toString() {
+        return "PathQueryDTO{" +
+                "start=" + start +
+                ", end=" + end +
+                '}';
+    }
+}
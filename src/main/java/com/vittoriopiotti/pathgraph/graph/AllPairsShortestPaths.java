@@ -0,0 +1,267 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Precomputed distances and next hops between every pair of vertices of a {@link CsrGraph}.
+ * <br>
+ * The tables are filled by one Dijkstra search per source vertex, split among the threads of a
+ * {@link ForkJoinPool}; each thread reuses a single {@link DijkstraEngine} for all its sources.
+ * Both tables are flat <code>int</code> arrays in row-major order, so the entry of the pair
+ * <code>(s, t)</code> is at index <code>s * numVertices() + t</code>.
+ * Once built, a shortest path is answered by walking the next hop table, without any search.
+ * <br>
+ * Instances are immutable and can be shared between threads.
+ *
+ * @param <V> Type of element stored at a vertex
+ *
+ * @author vittoriopiotti
+ */
+public final class AllPairsShortestPaths<V> {
+
+    /**
+     * Distance of the pairs whose target cannot be reached from the source.
+     */
+    public static final int UNREACHABLE = DijkstraEngine.UNREACHABLE;
+
+    /* number of sources below which a task stops splitting */
+    private static final int SOURCES_PER_TASK = 8;
+
+    private final CsrGraph<V> graph;
+    private final int n;
+    private final int[] distances;
+    private final int[] nextHops;
+
+    private AllPairsShortestPaths(CsrGraph<V> graph) {
+        this.graph = graph;
+        this.n = graph.numVertices();
+        int size;
+        try {
+            size = Math.multiplyExact(n, n);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("too many vertices for the all-pairs tables: " + n, e);
+        }
+        this.distances = new int[size];
+        this.nextHops = new int[size];
+    }
+
+    /**
+     * Computes the tables of the given snapshot on the common {@link ForkJoinPool}.
+     *
+     * @param graph the snapshot
+     * @param <V>   Type of element stored at a vertex
+     * @return the all-pairs shortest paths of the snapshot
+     * @throws NullPointerException if the snapshot is <code>null</code>
+     * @throws IllegalArgumentException if the tables of the snapshot do not fit in an array
+     */
+    public static <V> AllPairsShortestPaths<V> of(CsrGraph<V> graph) {
+        return of(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the tables of the given snapshot on the given pool.
+     *
+     * @param graph the snapshot
+     * @param pool  the pool that runs the searches
+     * @param <V>   Type of element stored at a vertex
+     * @return the all-pairs shortest paths of the snapshot
+     * @throws NullPointerException if the snapshot or the pool is <code>null</code>
+     * @throws IllegalArgumentException if the tables of the snapshot do not fit in an array
+     */
+    public static <V> AllPairsShortestPaths<V> of(CsrGraph<V> graph, ForkJoinPool pool) {
+        Objects.requireNonNull(graph, "graph");
+        Objects.requireNonNull(pool, "pool");
+        AllPairsShortestPaths<V> paths = new AllPairsShortestPaths<>(graph);
+        if (paths.n > 0) {
+            pool.invoke(paths.new FillTask(0, paths.n));
+        }
+        return paths;
+    }
+
+    /**
+     * Returns the snapshot the tables were computed from.
+     *
+     * @return the snapshot
+     */
+    public CsrGraph<V> graph() {
+        return graph;
+    }
+
+    /**
+     * Returns the number of vertices, that is the number of rows and columns of the tables.
+     *
+     * @return the number of vertices
+     */
+    public int numVertices() {
+        return n;
+    }
+
+    /**
+     * Returns the cost of a shortest path between two vertices.
+     *
+     * @param source the id of the source vertex
+     * @param target the id of the target vertex
+     * @return the cost of the path, <code>0</code> when source and target coincide, or {@link #UNREACHABLE}
+     * @throws IndexOutOfBoundsException if one of the ids is not valid
+     */
+    public int distance(int source, int target) {
+        return distances[index(source, target)];
+    }
+
+    /**
+     * Returns the vertex that follows the source on a shortest path between two vertices.
+     *
+     * @param source the id of the source vertex
+     * @param target the id of the target vertex
+     * @return the id of the next vertex, or <code>-1</code> when source and target coincide or the target cannot be reached
+     * @throws IndexOutOfBoundsException if one of the ids is not valid
+     */
+    public int nextHop(int source, int target) {
+        return nextHops[index(source, target)];
+    }
+
+    /**
+     * Returns the vertex ids of a shortest path between two vertices by walking the next hop table.
+     *
+     * @param source the id of the source vertex
+     * @param target the id of the target vertex
+     * @return the ids from <code>source</code> to <code>target</code> included, or <code>null</code> if there is no path
+     * @throws IndexOutOfBoundsException if one of the ids is not valid
+     */
+    public int[] path(int source, int target) {
+        if (source == target) {
+            Objects.checkIndex(source, n);
+            return new int[]{source};
+        }
+        if (nextHop(source, target) < 0) {
+            return null;
+        }
+        int length = 1;
+        for (int v = source; v != target; v = nextHops[v * n + target]) {
+            length++;
+        }
+        int[] path = new int[length];
+        int i = 0;
+        for (int v = source; v != target; v = nextHops[v * n + target]) {
+            path[i++] = v;
+        }
+        path[i] = target;
+        return path;
+    }
+
+    /**
+     * Returns the elements of a shortest path between two vertices.
+     *
+     * @param source the element of the source vertex
+     * @param target the element of the target vertex
+     * @return the elements from <code>source</code> to <code>target</code> included, or <code>null</code>
+     *         if there is no path or one of the elements is not in the snapshot
+     */
+    public List<V> path(V source, V target) {
+        int s = graph.idOf(source);
+        int t = graph.idOf(target);
+        int[] path = s < 0 || t < 0 ? null : path(s, t);
+        if (path == null) {
+            return null;
+        }
+        List<V> elements = new ArrayList<>(path.length);
+        for (int id : path) {
+            elements.add(graph.vertex(id));
+        }
+        return elements;
+    }
+
+    /**
+     * Returns a copy of the distance table, in row-major order.
+     *
+     * @return the <code>numVertices() * numVertices()</code> distances, {@link #UNREACHABLE} for the pairs without a path
+     */
+    public int[] distances() {
+        return distances.clone();
+    }
+
+    /**
+     * Returns a copy of the next hop table, in row-major order.
+     *
+     * @return the <code>numVertices() * numVertices()</code> next hops, <code>-1</code> for the pairs without one
+     */
+    public int[] nextHops() {
+        return nextHops.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "AllPairsShortestPaths{" +
+                "vertices=" + n +
+                '}';
+    }
+
+    private int index(int source, int target) {
+        Objects.checkIndex(source, n);
+        Objects.checkIndex(target, n);
+        return source * n + target;
+    }
+
+    /**
+     * Fills the rows of a range of sources, splitting the range among the pool while it is large.
+     */
+    private final class FillTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        FillTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SOURCES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new FillTask(from, middle), new FillTask(middle, to));
+                return;
+            }
+            DijkstraEngine<V> engine = new DijkstraEngine<>(graph);
+            for (int s = from; s < to; s++) {
+                fillRow(engine, s);
+            }
+        }
+
+        private void fillRow(DijkstraEngine<V> engine, int s) {
+            engine.run(s, -1);
+            int row = s * n;
+            for (int t = 0; t < n; t++) {
+                distances[row + t] = engine.distance(t);
+                /* -2 marks the next hops not resolved yet */
+                nextHops[row + t] = t == s || !engine.isReachable(t) ? -1 : -2;
+            }
+            /* the next hop of a vertex is the one of its predecessor, or itself when the predecessor is the source */
+            for (int t = 0; t < n; t++) {
+                if (nextHops[row + t] != -2) {
+                    continue;
+                }
+                int v = t;
+                while (nextHops[row + v] == -2 && engine.predecessor(v) != s) {
+                    v = engine.predecessor(v);
+                }
+                int hop = nextHops[row + v] == -2 ? v : nextHops[row + v];
+                for (int u = t; nextHops[row + u] == -2; u = engine.predecessor(u)) {
+                    nextHops[row + u] = hop;
+                }
+            }
+        }
+    }
+}
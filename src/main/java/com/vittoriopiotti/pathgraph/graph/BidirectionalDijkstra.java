@@ -0,0 +1,255 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Point-to-point shortest path engine that runs two Dijkstra searches at the same time over a {@link CsrGraph}:
+ * one forward from the source on the outbound arcs and one backward from the target on the inbound arcs.
+ * <br>
+ * The search expands the side with the smaller frontier and stops as soon as the sum of the two smallest
+ * keys reaches the cost of the best path seen where the two searches meet, which usually settles far
+ * fewer vertices than a single search.
+ * <br>
+ * Like {@link DijkstraEngine}, all the storage is allocated by the constructor and reused by every query.
+ * Costs are expected to be non-negative. The engine is not thread-safe: use one engine per thread.
+ *
+ * @param <V> Type of element stored at a vertex
+ *
+ * @author vittoriopiotti
+ */
+public final class BidirectionalDijkstra<V> {
+
+    /**
+     * Distance returned when the target cannot be reached from the source.
+     */
+    public static final int UNREACHABLE = DijkstraEngine.UNREACHABLE;
+
+    private final CsrGraph<V> graph;
+    private final IndexedMinHeap forwardHeap;
+    private final IndexedMinHeap backwardHeap;
+    private final int[] forwardDistances;
+    private final int[] backwardDistances;
+    private final int[] predecessors;
+    private final int[] successors;
+    private final int[] forwardGenerations;
+    private final int[] backwardGenerations;
+    private int generation;
+    private int distance = UNREACHABLE;
+    private int settled;
+
+    /**
+     * Creates an engine for the given snapshot.
+     *
+     * @param graph the snapshot to query
+     * @throws NullPointerException if the snapshot is <code>null</code>
+     */
+    public BidirectionalDijkstra(CsrGraph<V> graph) {
+        this.graph = Objects.requireNonNull(graph, "graph");
+        int n = graph.numVertices();
+        this.forwardHeap = new IndexedMinHeap(n);
+        this.backwardHeap = new IndexedMinHeap(n);
+        this.forwardDistances = new int[n];
+        this.backwardDistances = new int[n];
+        this.predecessors = new int[n];
+        this.successors = new int[n];
+        this.forwardGenerations = new int[n];
+        this.backwardGenerations = new int[n];
+    }
+
+    /**
+     * Returns the snapshot queried by the engine.
+     *
+     * @return the snapshot
+     */
+    public CsrGraph<V> graph() {
+        return graph;
+    }
+
+    /**
+     * Returns the vertex ids of a shortest path between two vertices.
+     *
+     * @param source the id of the source vertex
+     * @param target the id of the target vertex
+     * @return the ids from <code>source</code> to <code>target</code> included, or <code>null</code> if there is no path
+     * @throws IndexOutOfBoundsException if one of the ids is not valid
+     */
+    public int[] shortestPath(int source, int target) {
+        Objects.checkIndex(source, graph.numVertices());
+        Objects.checkIndex(target, graph.numVertices());
+        nextGeneration();
+        settled = 0;
+        distance = UNREACHABLE;
+        if (source == target) {
+            distance = 0;
+            return new int[]{source};
+        }
+        forwardGenerations[source] = generation;
+        forwardDistances[source] = 0;
+        predecessors[source] = -1;
+        forwardHeap.push(source, 0);
+        backwardGenerations[target] = generation;
+        backwardDistances[target] = 0;
+        successors[target] = -1;
+        backwardHeap.push(target, 0);
+        int meeting = -1;
+        while (!forwardHeap.isEmpty() && !backwardHeap.isEmpty()) {
+            if ((long) forwardHeap.peekKey() + backwardHeap.peekKey() >= distance) {
+                break;
+            }
+            int candidate = forwardHeap.size() <= backwardHeap.size() ? expandForward() : expandBackward();
+            if (candidate >= 0) {
+                meeting = candidate;
+            }
+        }
+        forwardHeap.clear();
+        backwardHeap.clear();
+        return meeting < 0 ? null : join(meeting);
+    }
+
+    /**
+     * Returns the elements of a shortest path between two vertices.
+     *
+     * @param source the element of the source vertex
+     * @param target the element of the target vertex
+     * @return the elements from <code>source</code> to <code>target</code> included, or <code>null</code>
+     *         if there is no path or one of the elements is not in the snapshot
+     */
+    public List<V> shortestPath(V source, V target) {
+        int s = graph.idOf(source);
+        int t = graph.idOf(target);
+        int[] path = s < 0 || t < 0 ? null : shortestPath(s, t);
+        if (path == null) {
+            return null;
+        }
+        List<V> elements = new ArrayList<>(path.length);
+        for (int id : path) {
+            elements.add(graph.vertex(id));
+        }
+        return elements;
+    }
+
+    /**
+     * Returns the cost of the path found by the last query.
+     *
+     * @return the cost of the path, or {@link #UNREACHABLE} if there was no path
+     */
+    public int distance() {
+        return distance;
+    }
+
+    /**
+     * Returns the number of vertices settled by the two searches of the last query.
+     *
+     * @return the number of settled vertices
+     */
+    public int settledCount() {
+        return settled;
+    }
+
+    /**
+     * Settles the closest vertex of the forward frontier.
+     *
+     * @return the vertex where the searches met on a better path, or -1
+     */
+    private int expandForward() {
+        int u = forwardHeap.poll();
+        settled++;
+        int meeting = -1;
+        int du = forwardDistances[u];
+        for (int arc = graph.offsets[u], end = graph.offsets[u + 1]; arc < end; arc++) {
+            int v = graph.targets[arc];
+            long dv = (long) du + graph.costs[arc];
+            if (dv >= UNREACHABLE) {
+                continue;
+            }
+            if (forwardGenerations[v] != generation || dv < forwardDistances[v]) {
+                forwardGenerations[v] = generation;
+                forwardDistances[v] = (int) dv;
+                predecessors[v] = u;
+                forwardHeap.push(v, (int) dv);
+            }
+            if (backwardGenerations[v] == generation && dv + backwardDistances[v] < distance) {
+                distance = (int) (dv + backwardDistances[v]);
+                meeting = v;
+            }
+        }
+        return meeting;
+    }
+
+    /**
+     * Settles the closest vertex of the backward frontier.
+     *
+     * @return the vertex where the searches met on a better path, or -1
+     */
+    private int expandBackward() {
+        int u = backwardHeap.poll();
+        settled++;
+        int meeting = -1;
+        int du = backwardDistances[u];
+        for (int arc = graph.reverseOffsets[u], end = graph.reverseOffsets[u + 1]; arc < end; arc++) {
+            int v = graph.reverseSources[arc];
+            long dv = (long) du + graph.reverseCosts[arc];
+            if (dv >= UNREACHABLE) {
+                continue;
+            }
+            if (backwardGenerations[v] != generation || dv < backwardDistances[v]) {
+                backwardGenerations[v] = generation;
+                backwardDistances[v] = (int) dv;
+                successors[v] = u;
+                backwardHeap.push(v, (int) dv);
+            }
+            if (forwardGenerations[v] == generation && dv + forwardDistances[v] < distance) {
+                distance = (int) (dv + forwardDistances[v]);
+                meeting = v;
+            }
+        }
+        return meeting;
+    }
+
+    /**
+     * Joins the forward path to the meeting vertex with the backward path from it.
+     */
+    private int[] join(int meeting) {
+        int length = 0;
+        for (int v = meeting; v != -1; v = predecessors[v]) {
+            length++;
+        }
+        for (int v = successors[meeting]; v != -1; v = successors[v]) {
+            length++;
+        }
+        int[] path = new int[length];
+        int i = 0;
+        for (int v = meeting; v != -1; v = predecessors[v]) {
+            path[i++] = v;
+        }
+        for (int l = 0, r = i - 1; l < r; l++, r--) {
+            int swap = path[l];
+            path[l] = path[r];
+            path[r] = swap;
+        }
+        for (int v = successors[meeting]; v != -1; v = successors[v]) {
+            path[i++] = v;
+        }
+        return path;
+    }
+
+    private void nextGeneration() {
+        forwardHeap.clear();
+        backwardHeap.clear();
+        if (++generation == 0) {
+            /* the counter wrapped around: forget every stale mark */
+            Arrays.fill(forwardGenerations, 0);
+            Arrays.fill(backwardGenerations, 0);
+            generation = 1;
+        }
+    }
+}
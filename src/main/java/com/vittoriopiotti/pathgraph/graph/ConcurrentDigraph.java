@@ -0,0 +1,206 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+
+/**
+ * Thread-safe {@link Digraph} that guards another, non thread-safe, digraph with a {@link StampedLock}.
+ * <br>
+ * Queries run under the read lock, so any number of readers can proceed at the same time,
+ * while insertions, removals and replacements take the write lock and run alone.
+ * {@link #numVertices()} and {@link #numEdges()} first try an optimistic read and only fall
+ * back to the read lock when a writer intervened.
+ * <br>
+ * The wrapped digraph must not be accessed directly once wrapped, and its size counters must be
+ * safe to read while a writer is running (true for {@link DigraphAdjacencyList} and {@link DigraphEdgeList}).
+ * Changes applied through {@link Edge#setDirection(int)} are not guarded by the lock.
+ * <br>
+ * @param <V> Type of element stored at a vertex
+ * @param <E> Type of element stored at an edge
+ *
+ * @see DigraphAdjacencyList
+ *
+ * @author vittoriopiotti
+ */
+public class ConcurrentDigraph<V, E> implements Digraph<V, E> {
+
+    private final Digraph<V, E> digraph;
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Default constructor that initializes an empty digraph backed by a {@link DigraphAdjacencyList}.
+     */
+    public ConcurrentDigraph() {
+        this(new DigraphAdjacencyList<>());
+    }
+
+    /**
+     * Constructor that guards the given digraph.
+     *
+     * @param digraph the digraph to guard
+     * @throws NullPointerException if the digraph is <code>null</code>
+     */
+    public ConcurrentDigraph(Digraph<V, E> digraph) {
+        this.digraph = Objects.requireNonNull(digraph, "digraph");
+    }
+
+    @Override
+    public Collection<Edge<E, V>> incidentEdges(Vertex<V> inbound) throws InvalidVertexException {
+        return read(() -> digraph.incidentEdges(inbound));
+    }
+
+    @Override
+    public Collection<Edge<E, V>> outboundEdges(Vertex<V> outbound) throws InvalidVertexException {
+        return read(() -> digraph.outboundEdges(outbound));
+    }
+
+    @Override
+    public boolean areAdjacent(Vertex<V> outbound, Vertex<V> inbound) throws InvalidVertexException {
+        return read(() -> digraph.areAdjacent(outbound, inbound));
+    }
+
+    @Override
+    public Edge<E, V> insertEdge(Vertex<V> outbound, Vertex<V> inbound, E edgeElement, int cost, int direction) throws InvalidVertexException, InvalidEdgeException {
+        return write(() -> digraph.insertEdge(outbound, inbound, edgeElement, cost, direction));
+    }
+
+    @Override
+    public Edge<E, V> insertEdge(V outboundElement, V inboundElement, E edgeElement, int cost, int direction) throws InvalidVertexException, InvalidEdgeException {
+        return write(() -> digraph.insertEdge(outboundElement, inboundElement, edgeElement, cost, direction));
+    }
+
+    @Override
+    public int numVertices() {
+        long stamp = lock.tryOptimisticRead();
+        int count = digraph.numVertices();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                count = digraph.numVertices();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int numEdges() {
+        long stamp = lock.tryOptimisticRead();
+        int count = digraph.numEdges();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                count = digraph.numEdges();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public Collection<Vertex<V>> vertices() {
+        return read(digraph::vertices);
+    }
+
+    @Override
+    public Collection<Edge<E, V>> edges() {
+        return read(digraph::edges);
+    }
+
+    @Override
+    public Vertex<V> opposite(Vertex<V> v, Edge<E, V> e) throws InvalidVertexException, InvalidEdgeException {
+        return read(() -> digraph.opposite(v, e));
+    }
+
+    @Override
+    public Vertex<V> insertVertex(V vElement) throws InvalidVertexException {
+        return write(() -> digraph.insertVertex(vElement));
+    }
+
+    @Override
+    public V removeVertex(Vertex<V> v) throws InvalidVertexException {
+        return write(() -> digraph.removeVertex(v));
+    }
+
+    @Override
+    public E removeEdge(Edge<E, V> e) throws InvalidEdgeException {
+        return write(() -> digraph.removeEdge(e));
+    }
+
+    @Override
+    public V replace(Vertex<V> v, V newElement) throws InvalidVertexException {
+        return write(() -> digraph.replace(v, newElement));
+    }
+
+    @Override
+    public E replace(Edge<E, V> e, E newElement) throws InvalidEdgeException {
+        return write(() -> digraph.replace(e, newElement));
+    }
+
+    /**
+     * Returns a snapshot of the wrapped digraph.
+     * <br>
+     * The snapshot is taken under an optimistic read, falling back to the read lock
+     * only when a writer intervened; reading it afterwards does not need any lock.
+     *
+     * @return the snapshot of the digraph
+     */
+    @Override
+    public GraphSnapshot<V, E> snapshot() {
+        long stamp = lock.tryOptimisticRead();
+        GraphSnapshot<V, E> snapshot = digraph.snapshot();
+        if (!lock.validate(stamp)) {
+            snapshot = read(digraph::snapshot);
+        }
+        return snapshot;
+    }
+
+    @Override
+    public String toString() {
+        return read(digraph::toString);
+    }
+
+    /**
+     * Runs a query on the wrapped digraph under the read lock.
+     *
+     * @param query the query to run
+     * @param <T>   Type of the result
+     * @return the result of the query
+     */
+    private <T> T read(Supplier<T> query) {
+        long stamp = lock.readLock();
+        try {
+            return query.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs a modification on the wrapped digraph under the write lock.
+     *
+     * @param update the modification to run
+     * @param <T>    Type of the result
+     * @return the result of the modification
+     */
+    private <T> T write(Supplier<T> update) {
+        long stamp = lock.writeLock();
+        try {
+            return update.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+}
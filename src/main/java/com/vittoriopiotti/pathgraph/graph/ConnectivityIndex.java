@@ -0,0 +1,568 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import java.util.Arrays;
+
+/**
+ * Connectivity of a directed graph, maintained arc by arc.
+ * <br>
+ * Vertices are dense non-negative integer ids; a vertex exists, isolated, from the first time its id is used.
+ * The index keeps two partitions of the vertices, both readable in O(1):
+ * <ul>
+ *     <li>the connected components, ignoring the direction of the arcs. A new arc joins two components by
+ *     moving the members of the smaller one, as a union by size. Removing the last arc between two vertices
+ *     runs two searches from its ends, one vertex at a time each: they stop as soon as they meet, or when the
+ *     smaller side is exhausted, which is then split off as a new component;</li>
+ *     <li>the strongly connected components. A new arc between two components merges the components of the
+ *     vertices that lie on a cycle through it; removing an arc inside a component recomputes only that
+ *     component with Tarjan's algorithm.</li>
+ * </ul>
+ * Arcs are counted, so parallel arcs between the same vertices are removed one at a time.
+ * The class is not thread-safe.
+ *
+ * @author vittoriopiotti
+ */
+public final class ConnectivityIndex {
+
+    private Neighbors[] outbound = new Neighbors[0];
+    private Neighbors[] inbound = new Neighbors[0];
+    private final Partition components = new Partition();
+    private final Partition strongComponents = new Partition();
+    private int capacity;
+
+    /* scratch storage of the searches, stamped by generation instead of cleared */
+    private int[] firstStamps = new int[0];
+    private int[] secondStamps = new int[0];
+    private int[] firstQueue = new int[0];
+    private int[] secondQueue = new int[0];
+    private int generation;
+
+    /* scratch storage of Tarjan's algorithm */
+    private int[] indices = new int[0];
+    private int[] lowLinks = new int[0];
+    private int[] tarjanStack = new int[0];
+    private int[] callStack = new int[0];
+    private int[] arcCursors = new int[0];
+    private boolean[] onStack = new boolean[0];
+
+    /**
+     * Creates an index with no vertices and no arcs.
+     */
+    public ConnectivityIndex() {
+    }
+
+    /**
+     * Adds an arc between two vertices.
+     *
+     * @param from the id of the vertex the arc leaves
+     * @param to   the id of the vertex the arc enters
+     * @throws IllegalArgumentException if an id is negative
+     */
+    public void addArc(int from, int to) {
+        if (from < 0 || to < 0) {
+            throw new IllegalArgumentException("invalid arc " + from + " -> " + to);
+        }
+        ensureCapacity(Math.max(from, to) + 1);
+        boolean added = outbound[from].add(to) == 1;
+        inbound[to].add(from);
+        if (!added || from == to) {
+            return;
+        }
+        components.union(from, to);
+        if (strongComponents.id(from) != strongComponents.id(to)) {
+            closeCycles(from, to);
+        }
+    }
+
+    /**
+     * Removes an arc between two vertices.
+     *
+     * @param from the id of the vertex the arc leaves
+     * @param to   the id of the vertex the arc enters
+     * @return true if the arc existed
+     */
+    public boolean removeArc(int from, int to) {
+        if (!hasArc(from, to)) {
+            return false;
+        }
+        boolean removed = outbound[from].remove(to) == 0;
+        inbound[to].remove(from);
+        if (!removed || from == to) {
+            return true;
+        }
+        if (strongComponents.id(from) == strongComponents.id(to)) {
+            splitStrongComponent(strongComponents.id(from));
+        }
+        if (!isAdjacent(from, to)) {
+            splitComponent(from, to);
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether there is at least one arc from a vertex to another.
+     *
+     * @param from the id of the vertex the arc leaves
+     * @param to   the id of the vertex the arc enters
+     * @return true if the arc exists
+     */
+    public boolean hasArc(int from, int to) {
+        return from >= 0 && to >= 0 && from < capacity && to < capacity && outbound[from].count(to) > 0;
+    }
+
+    /**
+     * Checks whether two vertices are joined by an arc, in either direction.
+     *
+     * @param u the id of a vertex
+     * @param v the id of the other vertex
+     * @return true if an arc joins the two vertices
+     */
+    public boolean isAdjacent(int u, int v) {
+        return hasArc(u, v) || hasArc(v, u);
+    }
+
+    /**
+     * Returns the number of distinct vertices joined to a vertex by an arc, in either direction.
+     *
+     * @param v the vertex id
+     * @return the number of neighbors
+     */
+    public int degree(int v) {
+        if (v < 0 || v >= capacity) {
+            return 0;
+        }
+        int degree = outbound[v].size;
+        Neighbors in = inbound[v];
+        for (int i = 0; i < in.size; i++) {
+            if (outbound[v].count(in.ids[i]) == 0) {
+                degree++;
+            }
+        }
+        return degree;
+    }
+
+    /**
+     * Returns the id of the connected component of a vertex, ignoring the direction of the arcs.
+     * <br>
+     * Ids are stable while the component does not change and are reused once a component disappears.
+     *
+     * @param v the vertex id
+     * @return the id of the component
+     * @throws IllegalArgumentException if the id is negative
+     */
+    public int componentId(int v) {
+        touch(v);
+        return components.id(v);
+    }
+
+    /**
+     * Returns the number of vertices of the connected component of a vertex.
+     *
+     * @param v the vertex id
+     * @return the size of the component
+     * @throws IllegalArgumentException if the id is negative
+     */
+    public int componentSize(int v) {
+        touch(v);
+        return components.size(components.id(v));
+    }
+
+    /**
+     * Checks whether two vertices are in the same connected component, ignoring the direction of the arcs.
+     *
+     * @param u the id of a vertex
+     * @param v the id of the other vertex
+     * @return true if a chain of arcs joins the two vertices
+     * @throws IllegalArgumentException if an id is negative
+     */
+    public boolean isSameComponent(int u, int v) {
+        return componentId(u) == componentId(v);
+    }
+
+    /**
+     * Returns the id of the strongly connected component of a vertex.
+     *
+     * @param v the vertex id
+     * @return the id of the strongly connected component
+     * @throws IllegalArgumentException if the id is negative
+     */
+    public int strongComponentId(int v) {
+        touch(v);
+        return strongComponents.id(v);
+    }
+
+    /**
+     * Checks whether two vertices can reach each other following the direction of the arcs.
+     *
+     * @param u the id of a vertex
+     * @param v the id of the other vertex
+     * @return true if the two vertices are in the same strongly connected component
+     * @throws IllegalArgumentException if an id is negative
+     */
+    public boolean isStronglyConnected(int u, int v) {
+        return strongComponentId(u) == strongComponentId(v);
+    }
+
+    /**
+     * Merges the strongly connected components on the cycles closed by the new arc <code>from &rarr; to</code>:
+     * the vertices reachable from <code>to</code> that also reach <code>from</code>.
+     */
+    private void closeCycles(int from, int to) {
+        nextGeneration();
+        /* forward from the head */
+        int size = 0;
+        firstStamps[to] = generation;
+        firstQueue[size++] = to;
+        for (int head = 0; head < size; head++) {
+            Neighbors out = outbound[firstQueue[head]];
+            for (int i = 0; i < out.size; i++) {
+                int x = out.ids[i];
+                if (firstStamps[x] != generation) {
+                    firstStamps[x] = generation;
+                    firstQueue[size++] = x;
+                }
+            }
+        }
+        if (firstStamps[from] != generation) {
+            return;
+        }
+        /* backward from the tail, only through the vertices reached forward */
+        size = 0;
+        secondStamps[from] = generation;
+        secondQueue[size++] = from;
+        for (int head = 0; head < size; head++) {
+            Neighbors in = inbound[secondQueue[head]];
+            for (int i = 0; i < in.size; i++) {
+                int x = in.ids[i];
+                if (firstStamps[x] == generation && secondStamps[x] != generation) {
+                    secondStamps[x] = generation;
+                    secondQueue[size++] = x;
+                }
+            }
+        }
+        int target = strongComponents.id(from);
+        for (int i = 0; i < size; i++) {
+            strongComponents.move(secondQueue[i], target);
+        }
+    }
+
+    /**
+     * Splits the connected component of two vertices that are no longer adjacent, if no other chain joins them.
+     */
+    private void splitComponent(int u, int v) {
+        nextGeneration();
+        int firstSize = 1;
+        int secondSize = 1;
+        int firstHead = 0;
+        int secondHead = 0;
+        firstStamps[u] = generation;
+        firstQueue[0] = u;
+        secondStamps[v] = generation;
+        secondQueue[0] = v;
+        while (true) {
+            if (firstHead == firstSize) {
+                components.split(firstQueue, firstSize);
+                return;
+            }
+            int x = firstQueue[firstHead++];
+            for (int pass = 0; pass < 2; pass++) {
+                Neighbors neighbors = pass == 0 ? outbound[x] : inbound[x];
+                for (int i = 0; i < neighbors.size; i++) {
+                    int y = neighbors.ids[i];
+                    if (secondStamps[y] == generation) {
+                        return;
+                    }
+                    if (firstStamps[y] != generation) {
+                        firstStamps[y] = generation;
+                        firstQueue[firstSize++] = y;
+                    }
+                }
+            }
+            if (secondHead == secondSize) {
+                components.split(secondQueue, secondSize);
+                return;
+            }
+            x = secondQueue[secondHead++];
+            for (int pass = 0; pass < 2; pass++) {
+                Neighbors neighbors = pass == 0 ? outbound[x] : inbound[x];
+                for (int i = 0; i < neighbors.size; i++) {
+                    int y = neighbors.ids[i];
+                    if (firstStamps[y] == generation) {
+                        return;
+                    }
+                    if (secondStamps[y] != generation) {
+                        secondStamps[y] = generation;
+                        secondQueue[secondSize++] = y;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Recomputes the strongly connected components among the members of one component,
+     * with an iterative Tarjan's algorithm restricted to them.
+     */
+    private void splitStrongComponent(int id) {
+        int[] members = strongComponents.members(id);
+        int counter = 0;
+        for (int v : members) {
+            indices[v] = -1;
+        }
+        boolean first = true;
+        for (int root : members) {
+            if (indices[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            int stackSize = 0;
+            callStack[depth++] = root;
+            indices[root] = lowLinks[root] = counter++;
+            arcCursors[root] = 0;
+            tarjanStack[stackSize++] = root;
+            onStack[root] = true;
+            while (depth > 0) {
+                int x = callStack[depth - 1];
+                Neighbors out = outbound[x];
+                if (arcCursors[x] < out.size) {
+                    int y = out.ids[arcCursors[x]++];
+                    if (strongComponents.id(y) != id) {
+                        continue;
+                    }
+                    if (indices[y] == -1) {
+                        indices[y] = lowLinks[y] = counter++;
+                        arcCursors[y] = 0;
+                        tarjanStack[stackSize++] = y;
+                        onStack[y] = true;
+                        callStack[depth++] = y;
+                    } else if (onStack[y]) {
+                        lowLinks[x] = Math.min(lowLinks[x], indices[y]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[x]);
+                }
+                if (lowLinks[x] == indices[x]) {
+                    int start = stackSize;
+                    do {
+                        onStack[tarjanStack[--start]] = false;
+                    } while (tarjanStack[start] != x);
+                    if (first) {
+                        /* the first component found keeps the id, the others move out of it */
+                        first = false;
+                    } else {
+                        strongComponents.split(tarjanStack, start, stackSize);
+                    }
+                    stackSize = start;
+                }
+            }
+        }
+    }
+
+    private void touch(int v) {
+        if (v < 0) {
+            throw new IllegalArgumentException("vertex id must not be negative: " + v);
+        }
+        ensureCapacity(v + 1);
+    }
+
+    private void nextGeneration() {
+        if (++generation == 0) {
+            Arrays.fill(firstStamps, 0);
+            Arrays.fill(secondStamps, 0);
+            generation = 1;
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= capacity) {
+            return;
+        }
+        int old = capacity;
+        capacity = Math.max(required, old * 2);
+        outbound = Arrays.copyOf(outbound, capacity);
+        inbound = Arrays.copyOf(inbound, capacity);
+        for (int v = old; v < capacity; v++) {
+            outbound[v] = new Neighbors();
+            inbound[v] = new Neighbors();
+        }
+        components.grow(capacity);
+        strongComponents.grow(capacity);
+        firstStamps = Arrays.copyOf(firstStamps, capacity);
+        secondStamps = Arrays.copyOf(secondStamps, capacity);
+        firstQueue = new int[capacity];
+        secondQueue = new int[capacity];
+        indices = new int[capacity];
+        lowLinks = new int[capacity];
+        tarjanStack = new int[capacity];
+        callStack = new int[capacity];
+        arcCursors = new int[capacity];
+        onStack = new boolean[capacity];
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectivityIndex{" +
+                "vertices=" + capacity +
+                '}';
+    }
+
+    /**
+     * Neighbors of one vertex in one direction, with the number of arcs to each of them.
+     */
+    private static final class Neighbors {
+
+        private int[] ids = new int[4];
+        private int[] counts = new int[4];
+        private int size;
+
+        int count(int neighbor) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == neighbor) {
+                    return counts[i];
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * @return the number of arcs to the neighbor after the addition
+         */
+        int add(int neighbor) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == neighbor) {
+                    return ++counts[i];
+                }
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            ids[size] = neighbor;
+            counts[size] = 1;
+            size++;
+            return 1;
+        }
+
+        /**
+         * @return the number of arcs to the neighbor after the removal
+         */
+        int remove(int neighbor) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == neighbor) {
+                    if (--counts[i] > 0) {
+                        return counts[i];
+                    }
+                    size--;
+                    ids[i] = ids[size];
+                    counts[i] = counts[size];
+                    return 0;
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Partition of the vertices into components with explicit member lists.
+     * <br>
+     * There are as many component ids as vertices, so a free id is always available for a split;
+     * every vertex stores its position in the member list of its component, so moving it costs O(1).
+     */
+    private static final class Partition {
+
+        private int[] ids = new int[0];
+        private int[] positions = new int[0];
+        private int[][] members = new int[0][];
+        private int[] sizes = new int[0];
+        private int[] free = new int[0];
+        private int freeCount;
+
+        void grow(int capacity) {
+            int old = ids.length;
+            ids = Arrays.copyOf(ids, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            members = Arrays.copyOf(members, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            free = Arrays.copyOf(free, capacity);
+            for (int v = old; v < capacity; v++) {
+                ids[v] = v;
+                positions[v] = 0;
+                members[v] = new int[]{v};
+                sizes[v] = 1;
+            }
+        }
+
+        int id(int v) {
+            return ids[v];
+        }
+
+        int size(int id) {
+            return sizes[id];
+        }
+
+        int[] members(int id) {
+            return Arrays.copyOf(members[id], sizes[id]);
+        }
+
+        /**
+         * Joins the components of two vertices, moving the members of the smaller one.
+         */
+        void union(int u, int v) {
+            int a = ids[u];
+            int b = ids[v];
+            if (a == b) {
+                return;
+            }
+            if (sizes[a] < sizes[b]) {
+                int swap = a;
+                a = b;
+                b = swap;
+            }
+            while (sizes[b] > 0) {
+                move(members[b][sizes[b] - 1], a);
+            }
+        }
+
+        /**
+         * Moves the given vertices, all members of the same component, to a new component.
+         */
+        void split(int[] vertices, int count) {
+            split(vertices, 0, count);
+        }
+
+        void split(int[] vertices, int from, int to) {
+            int id = free[--freeCount];
+            for (int i = from; i < to; i++) {
+                move(vertices[i], id);
+            }
+        }
+
+        void move(int v, int target) {
+            int source = ids[v];
+            if (source == target) {
+                return;
+            }
+            int last = members[source][--sizes[source]];
+            members[source][positions[v]] = last;
+            positions[last] = positions[v];
+            if (sizes[source] == 0) {
+                free[freeCount++] = source;
+            }
+            if (sizes[target] == members[target].length) {
+                members[target] = Arrays.copyOf(members[target], Math.max(4, sizes[target] * 2));
+            }
+            members[target][sizes[target]] = v;
+            positions[v] = sizes[target]++;
+            ids[v] = target;
+        }
+    }
+}
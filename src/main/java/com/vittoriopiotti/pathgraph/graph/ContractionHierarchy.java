@@ -0,0 +1,648 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Contraction hierarchy of a {@link CsrGraph}, an index that answers point-to-point shortest path
+ * queries with two small searches instead of a search of the whole graph.
+ * <br>
+ * The preprocessing contracts the vertices one by one, least important first, adding a shortcut arc
+ * <code>u &rarr; w</code> whenever the only shortest path from <code>u</code> to <code>w</code> went through the
+ * contracted vertex. A query then runs a forward search from the source and a backward search from the target,
+ * both climbing only towards more important vertices, and unpacks the shortcuts of the best meeting path
+ * back into arcs of the original graph.
+ * <br>
+ * Building the hierarchy costs far more than a single search, so it pays off on graphs that change rarely
+ * and are queried often. Instances are immutable and can be shared between threads; every
+ * {@link Query} holds the state of one thread.
+ *
+ * @param <V> Type of element stored at a vertex
+ *
+ * @author vittoriopiotti
+ */
+public final class ContractionHierarchy<V> {
+
+    /**
+     * Distance returned when the target cannot be reached from the source.
+     */
+    public static final int UNREACHABLE = DijkstraEngine.UNREACHABLE;
+
+    /* vertices settled by a witness search before giving up and adding the shortcut */
+    private static final int WITNESS_SETTLE_LIMIT = 64;
+
+    private final CsrGraph<V> graph;
+    private final int[] ranks;
+
+    /* arcs towards more important vertices, grouped by source */
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final int[] upCosts;
+    private final int[] upMiddles;
+
+    /* arcs from more important vertices, grouped by target */
+    private final int[] downOffsets;
+    private final int[] downSources;
+    private final int[] downCosts;
+    private final int[] downMiddles;
+
+    private final int shortcuts;
+    private final ThreadLocal<Query> queries = ThreadLocal.withInitial(this::newQuery);
+
+    private ContractionHierarchy(CsrGraph<V> graph, Builder builder) {
+        this.graph = graph;
+        this.ranks = builder.ranks;
+        this.shortcuts = builder.shortcuts;
+        int n = graph.numVertices();
+        upOffsets = new int[n + 1];
+        downOffsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            ArcList out = builder.out[u];
+            for (int i = 0; i < out.size; i++) {
+                int w = out.neighbors[i];
+                if (ranks[w] > ranks[u]) {
+                    upOffsets[u + 1]++;
+                } else {
+                    downOffsets[w + 1]++;
+                }
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            upOffsets[v + 1] += upOffsets[v];
+            downOffsets[v + 1] += downOffsets[v];
+        }
+        upTargets = new int[upOffsets[n]];
+        upCosts = new int[upOffsets[n]];
+        upMiddles = new int[upOffsets[n]];
+        downSources = new int[downOffsets[n]];
+        downCosts = new int[downOffsets[n]];
+        downMiddles = new int[downOffsets[n]];
+        int[] nextUp = Arrays.copyOf(upOffsets, n);
+        int[] nextDown = Arrays.copyOf(downOffsets, n);
+        for (int u = 0; u < n; u++) {
+            ArcList out = builder.out[u];
+            for (int i = 0; i < out.size; i++) {
+                int w = out.neighbors[i];
+                if (ranks[w] > ranks[u]) {
+                    int position = nextUp[u]++;
+                    upTargets[position] = w;
+                    upCosts[position] = out.costs[i];
+                    upMiddles[position] = out.middles[i];
+                } else {
+                    int position = nextDown[w]++;
+                    downSources[position] = u;
+                    downCosts[position] = out.costs[i];
+                    downMiddles[position] = out.middles[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the contraction hierarchy of the given snapshot.
+     *
+     * @param graph the snapshot
+     * @param <V>   Type of element stored at a vertex
+     * @return the contraction hierarchy
+     * @throws NullPointerException if the snapshot is <code>null</code>
+     */
+    public static <V> ContractionHierarchy<V> of(CsrGraph<V> graph) {
+        Objects.requireNonNull(graph, "graph");
+        Builder builder = new Builder(graph);
+        builder.contractAll();
+        return new ContractionHierarchy<>(graph, builder);
+    }
+
+    /**
+     * Returns the snapshot the hierarchy was built from.
+     *
+     * @return the snapshot
+     */
+    public CsrGraph<V> graph() {
+        return graph;
+    }
+
+    /**
+     * Returns the number of shortcut arcs added by the preprocessing.
+     *
+     * @return the number of shortcuts
+     */
+    public int numShortcuts() {
+        return shortcuts;
+    }
+
+    /**
+     * Returns the position of a vertex in the contraction order: more important vertices have higher ranks.
+     *
+     * @param v the vertex id
+     * @return the rank of the vertex
+     */
+    public int rank(int v) {
+        return ranks[v];
+    }
+
+    /**
+     * Returns the vertex ids of a shortest path between two vertices, using a query bound to the calling thread.
+     *
+     * @param source the id of the source vertex
+     * @param target the id of the target vertex
+     * @return the ids from <code>source</code> to <code>target</code> included, or <code>null</code> if there is no path
+     * @throws IndexOutOfBoundsException if one of the ids is not valid
+     */
+    public int[] shortestPath(int source, int target) {
+        return queries.get().shortestPath(source, target);
+    }
+
+    /**
+     * Returns the elements of a shortest path between two vertices, using a query bound to the calling thread.
+     *
+     * @param source the element of the source vertex
+     * @param target the element of the target vertex
+     * @return the elements from <code>source</code> to <code>target</code> included, or <code>null</code>
+     *         if there is no path or one of the elements is not in the snapshot
+     */
+    public List<V> shortestPath(V source, V target) {
+        int s = graph.idOf(source);
+        int t = graph.idOf(target);
+        int[] path = s < 0 || t < 0 ? null : shortestPath(s, t);
+        if (path == null) {
+            return null;
+        }
+        List<V> elements = new ArrayList<>(path.length);
+        for (int id : path) {
+            elements.add(graph.vertex(id));
+        }
+        return elements;
+    }
+
+    /**
+     * Creates a new query over the hierarchy, whose storage is reused by all its searches.
+     *
+     * @return the query
+     */
+    public Query newQuery() {
+        return new Query();
+    }
+
+    @Override
+    public String toString() {
+        return "ContractionHierarchy{" +
+                "vertices=" + graph.numVertices() +
+                ", shortcuts=" + shortcuts +
+                '}';
+    }
+
+    /**
+     * Returns the vertex a shortcut arc skips, or -1 if the arc between the two vertices is an original one.
+     */
+    private int middleOf(int u, int w) {
+        if (ranks[w] > ranks[u]) {
+            for (int arc = upOffsets[u]; arc < upOffsets[u + 1]; arc++) {
+                if (upTargets[arc] == w) {
+                    return upMiddles[arc];
+                }
+            }
+        } else {
+            for (int arc = downOffsets[w]; arc < downOffsets[w + 1]; arc++) {
+                if (downSources[arc] == u) {
+                    return downMiddles[arc];
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Point-to-point search over a {@link ContractionHierarchy}.
+     * <br>
+     * A query is not thread-safe: use one query per thread.
+     *
+     * @author vittoriopiotti
+     */
+    public final class Query {
+
+        private final IndexedMinHeap forwardHeap;
+        private final IndexedMinHeap backwardHeap;
+        private final int[] forwardDistances;
+        private final int[] backwardDistances;
+        private final int[] predecessors;
+        private final int[] successors;
+        private final int[] forwardGenerations;
+        private final int[] backwardGenerations;
+        private int generation;
+        private int distance = UNREACHABLE;
+        private int settled;
+
+        private Query() {
+            int n = graph.numVertices();
+            forwardHeap = new IndexedMinHeap(n);
+            backwardHeap = new IndexedMinHeap(n);
+            forwardDistances = new int[n];
+            backwardDistances = new int[n];
+            predecessors = new int[n];
+            successors = new int[n];
+            forwardGenerations = new int[n];
+            backwardGenerations = new int[n];
+        }
+
+        /**
+         * Returns the vertex ids of a shortest path between two vertices, with all the shortcuts unpacked.
+         *
+         * @param source the id of the source vertex
+         * @param target the id of the target vertex
+         * @return the ids from <code>source</code> to <code>target</code> included, or <code>null</code> if there is no path
+         * @throws IndexOutOfBoundsException if one of the ids is not valid
+         */
+        public int[] shortestPath(int source, int target) {
+            Objects.checkIndex(source, graph.numVertices());
+            Objects.checkIndex(target, graph.numVertices());
+            nextGeneration();
+            settled = 0;
+            distance = UNREACHABLE;
+            if (source == target) {
+                distance = 0;
+                return new int[]{source};
+            }
+            forwardGenerations[source] = generation;
+            forwardDistances[source] = 0;
+            predecessors[source] = -1;
+            forwardHeap.push(source, 0);
+            backwardGenerations[target] = generation;
+            backwardDistances[target] = 0;
+            successors[target] = -1;
+            backwardHeap.push(target, 0);
+            int meeting = -1;
+            while (true) {
+                boolean forward = !forwardHeap.isEmpty() && forwardHeap.peekKey() < distance;
+                boolean backward = !backwardHeap.isEmpty() && backwardHeap.peekKey() < distance;
+                if (!forward && !backward) {
+                    break;
+                }
+                if (forward) {
+                    int candidate = expand(forwardHeap, forwardDistances, forwardGenerations, predecessors,
+                            backwardDistances, backwardGenerations, upOffsets, upTargets, upCosts);
+                    meeting = candidate >= 0 ? candidate : meeting;
+                }
+                if (backward) {
+                    int candidate = expand(backwardHeap, backwardDistances, backwardGenerations, successors,
+                            forwardDistances, forwardGenerations, downOffsets, downSources, downCosts);
+                    meeting = candidate >= 0 ? candidate : meeting;
+                }
+            }
+            forwardHeap.clear();
+            backwardHeap.clear();
+            return meeting < 0 ? null : unpack(meeting);
+        }
+
+        /**
+         * Returns the cost of the path found by the last search.
+         *
+         * @return the cost of the path, or {@link #UNREACHABLE} if there was no path
+         */
+        public int distance() {
+            return distance;
+        }
+
+        /**
+         * Returns the number of vertices settled by the two searches of the last query.
+         *
+         * @return the number of settled vertices
+         */
+        public int settledCount() {
+            return settled;
+        }
+
+        /**
+         * Settles the closest vertex of one of the two frontiers.
+         *
+         * @return the vertex where the searches met on a better path, or -1
+         */
+        private int expand(IndexedMinHeap heap, int[] distances, int[] generations, int[] parents,
+                           int[] otherDistances, int[] otherGenerations, int[] offsets, int[] heads, int[] costs) {
+            int u = heap.poll();
+            settled++;
+            int meeting = -1;
+            if (otherGenerations[u] == generation && (long) distances[u] + otherDistances[u] < distance) {
+                distance = distances[u] + otherDistances[u];
+                meeting = u;
+            }
+            int du = distances[u];
+            for (int arc = offsets[u], end = offsets[u + 1]; arc < end; arc++) {
+                int v = heads[arc];
+                long dv = (long) du + costs[arc];
+                if (dv >= UNREACHABLE) {
+                    continue;
+                }
+                if (generations[v] != generation || dv < distances[v]) {
+                    generations[v] = generation;
+                    distances[v] = (int) dv;
+                    parents[v] = u;
+                    heap.push(v, (int) dv);
+                }
+            }
+            return meeting;
+        }
+
+        /**
+         * Joins the two halves of the path at the meeting vertex and replaces every shortcut with the arcs it skips.
+         */
+        private int[] unpack(int meeting) {
+            List<Integer> overlay = new ArrayList<>();
+            for (int v = meeting; v != -1; v = predecessors[v]) {
+                overlay.add(v);
+            }
+            Collections.reverse(overlay);
+            for (int v = successors[meeting]; v != -1; v = successors[v]) {
+                overlay.add(v);
+            }
+            IntStack path = new IntStack();
+            IntStack pending = new IntStack();
+            path.push(overlay.get(0));
+            for (int i = 1; i < overlay.size(); i++) {
+                /* expand the arc depth-first, so its pieces come out in order */
+                pending.push(overlay.get(i));
+                int from = overlay.get(i - 1);
+                while (pending.size > 0) {
+                    int to = pending.peek();
+                    int middle = middleOf(from, to);
+                    if (middle < 0) {
+                        path.push(to);
+                        from = pending.pop();
+                    } else {
+                        pending.push(middle);
+                    }
+                }
+            }
+            return Arrays.copyOf(path.values, path.size);
+        }
+
+        private void nextGeneration() {
+            forwardHeap.clear();
+            backwardHeap.clear();
+            if (++generation == 0) {
+                /* the counter wrapped around: forget every stale mark */
+                Arrays.fill(forwardGenerations, 0);
+                Arrays.fill(backwardGenerations, 0);
+                generation = 1;
+            }
+        }
+    }
+
+    /**
+     * Growable stack of ints.
+     */
+    private static final class IntStack {
+
+        private int[] values = new int[16];
+        private int size;
+
+        void push(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int peek() {
+            return values[size - 1];
+        }
+
+        int pop() {
+            return values[--size];
+        }
+    }
+
+    /**
+     * Growable list of arcs of one vertex, keeping a single arc, the cheapest, per neighbor.
+     */
+    private static final class ArcList {
+
+        private int[] neighbors = new int[4];
+        private int[] costs = new int[4];
+        private int[] middles = new int[4];
+        private int size;
+
+        /**
+         * Adds an arc, or lowers the cost of the existing arc to the same neighbor.
+         *
+         * @return true if the list changed
+         */
+        boolean put(int neighbor, int cost, int middle) {
+            for (int i = 0; i < size; i++) {
+                if (neighbors[i] == neighbor) {
+                    if (cost < costs[i]) {
+                        costs[i] = cost;
+                        middles[i] = middle;
+                        return true;
+                    }
+                    return false;
+                }
+            }
+            if (size == neighbors.length) {
+                neighbors = Arrays.copyOf(neighbors, size * 2);
+                costs = Arrays.copyOf(costs, size * 2);
+                middles = Arrays.copyOf(middles, size * 2);
+            }
+            neighbors[size] = neighbor;
+            costs[size] = cost;
+            middles[size] = middle;
+            size++;
+            return true;
+        }
+    }
+
+    /**
+     * Contracts the vertices of a snapshot in order of importance, recording the resulting arcs and ranks.
+     */
+    private static final class Builder {
+
+        private final int n;
+        private final ArcList[] out;
+        private final ArcList[] in;
+        private final boolean[] contracted;
+        private final int[] contractedNeighbors;
+        private final int[] ranks;
+        private int shortcuts;
+
+        /* witness search state */
+        private final IndexedMinHeap witnessHeap;
+        private final int[] witnessDistances;
+        private final int[] witnessGenerations;
+        private int witnessGeneration;
+
+        /* scratch buffers of the shortcuts found for one vertex */
+        private int[] shortcutFrom = new int[16];
+        private int[] shortcutTo = new int[16];
+        private int[] shortcutCost = new int[16];
+        private int shortcutCount;
+
+        Builder(CsrGraph<?> graph) {
+            n = graph.numVertices();
+            out = new ArcList[n];
+            in = new ArcList[n];
+            for (int v = 0; v < n; v++) {
+                out[v] = new ArcList();
+                in[v] = new ArcList();
+            }
+            for (int u = 0; u < n; u++) {
+                for (int arc = graph.firstArc(u); arc < graph.endArc(u); arc++) {
+                    int w = graph.target(arc);
+                    if (w != u) {
+                        out[u].put(w, graph.cost(arc), -1);
+                        in[w].put(u, graph.cost(arc), -1);
+                    }
+                }
+            }
+            contracted = new boolean[n];
+            contractedNeighbors = new int[n];
+            ranks = new int[n];
+            witnessHeap = new IndexedMinHeap(n);
+            witnessDistances = new int[n];
+            witnessGenerations = new int[n];
+        }
+
+        void contractAll() {
+            IndexedMinHeap order = new IndexedMinHeap(n);
+            for (int v = 0; v < n; v++) {
+                order.push(v, priority(v));
+            }
+            int rank = 0;
+            while (!order.isEmpty()) {
+                int v = order.poll();
+                /* lazy update: the priority may have grown since it was computed */
+                int current = priority(v);
+                if (!order.isEmpty() && current > order.peekKey()) {
+                    order.push(v, current);
+                    continue;
+                }
+                findShortcuts(v);
+                for (int i = 0; i < shortcutCount; i++) {
+                    int u = shortcutFrom[i];
+                    int w = shortcutTo[i];
+                    if (out[u].put(w, shortcutCost[i], v)) {
+                        in[w].put(u, shortcutCost[i], v);
+                        shortcuts++;
+                    }
+                }
+                contracted[v] = true;
+                ranks[v] = rank++;
+                for (int i = 0; i < out[v].size; i++) {
+                    contractedNeighbors[out[v].neighbors[i]]++;
+                }
+                for (int i = 0; i < in[v].size; i++) {
+                    contractedNeighbors[in[v].neighbors[i]]++;
+                }
+            }
+        }
+
+        /**
+         * Edge difference of a vertex: shortcuts its contraction would add minus the arcs it would remove,
+         * plus the number of neighbors already contracted to spread the contraction uniformly.
+         */
+        private int priority(int v) {
+            findShortcuts(v);
+            int removed = 0;
+            for (int i = 0; i < out[v].size; i++) {
+                removed += contracted[out[v].neighbors[i]] ? 0 : 1;
+            }
+            for (int i = 0; i < in[v].size; i++) {
+                removed += contracted[in[v].neighbors[i]] ? 0 : 1;
+            }
+            return shortcutCount - removed + contractedNeighbors[v];
+        }
+
+        /**
+         * Collects in the scratch buffers the shortcuts needed to contract a vertex.
+         */
+        private void findShortcuts(int v) {
+            shortcutCount = 0;
+            ArcList inbound = in[v];
+            ArcList outbound = out[v];
+            int maxOut = 0;
+            for (int j = 0; j < outbound.size; j++) {
+                if (!contracted[outbound.neighbors[j]]) {
+                    maxOut = Math.max(maxOut, outbound.costs[j]);
+                }
+            }
+            for (int i = 0; i < inbound.size; i++) {
+                int u = inbound.neighbors[i];
+                if (contracted[u]) {
+                    continue;
+                }
+                long limit = (long) inbound.costs[i] + maxOut;
+                witnessSearch(u, v, limit);
+                for (int j = 0; j < outbound.size; j++) {
+                    int w = outbound.neighbors[j];
+                    if (contracted[w] || w == u) {
+                        continue;
+                    }
+                    long viaV = (long) inbound.costs[i] + outbound.costs[j];
+                    if (viaV >= UNREACHABLE) {
+                        continue;
+                    }
+                    if (witnessGenerations[w] != witnessGeneration || witnessDistances[w] > viaV) {
+                        addShortcut(u, w, (int) viaV);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Dijkstra search from <code>source</code> among the vertices not contracted yet, avoiding <code>excluded</code>,
+         * stopped at distance <code>limit</code> or after {@link #WITNESS_SETTLE_LIMIT} settled vertices.
+         */
+        private void witnessSearch(int source, int excluded, long limit) {
+            witnessHeap.clear();
+            if (++witnessGeneration == 0) {
+                Arrays.fill(witnessGenerations, 0);
+                witnessGeneration = 1;
+            }
+            witnessGenerations[source] = witnessGeneration;
+            witnessDistances[source] = 0;
+            witnessHeap.push(source, 0);
+            int settled = 0;
+            while (!witnessHeap.isEmpty() && witnessHeap.peekKey() <= limit && settled < WITNESS_SETTLE_LIMIT) {
+                int u = witnessHeap.poll();
+                settled++;
+                ArcList arcs = out[u];
+                for (int i = 0; i < arcs.size; i++) {
+                    int w = arcs.neighbors[i];
+                    if (w == excluded || contracted[w]) {
+                        continue;
+                    }
+                    long dw = (long) witnessDistances[u] + arcs.costs[i];
+                    if (dw > limit) {
+                        continue;
+                    }
+                    if (witnessGenerations[w] != witnessGeneration || dw < witnessDistances[w]) {
+                        witnessGenerations[w] = witnessGeneration;
+                        witnessDistances[w] = (int) dw;
+                        witnessHeap.push(w, (int) dw);
+                    }
+                }
+            }
+            witnessHeap.clear();
+        }
+
+        private void addShortcut(int u, int w, int cost) {
+            if (shortcutCount == shortcutFrom.length) {
+                shortcutFrom = Arrays.copyOf(shortcutFrom, shortcutCount * 2);
+                shortcutTo = Arrays.copyOf(shortcutTo, shortcutCount * 2);
+                shortcutCost = Arrays.copyOf(shortcutCost, shortcutCount * 2);
+            }
+            shortcutFrom[shortcutCount] = u;
+            shortcutTo[shortcutCount] = w;
+            shortcutCost[shortcutCount] = cost;
+            shortcutCount++;
+        }
+    }
+}
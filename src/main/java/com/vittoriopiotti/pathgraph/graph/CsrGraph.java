@@ -0,0 +1,458 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import com.vittoriopiotti.pathgraph.app.Constants;
+
+import java.util.*;
+
+/**
+ * Immutable, read-only snapshot of a graph in compressed sparse row (CSR) form.
+ * <br>
+ * Every vertex is mapped to a dense integer id in the range <code>[0, numVertices())</code>
+ * and the traversable arcs leaving vertex <code>v</code> are stored contiguously in the
+ * primitive arrays at positions <code>[firstArc(v), endArc(v))</code>.
+ * An edge that can be walked in both directions produces two arcs, one per direction.
+ * The same arcs are also grouped by target vertex, at positions <code>[firstInboundArc(v), endInboundArc(v))</code>
+ * of the reverse arrays, so searches can walk the graph backwards.
+ * <br>
+ * Walking the adjacency of a snapshot does not allocate, so it is meant to be used by
+ * path queries, analytics and layout code that run many times over the same graph.
+ *
+ * <p>Snapshots are built from a {@link Graph} with {@link #of(Graph)} or, for arbitrary
+ * sources, through a {@link Builder}.</p>
+ *
+ * @param <V> Type of element stored at a vertex
+ *
+ * @author vittoriopiotti
+ */
+public final class CsrGraph<V> {
+
+    /**
+     * Elements of the vertices, indexed by id.
+     */
+    private final Object[] elements;
+
+    /**
+     * Reverse lookup from element to id.
+     */
+    private final Map<V, Integer> ids;
+
+    /**
+     * Offsets of the outbound arcs of each vertex, of length <code>numVertices() + 1</code>.
+     */
+    final int[] offsets;
+
+    /**
+     * Target vertex id of each arc.
+     */
+    final int[] targets;
+
+    /**
+     * Cost of each arc.
+     */
+    final int[] costs;
+
+    /**
+     * Direction of the edge each arc comes from: {@link Constants#BIDIRECTIONAL}
+     * when the edge can be walked both ways, {@link Constants#NATURAL_DIRECTION} otherwise.
+     */
+    final int[] directions;
+
+    /**
+     * Offsets of the inbound arcs of each vertex, of length <code>numVertices() + 1</code>.
+     */
+    final int[] reverseOffsets;
+
+    /**
+     * Source vertex id of each inbound arc.
+     */
+    final int[] reverseSources;
+
+    /**
+     * Cost of each inbound arc.
+     */
+    final int[] reverseCosts;
+
+    private CsrGraph(Object[] elements, Map<V, Integer> ids, int[] offsets, int[] targets, int[] costs, int[] directions) {
+        this.elements = elements;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.costs = costs;
+        this.directions = directions;
+        int n = elements.length;
+        this.reverseOffsets = new int[n + 1];
+        this.reverseSources = new int[targets.length];
+        this.reverseCosts = new int[targets.length];
+        for (int target : targets) {
+            reverseOffsets[target + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        int[] next = Arrays.copyOf(reverseOffsets, n);
+        for (int v = 0; v < n; v++) {
+            for (int arc = offsets[v]; arc < offsets[v + 1]; arc++) {
+                int position = next[targets[arc]]++;
+                reverseSources[position] = v;
+                reverseCosts[position] = costs[arc];
+            }
+        }
+    }
+
+    /**
+     * Builds a snapshot of the given graph.
+     * <br>
+     * The direction of every edge is read from {@link Edge#getDirection()}:
+     * {@link Constants#NATURAL_DIRECTION} walks from <code>vertices()[0]</code> to <code>vertices()[1]</code>,
+     * {@link Constants#OPPOSITE_DIRECTION} the other way round and {@link Constants#BIDIRECTIONAL} both ways.
+     *
+     * @param graph the graph to copy
+     * @param <V>   Type of element stored at a vertex
+     * @param <E>   Type of element stored at an edge
+     * @return the snapshot
+     */
+    public static <V, E> CsrGraph<V> of(Graph<V, E> graph) {
+        Objects.requireNonNull(graph, "graph");
+        return of(graph.snapshot());
+    }
+
+    /**
+     * Builds a CSR form of the given snapshot, following the same rules as {@link #of(Graph)}.
+     * <br>
+     * The costs and directions are read from the live edges of the snapshot while it is copied, so the
+     * edges must not be rotated meanwhile; the result never changes afterwards.
+     *
+     * @param snapshot the snapshot to copy
+     * @param <V>      Type of element stored at a vertex
+     * @param <E>      Type of element stored at an edge
+     * @return the CSR form of the snapshot
+     */
+    public static <V, E> CsrGraph<V> of(GraphSnapshot<V, E> snapshot) {
+        Objects.requireNonNull(snapshot, "snapshot");
+        Collection<Vertex<V>> vertices = snapshot.vertices();
+        Collection<Edge<E, V>> edges = snapshot.edges();
+        Builder<V> builder = new Builder<>(vertices.size(), edges.size() * 2);
+        Map<Vertex<V>, Integer> vertexIds = new HashMap<>(vertices.size() * 2);
+        for (Vertex<V> v : vertices) {
+            vertexIds.put(v, builder.addVertex(v.element()));
+        }
+        for (Edge<E, V> e : edges) {
+            Integer outbound = vertexIds.get(e.vertices()[0]);
+            Integer inbound = vertexIds.get(e.vertices()[1]);
+            if (outbound == null || inbound == null) {
+                continue;
+            }
+            if (e.getDirection() == Constants.OPPOSITE_DIRECTION) {
+                builder.addEdge(inbound, outbound, e.getCost(), true);
+            } else {
+                builder.addEdge(outbound, inbound, e.getCost(), e.getDirection() != Constants.BIDIRECTIONAL);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the number of vertices of the snapshot.
+     *
+     * @return the number of vertices
+     */
+    public int numVertices() {
+        return elements.length;
+    }
+
+    /**
+     * Returns the number of traversable arcs of the snapshot.
+     * <br>
+     * Bidirectional edges count twice.
+     *
+     * @return the number of arcs
+     */
+    public int numArcs() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the element stored at the vertex with the given id.
+     *
+     * @param id the vertex id
+     * @return the element of the vertex
+     * @throws IndexOutOfBoundsException if the id is not valid
+     */
+    @SuppressWarnings("unchecked")
+    public V vertex(int id) {
+        return (V) elements[id];
+    }
+
+    /**
+     * Returns the id of the vertex that stores the given element.
+     *
+     * @param element the element to look for
+     * @return the id of the vertex, or <code>-1</code> if no vertex stores the element
+     */
+    public int idOf(V element) {
+        Integer id = ids.get(element);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the index of the first arc leaving the given vertex.
+     *
+     * @param v the vertex id
+     * @return the index of the first outbound arc
+     */
+    public int firstArc(int v) {
+        return offsets[v];
+    }
+
+    /**
+     * Returns the index past the last arc leaving the given vertex.
+     *
+     * @param v the vertex id
+     * @return the exclusive end index of the outbound arcs
+     */
+    public int endArc(int v) {
+        return offsets[v + 1];
+    }
+
+    /**
+     * Returns the number of arcs leaving the given vertex.
+     *
+     * @param v the vertex id
+     * @return the outbound degree
+     */
+    public int outDegree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Returns the index of the first arc entering the given vertex in the reverse arrays.
+     *
+     * @param v the vertex id
+     * @return the index of the first inbound arc
+     */
+    public int firstInboundArc(int v) {
+        return reverseOffsets[v];
+    }
+
+    /**
+     * Returns the index past the last arc entering the given vertex in the reverse arrays.
+     *
+     * @param v the vertex id
+     * @return the exclusive end index of the inbound arcs
+     */
+    public int endInboundArc(int v) {
+        return reverseOffsets[v + 1];
+    }
+
+    /**
+     * Returns the number of arcs entering the given vertex.
+     *
+     * @param v the vertex id
+     * @return the inbound degree
+     */
+    public int inDegree(int v) {
+        return reverseOffsets[v + 1] - reverseOffsets[v];
+    }
+
+    /**
+     * Returns the source vertex of an inbound arc.
+     *
+     * @param inboundArc the index of the arc in the reverse arrays
+     * @return the id of the vertex the arc comes from
+     */
+    public int inboundSource(int inboundArc) {
+        return reverseSources[inboundArc];
+    }
+
+    /**
+     * Returns the cost of an inbound arc.
+     *
+     * @param inboundArc the index of the arc in the reverse arrays
+     * @return the cost of the arc
+     */
+    public int inboundCost(int inboundArc) {
+        return reverseCosts[inboundArc];
+    }
+
+    /**
+     * Returns the target vertex of an arc.
+     *
+     * @param arc the arc index
+     * @return the id of the vertex the arc points to
+     */
+    public int target(int arc) {
+        return targets[arc];
+    }
+
+    /**
+     * Returns the cost of an arc.
+     *
+     * @param arc the arc index
+     * @return the cost of the arc
+     */
+    public int cost(int arc) {
+        return costs[arc];
+    }
+
+    /**
+     * Returns the direction of the edge an arc comes from.
+     *
+     * @param arc the arc index
+     * @return {@link Constants#BIDIRECTIONAL} or {@link Constants#NATURAL_DIRECTION}
+     */
+    public int direction(int arc) {
+        return directions[arc];
+    }
+
+    /**
+     * Returns a string representation of the snapshot.
+     *
+     * @return a string with the number of vertices and arcs
+     */
+    @Override
+    public String toString() {
+        return "CsrGraph{" +
+                "vertices=" + numVertices() +
+                ", arcs=" + numArcs() +
+                '}';
+    }
+
+    /**
+     * Incremental builder of {@link CsrGraph} snapshots.
+     * <br>
+     * Vertices receive consecutive ids in insertion order; arcs can be added in any
+     * order and keep their relative insertion order within each vertex.
+     *
+     * @param <V> Type of element stored at a vertex
+     *
+     * @author vittoriopiotti
+     */
+    public static final class Builder<V> {
+
+        private final List<V> elements;
+        private final Map<V, Integer> ids;
+        private int[] sources;
+        private int[] targets;
+        private int[] costs;
+        private int[] directions;
+        private int size;
+
+        /**
+         * Creates an empty builder.
+         */
+        public Builder() {
+            this(16, 16);
+        }
+
+        /**
+         * Creates an empty builder sized for the expected number of vertices and arcs.
+         *
+         * @param expectedVertices the expected number of vertices
+         * @param expectedArcs     the expected number of arcs
+         */
+        public Builder(int expectedVertices, int expectedArcs) {
+            int capacity = Math.max(expectedArcs, 4);
+            this.elements = new ArrayList<>(Math.max(expectedVertices, 4));
+            this.ids = new HashMap<>(Math.max(expectedVertices, 4) * 2);
+            this.sources = new int[capacity];
+            this.targets = new int[capacity];
+            this.costs = new int[capacity];
+            this.directions = new int[capacity];
+        }
+
+        /**
+         * Adds a vertex, or returns the id already assigned to its element.
+         *
+         * @param element the element of the vertex
+         * @return the id of the vertex
+         */
+        public int addVertex(V element) {
+            Integer id = ids.get(element);
+            if (id != null) {
+                return id;
+            }
+            elements.add(element);
+            ids.put(element, elements.size() - 1);
+            return elements.size() - 1;
+        }
+
+        /**
+         * Adds an edge between two vertices, producing one arc or two if it is not arrowed.
+         *
+         * @param from      the id of the starting vertex
+         * @param to        the id of the ending vertex
+         * @param cost      the cost of the edge
+         * @param isArrowed true if the edge can only be walked from <code>from</code> to <code>to</code>
+         * @throws IndexOutOfBoundsException if one of the ids has not been added
+         */
+        public void addEdge(int from, int to, int cost, boolean isArrowed) {
+            if (isArrowed) {
+                addArc(from, to, cost, Constants.NATURAL_DIRECTION);
+            } else {
+                addArc(from, to, cost, Constants.BIDIRECTIONAL);
+                if (from != to) {
+                    addArc(to, from, cost, Constants.BIDIRECTIONAL);
+                }
+            }
+        }
+
+        /**
+         * Adds a single traversable arc.
+         *
+         * @param from      the id of the starting vertex
+         * @param to        the id of the ending vertex
+         * @param cost      the cost of the arc
+         * @param direction the direction of the edge the arc comes from
+         * @throws IndexOutOfBoundsException if one of the ids has not been added
+         */
+        public void addArc(int from, int to, int cost, int direction) {
+            Objects.checkIndex(from, elements.size());
+            Objects.checkIndex(to, elements.size());
+            if (size == sources.length) {
+                int capacity = size * 2;
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                costs = Arrays.copyOf(costs, capacity);
+                directions = Arrays.copyOf(directions, capacity);
+            }
+            sources[size] = from;
+            targets[size] = to;
+            costs[size] = cost;
+            directions[size] = direction;
+            size++;
+        }
+
+        /**
+         * Builds the immutable snapshot with a counting sort of the arcs by source vertex.
+         *
+         * @return the snapshot
+         */
+        public CsrGraph<V> build() {
+            int n = elements.size();
+            int[] offsets = new int[n + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[sources[i] + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            int[] next = Arrays.copyOf(offsets, n);
+            int[] sortedTargets = new int[size];
+            int[] sortedCosts = new int[size];
+            int[] sortedDirections = new int[size];
+            for (int i = 0; i < size; i++) {
+                int position = next[sources[i]]++;
+                sortedTargets[position] = targets[i];
+                sortedCosts[position] = costs[i];
+                sortedDirections[position] = directions[i];
+            }
+            return new CsrGraph<>(elements.toArray(), new HashMap<>(ids), offsets, sortedTargets, sortedCosts, sortedDirections);
+        }
+    }
+}
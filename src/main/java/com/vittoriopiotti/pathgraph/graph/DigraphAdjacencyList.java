@@ -0,0 +1,423 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import java.util.*;
+
+
+/**
+ * Implementation of a digraph that adheres to the {@link Digraph} interface
+ * and keeps, for every vertex, the set of its inbound and outbound edges.
+ * <br>
+ * Incidence queries ({@link #incidentEdges(Vertex)}, {@link #outboundEdges(Vertex)},
+ * {@link #areAdjacent(Vertex, Vertex)}) and {@link #removeVertex(Vertex)} run in
+ * time proportional to the degree of the involved vertices instead of the total
+ * number of edges, as happens with {@link DigraphEdgeList}.
+ * {@link #snapshot()} runs in constant time.
+ * <br>
+ * Does not allow duplicates of stored elements through <b>equals</b> criteria.
+ * <br>
+ * The class is not thread-safe: wrap it in a {@link ConcurrentDigraph} when it is
+ * read and modified by different threads.
+ * <br>
+ * @param <V> Type of element stored at a vertex
+ * @param <E> Type of element stored at an edge
+ *
+ * @see DigraphEdgeList
+ * @see ConcurrentDigraph
+ *
+ * @author vittoriopiotti
+ */
+public class DigraphAdjacencyList<V, E> implements Digraph<V, E> {
+
+    /* inner classes are defined at the end of the class, so are the auxiliary methods
+     */
+    private final Map<V, MyVertex> vertices;
+    private final Map<E, MyEdge> edges;
+
+    /* persistent copies of the vertices and edges, shared with the snapshots */
+    private PersistentIdentitySet<Vertex<V>> vertexSet = PersistentIdentitySet.empty();
+    private PersistentIdentitySet<Edge<E, V>> edgeSet = PersistentIdentitySet.empty();
+    private long version;
+
+    /**
+     * Default constructor that initializes an empty digraph.
+     */
+    public DigraphAdjacencyList() {
+        this.vertices = new HashMap<>();
+        this.edges = new HashMap<>();
+    }
+
+    @Override
+    public Collection<Edge<E, V>> incidentEdges(Vertex<V> inbound) throws InvalidVertexException {
+        MyVertex vertex = checkVertex(inbound);
+        return new ArrayList<>(vertex.inbound);
+    }
+
+    @Override
+    public Collection<Edge<E, V>> outboundEdges(Vertex<V> outbound) throws InvalidVertexException {
+        MyVertex vertex = checkVertex(outbound);
+        return new ArrayList<>(vertex.outbound);
+    }
+
+    @Override
+    public boolean areAdjacent(Vertex<V> outbound, Vertex<V> inbound) throws InvalidVertexException {
+        //we allow loops, so we do not check if outbound == inbound
+        MyVertex outVertex = checkVertex(outbound);
+        MyVertex inVertex = checkVertex(inbound);
+
+        /* scan the smaller of the two incidence sets */
+        if (outVertex.outbound.size() <= inVertex.inbound.size()) {
+            for (MyEdge edge : outVertex.outbound) {
+                if (edge.vertexInbound == inVertex) {
+                    return true;
+                }
+            }
+        } else {
+            for (MyEdge edge : inVertex.inbound) {
+                if (edge.vertexOutbound == outVertex) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Edge<E, V> insertEdge(Vertex<V> outbound, Vertex<V> inbound, E edgeElement, int cost, int direction) throws InvalidVertexException, InvalidEdgeException {
+        if (existsEdgeWith(edgeElement)) {
+            throw new InvalidEdgeException("There's already an edge with this element.");
+        }
+
+        MyVertex outVertex = checkVertex(outbound);
+        MyVertex inVertex = checkVertex(inbound);
+
+        return link(new MyEdge(edgeElement, outVertex, inVertex, cost, direction));
+    }
+
+    @Override
+    public Edge<E, V> insertEdge(V outboundElement, V inboundElement, E edgeElement, int cost, int direction) throws InvalidVertexException, InvalidEdgeException {
+        if (existsEdgeWith(edgeElement)) {
+            throw new InvalidEdgeException("There's already an edge with this element.");
+        }
+
+        MyVertex outVertex = vertices.get(outboundElement);
+        if (outVertex == null) {
+            throw new InvalidVertexException("No vertex contains " + outboundElement);
+        }
+        MyVertex inVertex = vertices.get(inboundElement);
+        if (inVertex == null) {
+            throw new InvalidVertexException("No vertex contains " + inboundElement);
+        }
+
+        return link(new MyEdge(edgeElement, outVertex, inVertex, cost, direction));
+    }
+
+    @Override
+    public int numVertices() {
+        return vertices.size();
+    }
+
+    @Override
+    public int numEdges() {
+        return edges.size();
+    }
+
+    @Override
+    public Collection<Vertex<V>> vertices() {
+        return new ArrayList<>(vertices.values());
+    }
+
+    @Override
+    public Collection<Edge<E, V>> edges() {
+        return new ArrayList<>(edges.values());
+    }
+
+    @Override
+    public Vertex<V> opposite(Vertex<V> v, Edge<E, V> e) throws InvalidVertexException, InvalidEdgeException {
+        checkVertex(v);
+        MyEdge edge = checkEdge(e);
+
+        if (!edge.contains(v)) {
+            return null; /* this edge does not connect vertex v */
+        }
+
+        return edge.vertexOutbound == v ? edge.vertexInbound : edge.vertexOutbound;
+    }
+
+    @Override
+    public Vertex<V> insertVertex(V vElement) throws InvalidVertexException {
+        if (existsVertexWith(vElement)) {
+            throw new InvalidVertexException("There's already a vertex with this element.");
+        }
+
+        MyVertex newVertex = new MyVertex(vElement);
+
+        vertices.put(vElement, newVertex);
+        vertexSet = vertexSet.plus(newVertex);
+        version++;
+
+        return newVertex;
+    }
+
+    @Override
+    public V removeVertex(Vertex<V> v) throws InvalidVertexException {
+        MyVertex vertex = checkVertex(v);
+
+        V element = vertex.element;
+
+        //remove incident edges, detaching them from the opposite vertices
+        for (MyEdge edge : vertex.inbound) {
+            edge.vertexOutbound.outbound.remove(edge);
+            edges.remove(edge.element);
+            edgeSet = edgeSet.minus(edge);
+        }
+        for (MyEdge edge : vertex.outbound) {
+            edge.vertexInbound.inbound.remove(edge);
+            edges.remove(edge.element);
+            edgeSet = edgeSet.minus(edge);
+        }
+        vertex.inbound.clear();
+        vertex.outbound.clear();
+
+        vertices.remove(element);
+        vertexSet = vertexSet.minus(vertex);
+        version++;
+
+        return element;
+    }
+
+    @Override
+    public E removeEdge(Edge<E, V> e) throws InvalidEdgeException {
+        MyEdge edge = checkEdge(e);
+
+        E element = edge.element;
+        unlink(edge);
+
+        return element;
+    }
+
+    @Override
+    public V replace(Vertex<V> v, V newElement) throws InvalidVertexException {
+        if (existsVertexWith(newElement)) {
+            throw new InvalidVertexException("There's already a vertex with this element.");
+        }
+
+        MyVertex vertex = checkVertex(v);
+
+        V oldElement = vertex.element;
+        vertices.remove(oldElement);
+        vertex.element = newElement;
+        vertices.put(newElement, vertex);
+        version++;
+
+        return oldElement;
+    }
+
+    @Override
+    public E replace(Edge<E, V> e, E newElement) throws InvalidEdgeException {
+        if (existsEdgeWith(newElement)) {
+            throw new InvalidEdgeException("There's already an edge with this element.");
+        }
+
+        MyEdge edge = checkEdge(e);
+
+        E oldElement = edge.element;
+        edges.remove(oldElement);
+        edge.element = newElement;
+        edges.put(newElement, edge);
+        version++;
+
+        return oldElement;
+    }
+
+    @Override
+    public GraphSnapshot<V, E> snapshot() {
+        return new GraphSnapshot<>(version, vertexSet, edgeSet);
+    }
+
+    /**
+     * Registers a new edge in the edge map and in the incidence sets of its vertices.
+     *
+     * @param edge the edge to register
+     * @return the registered edge
+     */
+    private MyEdge link(MyEdge edge) {
+        edges.put(edge.element, edge);
+        edge.vertexOutbound.outbound.add(edge);
+        edge.vertexInbound.inbound.add(edge);
+        edgeSet = edgeSet.plus(edge);
+        version++;
+        return edge;
+    }
+
+    /**
+     * Removes an edge from the edge map and from the incidence sets of its vertices.
+     *
+     * @param edge the edge to remove
+     */
+    private void unlink(MyEdge edge) {
+        edges.remove(edge.element);
+        edge.vertexOutbound.outbound.remove(edge);
+        edge.vertexInbound.inbound.remove(edge);
+        edgeSet = edgeSet.minus(edge);
+        version++;
+    }
+
+    private boolean existsVertexWith(V vElement) {
+        return vertices.containsKey(vElement);
+    }
+
+    private boolean existsEdgeWith(E edgeElement) {
+        return edges.containsKey(edgeElement);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(
+                String.format("Graph with %d vertices and %d edges:\n", numVertices(), numEdges())
+        );
+
+        sb.append("--- Vertices: \n");
+        for (Vertex<V> v : vertices.values()) {
+            sb.append("\t").append(v.toString()).append("\n");
+        }
+        sb.append("\n--- Edges: \n");
+        for (Edge<E, V> e : edges.values()) {
+            sb.append("\t").append(e.toString()).append("\n");
+        }
+        return sb.toString();
+    }
+
+    private class MyVertex implements Vertex<V> {
+
+        V element;
+
+        /* edges entering and leaving this vertex, in insertion order */
+        final Set<MyEdge> inbound = new LinkedHashSet<>();
+        final Set<MyEdge> outbound = new LinkedHashSet<>();
+
+        public MyVertex(V element) {
+            this.element = element;
+        }
+
+        @Override
+        public V element() {
+            return this.element;
+        }
+
+        @Override
+        public String toString() {
+            return "Vertex{" + element + '}';
+        }
+    }
+
+    private class MyEdge implements Edge<E, V> {
+
+        E element;
+        final MyVertex vertexOutbound;
+        final MyVertex vertexInbound;
+
+        int cost;
+        int direction;
+
+        public MyEdge(E element, MyVertex vertexOutbound, MyVertex vertexInbound, int cost, int direction) {
+            this.element = element;
+            this.vertexOutbound = vertexOutbound;
+            this.vertexInbound = vertexInbound;
+            this.cost = cost;
+            this.direction = direction;
+        }
+
+        @Override
+        public E element() {
+            return this.element;
+        }
+
+        public boolean contains(Vertex<V> v) {
+            return (vertexOutbound == v || vertexInbound == v);
+        }
+
+        @Override
+        public int getCost() {
+            return cost;
+        }
+
+        @Override
+        public int getDirection() {
+            return direction;
+        }
+
+        @Override
+        public void setDirection(int direction) {
+            this.direction = direction;
+        }
+
+        @Override
+        public Vertex<V>[] vertices() {
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Vertex<V>[] vertices = new Vertex[2];
+            vertices[0] = vertexOutbound;
+            vertices[1] = vertexInbound;
+
+            return vertices;
+        }
+
+        @Override
+        public String toString() {
+            return "Edge{{" + element + "}, vertexOutbound=" + vertexOutbound.toString()
+                    + ", vertexInbound=" + vertexInbound.toString() + '}';
+        }
+    }
+
+    /**
+     * Checks whether a given vertex is valid and belongs to this graph.
+     *
+     * @param v the vertex to check
+     * @return the reference of the vertex, with cast to the underlying implementation of {@link Vertex}
+     * @throws InvalidVertexException if the vertex is <code>null</code> or does not belong to this graph
+     */
+    private MyVertex checkVertex(Vertex<V> v) throws InvalidVertexException {
+        if (v == null) throw new InvalidVertexException("Null vertex.");
+
+        if (!(v instanceof DigraphAdjacencyList<?, ?>.MyVertex)) {
+            throw new InvalidVertexException("Not a vertex.");
+        }
+        @SuppressWarnings("unchecked")
+        MyVertex vertex = (MyVertex) v;
+
+        if (vertices.get(vertex.element) != vertex) {
+            throw new InvalidVertexException("Vertex does not belong to this graph.");
+        }
+
+        return vertex;
+    }
+
+    /**
+     * Checks whether a given edge is valid and belongs to this graph.
+     *
+     * @param e the edge to check
+     * @return the reference of the edge, with cast to the underlying implementation of {@link Edge}
+     * @throws InvalidEdgeException if the edge is <code>null</code> or does not belong to this graph
+     */
+    private MyEdge checkEdge(Edge<E, V> e) throws InvalidEdgeException {
+        if (e == null) throw new InvalidEdgeException("Null edge.");
+
+        if (!(e instanceof DigraphAdjacencyList<?, ?>.MyEdge)) {
+            throw new InvalidEdgeException("Not an edge.");
+        }
+        @SuppressWarnings("unchecked")
+        MyEdge edge = (MyEdge) e;
+
+        if (edges.get(edge.element) != edge) {
+            throw new InvalidEdgeException("Edge does not belong to this graph.");
+        }
+
+        return edge;
+    }
+
+}
@@ -34,6 +34,11 @@ public class DigraphEdgeList<V, E> implements Digraph<V, E> {
     private final Map<V, Vertex<V>> vertices;
     private final Map<E, Edge<E, V>> edges;
 
+    /* persistent copies of the vertices and edges, shared with the snapshots */
+    private PersistentIdentitySet<Vertex<V>> vertexSet = PersistentIdentitySet.empty();
+    private PersistentIdentitySet<Edge<E, V>> edgeSet = PersistentIdentitySet.empty();
+    private long version;
+
     /**
      * Default constructor that initializes an empty digraph.
      */
@@ -71,7 +76,7 @@ public class DigraphEdgeList<V, E> implements Digraph<V, E> {
     }
 
     @Override
-    public boolean areAdjacent(Vertex<V> outbound, Vertex<V> inbound) throws InvalidVertexException {
+    public synchronized boolean areAdjacent(Vertex<V> outbound, Vertex<V> inbound) throws InvalidVertexException {
         //we allow loops, so we do not check if outbound == inbound
         checkVertex(outbound);
         checkVertex(inbound);
@@ -97,6 +102,8 @@ public class DigraphEdgeList<V, E> implements Digraph<V, E> {
         MyEdge newEdge = new MyEdge(edgeElement, outVertex, inVertex,cost,direction);
 
         edges.put(edgeElement, newEdge);
+        edgeSet = edgeSet.plus(newEdge);
+        version++;
 
         return newEdge;
     }
@@ -120,17 +127,19 @@ public class DigraphEdgeList<V, E> implements Digraph<V, E> {
         MyEdge newEdge = new MyEdge(edgeElement, outVertex, inVertex,cost,direction);
 
         edges.put(edgeElement, newEdge);
+        edgeSet = edgeSet.plus(newEdge);
+        version++;
 
         return newEdge;
     }
 
     @Override
-    public int numVertices() {
+    public synchronized int numVertices() {
         return vertices.size();
     }
 
     @Override
-    public int numEdges() {
+    public synchronized int numEdges() {
         return edges.size();
     }
 
@@ -170,6 +179,8 @@ public class DigraphEdgeList<V, E> implements Digraph<V, E> {
         MyVertex newVertex = new MyVertex(vElement);
 
         vertices.put(vElement, newVertex);
+        vertexSet = vertexSet.plus(newVertex);
+        version++;
 
         return newVertex;
     }
@@ -186,9 +197,12 @@ public class DigraphEdgeList<V, E> implements Digraph<V, E> {
 
         for (Edge<E, V> edge : inOutEdges) {
             edges.remove(edge.element());
+            edgeSet = edgeSet.minus(edge);
         }
 
         vertices.remove(v.element());
+        vertexSet = vertexSet.minus(v);
+        version++;
 
         return element;
     }
@@ -199,12 +213,14 @@ public class DigraphEdgeList<V, E> implements Digraph<V, E> {
 
         E element = e.element();
         edges.remove(e.element());
+        edgeSet = edgeSet.minus(e);
+        version++;
 
         return element;
     }
 
     @Override
-    public V replace(Vertex<V> v, V newElement) throws InvalidVertexException {
+    public synchronized V replace(Vertex<V> v, V newElement) throws InvalidVertexException {
         if (existsVertexWith(newElement)) {
             throw new InvalidVertexException("There's already a vertex with this element.");
         }
@@ -213,12 +229,13 @@ public class DigraphEdgeList<V, E> implements Digraph<V, E> {
 
         V oldElement = vertex.element;
         vertex.element = newElement;
+        version++;
 
         return oldElement;
     }
 
     @Override
-    public E replace(Edge<E, V> e, E newElement) throws InvalidEdgeException {
+    public synchronized E replace(Edge<E, V> e, E newElement) throws InvalidEdgeException {
         if (existsEdgeWith(newElement)) {
             throw new InvalidEdgeException("There's already an edge with this element.");
         }
@@ -227,10 +244,16 @@ public class DigraphEdgeList<V, E> implements Digraph<V, E> {
 
         E oldElement = edge.element;
         edge.element = newElement;
+        version++;
 
         return oldElement;
     }
 
+    @Override
+    public synchronized GraphSnapshot<V, E> snapshot() {
+        return new GraphSnapshot<>(version, vertexSet, edgeSet);
+    }
+
     private MyVertex vertexOf(V vElement) {
         for (Vertex<V> v : vertices.values()) {
             if (v.element().equals(vElement)) {
@@ -0,0 +1,397 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Shortest path engine that runs Dijkstra's algorithm over the dense vertex ids of a {@link CsrGraph}.
+ * <br>
+ * Distances and predecessors are kept in <code>int</code> arrays and the frontier in an indexed
+ * binary heap with decrease-key, all allocated once by the constructor. Every query invalidates the
+ * previous one by bumping a generation counter instead of clearing the arrays, so repeated queries
+ * over the same snapshot allocate nothing but their result.
+ * <br>
+ * Costs are expected to be non-negative. After {@link #run(int, int)} the distances and predecessors
+ * of the settled vertices can be read with {@link #distance(int)} and {@link #predecessor(int)}.
+ * <br>
+ * The engine is not thread-safe: use one engine per thread.
+ *
+ * @param <V> Type of element stored at a vertex
+ *
+ * @author vittoriopiotti
+ */
+public final class DijkstraEngine<V> {
+
+    /**
+     * Distance of the vertices that cannot be reached from the source.
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final CsrGraph<V> graph;
+    private final IndexedMinHeap heap;
+    private final int[] distances;
+    private final int[] predecessors;
+
+    /* a vertex has been reached by the current query if its generation equals the current one */
+    private final int[] generations;
+    private int generation;
+    private int source = -1;
+    private int expanded;
+
+    /**
+     * Creates an engine for the given snapshot.
+     *
+     * @param graph the snapshot to query
+     * @throws NullPointerException if the snapshot is <code>null</code>
+     */
+    public DijkstraEngine(CsrGraph<V> graph) {
+        this.graph = Objects.requireNonNull(graph, "graph");
+        int n = graph.numVertices();
+        this.heap = new IndexedMinHeap(n);
+        this.distances = new int[n];
+        this.predecessors = new int[n];
+        this.generations = new int[n];
+    }
+
+    /**
+     * Finds the shortest paths of many queries at once.
+     * <br>
+     * Queries are grouped by source, so each group needs one single-source search whatever the number of its
+     * targets. The groups are split into one chunk per thread of the given pool, and each chunk runs its groups
+     * in turn on an engine of its own, which is dropped with the chunk: no engine outlives the call.
+     *
+     * @param graph   the snapshot
+     * @param sources the id of the source of each query, or <code>-1</code> for a query to skip
+     * @param targets the id of the target of each query, or <code>-1</code> for a query to skip
+     * @param pool    the pool that runs the searches
+     * @param <V>     Type of element stored at a vertex
+     * @return the vertex ids of the path of each query; <code>null</code> for the queries without a path,
+     *         skipped or whose source is their target
+     * @throws IllegalArgumentException  if the two arrays differ in length
+     * @throws IndexOutOfBoundsException if one of the ids is not valid
+     */
+    public static <V> int[][] shortestPaths(CsrGraph<V> graph, int[] sources, int[] targets, ForkJoinPool pool) {
+        Objects.requireNonNull(graph, "graph");
+        Objects.requireNonNull(pool, "pool");
+        if (sources.length != targets.length) {
+            throw new IllegalArgumentException("sources and targets differ in length: " + sources.length + " != " + targets.length);
+        }
+        int[][] paths = new int[sources.length][];
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < sources.length; i++) {
+            if (sources[i] >= 0 && targets[i] >= 0 && sources[i] != targets[i]) {
+                Objects.checkIndex(sources[i], graph.numVertices());
+                Objects.checkIndex(targets[i], graph.numVertices());
+                groups.computeIfAbsent(sources[i], k -> new ArrayList<>()).add(i);
+            }
+        }
+        if (groups.isEmpty()) {
+            return paths;
+        }
+        List<List<Integer>> queries = new ArrayList<>(groups.values());
+        int chunks = Math.min(queries.size(), Math.max(1, pool.getParallelism()));
+        List<Callable<Void>> tasks = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            int chunk = c;
+            tasks.add(() -> {
+                DijkstraEngine<V> engine = new DijkstraEngine<>(graph);
+                for (int g = chunk; g < queries.size(); g += chunks) {
+                    List<Integer> group = queries.get(g);
+                    engine.run(sources[group.get(0)], group.size() == 1 ? targets[group.get(0)] : -1);
+                    for (int i : group) {
+                        paths[i] = engine.pathTo(targets[i]);
+                    }
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> task : pool.invokeAll(tasks)) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while searching the paths", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("path search failed", e.getCause());
+        }
+        return paths;
+    }
+
+    /**
+     * Returns the snapshot queried by the engine.
+     *
+     * @return the snapshot
+     */
+    public CsrGraph<V> graph() {
+        return graph;
+    }
+
+    /**
+     * Computes the shortest paths from a source vertex.
+     * <br>
+     * The search stops as soon as <code>target</code> is settled; pass <code>-1</code>
+     * to settle every vertex reachable from the source.
+     *
+     * @param source the id of the source vertex
+     * @param target the id of the target vertex, or <code>-1</code>
+     * @return true if the target is reachable, or always true when no target is given
+     * @throws IndexOutOfBoundsException if one of the ids is not valid
+     */
+    public boolean run(int source, int target) {
+        if (target != -1) {
+            Objects.checkIndex(target, graph.numVertices());
+        }
+        return search(source, target, null, null, 0, null, null);
+    }
+
+    /**
+     * Computes a shortest path between two vertices with the A* algorithm.
+     * <br>
+     * The frontier is ordered by the distance from the source plus the straight-line distance
+     * to the target, scaled by <code>scale</code>, computed from the given vertex positions.
+     * The result is a shortest path as long as the costs are consistent with the positions,
+     * that is as long as no arc costs less than <code>scale</code> times the distance between its ends.
+     * A <code>scale</code> of zero runs a plain Dijkstra search.
+     *
+     * @param source the id of the source vertex
+     * @param target the id of the target vertex
+     * @param x      the abscissa of each vertex, indexed by id
+     * @param y      the ordinate of each vertex, indexed by id
+     * @param scale  the minimum cost of a unit of distance
+     * @return true if the target is reachable
+     * @throws IndexOutOfBoundsException if one of the ids is not valid
+     * @throws IllegalArgumentException  if the positions do not cover every vertex or the scale is negative
+     */
+    public boolean runAStar(int source, int target, double[] x, double[] y, double scale) {
+        Objects.checkIndex(target, graph.numVertices());
+        if (x.length < graph.numVertices() || y.length < graph.numVertices()) {
+            throw new IllegalArgumentException("missing vertex positions");
+        }
+        if (!(scale >= 0)) {
+            throw new IllegalArgumentException("scale must not be negative: " + scale);
+        }
+        return search(source, target, x, y, scale, null, null);
+    }
+
+    /**
+     * Computes a shortest path between two vertices that avoids some vertices and arcs.
+     * <br>
+     * Excluded vertices are never entered, excluded arcs are never walked; the source is searched
+     * from even when it is excluded.
+     *
+     * @param source           the id of the source vertex
+     * @param target           the id of the target vertex, or <code>-1</code>
+     * @param excludedVertices the vertices to avoid, indexed by id, or <code>null</code>
+     * @param excludedArcs     the arcs to avoid, indexed by arc index, or <code>null</code>
+     * @return true if the target is reachable, or always true when no target is given
+     * @throws IndexOutOfBoundsException if one of the ids is not valid
+     */
+    public boolean run(int source, int target, boolean[] excludedVertices, boolean[] excludedArcs) {
+        if (target != -1) {
+            Objects.checkIndex(target, graph.numVertices());
+        }
+        return search(source, target, null, null, 0, excludedVertices, excludedArcs);
+    }
+
+    /**
+     * Returns the vertex ids of a shortest path between two vertices, found with {@link #runAStar(int, int, double[], double[], double)}.
+     *
+     * @param source the id of the source vertex
+     * @param target the id of the target vertex
+     * @param x      the abscissa of each vertex, indexed by id
+     * @param y      the ordinate of each vertex, indexed by id
+     * @param scale  the minimum cost of a unit of distance
+     * @return the ids from <code>source</code> to <code>target</code> included, or <code>null</code> if there is no path
+     */
+    public int[] shortestPath(int source, int target, double[] x, double[] y, double scale) {
+        return runAStar(source, target, x, y, scale) ? pathTo(target) : null;
+    }
+
+    /**
+     * Returns the number of vertices taken out of the frontier by the last query.
+     * <br>
+     * Useful to compare the work of {@link #runAStar(int, int, double[], double[], double)} against {@link #run(int, int)}.
+     *
+     * @return the number of expanded vertices
+     */
+    public int expandedCount() {
+        return expanded;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm, or A* when positions are given, skipping the excluded vertices and arcs.
+     */
+    private boolean search(int source, int target, double[] x, double[] y, double scale,
+                           boolean[] excludedVertices, boolean[] excludedArcs) {
+        Objects.checkIndex(source, graph.numVertices());
+        nextGeneration();
+        this.source = source;
+        expanded = 0;
+        boolean informed = x != null && scale > 0;
+        reach(source, 0, -1);
+        heap.push(source, informed ? estimate(source, target, x, y, scale, 0) : 0);
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] costs = graph.costs;
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            expanded++;
+            if (u == target) {
+                heap.clear();
+                return true;
+            }
+            int du = distances[u];
+            for (int arc = offsets[u], end = offsets[u + 1]; arc < end; arc++) {
+                int v = targets[arc];
+                long dv = (long) du + costs[arc];
+                if (dv >= UNREACHABLE
+                        || excludedArcs != null && excludedArcs[arc]
+                        || excludedVertices != null && excludedVertices[v]) {
+                    continue;
+                }
+                if (generations[v] != generation || dv < distances[v]) {
+                    reach(v, (int) dv, u);
+                    heap.push(v, informed ? estimate(v, target, x, y, scale, (int) dv) : (int) dv);
+                }
+            }
+        }
+        return target == -1 || isReachable(target);
+    }
+
+    /**
+     * Returns the A* key of a vertex: its distance from the source plus the scaled straight-line distance to the target.
+     */
+    private static int estimate(int v, int target, double[] x, double[] y, double scale, int distance) {
+        double h = Math.floor(scale * Math.hypot(x[v] - x[target], y[v] - y[target]));
+        return (int) Math.min(distance + h, UNREACHABLE - 1);
+    }
+
+    /**
+     * Returns the vertex ids of a shortest path between two vertices.
+     *
+     * @param source the id of the source vertex
+     * @param target the id of the target vertex
+     * @return the ids from <code>source</code> to <code>target</code> included, or <code>null</code> if there is no path
+     * @throws IndexOutOfBoundsException if one of the ids is not valid
+     */
+    public int[] shortestPath(int source, int target) {
+        return run(source, target) ? pathTo(target) : null;
+    }
+
+    /**
+     * Returns the elements of a shortest path between two vertices.
+     *
+     * @param source the element of the source vertex
+     * @param target the element of the target vertex
+     * @return the elements from <code>source</code> to <code>target</code> included, or <code>null</code>
+     *         if there is no path or one of the elements is not in the snapshot
+     */
+    public List<V> shortestPath(V source, V target) {
+        int s = graph.idOf(source);
+        int t = graph.idOf(target);
+        if (s < 0 || t < 0) {
+            return null;
+        }
+        int[] path = shortestPath(s, t);
+        if (path == null) {
+            return null;
+        }
+        List<V> elements = new ArrayList<>(path.length);
+        for (int id : path) {
+            elements.add(graph.vertex(id));
+        }
+        return elements;
+    }
+
+    /**
+     * Returns the source of the last query.
+     *
+     * @return the id of the source, or <code>-1</code> before the first query
+     */
+    public int source() {
+        return source;
+    }
+
+    /**
+     * Checks whether a vertex was reached by the last query.
+     *
+     * @param v the vertex id
+     * @return true if a path from the source to the vertex was found
+     */
+    public boolean isReachable(int v) {
+        return generations[v] == generation && source >= 0;
+    }
+
+    /**
+     * Returns the distance of a vertex from the source of the last query.
+     * <br>
+     * When the search was stopped at a target, the distances of the vertices that were not settled yet are upper bounds.
+     *
+     * @param v the vertex id
+     * @return the distance, or {@link #UNREACHABLE} if the vertex was not reached
+     */
+    public int distance(int v) {
+        return isReachable(v) ? distances[v] : UNREACHABLE;
+    }
+
+    /**
+     * Returns the predecessor of a vertex on the shortest path from the source of the last query.
+     *
+     * @param v the vertex id
+     * @return the id of the predecessor, or <code>-1</code> for the source and for vertices not reached
+     */
+    public int predecessor(int v) {
+        return isReachable(v) ? predecessors[v] : -1;
+    }
+
+    /**
+     * Returns the vertex ids of the shortest path from the source of the last query to a vertex.
+     *
+     * @param target the vertex id
+     * @return the ids from the source to <code>target</code> included, or <code>null</code> if the vertex was not reached
+     */
+    public int[] pathTo(int target) {
+        if (!isReachable(target)) {
+            return null;
+        }
+        int length = 1;
+        for (int v = target; predecessors[v] != -1; v = predecessors[v]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int v = target, i = length - 1; i >= 0; v = predecessors[v], i--) {
+            path[i] = v;
+        }
+        return path;
+    }
+
+    private void reach(int v, int distance, int predecessor) {
+        generations[v] = generation;
+        distances[v] = distance;
+        predecessors[v] = predecessor;
+    }
+
+    private void nextGeneration() {
+        heap.clear();
+        if (++generation == 0) {
+            /* the counter wrapped around: forget every stale mark */
+            Arrays.fill(generations, 0);
+            generation = 1;
+        }
+    }
+}
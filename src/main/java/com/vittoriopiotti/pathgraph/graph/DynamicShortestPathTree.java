@@ -0,0 +1,356 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import java.util.Arrays;
+
+/**
+ * Shortest path tree from a fixed source, kept up to date while the arcs of the graph change.
+ * <br>
+ * The tree owns a copy of the arcs, at most one per ordered pair of vertices, identified by dense integer ids.
+ * It is computed from scratch on the first query; afterwards every change of an arc repairs only the part
+ * of the tree it affects, in the style of Ramalingam and Reps:
+ * <ul>
+ *     <li>a new or cheaper arc propagates the lower distances from its head with a Dijkstra search
+ *     that stops where distances do not improve;</li>
+ *     <li>a removed or more expensive arc of the tree invalidates the subtree under its head, whose vertices
+ *     are then reattached through their cheapest arc from the rest of the tree and settled again;
+ *     changes of arcs outside the tree cost O(1).</li>
+ * </ul>
+ * Costs must be non-negative. The class is not thread-safe.
+ *
+ * @author vittoriopiotti
+ */
+public final class DynamicShortestPathTree {
+
+    /**
+     * Distance of the vertices that cannot be reached from the source.
+     */
+    public static final int UNREACHABLE = DijkstraEngine.UNREACHABLE;
+
+    private final int source;
+    private Arcs[] outbound = new Arcs[0];
+    private Arcs[] inbound = new Arcs[0];
+    private int[] distances = new int[0];
+    private int[] predecessors = new int[0];
+    private boolean[] affected = new boolean[0];
+    private IndexedMinHeap heap = new IndexedMinHeap(0);
+    private int[] stack = new int[16];
+    private boolean built;
+
+    /**
+     * Creates a tree rooted at the given vertex, over a graph with no arcs.
+     *
+     * @param source the id of the source vertex
+     * @throws IllegalArgumentException if the id is negative
+     */
+    public DynamicShortestPathTree(int source) {
+        if (source < 0) {
+            throw new IllegalArgumentException("source must not be negative: " + source);
+        }
+        this.source = source;
+        ensureCapacity(source + 1);
+    }
+
+    /**
+     * Returns the source of the tree.
+     *
+     * @return the id of the source vertex
+     */
+    public int source() {
+        return source;
+    }
+
+    /**
+     * Adds an arc, or changes the cost of the existing arc between the same vertices, and repairs the tree.
+     *
+     * @param from the id of the vertex the arc leaves
+     * @param to   the id of the vertex the arc enters
+     * @param cost the cost of the arc
+     * @throws IllegalArgumentException if an id or the cost is negative
+     */
+    public void setArc(int from, int to, int cost) {
+        if (from < 0 || to < 0 || cost < 0) {
+            throw new IllegalArgumentException("invalid arc " + from + " -> " + to + " (" + cost + ")");
+        }
+        ensureCapacity(Math.max(from, to) + 1);
+        int old = outbound[from].get(to);
+        if (old == cost) {
+            return;
+        }
+        outbound[from].put(to, cost);
+        inbound[to].put(from, cost);
+        if (!built) {
+            return;
+        }
+        if (old < 0 || cost < old) {
+            lowered(from, to, cost);
+        } else {
+            raised(from, to);
+        }
+    }
+
+    /**
+     * Removes the arc between two vertices and repairs the tree.
+     *
+     * @param from the id of the vertex the arc leaves
+     * @param to   the id of the vertex the arc enters
+     * @return true if the arc existed
+     */
+    public boolean removeArc(int from, int to) {
+        if (from < 0 || to < 0 || Math.max(from, to) >= outbound.length || outbound[from].get(to) < 0) {
+            return false;
+        }
+        outbound[from].remove(to);
+        inbound[to].remove(from);
+        if (built) {
+            raised(from, to);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the distance of a vertex from the source.
+     *
+     * @param v the vertex id
+     * @return the distance, or {@link #UNREACHABLE} if the vertex cannot be reached
+     */
+    public int distance(int v) {
+        build();
+        return v >= 0 && v < distances.length ? distances[v] : UNREACHABLE;
+    }
+
+    /**
+     * Checks whether a vertex can be reached from the source.
+     *
+     * @param v the vertex id
+     * @return true if there is a path from the source to the vertex
+     */
+    public boolean isReachable(int v) {
+        return distance(v) != UNREACHABLE;
+    }
+
+    /**
+     * Returns the parent of a vertex in the tree.
+     *
+     * @param v the vertex id
+     * @return the id of the predecessor, or <code>-1</code> for the source and for the vertices that cannot be reached
+     */
+    public int predecessor(int v) {
+        build();
+        return v >= 0 && v < predecessors.length ? predecessors[v] : -1;
+    }
+
+    /**
+     * Returns the vertex ids of the shortest path from the source to a vertex.
+     *
+     * @param target the vertex id
+     * @return the ids from the source to <code>target</code> included, or <code>null</code> if the vertex cannot be reached
+     */
+    public int[] pathTo(int target) {
+        if (!isReachable(target)) {
+            return null;
+        }
+        int length = 1;
+        for (int v = target; predecessors[v] != -1; v = predecessors[v]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int v = target, i = length - 1; i >= 0; v = predecessors[v], i--) {
+            path[i] = v;
+        }
+        return path;
+    }
+
+    /**
+     * Recomputes the whole tree from scratch.
+     */
+    public void recompute() {
+        Arrays.fill(distances, UNREACHABLE);
+        Arrays.fill(predecessors, -1);
+        distances[source] = 0;
+        heap.clear();
+        heap.push(source, 0);
+        propagate();
+        built = true;
+    }
+
+    private void build() {
+        if (!built) {
+            recompute();
+        }
+    }
+
+    /**
+     * Repairs the tree after the arc <code>from &rarr; to</code> was added or became cheaper.
+     */
+    private void lowered(int from, int to, int cost) {
+        if (distances[from] == UNREACHABLE) {
+            return;
+        }
+        long distance = (long) distances[from] + cost;
+        if (distance < distances[to]) {
+            distances[to] = (int) distance;
+            predecessors[to] = from;
+            heap.push(to, (int) distance);
+            propagate();
+        }
+    }
+
+    /**
+     * Repairs the tree after the arc <code>from &rarr; to</code> was removed or became more expensive.
+     */
+    private void raised(int from, int to) {
+        if (predecessors[to] != from) {
+            return;
+        }
+        /* collect the subtree hanging from the arc */
+        int count = 0;
+        int size = 0;
+        affected[to] = true;
+        push(size++, to);
+        while (count < size) {
+            int x = stack[count++];
+            Arcs arcs = outbound[x];
+            for (int i = 0; i < arcs.size; i++) {
+                int y = arcs.neighbors[i];
+                if (predecessors[y] == x && !affected[y]) {
+                    affected[y] = true;
+                    push(size++, y);
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            distances[stack[i]] = UNREACHABLE;
+            predecessors[stack[i]] = -1;
+        }
+        /* reattach every vertex of the subtree through its cheapest arc from outside of it */
+        for (int i = 0; i < size; i++) {
+            int w = stack[i];
+            Arcs arcs = inbound[w];
+            for (int j = 0; j < arcs.size; j++) {
+                int x = arcs.neighbors[j];
+                if (affected[x] || distances[x] == UNREACHABLE) {
+                    continue;
+                }
+                long distance = (long) distances[x] + arcs.costs[j];
+                if (distance < distances[w]) {
+                    distances[w] = (int) distance;
+                    predecessors[w] = x;
+                }
+            }
+            if (distances[w] != UNREACHABLE) {
+                heap.push(w, distances[w]);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            affected[stack[i]] = false;
+        }
+        propagate();
+    }
+
+    /**
+     * Settles the vertices in the heap, lowering the distances of their neighbors.
+     */
+    private void propagate() {
+        while (!heap.isEmpty()) {
+            int x = heap.poll();
+            int dx = distances[x];
+            Arcs arcs = outbound[x];
+            for (int i = 0; i < arcs.size; i++) {
+                int y = arcs.neighbors[i];
+                long distance = (long) dx + arcs.costs[i];
+                if (distance < distances[y]) {
+                    distances[y] = (int) distance;
+                    predecessors[y] = x;
+                    heap.push(y, (int) distance);
+                }
+            }
+        }
+    }
+
+    private void push(int index, int v) {
+        if (index == stack.length) {
+            stack = Arrays.copyOf(stack, index * 2);
+        }
+        stack[index] = v;
+    }
+
+    private void ensureCapacity(int capacity) {
+        int old = outbound.length;
+        if (capacity <= old) {
+            return;
+        }
+        capacity = Math.max(capacity, old * 2);
+        outbound = Arrays.copyOf(outbound, capacity);
+        inbound = Arrays.copyOf(inbound, capacity);
+        for (int v = old; v < capacity; v++) {
+            outbound[v] = new Arcs();
+            inbound[v] = new Arcs();
+        }
+        distances = Arrays.copyOf(distances, capacity);
+        predecessors = Arrays.copyOf(predecessors, capacity);
+        Arrays.fill(distances, old, capacity, UNREACHABLE);
+        Arrays.fill(predecessors, old, capacity, -1);
+        affected = Arrays.copyOf(affected, capacity);
+        heap = new IndexedMinHeap(capacity);
+    }
+
+    @Override
+    public String toString() {
+        return "DynamicShortestPathTree{" +
+                "source=" + source +
+                ", built=" + built +
+                '}';
+    }
+
+    /**
+     * Arcs of one vertex, one per neighbor.
+     */
+    private static final class Arcs {
+
+        private int[] neighbors = new int[4];
+        private int[] costs = new int[4];
+        private int size;
+
+        int get(int neighbor) {
+            for (int i = 0; i < size; i++) {
+                if (neighbors[i] == neighbor) {
+                    return costs[i];
+                }
+            }
+            return -1;
+        }
+
+        void put(int neighbor, int cost) {
+            for (int i = 0; i < size; i++) {
+                if (neighbors[i] == neighbor) {
+                    costs[i] = cost;
+                    return;
+                }
+            }
+            if (size == neighbors.length) {
+                neighbors = Arrays.copyOf(neighbors, size * 2);
+                costs = Arrays.copyOf(costs, size * 2);
+            }
+            neighbors[size] = neighbor;
+            costs[size] = cost;
+            size++;
+        }
+
+        void remove(int neighbor) {
+            for (int i = 0; i < size; i++) {
+                if (neighbors[i] == neighbor) {
+                    size--;
+                    neighbors[i] = neighbors[size];
+                    costs[i] = costs[size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -274,4 +274,27 @@ public interface Graph<V, E> {
      * @author brunomnsilva
      */
     E replace(Edge<E, V> e, E newElement) throws InvalidEdgeException;
+
+    /**
+     * Returns an immutable, versioned view of the current vertices and edges of the graph.
+     * <br/>
+     * Only the topology is frozen: the sets of vertices and edges are never affected by later insertions or
+     * removals, so they can be walked by other threads without holding any lock. The {@link Vertex} and
+     * {@link Edge} objects are the live ones, shared with the graph, so element replacements and
+     * {@link Edge#setDirection(int)} calls made later are visible through them; copy what must not change,
+     * for example with {@link CsrGraph#of(GraphSnapshot)}.
+     * The version of the snapshot grows with every change made to the graph
+     * and can be used as a cache key.
+     * <br/>
+     * The default implementation copies {@link #vertices()} and {@link #edges()} in O(n + m) and,
+     * since it cannot tell whether the graph changed, gives every snapshot a new version.
+     * The graphs of this package override it to take snapshots in O(1) that share the version of the same structure.
+     *
+     * @return      the snapshot of the graph
+     *
+     * @author vittoriopiotti
+     */
+    default GraphSnapshot<V, E> snapshot() {
+        return GraphSnapshot.copyOf(vertices(), edges());
+    }
 }
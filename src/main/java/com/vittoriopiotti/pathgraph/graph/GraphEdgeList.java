@@ -33,6 +33,11 @@ public class GraphEdgeList<V, E> implements Graph<V, E> {
     private final Map<V, Vertex<V>> vertices;
     private final Map<E, Edge<E, V>> edges;
 
+    /* persistent copies of the vertices and edges, shared with the snapshots */
+    private PersistentIdentitySet<Vertex<V>> vertexSet = PersistentIdentitySet.empty();
+    private PersistentIdentitySet<Edge<E, V>> edgeSet = PersistentIdentitySet.empty();
+    private long version;
+
     /**
      * Default constructor that initializes an empty graph.
      */
@@ -42,27 +47,27 @@ public class GraphEdgeList<V, E> implements Graph<V, E> {
     }
 
     @Override
-    public int numVertices() {
+    public synchronized int numVertices() {
         return vertices.size();
     }
 
     @Override
-    public int numEdges() {
+    public synchronized int numEdges() {
         return edges.size();
     }
 
     @Override
-    public Collection<Vertex<V>> vertices() {
+    public synchronized Collection<Vertex<V>> vertices() {
         return new ArrayList<>(vertices.values());
     }
 
     @Override
-    public Collection<Edge<E, V>> edges() {
+    public synchronized Collection<Edge<E, V>> edges() {
         return new ArrayList<>(edges.values());
     }
 
     @Override
-    public Collection<Edge<E, V>> incidentEdges(Vertex<V> v) throws InvalidVertexException {
+    public synchronized Collection<Edge<E, V>> incidentEdges(Vertex<V> v) throws InvalidVertexException {
 
         checkVertex(v);
 
@@ -80,7 +85,7 @@ public class GraphEdgeList<V, E> implements Graph<V, E> {
     }
 
     @Override
-    public Vertex<V> opposite(Vertex<V> v, Edge<E, V> e) throws InvalidVertexException, InvalidEdgeException {
+    public synchronized Vertex<V> opposite(Vertex<V> v, Edge<E, V> e) throws InvalidVertexException, InvalidEdgeException {
         checkVertex(v);
         MyEdge edge = checkEdge(e);
 
@@ -120,6 +125,8 @@ public class GraphEdgeList<V, E> implements Graph<V, E> {
         MyVertex newVertex = new MyVertex(vElement);
 
         vertices.put(vElement, newVertex);
+        vertexSet = vertexSet.plus(newVertex);
+        version++;
 
         return newVertex;
     }
@@ -138,6 +145,8 @@ public class GraphEdgeList<V, E> implements Graph<V, E> {
         MyEdge newEdge = new MyEdge(edgeElement, outVertex, inVertex,cost,direction);
 
         edges.put(edgeElement, newEdge);
+        edgeSet = edgeSet.plus(newEdge);
+        version++;
 
         return newEdge;
 
@@ -164,6 +173,8 @@ public class GraphEdgeList<V, E> implements Graph<V, E> {
         MyEdge newEdge = new MyEdge(edgeElement, outVertex, inVertex,cost,direction);
 
         edges.put(edgeElement, newEdge);
+        edgeSet = edgeSet.plus(newEdge);
+        version++;
 
         return newEdge;
 
@@ -179,9 +190,12 @@ public class GraphEdgeList<V, E> implements Graph<V, E> {
         Iterable<Edge<E, V>> incidentEdges = incidentEdges(v);
         for (Edge<E, V> edge : incidentEdges) {
             edges.remove(edge.element());
+            edgeSet = edgeSet.minus(edge);
         }
 
         vertices.remove(v.element());
+        vertexSet = vertexSet.minus(v);
+        version++;
 
         return element;
     }
@@ -192,12 +206,14 @@ public class GraphEdgeList<V, E> implements Graph<V, E> {
 
         E element = e.element();
         edges.remove(e.element());
+        edgeSet = edgeSet.minus(e);
+        version++;
 
         return element;
     }
 
     @Override
-    public V replace(Vertex<V> v, V newElement) throws InvalidVertexException {
+    public synchronized V replace(Vertex<V> v, V newElement) throws InvalidVertexException {
         if (existsVertexWith(newElement)) {
             throw new InvalidVertexException("There's already a vertex with this element.");
         }
@@ -206,12 +222,13 @@ public class GraphEdgeList<V, E> implements Graph<V, E> {
 
         V oldElement = vertex.element;
         vertex.element = newElement;
+        version++;
 
         return oldElement;
     }
 
     @Override
-    public E replace(Edge<E, V> e, E newElement) throws InvalidEdgeException {
+    public synchronized E replace(Edge<E, V> e, E newElement) throws InvalidEdgeException {
         if (existsEdgeWith(newElement)) {
             throw new InvalidEdgeException("There's already an edge with this element.");
         }
@@ -220,10 +237,16 @@ public class GraphEdgeList<V, E> implements Graph<V, E> {
 
         E oldElement = edge.element;
         edge.element = newElement;
+        version++;
 
         return oldElement;
     }
 
+    @Override
+    public synchronized GraphSnapshot<V, E> snapshot() {
+        return new GraphSnapshot<>(version, vertexSet, edgeSet);
+    }
+
     private MyVertex vertexOf(V vElement) {
         for (Vertex<V> v : vertices.values()) {
             if (v.element().equals(vElement)) {
@@ -0,0 +1,215 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable, versioned view of the structure of a {@link Graph}, as returned by {@link Graph#snapshot()}.
+ * <br>
+ * A snapshot of the graphs of this package shares its internal structure with the graph that produced it,
+ * so taking one costs O(1), and it is never affected by later insertions or removals: it can be read by any
+ * thread without locking.
+ * Only the topology is frozen. The vertex and edge references are the live ones, hence element replacements
+ * and {@link Edge#setDirection(int)} calls are still visible through them; {@link CsrGraph#of(GraphSnapshot)}
+ * copies the elements, costs and directions of a snapshot at the moment it is called.
+ * <br>
+ * Every change to a graph increments its version, so two snapshots of the same graph
+ * with the same {@link #version()} describe the same structure.
+ *
+ * @param <V> Type of element stored at a vertex
+ * @param <E> Type of element stored at an edge
+ *
+ * @author vittoriopiotti
+ */
+public final class GraphSnapshot<V, E> {
+
+    /* versions of the snapshots copied by the default Graph.snapshot() */
+    private static final AtomicLong COPY_VERSIONS = new AtomicLong(Long.MIN_VALUE);
+
+    private final long version;
+    private final PersistentIdentitySet<Vertex<V>> vertices;
+    private final PersistentIdentitySet<Edge<E, V>> edges;
+
+    /* incidence lists by vertex, built on first use */
+    private volatile Map<Vertex<V>, List<Edge<E, V>>> outbound;
+    private volatile Map<Vertex<V>, List<Edge<E, V>>> inbound;
+
+    GraphSnapshot(long version, PersistentIdentitySet<Vertex<V>> vertices, PersistentIdentitySet<Edge<E, V>> edges) {
+        this.version = version;
+        this.vertices = vertices;
+        this.edges = edges;
+    }
+
+    /**
+     * Copies the given vertices and edges into a snapshot with a version never returned before.
+     *
+     * @param vertices the vertices of the graph
+     * @param edges    the edges of the graph
+     * @param <V>      Type of element stored at a vertex
+     * @param <E>      Type of element stored at an edge
+     * @return the snapshot of the vertices and edges
+     */
+    static <V, E> GraphSnapshot<V, E> copyOf(Collection<Vertex<V>> vertices, Collection<Edge<E, V>> edges) {
+        PersistentIdentitySet<Vertex<V>> vertexSet = PersistentIdentitySet.empty();
+        for (Vertex<V> v : vertices) {
+            vertexSet = vertexSet.plus(v);
+        }
+        PersistentIdentitySet<Edge<E, V>> edgeSet = PersistentIdentitySet.empty();
+        for (Edge<E, V> e : edges) {
+            edgeSet = edgeSet.plus(e);
+        }
+        return new GraphSnapshot<>(COPY_VERSIONS.getAndIncrement(), vertexSet, edgeSet);
+    }
+
+    /**
+     * Returns the version of the graph at the moment the snapshot was taken.
+     *
+     * @return the version of the snapshot
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Returns the number of vertices of the snapshot.
+     *
+     * @return the number of vertices
+     */
+    public int numVertices() {
+        return vertices.size();
+    }
+
+    /**
+     * Returns the number of edges of the snapshot.
+     *
+     * @return the number of edges
+     */
+    public int numEdges() {
+        return edges.size();
+    }
+
+    /**
+     * Returns an unmodifiable view of the vertices of the snapshot, without copying them.
+     *
+     * @return the vertices
+     */
+    public Collection<Vertex<V>> vertices() {
+        return new View<>(vertices);
+    }
+
+    /**
+     * Returns an unmodifiable view of the edges of the snapshot, without copying them.
+     *
+     * @return the edges
+     */
+    public Collection<Edge<E, V>> edges() {
+        return new View<>(edges);
+    }
+
+    /**
+     * Checks in O(1) whether the snapshot contains the given vertex.
+     *
+     * @param v the vertex
+     * @return true if the vertex belongs to the snapshot
+     */
+    public boolean containsVertex(Vertex<V> v) {
+        return vertices.contains(v);
+    }
+
+    /**
+     * Checks in O(1) whether the snapshot contains the given edge.
+     *
+     * @param e the edge
+     * @return true if the edge belongs to the snapshot
+     */
+    public boolean containsEdge(Edge<E, V> e) {
+        return edges.contains(e);
+    }
+
+    /**
+     * Returns the edges whose outbound vertex, <code>vertices()[0]</code>, is the given vertex.
+     * <br>
+     * The incidence lists are built once, on the first call of this method or of {@link #inboundEdges(Vertex)}.
+     *
+     * @param v the vertex
+     * @return the outbound edges, or an empty list if the vertex does not belong to the snapshot
+     */
+    public List<Edge<E, V>> outboundEdges(Vertex<V> v) {
+        if (outbound == null) {
+            buildIncidence();
+        }
+        return outbound.getOrDefault(v, Collections.emptyList());
+    }
+
+    /**
+     * Returns the edges whose inbound vertex, <code>vertices()[1]</code>, is the given vertex.
+     *
+     * @param v the vertex
+     * @return the inbound edges, or an empty list if the vertex does not belong to the snapshot
+     */
+    public List<Edge<E, V>> inboundEdges(Vertex<V> v) {
+        if (inbound == null) {
+            buildIncidence();
+        }
+        return inbound.getOrDefault(v, Collections.emptyList());
+    }
+
+    private synchronized void buildIncidence() {
+        if (outbound != null) {
+            return;
+        }
+        Map<Vertex<V>, List<Edge<E, V>>> out = new IdentityHashMap<>(vertices.size() * 2);
+        Map<Vertex<V>, List<Edge<E, V>>> in = new IdentityHashMap<>(vertices.size() * 2);
+        for (Edge<E, V> e : edges) {
+            Vertex<V>[] ends = e.vertices();
+            out.computeIfAbsent(ends[0], k -> new ArrayList<>()).add(e);
+            in.computeIfAbsent(ends[1], k -> new ArrayList<>()).add(e);
+        }
+        out.replaceAll((k, list) -> Collections.unmodifiableList(list));
+        in.replaceAll((k, list) -> Collections.unmodifiableList(list));
+        inbound = in;
+        outbound = out;
+    }
+
+    @Override
+    public String toString() {
+        return "GraphSnapshot{" +
+                "version=" + version +
+                ", vertices=" + numVertices() +
+                ", edges=" + numEdges() +
+                '}';
+    }
+
+    /**
+     * Read-only collection backed by a persistent set.
+     */
+    private static final class View<T> extends AbstractCollection<T> {
+
+        private final PersistentIdentitySet<T> set;
+
+        View(PersistentIdentitySet<T> set) {
+            this.set = set;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return set.iterator();
+        }
+
+        @Override
+        public int size() {
+            return set.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return set.contains(o);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap of the integers <code>[0, capacity)</code> ordered by an <code>int</code> key.
+ * <br>
+ * The position of every element inside the heap is tracked, so {@link #push(int, int)} can lower
+ * the key of an element already in the heap instead of inserting it twice.
+ * All the storage is allocated once by the constructor: pushing, polling and clearing never allocate.
+ *
+ * @author vittoriopiotti
+ */
+final class IndexedMinHeap {
+
+    private final int[] heap;
+    private final int[] positions;
+    private final int[] keys;
+    private int size;
+
+    /**
+     * Creates an empty heap for the elements <code>[0, capacity)</code>.
+     *
+     * @param capacity the number of distinct elements
+     */
+    IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Returns the number of elements in the heap.
+     *
+     * @return the number of elements
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the heap is empty.
+     *
+     * @return true if the heap has no elements
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks whether an element is in the heap.
+     *
+     * @param element the element
+     * @return true if the element is in the heap
+     */
+    boolean contains(int element) {
+        return positions[element] >= 0;
+    }
+
+    /**
+     * Inserts an element, or lowers its key if it is already in the heap.
+     *
+     * @param element the element
+     * @param key     the key of the element
+     * @return true if the element was inserted or its key lowered, false if its key was already lower or equal
+     */
+    boolean push(int element, int key) {
+        int position = positions[element];
+        if (position < 0) {
+            position = size++;
+            heap[position] = element;
+            positions[element] = position;
+        } else if (keys[element] <= key) {
+            return false;
+        }
+        keys[element] = key;
+        siftUp(position);
+        return true;
+    }
+
+    /**
+     * Returns the key of the element with the smallest key.
+     *
+     * @return the smallest key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    int peekKey() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return keys[heap[0]];
+    }
+
+    /**
+     * Removes the element with the smallest key.
+     *
+     * @return the removed element
+     * @throws NoSuchElementException if the heap is empty
+     */
+    int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int min = heap[0];
+        positions[min] = -1;
+        if (--size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Removes all the elements, in time proportional to the current size.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position) {
+        int element = heap[position];
+        int key = keys[element];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int parentElement = heap[parent];
+            if (keys[parentElement] <= key) {
+                break;
+            }
+            heap[position] = parentElement;
+            positions[parentElement] = position;
+            position = parent;
+        }
+        heap[position] = element;
+        positions[element] = position;
+    }
+
+    private void siftDown(int position) {
+        int element = heap[position];
+        int key = keys[element];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) {
+                child = right;
+            }
+            int childElement = heap[child];
+            if (key <= keys[childElement]) {
+                break;
+            }
+            heap[position] = childElement;
+            positions[childElement] = position;
+            position = child;
+        }
+        heap[position] = element;
+        positions[element] = position;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Yen's algorithm for the <code>k</code> shortest loopless paths between two vertices of a {@link CsrGraph}.
+ * <br>
+ * Every new path is searched as a deviation from the last path found: for each of its vertices, the spur
+ * vertex, a {@link DijkstraEngine} looks for the best way to the target that leaves the common prefix
+ * differently from all the paths already found. The spur searches of the same path are independent,
+ * so they run in parallel on a {@link ForkJoinPool}, split into one chunk per thread of the pool, each chunk
+ * running its spurs on an engine of its own that is dropped with the chunk.
+ * <br>
+ * Paths are vertex sequences: parallel arcs between the same two vertices do not produce different paths.
+ *
+ * @author vittoriopiotti
+ */
+public final class KShortestPaths {
+
+    /* orders paths by cost, then by length, then lexicographically */
+    private static final Comparator<Candidate> ORDER = Comparator
+            .comparingLong((Candidate c) -> c.cost)
+            .thenComparingInt(c -> c.path.length)
+            .thenComparing((a, b) -> Arrays.compare(a.path, b.path));
+
+    private KShortestPaths() {
+    }
+
+    /**
+     * Finds up to <code>k</code> loopless paths between two vertices on the common {@link ForkJoinPool}.
+     *
+     * @param graph  the snapshot
+     * @param source the id of the source vertex
+     * @param target the id of the target vertex
+     * @param k      the maximum number of paths
+     * @return the vertex ids of the paths, in increasing order of cost, possibly empty
+     * @throws IndexOutOfBoundsException if one of the ids is not valid
+     * @throws IllegalArgumentException  if <code>k</code> is negative
+     */
+    public static List<int[]> find(CsrGraph<?> graph, int source, int target, int k) {
+        return find(graph, source, target, k, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Finds up to <code>k</code> loopless paths between two vertices, running the spur searches on the given pool.
+     *
+     * @param graph  the snapshot
+     * @param source the id of the source vertex
+     * @param target the id of the target vertex
+     * @param k      the maximum number of paths
+     * @param pool   the pool that runs the spur searches
+     * @return the vertex ids of the paths, in increasing order of cost, possibly empty
+     * @throws IndexOutOfBoundsException if one of the ids is not valid
+     * @throws IllegalArgumentException  if <code>k</code> is negative
+     */
+    public static List<int[]> find(CsrGraph<?> graph, int source, int target, int k, ForkJoinPool pool) {
+        Objects.requireNonNull(graph, "graph");
+        Objects.requireNonNull(pool, "pool");
+        Objects.checkIndex(source, graph.numVertices());
+        Objects.checkIndex(target, graph.numVertices());
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        List<int[]> found = new ArrayList<>();
+        if (k == 0) {
+            return found;
+        }
+        int[] first = new DijkstraEngine<>(graph).shortestPath(source, target);
+        if (first == null) {
+            return found;
+        }
+        found.add(first);
+        TreeSet<Candidate> candidates = new TreeSet<>(ORDER);
+        while (found.size() < k) {
+            int[] last = found.get(found.size() - 1);
+            int spurCount = last.length - 1;
+            int chunks = Math.min(spurCount, Math.max(1, pool.getParallelism()));
+            List<Callable<List<Candidate>>> spurs = new ArrayList<>(chunks);
+            for (int c = 0; c < chunks; c++) {
+                int chunk = c;
+                spurs.add(() -> {
+                    DijkstraEngine<?> engine = new DijkstraEngine<>(graph);
+                    List<Candidate> chunkCandidates = new ArrayList<>();
+                    for (int spurIndex = chunk; spurIndex < spurCount; spurIndex += chunks) {
+                        Candidate candidate = spur(graph, engine, found, last, spurIndex);
+                        if (candidate != null) {
+                            chunkCandidates.add(candidate);
+                        }
+                    }
+                    return chunkCandidates;
+                });
+            }
+            for (Future<List<Candidate>> spur : pool.invokeAll(spurs)) {
+                candidates.addAll(join(spur));
+            }
+            Candidate next = candidates.pollFirst();
+            if (next == null) {
+                break;
+            }
+            found.add(next.path);
+        }
+        return found;
+    }
+
+    /**
+     * Returns the cost of a path, walking the cheapest arc between each pair of consecutive vertices.
+     *
+     * @param graph the snapshot
+     * @param path  the vertex ids of the path
+     * @return the cost of the path, or <code>-1</code> if two consecutive vertices are not joined by an arc
+     */
+    public static long cost(CsrGraph<?> graph, int[] path) {
+        long cost = 0;
+        for (int i = 0; i + 1 < path.length; i++) {
+            int best = -1;
+            for (int arc = graph.firstArc(path[i]); arc < graph.endArc(path[i]); arc++) {
+                if (graph.target(arc) == path[i + 1] && (best < 0 || graph.cost(arc) < best)) {
+                    best = graph.cost(arc);
+                }
+            }
+            if (best < 0) {
+                return -1;
+            }
+            cost += best;
+        }
+        return cost;
+    }
+
+    /**
+     * Searches the best deviation of <code>last</code> that shares its first <code>spurIndex + 1</code> vertices.
+     */
+    private static Candidate spur(CsrGraph<?> graph, DijkstraEngine<?> engine, List<int[]> found, int[] last, int spurIndex) {
+        int spurVertex = last[spurIndex];
+        boolean[] excludedVertices = new boolean[graph.numVertices()];
+        for (int i = 0; i < spurIndex; i++) {
+            excludedVertices[last[i]] = true;
+        }
+        boolean[] excludedArcs = new boolean[graph.numArcs()];
+        for (int[] path : found) {
+            if (path.length > spurIndex + 1 && Arrays.equals(path, 0, spurIndex + 1, last, 0, spurIndex + 1)) {
+                int next = path[spurIndex + 1];
+                for (int arc = graph.firstArc(spurVertex); arc < graph.endArc(spurVertex); arc++) {
+                    if (graph.target(arc) == next) {
+                        excludedArcs[arc] = true;
+                    }
+                }
+            }
+        }
+        int target = last[last.length - 1];
+        if (!engine.run(spurVertex, target, excludedVertices, excludedArcs)) {
+            return null;
+        }
+        int[] tail = engine.pathTo(target);
+        int[] path = new int[spurIndex + tail.length];
+        System.arraycopy(last, 0, path, 0, spurIndex);
+        System.arraycopy(tail, 0, path, spurIndex, tail.length);
+        long rootCost = cost(graph, Arrays.copyOf(last, spurIndex + 1));
+        return new Candidate(path, rootCost + engine.distance(target));
+    }
+
+    private static List<Candidate> join(Future<List<Candidate>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while searching the spur paths", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("spur path search failed", e.getCause());
+        }
+    }
+
+    /**
+     * Path waiting to be accepted, with its cost.
+     */
+    private static final class Candidate {
+
+        private final int[] path;
+        private final long cost;
+
+        Candidate(int[] path, long cost) {
+            this.path = path;
+            this.cost = cost;
+        }
+    }
+}
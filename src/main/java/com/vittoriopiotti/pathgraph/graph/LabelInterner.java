@@ -0,0 +1,128 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bidirectional mapping between string labels and dense integer ids.
+ * <br>
+ * Ids are assigned in the range <code>[0, idBound())</code> so they can index plain arrays.
+ * When a label is released its id is recycled by the next interned label, keeping the id space compact.
+ * As a consequence an id must not be used after its label has been released.
+ * <br>
+ * The class is not thread-safe.
+ *
+ * @author vittoriopiotti
+ */
+public final class LabelInterner {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] labels = new String[16];
+    private int[] free = new int[16];
+    private int freeCount;
+    private int bound;
+
+    /**
+     * Returns the id of the given label, assigning a new one if the label is not interned yet.
+     *
+     * @param label the label
+     * @return the id of the label
+     * @throws NullPointerException if the label is <code>null</code>
+     */
+    public int intern(String label) {
+        Objects.requireNonNull(label, "label");
+        Integer id = ids.get(label);
+        if (id != null) {
+            return id;
+        }
+        int newId;
+        if (freeCount > 0) {
+            newId = free[--freeCount];
+        } else {
+            newId = bound++;
+            if (newId == labels.length) {
+                labels = Arrays.copyOf(labels, newId * 2);
+            }
+        }
+        labels[newId] = label;
+        ids.put(label, newId);
+        return newId;
+    }
+
+    /**
+     * Returns the id of the given label.
+     *
+     * @param label the label
+     * @return the id of the label, or <code>-1</code> if the label is not interned
+     */
+    public int idOf(String label) {
+        Integer id = label == null ? null : ids.get(label);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the label with the given id.
+     *
+     * @param id the id
+     * @return the label, or <code>null</code> if no label currently has this id
+     */
+    public String labelOf(int id) {
+        return id >= 0 && id < bound ? labels[id] : null;
+    }
+
+    /**
+     * Releases a label, making its id available for reuse.
+     *
+     * @param label the label to release
+     * @return true if the label was interned, false otherwise
+     */
+    public boolean release(String label) {
+        Integer id = label == null ? null : ids.remove(label);
+        if (id == null) {
+            return false;
+        }
+        labels[id] = null;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2);
+        }
+        free[freeCount++] = id;
+        return true;
+    }
+
+    /**
+     * Returns the number of interned labels.
+     *
+     * @return the number of labels
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Returns an exclusive upper bound of all the ids assigned so far,
+     * suitable to size arrays indexed by id.
+     *
+     * @return the upper bound of the ids
+     */
+    public int idBound() {
+        return bound;
+    }
+
+    /**
+     * Releases all the labels and restarts the id space from zero.
+     */
+    public void clear() {
+        ids.clear();
+        Arrays.fill(labels, 0, bound, null);
+        freeCount = 0;
+        bound = 0;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of shortest path results, keyed by source, target and graph version.
+ * <br>
+ * When the cache is queried with a version different from the one of its entries, all the entries
+ * are dropped, since they can no longer be hit. Within the same version the least recently used entry
+ * is evicted once the capacity is exceeded. Missing paths are cached as well, as <code>null</code> results.
+ * <br>
+ * Hit and miss counters are kept from the creation of the cache, or from the last {@link #resetCounters()},
+ * to help sizing it. All the methods are thread-safe.
+ *
+ * @param <P> Type of the cached paths
+ *
+ * @author vittoriopiotti
+ */
+public final class PathCache<P> {
+
+    /**
+     * Default maximum number of cached paths.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /* marks a cached query that has no path */
+    private static final Object NO_PATH = new Object();
+
+    private final Map<Long, Object> entries;
+    private int capacity;
+    private long version = Long.MIN_VALUE;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a cache with the {@link #DEFAULT_CAPACITY}.
+     */
+    public PathCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a cache that holds at most <code>capacity</code> paths.
+     *
+     * @param capacity the maximum number of cached paths
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public PathCache(int capacity) {
+        checkCapacity(capacity);
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Object> eldest) {
+                return size() > PathCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached path between two vertices, computing and caching it on a miss.
+     * <br>
+     * The path is computed outside the lock of the cache, so a slow search does not block the other queries;
+     * two threads missing the same pair at the same time may both compute it. A path computed for a version
+     * that is no longer the current one is returned but not cached.
+     *
+     * @param source  the id of the source vertex
+     * @param target  the id of the target vertex
+     * @param version the current version of the graph
+     * @param compute computes the path on a miss, returning <code>null</code> if there is no path
+     * @return the path, or <code>null</code> if there is no path
+     */
+    @SuppressWarnings("unchecked")
+    public P get(int source, int target, long version, Supplier<P> compute) {
+        Long key = key(source, target);
+        synchronized (this) {
+            if (version != this.version) {
+                entries.clear();
+                this.version = version;
+            }
+            Object cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached == NO_PATH ? null : (P) cached;
+            }
+            misses++;
+        }
+        P path = compute.get();
+        synchronized (this) {
+            if (version == this.version) {
+                entries.put(key, path == null ? NO_PATH : path);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Drops all the cached paths, keeping the counters.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of cached paths.
+     *
+     * @return the number of cached paths
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the maximum number of cached paths.
+     *
+     * @return the capacity
+     */
+    public synchronized int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Changes the maximum number of cached paths, evicting the least recently used ones if needed.
+     *
+     * @param capacity the new capacity
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public synchronized void setCapacity(int capacity) {
+        checkCapacity(capacity);
+        this.capacity = capacity;
+        Iterator<Long> iterator = entries.keySet().iterator();
+        while (entries.size() > capacity && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Returns the number of queries answered from the cache.
+     *
+     * @return the number of hits
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of queries that had to compute their path.
+     *
+     * @return the number of misses
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Resets the hit and miss counters.
+     */
+    public synchronized void resetCounters() {
+        hits = 0;
+        misses = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "PathCache{" +
+                "size=" + entries.size() +
+                ", capacity=" + capacity +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                '}';
+    }
+
+    private static Long key(int source, int target) {
+        return ((long) source << 32) | (target & 0xFFFFFFFFL);
+    }
+
+    private static void checkCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+    }
+}
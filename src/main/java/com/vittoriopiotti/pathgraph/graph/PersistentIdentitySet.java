@@ -0,0 +1,341 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable set of references, implemented as a hash array mapped trie.
+ * <br>
+ * Elements are compared by identity. {@link #plus(Object)} and {@link #minus(Object)} return a
+ * new set that shares all the untouched branches with the original one, so they only copy
+ * <code>O(log32 n)</code> nodes and previously returned sets are never affected.
+ *
+ * @param <T> Type of the elements
+ *
+ * @author vittoriopiotti
+ */
+final class PersistentIdentitySet<T> implements Iterable<T> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentIdentitySet<?> EMPTY = new PersistentIdentitySet<>(null, 0);
+
+    /* null for the empty set; slots hold either elements or child nodes */
+    private final Node root;
+    private final int size;
+
+    private PersistentIdentitySet(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty set.
+     *
+     * @param <T> Type of the elements
+     * @return the empty set
+     */
+    @SuppressWarnings("unchecked")
+    static <T> PersistentIdentitySet<T> empty() {
+        return (PersistentIdentitySet<T>) EMPTY;
+    }
+
+    /**
+     * Returns the number of elements of the set.
+     *
+     * @return the number of elements
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the set contains the given reference.
+     *
+     * @param element the reference to look for
+     * @return true if the set contains the reference
+     */
+    boolean contains(Object element) {
+        return element != null && root != null && root.contains(element, hash(element), 0);
+    }
+
+    /**
+     * Returns a set that also contains the given reference.
+     *
+     * @param element the reference to add
+     * @return the new set, or this set if it already contains the reference
+     */
+    PersistentIdentitySet<T> plus(T element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+        int hash = hash(element);
+        if (root == null) {
+            return new PersistentIdentitySet<>(new BitmapNode(bit(hash, 0), new Object[]{element}), 1);
+        }
+        Node newRoot = root.plus(element, hash, 0);
+        return newRoot == root ? this : new PersistentIdentitySet<>(newRoot, size + 1);
+    }
+
+    /**
+     * Returns a set that does not contain the given reference.
+     *
+     * @param element the reference to remove
+     * @return the new set, or this set if it does not contain the reference
+     */
+    PersistentIdentitySet<T> minus(Object element) {
+        if (!contains(element)) {
+            return this;
+        }
+        Object newRoot = root.minus(element, hash(element), 0);
+        if (newRoot == null) {
+            return empty();
+        }
+        if (!(newRoot instanceof Node)) {
+            /* a single element left: keep it in a root node */
+            return new PersistentIdentitySet<>(new BitmapNode(bit(hash(newRoot), 0), new Object[]{newRoot}), 1);
+        }
+        return new PersistentIdentitySet<>((Node) newRoot, size - 1);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new TrieIterator<>(root);
+    }
+
+    private static int hash(Object element) {
+        int h = System.identityHashCode(element);
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /**
+     * Builds the smallest node that holds two elements with different references.
+     */
+    private static Node merge(Object a, int hashA, Object b, int hashB, int shift) {
+        if (hashA == hashB || shift >= Integer.SIZE) {
+            return new CollisionNode(hashA, new Object[]{a, b});
+        }
+        int bitA = bit(hashA, shift);
+        int bitB = bit(hashB, shift);
+        if (bitA == bitB) {
+            return new BitmapNode(bitA, new Object[]{merge(a, hashA, b, hashB, shift + BITS)});
+        }
+        return new BitmapNode(bitA | bitB, Integer.compareUnsigned(bitA, bitB) < 0 ? new Object[]{a, b} : new Object[]{b, a});
+    }
+
+    private abstract static class Node {
+
+        final Object[] slots;
+
+        Node(Object[] slots) {
+            this.slots = slots;
+        }
+
+        abstract boolean contains(Object element, int hash, int shift);
+
+        abstract Node plus(Object element, int hash, int shift);
+
+        /* returns null when empty, the element itself when a single element is left, a node otherwise */
+        abstract Object minus(Object element, int hash, int shift);
+    }
+
+    private static final class BitmapNode extends Node {
+
+        final int bitmap;
+
+        BitmapNode(int bitmap, Object[] slots) {
+            super(slots);
+            this.bitmap = bitmap;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        boolean contains(Object element, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return false;
+            }
+            Object slot = slots[index(bit)];
+            if (slot instanceof Node node) {
+                return node.contains(element, hash, shift + BITS);
+            }
+            return slot == element;
+        }
+
+        @Override
+        Node plus(Object element, int hash, int shift) {
+            int bit = bit(hash, shift);
+            int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newSlots = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, newSlots, 0, index);
+                newSlots[index] = element;
+                System.arraycopy(slots, index, newSlots, index + 1, slots.length - index);
+                return new BitmapNode(bitmap | bit, newSlots);
+            }
+            Object slot = slots[index];
+            Node child;
+            if (slot instanceof Node node) {
+                child = node.plus(element, hash, shift + BITS);
+                if (child == node) {
+                    return this;
+                }
+            } else if (slot == element) {
+                return this;
+            } else {
+                child = merge(slot, hash(slot), element, hash, shift + BITS);
+            }
+            Object[] newSlots = slots.clone();
+            newSlots[index] = child;
+            return new BitmapNode(bitmap, newSlots);
+        }
+
+        @Override
+        Object minus(Object element, int hash, int shift) {
+            int bit = bit(hash, shift);
+            int index = index(bit);
+            Object slot = slots[index];
+            Object replacement = slot instanceof Node node ? node.minus(element, hash, shift + BITS) : null;
+            if (replacement == null) {
+                if (slots.length == 1) {
+                    return null;
+                }
+                if (slots.length == 2 && !(slots[1 - index] instanceof Node)) {
+                    return slots[1 - index];
+                }
+                Object[] newSlots = new Object[slots.length - 1];
+                System.arraycopy(slots, 0, newSlots, 0, index);
+                System.arraycopy(slots, index + 1, newSlots, index, slots.length - index - 1);
+                return new BitmapNode(bitmap & ~bit, newSlots);
+            }
+            if (slots.length == 1 && !(replacement instanceof Node)) {
+                return replacement;
+            }
+            Object[] newSlots = slots.clone();
+            newSlots[index] = replacement;
+            return new BitmapNode(bitmap, newSlots);
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+
+        final int hash;
+
+        CollisionNode(int hash, Object[] slots) {
+            super(slots);
+            this.hash = hash;
+        }
+
+        @Override
+        boolean contains(Object element, int hash, int shift) {
+            for (Object slot : slots) {
+                if (slot == element) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        Node plus(Object element, int hash, int shift) {
+            if (hash != this.hash) {
+                /* push this node one level down and let a bitmap node split the hashes */
+                return new BitmapNode(bit(this.hash, shift), new Object[]{this}).plus(element, hash, shift);
+            }
+            if (contains(element, hash, shift)) {
+                return this;
+            }
+            Object[] newSlots = Arrays.copyOf(slots, slots.length + 1);
+            newSlots[slots.length] = element;
+            return new CollisionNode(hash, newSlots);
+        }
+
+        @Override
+        Object minus(Object element, int hash, int shift) {
+            if (slots.length == 2) {
+                return slots[0] == element ? slots[1] : slots[0];
+            }
+            Object[] newSlots = new Object[slots.length - 1];
+            int i = 0;
+            for (Object slot : slots) {
+                if (slot != element) {
+                    newSlots[i++] = slot;
+                }
+            }
+            return new CollisionNode(this.hash, newSlots);
+        }
+    }
+
+    private static final class TrieIterator<T> implements Iterator<T> {
+
+        private Object[][] stack = new Object[8][];
+        private int[] positions = new int[8];
+        private int depth = -1;
+        private Object next;
+
+        TrieIterator(Node root) {
+            if (root != null) {
+                push(root.slots);
+                advance();
+            }
+        }
+
+        private void push(Object[] slots) {
+            if (++depth == stack.length) {
+                stack = Arrays.copyOf(stack, depth * 2);
+                positions = Arrays.copyOf(positions, depth * 2);
+            }
+            stack[depth] = slots;
+            positions[depth] = 0;
+        }
+
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                Object[] slots = stack[depth];
+                if (positions[depth] == slots.length) {
+                    stack[depth--] = null;
+                    continue;
+                }
+                Object slot = slots[positions[depth]++];
+                if (slot instanceof Node node) {
+                    push(node.slots);
+                } else {
+                    next = slot;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            T element = (T) next;
+            advance();
+            return element;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Transitive closure of a {@link CsrGraph}, answering whether a vertex can reach another in O(1).
+ * <br>
+ * The strongly connected components are found with Tarjan's algorithm, which emits them in reverse
+ * topological order of the condensation. Each component then gets a row of bits, one per component,
+ * obtained by OR-ing the rows of the components its arcs lead to, all of which are already complete.
+ * Vertices of the same component share the row, so the closure takes <code>c * &lceil;c / 64&rceil;</code>
+ * longs for <code>c</code> components, stored row by row in a single array.
+ * <br>
+ * Every vertex reaches itself. Instances are immutable and can be shared between threads.
+ *
+ * @param <V> Type of element stored at a vertex
+ *
+ * @author vittoriopiotti
+ */
+public final class ReachabilityOracle<V> {
+
+    private final CsrGraph<V> graph;
+    private final int[] components;
+    private final int numComponents;
+    private final int words;
+    private final long[] closure;
+
+    private ReachabilityOracle(CsrGraph<V> graph, int[] components, int numComponents) {
+        this.graph = graph;
+        this.components = components;
+        this.numComponents = numComponents;
+        this.words = (numComponents + 63) >>> 6;
+        this.closure = new long[numComponents * words];
+    }
+
+    /**
+     * Computes the transitive closure of the given snapshot.
+     *
+     * @param graph the snapshot
+     * @param <V>   Type of element stored at a vertex
+     * @return the reachability oracle of the snapshot
+     * @throws NullPointerException if the snapshot is <code>null</code>
+     */
+    public static <V> ReachabilityOracle<V> of(CsrGraph<V> graph) {
+        Objects.requireNonNull(graph, "graph");
+        int n = graph.numVertices();
+        int[] components = new int[n];
+        int numComponents = strongComponents(graph, components);
+        ReachabilityOracle<V> oracle = new ReachabilityOracle<>(graph, components, numComponents);
+        oracle.fill();
+        return oracle;
+    }
+
+    /**
+     * Returns the snapshot the closure was computed for.
+     *
+     * @return the snapshot
+     */
+    public CsrGraph<V> graph() {
+        return graph;
+    }
+
+    /**
+     * Returns the number of strongly connected components of the snapshot.
+     *
+     * @return the number of components
+     */
+    public int numComponents() {
+        return numComponents;
+    }
+
+    /**
+     * Returns the strongly connected component of a vertex.
+     * <br>
+     * Components are numbered in reverse topological order: arcs between different components
+     * always lead to a component with a lower number.
+     *
+     * @param v the vertex id
+     * @return the number of the component
+     * @throws IndexOutOfBoundsException if the id is not valid
+     */
+    public int component(int v) {
+        return components[Objects.checkIndex(v, components.length)];
+    }
+
+    /**
+     * Checks whether a vertex can reach another following the direction of the arcs.
+     *
+     * @param source the id of the source vertex
+     * @param target the id of the target vertex
+     * @return true if there is a path from <code>source</code> to <code>target</code>
+     * @throws IndexOutOfBoundsException if one of the ids is not valid
+     */
+    public boolean isReachable(int source, int target) {
+        int from = component(source);
+        int to = component(target);
+        return (closure[from * words + (to >>> 6)] & (1L << to)) != 0;
+    }
+
+    /**
+     * Checks whether an element can reach another following the direction of the arcs.
+     *
+     * @param source the element of the source vertex
+     * @param target the element of the target vertex
+     * @return true if there is a path from <code>source</code> to <code>target</code>,
+     *         false if there is none or one of the elements is not in the snapshot
+     */
+    public boolean isReachable(V source, V target) {
+        int s = graph.idOf(source);
+        int t = graph.idOf(target);
+        return s >= 0 && t >= 0 && isReachable(s, t);
+    }
+
+    /**
+     * Returns the vertices reachable from a vertex, itself included.
+     *
+     * @param source the id of the source vertex
+     * @return the ids of the reachable vertices, in increasing order
+     * @throws IndexOutOfBoundsException if the id is not valid
+     */
+    public int[] reachable(int source) {
+        int row = component(source) * words;
+        int count = 0;
+        int[] ids = new int[components.length];
+        for (int v = 0; v < components.length; v++) {
+            int c = components[v];
+            if ((closure[row + (c >>> 6)] & (1L << c)) != 0) {
+                ids[count++] = v;
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Returns the elements reachable from an element, itself included.
+     *
+     * @param source the element of the source vertex
+     * @return the reachable elements in vertex order, or an empty list if the element is not in the snapshot
+     */
+    public List<V> reachable(V source) {
+        int s = graph.idOf(source);
+        List<V> elements = new ArrayList<>();
+        if (s >= 0) {
+            for (int id : reachable(s)) {
+                elements.add(graph.vertex(id));
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Fills the rows in component order, which is a reverse topological order of the condensation.
+     */
+    private void fill() {
+        int n = components.length;
+        /* vertices grouped by component, with a counting sort */
+        int[] starts = new int[numComponents + 1];
+        for (int c : components) {
+            starts[c + 1]++;
+        }
+        for (int c = 0; c < numComponents; c++) {
+            starts[c + 1] += starts[c];
+        }
+        int[] members = new int[n];
+        int[] cursor = starts.clone();
+        for (int v = 0; v < n; v++) {
+            members[cursor[components[v]]++] = v;
+        }
+        for (int c = 0; c < numComponents; c++) {
+            int row = c * words;
+            closure[row + (c >>> 6)] |= 1L << c;
+            for (int i = starts[c]; i < starts[c + 1]; i++) {
+                int u = members[i];
+                for (int arc = graph.offsets[u], end = graph.offsets[u + 1]; arc < end; arc++) {
+                    int d = components[graph.targets[arc]];
+                    if (d != c && (closure[row + (d >>> 6)] & (1L << d)) == 0) {
+                        int other = d * words;
+                        for (int w = 0; w < words; w++) {
+                            closure[row + w] |= closure[other + w];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Labels the strongly connected components with an iterative Tarjan's algorithm.
+     *
+     * @return the number of components
+     */
+    private static int strongComponents(CsrGraph<?> graph, int[] components) {
+        int n = graph.numVertices();
+        int[] indices = new int[n];
+        int[] lowLinks = new int[n];
+        int[] stack = new int[n];
+        int[] callStack = new int[n];
+        int[] cursors = new int[n];
+        boolean[] onStack = new boolean[n];
+        Arrays.fill(indices, -1);
+        int counter = 0;
+        int numComponents = 0;
+        for (int root = 0; root < n; root++) {
+            if (indices[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            int stackSize = 0;
+            indices[root] = lowLinks[root] = counter++;
+            cursors[root] = graph.offsets[root];
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            callStack[depth++] = root;
+            while (depth > 0) {
+                int x = callStack[depth - 1];
+                if (cursors[x] < graph.offsets[x + 1]) {
+                    int y = graph.targets[cursors[x]++];
+                    if (indices[y] == -1) {
+                        indices[y] = lowLinks[y] = counter++;
+                        cursors[y] = graph.offsets[y];
+                        stack[stackSize++] = y;
+                        onStack[y] = true;
+                        callStack[depth++] = y;
+                    } else if (onStack[y]) {
+                        lowLinks[x] = Math.min(lowLinks[x], indices[y]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[x]);
+                }
+                if (lowLinks[x] == indices[x]) {
+                    int y;
+                    do {
+                        y = stack[--stackSize];
+                        onStack[y] = false;
+                        components[y] = numComponents;
+                    } while (y != x);
+                    numComponents++;
+                }
+            }
+        }
+        return numComponents;
+    }
+
+    @Override
+    public String toString() {
+        return "ReachabilityOracle{" +
+                "vertices=" + components.length +
+                ", components=" + numComponents +
+                '}';
+    }
+}
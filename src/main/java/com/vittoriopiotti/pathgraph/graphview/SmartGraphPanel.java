@@ -23,8 +23,12 @@ import javafx.stage.FileChooser;
 import javafx.stage.Window;
 import javafx.util.Duration;
 import com.vittoriopiotti.pathgraph.dto.EdgeDTO;
+import com.vittoriopiotti.pathgraph.dto.GraphBinaryCodec;
 import com.vittoriopiotti.pathgraph.dto.GraphDTO;
+import com.vittoriopiotti.pathgraph.dto.GraphJournal;
+import com.vittoriopiotti.pathgraph.dto.GraphJsonWriter;
 import com.vittoriopiotti.pathgraph.dto.NodeDTO;
+import com.vittoriopiotti.pathgraph.dto.PathQueryDTO;
 import com.vittoriopiotti.pathgraph.graph.*;
 import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
@@ -44,15 +48,28 @@ import com.vittoriopiotti.pathgraph.utilities.UtilitiesCapture;
 
 import java.io.File;
 import java.io.FileWriter;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleConsumer;
 
 /**
  * JavaFX {@link Pane} that is capable of plotting a {@link Graph} or {@link Digraph}.
@@ -112,6 +129,119 @@ public class SmartGraphPanel<V, E> extends Pane {
      */
     private final Map<Edge<E, V>, Tuple<Vertex<V>>> connections =new HashMap<>();
 
+    /**
+     * Interned labels of the displayed vertices, giving each one a dense integer id.
+     */
+    private final LabelInterner nodeIds = new LabelInterner();
+
+    /**
+     * Lowest index of {@link #getGeneratedLabel(int)} that may be free, so that {@link #getNewNodeLabel()}
+     * does not scan the labels already handed out.
+     */
+    private int freeLabelHint;
+
+    /**
+     * Visual representation of each displayed vertex, indexed by the id assigned in {@link #nodeIds}.
+     */
+    private final List<SmartGraphVertexNode<V>> nodesById = new ArrayList<>();
+
+    /**
+     * The id assigned in {@link #nodeIds} to each displayed vertex.
+     */
+    private final Map<Vertex<V>, Integer> vertexIds = new HashMap<>();
+
+    /**
+     * Displayed edges indexed by the ids of their outbound and inbound vertex nodes,
+     * packed into a long by {@link #pairKey(int, int)}.
+     */
+    private final Map<Long, List<Edge<E, V>>> edgesByPair = new HashMap<>();
+
+    /**
+     * Version of the displayed graph, incremented by every change of its structure or of its costs.
+     */
+    private volatile long graphVersion;
+
+    /**
+     * Version of the underlying model at the last {@link #updateViewModel()}.
+     */
+    private long modelVersion = -1;
+
+    /**
+     * Cache of the paths returned by {@link #findPath(char, char)}.
+     */
+    private final PathCache<List<NodeDTO>> pathCache = new PathCache<>();
+
+    /**
+     * Lock guarding the installation of the path indexes against the version changes, so that an index built
+     * for an old version is never installed. The indexes are built outside of it.
+     */
+    private final Object indexLock = new Object();
+
+    /**
+     * Compressed snapshot of the graph, taken on the JavaFX application thread when the version changes
+     * and shared by the path indexes and searches running on other threads.
+     */
+    private volatile SnapshotTable snapshotTable;
+
+    /**
+     * All-pairs shortest paths of the graph, rebuilt by {@link #getAllPairsShortestPaths()} when the version changes.
+     */
+    private volatile AllPairsTable allPairsTable;
+
+    /**
+     * Contraction hierarchy of the graph, discarded as soon as the version changes.
+     */
+    private volatile HierarchyTable hierarchyTable;
+
+    /**
+     * Transitive closure of the graph, rebuilt by {@link #getReachabilityOracle()} when the version changes.
+     */
+    private volatile ReachabilityTable reachabilityTable;
+
+    /**
+     * Alternative paths of the last {@link #findKShortestPaths(char, char, int)} query, paged through by
+     * {@link #showPath(char, char, int)} while the version does not change.
+     */
+    private volatile KPathsTable kPathsTable;
+
+    /**
+     * Whether {@link #findPath(char, char)} answers through the contraction hierarchy, building it when missing.
+     */
+    private volatile boolean contractionHierarchyEnabled;
+
+    /**
+     * Version of the graph the last contraction hierarchy build was started for, guarded by {@link #indexLock}.
+     */
+    private long hierarchyBuildVersion = -1;
+
+    /**
+     * Arcs of the displayed graph: the costs of the edges joining each ordered pair of node ids, packed by
+     * {@link #pairKey(int, int)}, the cheapest being the cost of the pair.
+     * It is updated by the edges that are displayed, removed or repriced, and also guards
+     * {@link #connectivity} and {@link #pinnedTrees}.
+     */
+    private final Map<Long, List<Integer>> graphArcs = new HashMap<>();
+
+    /**
+     * Connected and strongly connected components of the displayed graph, updated with the arcs that change.
+     */
+    private final ConnectivityIndex connectivity = new ConnectivityIndex();
+
+    /**
+     * Shortest path trees of the pinned source nodes, by label, repaired by the arcs of every edge that is displayed, removed or repriced.
+     */
+    private final Map<String, DynamicShortestPathTree> pinnedTrees = new HashMap<>();
+
+    /**
+     * Number of arcs in {@link #graphArcs} with a negative cost, while which no source can be pinned.
+     */
+    private int negativeArcCount;
+
+    /**
+     * Number of nodes expanded by the last {@link #findPathAStar(char, char, double)} search.
+     */
+    private volatile int expandedNodeCount;
+
     /**
      * A map to keep track of edges already placed between two vertices.
      * It prevents placing multiple edges in the same location.
@@ -169,6 +299,37 @@ public class SmartGraphPanel<V, E> extends Pane {
      */
     private static final int AUTOMATIC_LAYOUT_ITERATIONS = 20;
 
+    /**
+     * Number of records below which the journal is never compacted.
+     * Above it, the journal is compacted once it holds twice as many records as the graph has nodes and edges.
+     */
+    private static final int JOURNAL_COMPACTION_MIN_RECORDS = 1024;
+
+    /**
+     * Journal the edits are appended to, or null if journaling is off.
+     */
+    private GraphJournal journal;
+
+    /**
+     * Number of journaled operations running, one inside the other: only the outermost one is recorded.
+     */
+    private int journalDepth;
+
+    /**
+     * Callback invoked with the exception when an edit cannot be written to the journal, which is then turned off.
+     */
+    private GenericCallback onJournalError;
+
+    /**
+     * Executor of the background file operations.
+     * Its threads are daemons, so a pending upload or download never keeps the application alive.
+     */
+    private static final ExecutorService IO_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "pathgraph-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     /**
      * Horizontal padding for the labels associated with nodes.
      */
@@ -250,18 +411,18 @@ public class SmartGraphPanel<V, E> extends Pane {
 
     /**
      * Low-level internal callback invoked when an arrow (edge) is clicked, accepting the event and the full edge
-     * object. This method retrieves the start and end vertices of the edge, extracts their character representations
-     * from their attached labels, and then calls the high-level {@code onClickEdge} with these characters.
+     * object. This method retrieves the start and end vertices of the edge, reads their attached labels,
+     * and then calls the high-level {@code onClickEdge} with these labels.
      * The direction of the edge is taken into account to determine which vertex is considered the start and which is
      * the end, allowing for bidirectional or unidirectional edges.
      */
     private final BiConsumer<MouseEvent, Edge<E, V>> _onClickEdge = (mouseEvent, edge) -> {
         SmartGraphEdgeBase<E, V> eb = edgeNodes.get(edge);
-        char v1 = eb.getInbound().getAttachedLabel().getText().charAt(0);
-        char v2 = eb.getOutbound().getAttachedLabel().getText().charAt(0);
+        String v1 = eb.getInbound().getAttachedLabel().getText();
+        String v2 = eb.getOutbound().getAttachedLabel().getText();
         int dir = eb.getDirection();
-        char end = dir == Constants.BIDIRECTIONAL ? v2 : v1;
-        char start = dir == Constants.BIDIRECTIONAL ? v1 : v2;
+        String end = dir == Constants.BIDIRECTIONAL ? v2 : v1;
+        String start = dir == Constants.BIDIRECTIONAL ? v1 : v2;
         if(isDoubleEdge(edge)){
             end = dir == Constants.OPPOSITE_DIRECTION ? v1 : v2;
             start = dir == Constants.OPPOSITE_DIRECTION  ? v2 : v1;
@@ -273,13 +434,13 @@ public class SmartGraphPanel<V, E> extends Pane {
 
     /**
      * Low-level internal callback invoked when a node (vertex) is clicked, accepting the event and the full vertex
-     * object. This method extracts the character at a specific position from the vertex’s string representation
-     * and then calls the high-level {@code onClickNode} with this character. It simplifies the vertex object to a
-     * character before delegating the event to the higher-level callback.
+     * object. This method reads the label attached to the vertex and then calls the high-level {@code onClickNode}
+     * with this label. It simplifies the vertex object to its label before delegating the event to the higher-level
+     * callback.
      */
     private final BiConsumer<MouseEvent, Vertex<V>> _onClickNode = (mouseEvent, vertex) -> {
-        char character = vertexNodes.get(vertex).getAttachedLabel().getText().charAt(0);
-        onClickNode.handle(mouseEvent, character);
+        String label = vertexNodes.get(vertex).getAttachedLabel().getText();
+        onClickNode.handle(mouseEvent, label);
     };
 
 
@@ -442,7 +603,7 @@ public class SmartGraphPanel<V, E> extends Pane {
             AdjustPositionCallback adjustPosition
     ) {
         this(
-                new DigraphEdgeList<>(),
+                new ConcurrentDigraph<>(new DigraphAdjacencyList<>()),
                 new SmartGraphProperties(),
                 new SmartCircularSortedPlacementStrategy(),
                 new File(DEFAULT_CSS_FILE).toURI(),
@@ -500,7 +661,7 @@ public class SmartGraphPanel<V, E> extends Pane {
             AdjustPositionCallback adjustPosition
     ) {
         this(
-                new DigraphEdgeList<>(),
+                new ConcurrentDigraph<>(new DigraphAdjacencyList<>()),
                 new SmartGraphProperties(),
                 new SmartCircularSortedPlacementStrategy(),
                 new File(DEFAULT_CSS_FILE).toURI(),
@@ -557,7 +718,7 @@ public class SmartGraphPanel<V, E> extends Pane {
             AdjustPositionCallback adjustPosition
     ) {
         this(
-                new DigraphEdgeList<>(),
+                new ConcurrentDigraph<>(new DigraphAdjacencyList<>()),
                 properties,
                 new SmartCircularSortedPlacementStrategy(),
                 new File(DEFAULT_CSS_FILE).toURI(),
@@ -616,7 +777,7 @@ public class SmartGraphPanel<V, E> extends Pane {
 
     ) {
         this(
-                new DigraphEdgeList<>(),
+                new ConcurrentDigraph<>(new DigraphAdjacencyList<>()),
                 new SmartGraphProperties(),
                 placementStrategy,
                 new File(DEFAULT_CSS_FILE).toURI(),
@@ -677,7 +838,7 @@ public class SmartGraphPanel<V, E> extends Pane {
             AdjustPositionCallback adjustPosition
     ) {
         this(
-                new DigraphEdgeList<>(),
+                new ConcurrentDigraph<>(new DigraphAdjacencyList<>()),
                 new SmartGraphProperties(),
                 placementStrategy,
                 new File(DEFAULT_CSS_FILE).toURI(),
@@ -741,7 +902,7 @@ public class SmartGraphPanel<V, E> extends Pane {
     ) {
 
         this(
-                new DigraphEdgeList<>(),
+                new ConcurrentDigraph<>(new DigraphAdjacencyList<>()),
                 properties,
                 placementStrategy,
                 new File(DEFAULT_CSS_FILE).toURI(),
@@ -913,6 +1074,18 @@ public class SmartGraphPanel<V, E> extends Pane {
         this.adjustPosition = adjustPosition;
     }
 
+    /**
+     * Sets a callback to be executed when an edit cannot be written to the journal.
+     * The journal is turned off before the callback runs, so the graph is no longer saved until it is opened again.
+     *
+     * @param onJournalError a {@link GenericCallback} that accepts the exception raised by the journal.
+     *
+     * @author vittoriopiotti
+     */
+    public void setJournalErrorCallback(GenericCallback onJournalError) {
+        this.onJournalError = onJournalError;
+    }
+
 
 
     /**
@@ -922,36 +1095,144 @@ public class SmartGraphPanel<V, E> extends Pane {
      *
      * @author vittoriopiotti
      */
+    public List<String> getNodesLabels() {
+        List<String> vertices = new ArrayList<>(nodeIds.size());
+        for (int id = 0; id < nodesById.size(); id++) {
+            if (nodesById.get(id) != null) {
+                vertices.add(nodeIds.labelOf(id));
+            }
+        }
+        return vertices;
+    }
+
+    /**
+     * Retrieves the labels of the nodes whose label is a single character.
+     *
+     * @return a list of the single character labels of the nodes in the graph
+     *
+     * @author vittoriopiotti
+     */
     public List<Character> getNodesCharacters() {
-        List<Character> vertices = new ArrayList<>();
-        for (Map.Entry<Vertex<V>, SmartGraphVertexNode<V>> entry : vertexNodes.entrySet()) {
-            vertices.add(entry.getValue().getAttachedLabel().getText().charAt(0));
+        List<Character> vertices = new ArrayList<>(nodeIds.size());
+        for (String label : getNodesLabels()) {
+            if (label.length() == 1) {
+                vertices.add(label.charAt(0));
+            }
         }
         return vertices;
     }
 
+    /**
+     * Returns the id of the node with the given label.
+     * <br>
+     * Ids are dense integers assigned when a node is created and recycled when it is deleted,
+     * so they are only valid as long as the node exists.
+     *
+     * @param label the label of the node
+     * @return the id of the node, or -1 if no node has this label
+     *
+     * @author vittoriopiotti
+     */
+    public int getNodeId(String label) {
+        return nodeIds.idOf(label);
+    }
+
+    /**
+     * Returns the id of the node with the given single character label.
+     *
+     * @param label the label of the node
+     * @return the id of the node, or -1 if no node has this label
+     *
+     * @author vittoriopiotti
+     */
+    public int getNodeId(char label) {
+        return nodeIds.idOf(String.valueOf(label));
+    }
+
+    /**
+     * Returns the label of the node with the given id.
+     *
+     * @param id the id of the node
+     * @return the label of the node, or null if no node has this id
+     *
+     * @author vittoriopiotti
+     */
+    public String getNodeLabel(int id) {
+        return nodeIds.labelOf(id);
+    }
+
     /**
      * Generates a new node label that is not already used by existing nodes.
      * <br>
      * The label will be the first available letter from A to Z that is not currently assigned to any node.
-     * If all letters are used, a null character is returned.
+     * If all letters are used, a null character is returned: {@link #getNewNodeLabel()} has no such limit.
      *
      * @return the first available node label as a character, or a null character if all letters are taken.
      *
      * @author vittoriopiotti
      */
     public char getNewRandomNodeLabel() {
-        List<Character> nodesLabel = getNodesCharacters();
-        char newNodeLabel = '\0';
-        if (nodesLabel.size() < Constants.MAX_NODES) {
-            for (char letter = 'A'; letter <= 'Z'; letter++) {
-                if (!nodesLabel.contains(letter)) {
-                    newNodeLabel = letter;
-                    break;
-                }
+        for (char letter = 'A'; letter <= 'Z'; letter++) {
+            if (!isExistNode(letter)) {
+                return letter;
+            }
+        }
+        return '\0';
+    }
+
+    /**
+     * Generates a new node label that is not already used by existing nodes.
+     * <br>
+     * Labels are numbered as spreadsheet columns: the letters from A to Z first, then AA, AB and so on,
+     * and the first one not currently assigned to any node is returned, so a label is always available.
+     *
+     * @return the first available node label
+     *
+     * @author vittoriopiotti
+     */
+    public String getNewNodeLabel() {
+        for (int index = freeLabelHint; ; index++) {
+            String label = getGeneratedLabel(index);
+            if (nodeIds.idOf(label) < 0) {
+                freeLabelHint = index;
+                return label;
+            }
+        }
+    }
+
+    /**
+     * Returns the label numbered <code>index</code> by {@link #getNewNodeLabel()}: A to Z, then AA, AB and so on.
+     *
+     * @param index the index of the label, not negative
+     * @return the label
+     */
+    private static String getGeneratedLabel(int index) {
+        StringBuilder label = new StringBuilder();
+        for (int i = index + 1; i > 0; i = (i - 1) / 26) {
+            label.append((char) ('A' + (i - 1) % 26));
+        }
+        return label.reverse().toString();
+    }
+
+    /**
+     * Returns the index of a label in the numbering of {@link #getNewNodeLabel()}.
+     *
+     * @param label the label
+     * @return the index of the label, or -1 if the label is not made of uppercase letters or is too long
+     */
+    private static int getGeneratedLabelIndex(String label) {
+        if (label.isEmpty() || label.length() > 6) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 0; i < label.length(); i++) {
+            char c = label.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return -1;
             }
+            index = index * 26 + (c - 'A' + 1);
         }
-        return newNodeLabel;
+        return index - 1;
     }
 
 
@@ -997,6 +1278,16 @@ public class SmartGraphPanel<V, E> extends Pane {
         return getConnectedEdges(label).size();
     }
 
+    /**
+     * Retrieves the number of edges connected to the node identified by the given id.
+     *
+     * @param id the id of the node whose connected edges are to be counted
+     * @return the number of edges connected to the specified node
+     */
+    public int getNumConnectedEdges(int id) {
+        return getConnectedEdges(id).size();
+    }
+
     /**
      * Retrieves the number of edges connected to the specified node based on the given node DTO.
      *
@@ -1033,6 +1324,21 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean isEqualEdge(char start1, char end1, char start2, char end2){
+        return isEqualEdge(getNodeId(start1), getNodeId(end1), getNodeId(start2), getNodeId(end2));
+    }
+
+    /**
+     * Checks if two edges defined by the ids of their start and end nodes are equal.
+     *
+     * @param start1 the id of the starting node of the first edge.
+     * @param end1   the id of the ending node of the first edge.
+     * @param start2 the id of the starting node of the second edge.
+     * @param end2   the id of the ending node of the second edge.
+     * @return true if the edges are equal; false otherwise.
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isEqualEdge(int start1, int end1, int start2, int end2){
         if(isDoubleEdge(start1,end1)){
            return true;
         }else{
@@ -1055,7 +1361,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean isEqualEdge(EdgeDTO edge1, EdgeDTO edge2){
-        return isEqualEdge(edge1.getFrom(),edge1.getTo(),edge2.getFrom(),edge2.getTo());
+        return isEqualEdge(getNodeId(edge1.getFrom()), getNodeId(edge1.getTo()), getNodeId(edge2.getFrom()), getNodeId(edge2.getTo()));
     }
 
     /**
@@ -1071,16 +1377,44 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public char getConnectableNode(char start){
+        int end = getConnectableNode(getNodeId(start), true);
+        return end >= 0 ? getNodeLabel(end).charAt(0) : '\0';
+    }
+
+    /**
+     * Finds a connectable node from the node with the specified id.
+     * <br>
+     * This method iterates through all the vertices and returns the first
+     * node that can be connected to the specified start node.
+     *
+     * @param start the id of the starting node.
+     * @return the id of a connectable node, or -1 if no connectable node is found.
+     *
+     * @author vittoriopiotti
+     */
+    public int getConnectableNode(int start){
+        return getConnectableNode(start, false);
+    }
+
+    /**
+     * Finds a connectable node from the node with the specified id, optionally only among the nodes
+     * with a single character label.
+     *
+     * @param start the id of the starting node.
+     * @param singleCharacter true to skip the nodes whose label is longer than one character
+     * @return the id of a connectable node, or -1 if no connectable node is found.
+     */
+    private int getConnectableNode(int start, boolean singleCharacter){
         for(Vertex<V> v : vertexNodes.keySet()){
-            char end = vertexNodes.get(v).getAttachedLabel().getText().charAt(0);
-            if(end != start) {
+            int end = vertexIds.get(v);
+            if(end != start && (!singleCharacter || getNodeLabel(end).length() == 1)) {
                 Edge<E, V> e = getSpecificEdge(start, end);
                 if (e == null) {
                     return end;
                 }
             }
         }
-        return '\0';
+        return -1;
     }
 
 
@@ -1088,10 +1422,10 @@ public class SmartGraphPanel<V, E> extends Pane {
      * Retrieves a connectable node from the graph based on the specified starting {@link NodeDTO}.
      *
      * @param node the {@link NodeDTO} representing the node
-     * @return the label of the connectable node
+     * @return the label of the connectable node, or null if no connectable node is found
      */
-    public char getConnectableNode(NodeDTO node){
-        return getConnectableNode(node.getLabel());
+    public String getConnectableNode(NodeDTO node){
+        return getNodeLabel(getConnectableNode(getNodeId(node.getLabel())));
     }
 
 
@@ -1134,7 +1468,12 @@ public class SmartGraphPanel<V, E> extends Pane {
         SmartGraphEdgeBase<E, V> edgeBase = edgeNodes.get(key);
         if (edgeBase != null) {
             activeAll();
-            edgeBase.setCost(edgeLabel);
+            if (edgeBase.getCost() != edgeLabel) {
+                removeEdgeArcs(edgeBase);
+                edgeBase.setCost(edgeLabel);
+                addEdgeArcs(edgeBase);
+                nextGraphVersion();
+            }
             return true;
         }
         return false;
@@ -1153,6 +1492,36 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean setCost(char start, char end, int cost) {
+        return setCost(getNodeId(start), getNodeId(end), cost);
+    }
+
+    /**
+     * Renames the edge between the nodes with the given ids with a new cost label.
+     *
+     * @param start id of the start node of the edge to rename
+     * @param end id of the end node of the edge to rename
+     * @param cost the new label for the edge
+     * @return true if renamed successfully, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean setCost(int start, int end, int cost) {
+        String from = getNodeLabel(start);
+        String to = getNodeLabel(end);
+        return journaled(() -> _setCost(start, end, cost), journal -> journal.setCost(from, to, cost));
+    }
+
+    /**
+     * Edits the graph as {@link #setCost(int, int, int)} does, without recording the edit in the journal.
+     *
+     * @param start id of the start node of the edge to rename
+     * @param end id of the end node of the edge to rename
+     * @param cost the new label for the edge
+     * @return true if renamed successfully, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    private boolean _setCost(int start, int end, int cost) {
         if(isDoubleEdge(start,end)){
             try{
                 Edge<E,V> e = _getEdge(start,end);
@@ -1179,7 +1548,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean setCost(EdgeDTO edge, int cost) {
-       return setCost(edge.getFrom(),edge.getTo(),cost);
+       return setCost(getNodeId(edge.getFrom()), getNodeId(edge.getTo()), cost);
     }
 
 
@@ -1188,35 +1557,62 @@ public class SmartGraphPanel<V, E> extends Pane {
      *
      * @param label the current label of the node
      * @param newLabel the new label for the node
-     * @return false as the current implementation does not indicate success
+     * @return true if the node was renamed, false otherwise
      * @throws IllegalArgumentException if the node does not exist
      *
      * @author vittoriopiotti
      */
     public boolean renameNode(char label,char newLabel){
+        return renameNode(getNodeId(label), String.valueOf(newLabel));
+    }
+
+    /**
+     * Renames the node with the given id and updates its connections.
+     *
+     * @param id the id of the node
+     * @param newLabel the new label for the node, not used by another node
+     * @return true if the node was renamed, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean renameNode(int id, String newLabel){
+        String label = getNodeLabel(id);
+        return journaled(() -> _renameNode(id, newLabel), journal -> journal.renameNode(label, newLabel));
+    }
+
+    /**
+     * Edits the graph as {@link #renameNode(int, String)} does, without recording the edit in the journal.
+     *
+     * @param id the id of the node
+     * @param newLabel the new label for the node
+     * @return true if the node was renamed, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    private boolean _renameNode(int id, String newLabel){
         try{
-            activeAll();
-            List<EdgeDTO> edges = new ArrayList<>();
-            if(isExistNode(label)) {
+            SmartGraphVertexNode<V> node = getNodeBase(id);
+            if(node != null && isValidLabel(newLabel) && (newLabel.equals(getNodeLabel(id)) || !isExistNode(getNodeId(newLabel)))) {
+                activeAll();
+                /* from, to, cost and whether the edge is arrowed, by node id */
+                List<int[]> edges = new ArrayList<>();
                 for (Edge<E, V> e : edgeNodes.keySet()) {
-                    if (isConnectedNode(edgeNodes.get(e), getNodeBase(label))) {
-                        char vi = edgeNodes.get(e).getInbound().getAttachedLabel().getText().charAt(0);
-                        char vo = edgeNodes.get(e).getOutbound().getAttachedLabel().getText().charAt(0);
-                        edges.add(new EdgeDTO(
-                                label == vi ? newLabel : vi,
-                                label == vo ? newLabel : vo,
-                                edgeNodes.get(e).getCost(),
-                                isDoubleEdge(e) ? edgeNodes.get(e).getDirection() : getDirectionRotated(edgeNodes.get(e).getDirection())
-                        ));
+                    SmartGraphEdgeBase<E, V> edgeBase = edgeNodes.get(e);
+                    if (isConnectedNode(edgeBase, node)) {
+                        int vi = vertexIds.get(edgeBase.getInbound().getUnderlyingVertex());
+                        int vo = vertexIds.get(edgeBase.getOutbound().getUnderlyingVertex());
+                        int direction = isDoubleEdge(e) ? edgeBase.getDirection() : getDirectionRotated(edgeBase.getDirection());
+                        boolean opposite = direction == Constants.OPPOSITE_DIRECTION;
+                        edges.add(new int[]{opposite ? vo : vi, opposite ? vi : vo, edgeBase.getCost(), direction != Constants.BIDIRECTIONAL ? 1 : 0});
                     }
                 }
-                deleteNode(label);
+                deleteNode(id);
                 newNode(newLabel);
-                if(!edges.isEmpty()){
-                    for (EdgeDTO edge : edges) {
-                        newEdge(edge.getFrom(),edge.getTo(),edge.getCost(),edge.getIsArrowed());
-                    }
+                int newId = getNodeId(newLabel);
+                for (int[] edge : edges) {
+                    newEdge(edge[0] == id ? newId : edge[0], edge[1] == id ? newId : edge[1], edge[2], edge[3] == 1);
                 }
+                return true;
             }
         }catch(Exception ignored){
 
@@ -1234,7 +1630,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean renameNode(NodeDTO node, char newLabel){
-        return renameNode(node.getLabel(),newLabel);
+        return newLabel != '\0' && renameNode(getNodeId(node.getLabel()), String.valueOf(newLabel));
     }
 
     /**
@@ -1247,7 +1643,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean renameNode(NodeDTO node, NodeDTO newNode){
-        return renameNode(node.getLabel(),newNode.getLabel());
+        return renameNode(getNodeId(node.getLabel()), newNode.getLabel());
     }
 
 
@@ -1274,7 +1670,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean newNode(){
-        return newNode(0,0,getNewRandomNodeLabel());
+        return newNode(0, 0, getNewNodeLabel());
     }
 
     /**
@@ -1288,10 +1684,52 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean newNode(double x, double y,char v){
-        if(v != '\0' && !isExistNode(v)) {
+        return v != '\0' && newNode(x, y, String.valueOf(v));
+    }
+
+    /**
+     * Creates a new node with a label given as a string.
+     * <br>
+     * The id assigned to the node can be read with {@link #getNodeId(String)}.
+     *
+     * @param label the label of the new node
+     * @return true if the node was created, false if the label is empty or is already used
+     *
+     * @author vittoriopiotti
+     */
+    public boolean newNode(String label){
+        return newNode(0, 0, label);
+    }
+
+    /**
+     * Creates a new node at specified coordinates with a label given as a string.
+     *
+     * @param x the x-coordinate of the new node
+     * @param y the y-coordinate of the new node
+     * @param label the label of the new node
+     * @return true if the node was created, false if the label is empty or is already used
+     *
+     * @author vittoriopiotti
+     */
+    public boolean newNode(double x, double y, String label){
+        return journaled(() -> _newNode(x, y, label), journal -> journal.newNode(label));
+    }
+
+    /**
+     * Edits the graph as {@link #newNode(double, double, String)} does, without recording the edit in the journal.
+     *
+     * @param x the x-coordinate of the new node
+     * @param y the y-coordinate of the new node
+     * @param label the label of the new node
+     * @return true if the node was created, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    private boolean _newNode(double x, double y, String label){
+        if(isValidLabel(label) && !isExistNode(getNodeId(label))) {
             activeAll();
             @SuppressWarnings("unchecked")
-            Vertex<V> vertex = getModel().insertVertex((V) String.valueOf(v));
+            Vertex<V> vertex = getModel().insertVertex((V) label);
             SmartGraphVertexNode<V> vertexNode = new SmartGraphVertexNode<>(vertex, x, y, 0, "circle", true, _onClickNode, closeContextMenu);
             addVertex(vertexNode);
             updateViewModel();
@@ -1300,6 +1738,19 @@ public class SmartGraphPanel<V, E> extends Pane {
         return false;
     }
 
+    /**
+     * Checks whether a string can be the label of a node: any non-empty string other than <code>"\0"</code>,
+     * which the single character methods use to mean no node.
+     *
+     * @param label the label to check
+     * @return true if the label is not empty and is not <code>"\0"</code>
+     *
+     * @author vittoriopiotti
+     */
+    private static boolean isValidLabel(String label){
+        return label != null && !label.isEmpty() && !label.equals("\0");
+    }
+
 
 
     /**
@@ -1331,27 +1782,45 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean deleteNode(char v){
-        if(v != '\0' && isExistNode(v)) {
-            for(Vertex<V> vv : vertexNodes.keySet()){
-                if(vertexNodes.get(vv).getAttachedLabel().getText().charAt(0) == v){
-                    return deleteNode(vv);
-                }
-            }
-            return false;
-        }
-        return false;
+        return v != '\0' && deleteNode(getNodeId(v));
     }
 
     /**
-     * Deletes the specified node from the graph based on the given node DTO.
+     * Deletes the node with the specified id.
      *
-     * @param node the NodeDTO representing the node to be deleted
+     * @param id the id of the node to be deleted
+     * @return true if the node was deleted, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean deleteNode(int id){
+        String label = getNodeLabel(id);
+        return journaled(() -> _deleteNode(id), journal -> journal.deleteNode(label));
+    }
+
+    /**
+     * Edits the graph as {@link #deleteNode(int)} does, without recording the edit in the journal.
+     *
+     * @param id the id of the node to be deleted
+     * @return true if the node was deleted, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    private boolean _deleteNode(int id){
+        SmartGraphVertexNode<V> node = getNodeBase(id);
+        return node != null && deleteNode(node.getUnderlyingVertex());
+    }
+
+    /**
+     * Deletes the specified node from the graph based on the given node DTO.
+     *
+     * @param node the NodeDTO representing the node to be deleted
      * @return {@code true} if the node was successfully deleted; {@code false} otherwise
      *
      * @author vittoriopiotti
      */
     public boolean deleteNode(NodeDTO node){
-        return deleteNode(node.getLabel());
+        return deleteNode(getNodeId(node.getLabel()));
     }
 
 
@@ -1363,8 +1832,23 @@ public class SmartGraphPanel<V, E> extends Pane {
      *
      *  @author vittoriopiotti
      */
-    @SuppressWarnings("unchecked")
     public boolean splitEdge(Edge<E, V> edge){
+        SmartGraphEdgeBase<E,V> edgeBase = edgeNodes.get(edge);
+        String from = edgeBase != null ? edgeBase.getOutbound().getAttachedLabel().getText() : null;
+        String to = edgeBase != null ? edgeBase.getInbound().getAttachedLabel().getText() : null;
+        return journaled(() -> _splitEdge(edge), journal -> journal.splitEdge(from, to));
+    }
+
+    /**
+     * Edits the graph as {@link #splitEdge(Edge)} does, without recording the edit in the journal.
+     *
+     * @param edge the edge to be split
+     * @return true if the edge was split, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    @SuppressWarnings("unchecked")
+    private boolean _splitEdge(Edge<E, V> edge){
         SmartGraphEdgeBase<E,V> edgeBase = edgeNodes.get(edge);
         if(!isDoubleEdge(edge)){
 
@@ -1397,6 +1881,19 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean splitEdge(char v1,char v2){
+        return splitEdge(getNodeId(v1), getNodeId(v2));
+    }
+
+    /**
+     * Splits the edge between two nodes specified by their ids.
+     *
+     * @param v1 the id of the first node
+     * @param v2 the id of the second node
+     * @return true if the edge was split, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean splitEdge(int v1,int v2){
         try{
             Edge <E,V> e = getGenericEdge(v1,v2);
             if(!isDoubleEdge(e)){
@@ -1416,7 +1913,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @return true if the edge was successfully split, false otherwise
      */
     public boolean splitEdge(NodeDTO start, NodeDTO end){
-      return splitEdge(start.getLabel(),end.getLabel());
+      return splitEdge(getNodeId(start.getLabel()), getNodeId(end.getLabel()));
     }
 
 
@@ -1430,7 +1927,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @return true if the edge was successfully split, false otherwise
      */
     public boolean splitEdge(EdgeDTO edge) {
-        return splitEdge(edge.getFrom(), edge.getTo());
+        return splitEdge(getNodeId(edge.getFrom()), getNodeId(edge.getTo()));
     }
 
     /**
@@ -1502,12 +1999,26 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public EdgeDTO getEdge(char start, char end){
+        return getEdge(getNodeId(start), getNodeId(end));
+    }
+
+    /**
+     * Returns the edge between the nodes with the specified ids.
+     *
+     * @param start The id of the start node.
+     * @param end   The id of the end node.
+     * @throws NullPointerException If the edge or its related data is not found.
+     * @return The {@link EdgeDTO} representing the edge, or {@code null} if not found.
+     *
+     * @author vittoriopiotti
+     */
+    public EdgeDTO getEdge(int start, int end){
         if(isDoubleEdge(start,end)){
             try{
                 Edge<E,V> e = _getEdge(start,end);
                 if(e != null){
                     SmartGraphEdgeBase<E,V> eb = edgeNodes.get(e);
-                    return new EdgeDTO(eb.getInbound().getAttachedLabel().getText().charAt(0),eb.getOutbound().getAttachedLabel().getText().charAt(0),eb.getCost(),eb.getDirection() != Constants.BIDIRECTIONAL);
+                    return new EdgeDTO(eb.getInbound().getAttachedLabel().getText(),eb.getOutbound().getAttachedLabel().getText(),eb.getCost(),eb.getDirection() != Constants.BIDIRECTIONAL);
                 }
             }catch(Exception ignored){
                 return null;
@@ -1515,7 +2026,7 @@ public class SmartGraphPanel<V, E> extends Pane {
         }else{
             Edge<E,V> e = getSpecificEdge(start,end);
             SmartGraphEdgeBase<E,V> eb = edgeNodes.get(e);
-            return new EdgeDTO(eb.getInbound().getAttachedLabel().getText().charAt(0),eb.getOutbound().getAttachedLabel().getText().charAt(0),eb.getCost(),eb.getDirection() != Constants.BIDIRECTIONAL);
+            return new EdgeDTO(eb.getInbound().getAttachedLabel().getText(),eb.getOutbound().getAttachedLabel().getText(),eb.getCost(),eb.getDirection() != Constants.BIDIRECTIONAL);
         }
         return null;
     }
@@ -1535,6 +2046,36 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean rotateEdge(char v1, char v2, int direction) {
+        return rotateEdge(getNodeId(v1), getNodeId(v2), direction);
+    }
+
+    /**
+     * Rotates the edge between two nodes specified by their ids to a new direction.
+     *
+     * @param v1 the id of the first node
+     * @param v2 the id of the second node
+     * @param direction the new direction of the edge
+     * @return true if the edge was rotated, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean rotateEdge(int v1, int v2, int direction) {
+        String from = getNodeLabel(v1);
+        String to = getNodeLabel(v2);
+        return journaled(() -> _rotateEdge(v1, v2, direction), journal -> journal.rotateEdge(from, to, direction));
+    }
+
+    /**
+     * Edits the graph as {@link #rotateEdge(int, int, int)} does, without recording the edit in the journal.
+     *
+     * @param v1 the id of the first node
+     * @param v2 the id of the second node
+     * @param direction the new direction of the edge
+     * @return true if the edge was rotated, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    private boolean _rotateEdge(int v1, int v2, int direction) {
         try {
             Edge<E, V> e = getSpecificEdge(v1, v2);
             if (isDoubleEdge(e) && direction == Constants.BIDIRECTIONAL) {
@@ -1589,6 +2130,34 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean rotateEdge(char v1,char v2){
+        return rotateEdge(getNodeId(v1), getNodeId(v2));
+    }
+
+    /**
+     * Rotates the edge connecting two nodes specified by their ids.
+     *
+     * @param v1 the id of the first node
+     * @param v2 the id of the second node
+     * @return true if the edge was successfully rotated, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean rotateEdge(int v1,int v2){
+        String from = getNodeLabel(v1);
+        String to = getNodeLabel(v2);
+        return journaled(() -> _rotateEdge(v1, v2), journal -> journal.rotateEdge(from, to));
+    }
+
+    /**
+     * Edits the graph as {@link #rotateEdge(int, int)} does, without recording the edit in the journal.
+     *
+     * @param v1 the id of the first node
+     * @param v2 the id of the second node
+     * @return true if the edge was successfully rotated, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    private boolean _rotateEdge(int v1,int v2){
         try{
             SmartGraphVertexNode<V> vb1 = getNodeBase(v1);
             SmartGraphVertexNode<V> vb2 = getNodeBase(v2);
@@ -1620,7 +2189,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean rotateEdge(EdgeDTO edge){
-       return rotateEdge(edge.getFrom(),edge.getTo());
+       return rotateEdge(getNodeId(edge.getFrom()), getNodeId(edge.getTo()));
     }
 
     /**
@@ -1633,7 +2202,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean rotateEdge(EdgeDTO edge, int direction){
-        return rotateEdge(edge.getFrom(),edge.getTo(), direction);
+        return rotateEdge(getNodeId(edge.getFrom()), getNodeId(edge.getTo()), direction);
     }
 
 
@@ -1689,6 +2258,34 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean deleteEdge(char start, char end){
+        return deleteEdge(getNodeId(start), getNodeId(end));
+    }
+
+    /**
+     * Deletes the edge between two nodes specified by their ids.
+     *
+     * @param start the id of the first node
+     * @param end the id of the second node
+     * @return true if the edge was successfully deleted, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean deleteEdge(int start, int end){
+        String from = getNodeLabel(start);
+        String to = getNodeLabel(end);
+        return journaled(() -> _deleteEdge(start, end), journal -> journal.deleteEdge(from, to));
+    }
+
+    /**
+     * Edits the graph as {@link #deleteEdge(int, int)} does, without recording the edit in the journal.
+     *
+     * @param start the id of the first node
+     * @param end the id of the second node
+     * @return true if the edge was successfully deleted, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    private boolean _deleteEdge(int start, int end){
             try{
                 if(isDoubleEdge(start,end)){
                 Edge<E,V> e = _getEdge(start,end);
@@ -1714,7 +2311,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean deleteEdge(EdgeDTO edge){
-        return deleteEdge(edge.getFrom(),edge.getTo());
+        return deleteEdge(getNodeId(edge.getFrom()), getNodeId(edge.getTo()));
     }
 
     /**
@@ -1726,12 +2323,24 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean deleteEdge(char label) {
-        List<EdgeDTO> ledto = getConnectedEdges(label);
+        return deleteEdge(getNodeId(label));
+    }
+
+    /**
+     * Deletes all edges associated with the node specified by its id.
+     *
+     * @param id the id of the node for which to delete associated edges
+     * @return true if at least one edge was successfully deleted, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean deleteEdge(int id) {
+        List<EdgeDTO> ledto = getConnectedEdges(id);
         int c = 0;
         if(!ledto.isEmpty()) {
             for (EdgeDTO e : ledto) {
                 if(!deleteEdge(e)){
-                    if(deleteEdge(e.getTo(),e.getFrom())){
+                    if(deleteEdge(getNodeId(e.getTo()), getNodeId(e.getFrom()))){
                         c++;
                     }
                 }else{
@@ -1757,6 +2366,19 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean isConnectedEdge(char start, char end){
+        return isConnectedEdge(getNodeId(start), getNodeId(end));
+    }
+
+    /**
+     * Checks if there is a connection (edge) between two nodes specified by their ids.
+     *
+     * @param start the id of the starting node
+     * @param end the id of the ending node
+     * @return true if there is a connection (edge) between the nodes, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isConnectedEdge(int start, int end){
         if(isDoubleEdge(start,end)){
             return true;
         }else{
@@ -1774,7 +2396,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean isConnectedEdge(EdgeDTO edge){
-        return isConnectedEdge(edge.getFrom(),edge.getTo());
+        return isConnectedEdge(getNodeId(edge.getFrom()), getNodeId(edge.getTo()));
     }
 
 
@@ -1794,7 +2416,22 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean isConnectedNode(char start, char end, char label) {
-        return isConnectedEdge(start, label) || isConnectedEdge(end, label);
+        return isConnectedNode(getNodeId(start), getNodeId(end), getNodeId(label));
+    }
+
+    /**
+     * Checks if the specified node is connected to either of the two nodes
+     * defined by their ids.
+     *
+     * @param start the id of the first node
+     * @param end the id of the second node
+     * @param id the id of the node to check for connectivity
+     * @return true if the specified node is connected to either of the two nodes, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isConnectedNode(int start, int end, int id) {
+        return isConnectedEdge(start, id) || isConnectedEdge(end, id);
     }
 
     /**
@@ -1808,7 +2445,21 @@ public class SmartGraphPanel<V, E> extends Pane {
      *         of the edge, false otherwise
      */
     public boolean isConnectedNode(EdgeDTO edge, char label) {
-        return isConnectedEdge(edge.getFrom(), label) || isConnectedEdge(edge.getTo(), label);
+        return isConnectedNode(edge, getNodeId(label));
+    }
+
+    /**
+     * Checks if the node with the specified id is connected to either of the two nodes
+     * defined by the given edge.
+     *
+     * @param edge the {@link EdgeDTO} object containing the labels of the two nodes
+     *             forming the edge
+     * @param id   the id of the node to check for connectivity
+     * @return true if the specified node is connected to either the start or end node
+     *         of the edge, false otherwise
+     */
+    public boolean isConnectedNode(EdgeDTO edge, int id) {
+        return isConnectedNode(getNodeId(edge.getFrom()), getNodeId(edge.getTo()), id);
     }
 
     /**
@@ -1848,14 +2499,21 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean isConnectedNode(char label) {
-        for(Edge <E,V> e : edgeNodes.keySet()){
-            char start = edgeNodes.get(e).getInbound().getAttachedLabel().getText().charAt(0);
-            char end = edgeNodes.get(e).getOutbound().getAttachedLabel().getText().charAt(0);
-            if(isConnectedNode(start,end,label)){
-                return true;
-            }
+        return isConnectedNode(getNodeId(label));
+    }
+
+    /**
+     * Checks if the node with the specified id is connected to any other node in the graph.
+     *
+     * @param id the id of the node to check for connectivity
+     * @return true if the specified node is connected to any other node, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isConnectedNode(int id) {
+        synchronized (graphArcs) {
+            return id >= 0 && connectivity.degree(id) > 0;
         }
-        return false;
     }
 
     /**
@@ -1867,7 +2525,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean isConnectedNode(NodeDTO node) {
-        return  isConnectedNode(node.getLabel());
+        return  isConnectedNode(getNodeId(node.getLabel()));
     }
 
     /**
@@ -1879,17 +2537,29 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public List<EdgeDTO> getConnectedEdges(char label){
+        return getConnectedEdges(getNodeId(label));
+    }
+
+    /**
+     * Retrieves a list of edges that are connected to the node with the specified id.
+     *
+     * @param id the id of the node for which connected edges are to be retrieved
+     * @return a list of {@link EdgeDTO} representing the edges connected to the specified node
+     *
+     * @author vittoriopiotti
+     */
+    public List<EdgeDTO> getConnectedEdges(int id){
         List <EdgeDTO> le = new ArrayList<>();
         for(Edge<E,V> e : edgeNodes.keySet()){
-            char start = edgeNodes.get(e).getInbound().getAttachedLabel().getText().charAt(0);
-            char end = edgeNodes.get(e).getOutbound().getAttachedLabel().getText().charAt(0);
-            if(isConnectedNode(start,end,label)){
+            int start = getNodeId(edgeNodes.get(e).getInbound().getAttachedLabel().getText());
+            int end = getNodeId(edgeNodes.get(e).getOutbound().getAttachedLabel().getText());
+            if(isConnectedNode(start,end,id)){
                 try{
                     if(isDoubleEdge(start,end)){
                         Edge<E,V> e2 = _getEdge(start,end);
                         SmartGraphEdgeBase<E,V> eb = edgeNodes.get(e2);
-                        char start1 = eb.getInbound().getAttachedLabel().getText().charAt(0);
-                        char end1 = eb.getOutbound().getAttachedLabel().getText().charAt(0);
+                        String start1 = eb.getInbound().getAttachedLabel().getText();
+                        String end1 = eb.getOutbound().getAttachedLabel().getText();
                         int dir = eb.getDirection();
                         int cost = eb.getCost();
                         le.add(new EdgeDTO(start1,end1,dir,cost));
@@ -1897,8 +2567,8 @@ public class SmartGraphPanel<V, E> extends Pane {
                     }else{
                         Edge<E,V> e2 = getGenericEdge(start,end);
                         SmartGraphEdgeBase<E,V> eb = edgeNodes.get(e2);
-                        char start1 = eb.getInbound().getAttachedLabel().getText().charAt(0);
-                        char end1 = eb.getOutbound().getAttachedLabel().getText().charAt(0);
+                        String start1 = eb.getInbound().getAttachedLabel().getText();
+                        String end1 = eb.getOutbound().getAttachedLabel().getText();
                         int dir = eb.getDirection();
                         int cost = eb.getCost();
                         le.add(new EdgeDTO(start1,end1,dir,cost));
@@ -1920,7 +2590,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public List<EdgeDTO> getConnectedEdges(NodeDTO node){
-        return getConnectedEdges(node.getLabel());
+        return getConnectedEdges(getNodeId(node.getLabel()));
     }
 
     /**
@@ -1933,9 +2603,8 @@ public class SmartGraphPanel<V, E> extends Pane {
     public List<NodeDTO> getConnectedNodes(){
         List <NodeDTO> ln = new ArrayList<>();
         for(Vertex<V> v: vertexNodes.keySet()){
-            char label = vertexNodes.get(v).getAttachedLabel().getText().charAt(0);
-            if(isConnectedNode(label)){
-                ln.add(new NodeDTO(label));
+            if(isConnectedNode(vertexIds.get(v))){
+                ln.add(new NodeDTO(vertexNodes.get(v).getAttachedLabel().getText()));
             }
         }
         return ln;
@@ -1950,11 +2619,24 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public List<NodeDTO> getConnectedNodes(char label){
+        return getConnectedNodes(getNodeId(label));
+    }
+
+    /**
+     * Retrieves a list of nodes that are connected to the node with the specified id.
+     *
+     * @param id the id of the node for which connected nodes are to be retrieved
+     * @return a list of {@link NodeDTO} representing the nodes connected to the specified node
+     *
+     * @author vittoriopiotti
+     */
+    public List<NodeDTO> getConnectedNodes(int id){
         List <NodeDTO> ln = new ArrayList<>();
-        for(Vertex<V> v: vertexNodes.keySet()){
-            char label1 = vertexNodes.get(v).getAttachedLabel().getText().charAt(0);
-            if(isConnectedEdge(label1,label)){
-                ln.add(new NodeDTO(label1));
+        synchronized (graphArcs) {
+            for(Vertex<V> v: vertexNodes.keySet()){
+                if(connectivity.isAdjacent(vertexIds.get(v), id)){
+                    ln.add(new NodeDTO(vertexNodes.get(v).getAttachedLabel().getText()));
+                }
             }
         }
         return ln;
@@ -1969,7 +2651,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public List<NodeDTO> getConnectedNodes(NodeDTO node) {
-        return getConnectedNodes(node.getLabel());
+        return getConnectedNodes(getNodeId(node.getLabel()));
     }
 
     /**
@@ -1982,9 +2664,8 @@ public class SmartGraphPanel<V, E> extends Pane {
     public List<NodeDTO> getConnectableNodes(){
         List <NodeDTO> ln = new ArrayList<>();
         for(Vertex<V> v: vertexNodes.keySet()){
-            char label = vertexNodes.get(v).getAttachedLabel().getText().charAt(0);
-            if(!isConnectedNode(label)){
-                ln.add(new NodeDTO(label));
+            if(!isConnectedNode(vertexIds.get(v))){
+                ln.add(new NodeDTO(vertexNodes.get(v).getAttachedLabel().getText()));
             }
         }
         return ln;
@@ -1999,16 +2680,119 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public List<NodeDTO> getConnectableNodes(char label){
+        return getConnectableNodes(getNodeId(label));
+    }
+
+    /**
+     * Retrieves a list of nodes that can be connected to the node with the specified id.
+     *
+     * @param id the id of the node for which connectable nodes are to be retrieved
+     * @return a list of {@link NodeDTO} representing the nodes that can be connected to the specified node
+     *
+     * @author vittoriopiotti
+     */
+    public List<NodeDTO> getConnectableNodes(int id){
         List <NodeDTO> ln = new ArrayList<>();
-        for(Vertex<V> v: vertexNodes.keySet()){
-            char label1 = vertexNodes.get(v).getAttachedLabel().getText().charAt(0);
-            if(!isConnectedEdge(label1,label)){
-                ln.add(new NodeDTO(label1));
+        synchronized (graphArcs) {
+            for(Vertex<V> v: vertexNodes.keySet()){
+                if(!connectivity.isAdjacent(vertexIds.get(v), id)){
+                    ln.add(new NodeDTO(vertexNodes.get(v).getAttachedLabel().getText()));
+                }
             }
         }
         return ln;
     }
 
+    /**
+     * Checks whether two nodes are in the same connected component, ignoring the direction of the edges.
+     * <br>
+     * The components are kept up to date at every change of the graph, so the check costs O(1).
+     *
+     * @param start the label of the first node
+     * @param end the label of the second node
+     * @return true if a chain of edges joins the two nodes, false otherwise or if a node does not exist
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isSameComponent(char start, char end){
+        return isSameComponent(getNodeId(start), getNodeId(end));
+    }
+
+    /**
+     * Checks whether the nodes with the given ids are in the same connected component, ignoring the direction of the edges.
+     *
+     * @param s the id of the first node
+     * @param e the id of the second node
+     * @return true if a chain of edges joins the two nodes, false otherwise or if a node does not exist
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isSameComponent(int s, int e){
+        synchronized (graphArcs) {
+            return s >= 0 && e >= 0 && connectivity.isSameComponent(s, e);
+        }
+    }
+
+    /**
+     * Checks whether two nodes can reach each other following the direction of the edges,
+     * that is whether they are in the same strongly connected component.
+     * <br>
+     * The components are kept up to date at every change of the graph, so the check costs O(1).
+     *
+     * @param start the label of the first node
+     * @param end the label of the second node
+     * @return true if each node can reach the other, false otherwise or if a node does not exist
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isStronglyConnected(char start, char end){
+        return isStronglyConnected(getNodeId(start), getNodeId(end));
+    }
+
+    /**
+     * Checks whether the nodes with the given ids are in the same strongly connected component.
+     *
+     * @param s the id of the first node
+     * @param e the id of the second node
+     * @return true if each node can reach the other, false otherwise or if a node does not exist
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isStronglyConnected(int s, int e){
+        synchronized (graphArcs) {
+            return s >= 0 && e >= 0 && connectivity.isStronglyConnected(s, e);
+        }
+    }
+
+    /**
+     * Returns the id of the connected component of a node, ignoring the direction of the edges.
+     * <br>
+     * Two nodes have the same id if and only if a chain of edges joins them.
+     * Ids are stable while the component does not change.
+     *
+     * @param label the label of the node
+     * @return the id of the component, or -1 if the node does not exist
+     *
+     * @author vittoriopiotti
+     */
+    public int getComponentId(char label){
+        return getComponentId(getNodeId(label));
+    }
+
+    /**
+     * Returns the id of the connected component of the node with the given id, ignoring the direction of the edges.
+     *
+     * @param id the id of the node
+     * @return the id of the component, or -1 if the node does not exist
+     *
+     * @author vittoriopiotti
+     */
+    public int getComponentId(int id){
+        synchronized (graphArcs) {
+            return id < 0 ? -1 : connectivity.componentId(id);
+        }
+    }
+
     /**
      * Retrieves a list of nodes that can be connected to the specified node based on the given node DTO.
      *
@@ -2018,7 +2802,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public List<NodeDTO> getConnectableNodes(NodeDTO node){
-       return getConnectableNodes(node.getLabel());
+       return getConnectableNodes(getNodeId(node.getLabel()));
     }
 
 
@@ -2060,6 +2844,21 @@ public class SmartGraphPanel<V, E> extends Pane {
         return newEdge(direction == Constants.OPPOSITE_DIRECTION ? v2 : v1, direction == Constants.OPPOSITE_DIRECTION ? v1 : v2, cost, direction != Constants.BIDIRECTIONAL) && rotateEdge(v1, v2, direction);
     }
 
+    /**
+     * Creates a new edge between two existing nodes specified by their ids with the given cost and direction.
+     *
+     * @param v1 the id of the first node
+     * @param v2 the id of the second node
+     * @param cost the cost of the edge
+     * @param direction the direction of the edge
+     * @return true if the edge was successfully created, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean newEdge(int v1, int v2,int cost,int direction) {
+        return newEdge(direction == Constants.OPPOSITE_DIRECTION ? v2 : v1, direction == Constants.OPPOSITE_DIRECTION ? v1 : v2, cost, direction != Constants.BIDIRECTIONAL) && rotateEdge(v1, v2, direction);
+    }
+
     /**
      * Creates a new edge between two nodes specified by their labels with the given cost.
      *
@@ -2086,39 +2885,93 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean newEdge(char v1, char v2,int cost,boolean isArrowed) {
+        return v1 != '\0' && v2 != '\0' && newEdge(String.valueOf(v1), String.valueOf(v2), cost, isArrowed);
+    }
+
+    /**
+     * Creates a new edge between two nodes specified by their labels with the given cost and a flag indicating if the edge is arrowed.
+     * The nodes that do not exist yet are created.
+     *
+     * @param v1 the label of the first node
+     * @param v2 the label of the second node
+     * @param cost the cost of the edge
+     * @param isArrowed true if the edge should have an arrow, false otherwise
+     * @return true if the edge was successfully created, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean newEdge(String v1, String v2,int cost,boolean isArrowed) {
         try {
             if (
                     cost > 0 &&           //label number > 0
-                            v1 != v2        //different nodes to no loop
+                            isValidLabel(v1) && isValidLabel(v2) &&
+                            !v1.equals(v2)        //different nodes to no loop
 
             ) {
-                if (!isExistNode(v1)) {
+                if (!isExistNode(getNodeId(v1))) {
                     newNode(v1);
                 }
-                if (!isExistNode(v2)) {
-                    newNode( v2);
-                }
-                Vertex<V> vv1 = null;
-                Vertex<V> vv2 = null;
-                for (Vertex<V> v : vertexNodes.keySet()) {
-                    SmartGraphVertexNode<V> app = vertexNodes.get(v);
-                    if (app.getAttachedLabel().getText().charAt(0) == v1) {
-                        vv1 = app.getUnderlyingVertex();
-                    }
-                    if (app.getAttachedLabel().getText().charAt(0) ==v2) {
-                        vv2 = app.getUnderlyingVertex();
-                    }
-                }
-                try {
-                    if (getTotalEdgesBetween(vv1, vv2) == 0) {
-                        highLevelStaticEdgeCreation(vv2, vv1, cost, isArrowed);
-                        return true;
-                    } else if (getTotalEdgesBetween(vv1, vv2) == 1) {
-                        return highLevelDynamicEdgeCreation(vv1, vv2, cost, isArrowed);
-                    }
-                } catch (Exception ignored) {
+                if (!isExistNode(getNodeId(v2))) {
+                    newNode(v2);
                 }
-
+                return newEdge(getNodeId(v1), getNodeId(v2), cost, isArrowed);
+            }
+        }catch(Exception ignored){
+
+        }
+        return false;
+    }
+
+    /**
+     * Creates a new edge between two existing nodes specified by their ids with the given cost and a flag indicating if the edge is arrowed.
+     *
+     * @param v1 the id of the first node
+     * @param v2 the id of the second node
+     * @param cost the cost of the edge
+     * @param isArrowed true if the edge should have an arrow, false otherwise
+     * @return true if the edge was successfully created, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean newEdge(int v1, int v2,int cost,boolean isArrowed) {
+        String from = getNodeLabel(v1);
+        String to = getNodeLabel(v2);
+        return journaled(() -> _newEdge(v1, v2, cost, isArrowed), journal -> journal.newEdge(from, to, cost, isArrowed));
+    }
+
+    /**
+     * Edits the graph as {@link #newEdge(int, int, int, boolean)} does, without recording the edit in the journal.
+     *
+     * @param v1 the id of the first node
+     * @param v2 the id of the second node
+     * @param cost the cost of the edge
+     * @param isArrowed true if the edge should have an arrow, false otherwise
+     * @return true if the edge was successfully created, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    private boolean _newEdge(int v1, int v2,int cost,boolean isArrowed) {
+        try {
+            SmartGraphVertexNode<V> vb1 = getNodeBase(v1);
+            SmartGraphVertexNode<V> vb2 = getNodeBase(v2);
+            if (
+                    cost > 0 &&           //label number > 0
+                            vb1 != null && vb2 != null &&
+                            vb1 != vb2        //different nodes to no loop
+
+            ) {
+                Vertex<V> vv1 = vb1.getUnderlyingVertex();
+                Vertex<V> vv2 = vb2.getUnderlyingVertex();
+                try {
+                    if (getTotalEdgesBetween(vv1, vv2) == 0) {
+                        highLevelStaticEdgeCreation(vv2, vv1, cost, isArrowed);
+                        return true;
+                    } else if (getTotalEdgesBetween(vv1, vv2) == 1) {
+                        return highLevelDynamicEdgeCreation(vv1, vv2, cost, isArrowed);
+                    }
+                } catch (Exception ignored) {
+                }
+
             }
         }catch(Exception ignored){
 
@@ -2129,7 +2982,7 @@ public class SmartGraphPanel<V, E> extends Pane {
 
 
 
-
+
     /**
      * Creates a new random edge from the start node to a connectable node with the given cost and direction.
      *
@@ -2200,8 +3053,9 @@ public class SmartGraphPanel<V, E> extends Pane {
      */
     public boolean newEdge(int cost, int direction){
         for(Vertex<V> v : vertexNodes.keySet()){
-            char start = vertexNodes.get(v).getAttachedLabel().getText().charAt(0);
-            if( newEdge(start,cost,direction)){
+            int start = vertexIds.get(v);
+            int end = getConnectableNode(start);
+            if(end >= 0 && newEdge(start, end, cost, direction)){
                 return true;
             }
         }
@@ -2219,8 +3073,9 @@ public class SmartGraphPanel<V, E> extends Pane {
      */
     public boolean newEdge(int cost, boolean isArrowed){
         for(Vertex<V> v : vertexNodes.keySet()){
-            char start = vertexNodes.get(v).getAttachedLabel().getText().charAt(0);
-            if(newEdge(start, cost,isArrowed)){
+            int start = vertexIds.get(v);
+            int end = getConnectableNode(start);
+            if(end >= 0 && newEdge(start, end, cost, isArrowed)){
                 return true;
             }
         }
@@ -2236,13 +3091,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean newEdge(int cost){
-        for(Vertex<V> v : vertexNodes.keySet()){
-            char start = vertexNodes.get(v).getAttachedLabel().getText().charAt(0);
-            if(newEdge(start, cost)) {
-                return true;
-            }
-        }
-        return false;
+        return newEdge(cost, true);
     }
 
     /**
@@ -2268,13 +3117,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean newEdge(boolean isArrowed){
-        for(Vertex<V> v : vertexNodes.keySet()){
-            char start = vertexNodes.get(v).getAttachedLabel().getText().charAt(0);
-            if(newEdge(start, isArrowed)) {
-                return true;
-            }
-        }
-        return false;
+        return newEdge((int) (Math.random() * 1000) + 1, isArrowed);
     }
 
 
@@ -2322,6 +3165,20 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean setArrow(char v1,char v2,boolean isArrowed){
+        return setArrow(getNodeId(v1), getNodeId(v2), isArrowed);
+    }
+
+    /**
+     * Sets the arrow direction for the edge between two nodes specified by their ids.
+     *
+     * @param v1 the id of the first node
+     * @param v2 the id of the second node
+     * @param isArrowed true if the edge should have an arrow, false otherwise
+     * @return true if the arrow direction was successfully set, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean setArrow(int v1,int v2,boolean isArrowed){
         try{
             Edge<E, V> e = getSpecificEdge(v1, v2);
             if(isDoubleEdge(e)  ){
@@ -2354,7 +3211,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean setArrow(EdgeDTO edge,boolean isArrowed){
-        return setArrow(edge.getFrom(),edge.getTo(),isArrowed);
+        return setArrow(getNodeId(edge.getFrom()), getNodeId(edge.getTo()), isArrowed);
     }
 
 
@@ -2371,6 +3228,21 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public int getDirection(char v1, char v2) {
+        return getDirection(getNodeId(v1), getNodeId(v2));
+    }
+
+    /**
+     * Get edge direction between two nodes specified by their ids.
+     *
+     * @param v1 the id of the start node.
+     * @param v2 the id of the end node.
+     * @return an integer representing the direction of the edge between the two nodes:
+     *         {@link Constants#BIDIRECTIONAL}, {@link Constants#NATURAL_DIRECTION},
+     *         or {@link Constants#OPPOSITE_DIRECTION}.
+     *
+     * @author vittoriopiotti
+     */
+    public int getDirection(int v1, int v2) {
             if(isDoubleEdge(v1,v2)){
                 try{
                     Edge<E,V> e = _getEdge(v1,v2);
@@ -2395,7 +3267,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public int getDirection(EdgeDTO edge) {
-      return getDirection(edge.getFrom(),edge.getTo());
+      return getDirection(getNodeId(edge.getFrom()), getNodeId(edge.getTo()));
     }
 
     /**
@@ -2406,7 +3278,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @return an integer representing the direction of the edge
      */
     public int getDirection(NodeDTO start, NodeDTO end) {
-        return getDirection(start.getLabel(),end.getLabel());
+        return getDirection(getNodeId(start.getLabel()), getNodeId(end.getLabel()));
     }
 
 
@@ -2429,6 +3301,19 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public int getCost(char v1, char v2) {
+        return getCost(getNodeId(v1), getNodeId(v2));
+    }
+
+    /**
+     * Get edge cost between two nodes specified by their ids.
+     *
+     * @param v1 the id of the start node.
+     * @param v2 the id of the end node.
+     * @return an integer representing the cost of the edge between the two nodes
+     *
+     * @author vittoriopiotti
+     */
+    public int getCost(int v1, int v2) {
         if(isDoubleEdge(v1,v2)){
             try{
                 Edge<E,V> e = _getEdge(v1,v2);
@@ -2454,7 +3339,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @return the cost of the edge.
      */
     public int getCost(EdgeDTO edge){
-        return getCost(edge.getFrom(),edge.getTo());
+        return getCost(getNodeId(edge.getFrom()), getNodeId(edge.getTo()));
     }
 
 
@@ -2469,7 +3354,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @return the cost of the edge between the nodes.
      */
     public int getCost(NodeDTO start, NodeDTO end){
-        return getCost(start.getLabel(),end.getLabel());
+        return getCost(getNodeId(start.getLabel()), getNodeId(end.getLabel()));
     }
 
 
@@ -2527,6 +3412,8 @@ public class SmartGraphPanel<V, E> extends Pane {
 
     /**
      * Uploads a JSON file to set the graph data.
+     * <br>
+     * The file is memory-mapped and parsed in place; files in the binary format are recognized and accepted too.
      *
      * @param file the JSON file to upload
      * @return a status code indicating the result of the operation:
@@ -2539,7 +3426,7 @@ public class SmartGraphPanel<V, E> extends Pane {
     public int uploadJSON(File file){
         if(file != null) {
             try {
-                GraphDTO dto = new GraphDTO(file);
+                GraphDTO dto = new GraphDTO(file.toPath());
                 setGraph(dto,true);
                 return Constants.SUCCESS;
             } catch (Exception ignored) {
@@ -2568,18 +3455,7 @@ public class SmartGraphPanel<V, E> extends Pane {
         fileChooser.getExtensionFilters().add(
                 new FileChooser.ExtensionFilter("File JSON", "*.json")
         );
-        File file = fileChooser.showOpenDialog(window);
-        if(file != null) {
-            try {
-                GraphDTO dto = new GraphDTO(file);
-                setGraph(dto,true);
-                return Constants.SUCCESS;
-            } catch (Exception ignored) {
-                return Constants.ERROR;
-            }
-        }
-
-        return Constants.INTERRUPTED;
+        return uploadJSON(fileChooser.showOpenDialog(window));
     }
 
 
@@ -2600,140 +3476,1628 @@ public class SmartGraphPanel<V, E> extends Pane {
     }
 
     /**
-     * Downloads the current graph data to a JSON file.
+     * Downloads the current graph data to a JSON file.
+     *
+     * @param file the file to which the graph data will be written
+     * @return a status code indicating the result of the operation:
+     *         - {@link Constants#SUCCESS} if the download was successful
+     *         - {@link Constants#ERROR} if an error occurred during download
+     *         - {@link Constants#INTERRUPTED} if the file is null
+     *
+     * @author vittoriopiotti
+     */
+    public int downloadJSON(File file) {
+        return downloadJSON(file,getGraph());
+    }
+
+    /**
+     * Downloads the given graph data to a JSON file, using a file chooser dialog.
+     *
+     * @param window the parent window for the file chooser dialog
+     * @param dto the graph data to be downloaded
+     * @return a status code indicating the result of the operation:
+     *         - {@link Constants#SUCCESS} if the download was successful
+     *         - {@link Constants#ERROR} if an error occurred during download
+     *         - {@link Constants#INTERRUPTED} if no file was selected
+     *
+     * @author vittoriopiotti
+     */
+    public int downloadJSON(Window window,GraphDTO dto) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save JSON File");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("JSON Files", "*.json"));
+        fileChooser.setInitialFileName("graph.json");
+        File file = fileChooser.showSaveDialog(window);
+        if (file != null) {
+            try (FileWriter fileWriter = new FileWriter(file)) {
+                dto.writeGraphJson(fileWriter, false);
+                return Constants.SUCCESS;
+            } catch (IOException ignored) {
+                return Constants.ERROR;
+            }
+        } else {
+            return Constants.INTERRUPTED;
+        }
+    }
+
+    /**
+     * Downloads the given graph data to a specified JSON file.
+     *
+     * @param file the file to which the graph data will be written
+     * @param dto the graph data to be downloaded
+     * @return a status code indicating the result of the operation:
+     *         - {@link Constants#SUCCESS} if the download was successful
+     *         - {@link Constants#ERROR} if an error occurred during download
+     *         - {@link Constants#INTERRUPTED} if the file is null
+     *
+     * @author vittoriopiotti
+     */
+    public int downloadJSON(File file,GraphDTO dto) {
+        return downloadJSON(file, dto, false);
+    }
+
+    /**
+     * Downloads the current graph data to a specified JSON file, optionally without indentation.
+     * <br>
+     * The document is streamed to the file, so the size of the graph does not affect the memory used.
+     *
+     * @param file the file to which the graph data will be written
+     * @param compact true to drop the indentation whitespace, which roughly halves the size of the file
+     * @return a status code indicating the result of the operation:
+     *         - {@link Constants#SUCCESS} if the download was successful
+     *         - {@link Constants#ERROR} if an error occurred during download
+     *         - {@link Constants#INTERRUPTED} if the file is null
+     *
+     * @author vittoriopiotti
+     */
+    public int downloadJSON(File file, boolean compact) {
+        return downloadJSON(file, getGraph(), compact);
+    }
+
+    /**
+     * Uploads a JSON file to set the graph data without blocking the calling thread.
+     * <br>
+     * The file is read and parsed on a background thread; only the final update of the view runs on the
+     * JavaFX application thread. Files in the binary format are recognized and memory-mapped.
+     * The returned future completes once the new graph is displayed. Cancelling it before the graph starts being
+     * applied stops the reading and leaves the current graph untouched; afterwards it cannot be cancelled anymore.
+     *
+     * @param file     the JSON file to upload
+     * @param progress the callback told the fraction of the file read, on the JavaFX application thread;
+     *                 can be <code>null</code>
+     * @return a CompletableFuture that completes with a status code:
+     *         - {@link Constants#SUCCESS} if the upload was successful
+     *         - {@link Constants#ERROR} if an error occurred during upload
+     *         - {@link Constants#INTERRUPTED} if the file is null
+     *
+     * @author vittoriopiotti
+     */
+    public CompletableFuture<Integer> uploadJSONAsync(File file, ProgressCallback progress) {
+        if (file == null) {
+            return CompletableFuture.completedFuture(Constants.INTERRUPTED);
+        }
+        UploadFuture future = new UploadFuture();
+        DoubleConsumer reporter = progressReporter(progress);
+        IO_EXECUTOR.execute(() -> {
+            GraphDTO dto;
+            try {
+                dto = readGraph(file.toPath(), future, reporter);
+            } catch (Exception e) {
+                future.complete(Constants.ERROR);
+                return;
+            }
+            Platform.runLater(() -> {
+                if (!future.startApplying()) {
+                    return;
+                }
+                try {
+                    setGraph(dto, true, () -> future.complete(Constants.SUCCESS));
+                } catch (Exception e) {
+                    future.complete(Constants.ERROR);
+                }
+            });
+        });
+        return future;
+    }
+
+    /**
+     * Downloads the current graph data to a JSON file without blocking the calling thread.
+     * <br>
+     * The graph is captured on the calling thread, then serialized on a background thread into a
+     * <code>.part</code> file next to the target, which replaces the target only once complete: cancelling
+     * the returned future stops the writing and leaves any existing file untouched.
+     *
+     * @param file     the file to which the JSON data will be written
+     * @param compact  true to drop the indentation whitespace
+     * @param progress the callback told the fraction of the graph written, on the JavaFX application thread;
+     *                 can be <code>null</code>
+     * @return a CompletableFuture that completes with a status code:
+     *         - {@link Constants#SUCCESS} if the download was successful
+     *         - {@link Constants#ERROR} if an error occurred during download
+     *         - {@link Constants#INTERRUPTED} if the file is null
+     *
+     * @author vittoriopiotti
+     */
+    public CompletableFuture<Integer> downloadJSONAsync(File file, boolean compact, ProgressCallback progress) {
+        if (file == null) {
+            return CompletableFuture.completedFuture(Constants.INTERRUPTED);
+        }
+        GraphDTO dto = getGraph();
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        DoubleConsumer reporter = progressReporter(progress);
+        IO_EXECUTOR.execute(() -> {
+            Path target = file.toPath();
+            Path part = target.resolveSibling(target.getFileName() + ".part");
+            try {
+                try (GraphJsonWriter writer = new GraphJsonWriter(
+                        new CancellableOutputStream(Files.newOutputStream(part), future), compact)) {
+                    writer.setProgressListener(reporter);
+                    writer.writeGraph(dto.getNodes(), dto.getEdges());
+                }
+                Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+                future.complete(Constants.SUCCESS);
+            } catch (Exception e) {
+                future.complete(Constants.ERROR);
+            } finally {
+                try {
+                    Files.deleteIfExists(part);
+                } catch (IOException ignored) {
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Parses a graph in JSON or in the binary format, told apart by its first bytes.
+     * <br>
+     * A binary file is memory-mapped by {@link GraphDTO#GraphDTO(Path)}; a JSON file is streamed,
+     * reporting its progress and failing once the operation is cancelled.
+     *
+     * @param path      the file
+     * @param operation the operation reading the file
+     * @param progress  the listener told the fraction of the file read
+     * @return the graph
+     * @throws IOException if the file cannot be read, is a corrupted binary graph or the operation is cancelled
+     *
+     * @author vittoriopiotti
+     */
+    private static GraphDTO readGraph(Path path, Future<?> operation, DoubleConsumer progress) throws IOException {
+        byte[] head;
+        try (InputStream in = Files.newInputStream(path)) {
+            head = in.readNBytes(GraphBinaryCodec.MAGIC.length);
+        }
+        if (GraphBinaryCodec.isBinary(ByteBuffer.wrap(head))) {
+            GraphDTO dto = new GraphDTO(path);
+            progress.accept(1.0);
+            return dto;
+        }
+        try (InputStream in = new ProgressInputStream(Files.newInputStream(path), Files.size(path), operation, progress)) {
+            return new GraphDTO(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Wraps a progress callback so that it is called on the JavaFX application thread,
+     * at most once per percentage point.
+     *
+     * @param callback the callback, can be <code>null</code>
+     * @return the listener to call from the background thread
+     *
+     * @author vittoriopiotti
+     */
+    private static DoubleConsumer progressReporter(ProgressCallback callback) {
+        if (callback == null) {
+            return fraction -> {
+            };
+        }
+        int[] reported = {-1};
+        return fraction -> {
+            int percent = (int) (Math.min(1.0, fraction) * 100);
+            if (percent != reported[0]) {
+                reported[0] = percent;
+                double value = percent / 100.0;
+                Platform.runLater(() -> callback.handle(value));
+            }
+        };
+    }
+
+    /**
+     * Downloads the given graph data to a specified JSON file, optionally without indentation.
+     *
+     * @param file the file to which the graph data will be written
+     * @param dto the graph data to be downloaded
+     * @param compact true to drop the indentation whitespace
+     * @return a status code indicating the result of the operation:
+     *         - {@link Constants#SUCCESS} if the download was successful
+     *         - {@link Constants#ERROR} if an error occurred during download
+     *         - {@link Constants#INTERRUPTED} if the file is null
+     *
+     * @author vittoriopiotti
+     */
+    public int downloadJSON(File file, GraphDTO dto, boolean compact) {
+        if (file != null) {
+            try (FileWriter fileWriter = new FileWriter(file)) {
+                dto.writeGraphJson(fileWriter, compact);
+                return Constants.SUCCESS;
+            } catch (IOException ignored) {
+                return Constants.ERROR;
+            }
+        } else {
+            return Constants.INTERRUPTED;
+        }
+    }
+
+
+
+
+    /**
+     * Uploads a graph saved in the binary format of {@link GraphBinaryCodec}.
+     * <br>
+     * The file is memory-mapped and decoded in place, which is much faster than parsing JSON.
+     *
+     * @param file the binary file to upload
+     * @return a status code indicating the result of the operation:
+     *         - {@link Constants#SUCCESS} if the upload was successful
+     *         - {@link Constants#ERROR} if an error occurred during upload or the file is corrupted
+     *         - {@link Constants#INTERRUPTED} if the file is null
+     *
+     * @author vittoriopiotti
+     */
+    public int uploadBinary(File file){
+        if(file != null) {
+            try {
+                GraphDTO dto = new GraphDTO(file.toPath());
+                setGraph(dto,true);
+                return Constants.SUCCESS;
+            } catch (Exception ignored) {
+                return Constants.ERROR;
+            }
+        }
+        return Constants.INTERRUPTED;
+    }
+
+    /**
+     * Opens a file chooser dialog to upload a graph saved in the binary format.
+     *
+     * @param window the parent window for the file chooser dialog
+     * @return a status code indicating the result of the operation:
+     *         - {@link Constants#SUCCESS} if the upload was successful
+     *         - {@link Constants#ERROR} if an error occurred during upload or the file is corrupted
+     *         - {@link Constants#INTERRUPTED} if no file was selected
+     *
+     * @author vittoriopiotti
+     */
+    public int uploadBinary(Window window){
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Load graph file...");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Graph Files", "*.pgb"));
+        return uploadBinary(fileChooser.showOpenDialog(window));
+    }
+
+    /**
+     * Downloads the current graph to a file in the binary format of {@link GraphBinaryCodec}, with a checksum.
+     *
+     * @param file the file to which the graph will be written
+     * @return a status code indicating the result of the operation:
+     *         - {@link Constants#SUCCESS} if the download was successful
+     *         - {@link Constants#ERROR} if an error occurred during download
+     *         - {@link Constants#INTERRUPTED} if the file is null
+     *
+     * @author vittoriopiotti
+     */
+    public int downloadBinary(File file){
+        if (file != null) {
+            try (OutputStream out = Files.newOutputStream(file.toPath())) {
+                getGraph().writeBinary(out, true);
+                return Constants.SUCCESS;
+            } catch (IOException ignored) {
+                return Constants.ERROR;
+            }
+        } else {
+            return Constants.INTERRUPTED;
+        }
+    }
+
+    /**
+     * Downloads the current graph in the binary format, using a file chooser dialog.
+     *
+     * @param window the parent window for the file chooser dialog
+     * @return a status code indicating the result of the operation:
+     *         - {@link Constants#SUCCESS} if the download was successful
+     *         - {@link Constants#ERROR} if an error occurred during download
+     *         - {@link Constants#INTERRUPTED} if no file was selected
+     *
+     * @author vittoriopiotti
+     */
+    public int downloadBinary(Window window){
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save Graph File");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Graph Files", "*.pgb"));
+        fileChooser.setInitialFileName("graph.pgb");
+        return downloadBinary(fileChooser.showSaveDialog(window));
+    }
+
+    /**
+     * Turns on the journaling of the edits to a file, restoring the graph saved in it.
+     * <br>
+     * If the file holds a journal, the current graph is replaced by the one the journal restores.
+     * Otherwise the journal starts with a snapshot of the current graph. From then on, every node created,
+     * deleted or renamed and every edge created, deleted, split, rotated or whose cost changes appends a record
+     * to the journal, so saving takes constant time per edit. The journal is compacted into a snapshot of the
+     * graph when a new graph is set and when it grows to twice the size of the graph.
+     * <br>
+     * Must be called on the JavaFX application thread, like the edits.
+     *
+     * @param file              the journal file, created if it does not exist
+     * @param groupCommitMillis the longest delay in milliseconds before an edit reaches the disk, so that
+     *                          the edits made in the meantime share a single sync, or 0 to sync after every edit
+     * @return a status code indicating the result of the operation:
+     *         - {@link Constants#SUCCESS} if the journal was opened
+     *         - {@link Constants#ERROR} if the file could not be opened or is not a journal
+     *         - {@link Constants#INTERRUPTED} if the file is null
+     *
+     * @author vittoriopiotti
+     */
+    public int openJournal(File file, long groupCommitMillis){
+        if (file == null) {
+            return Constants.INTERRUPTED;
+        }
+        closeJournal();
+        GraphJournal opened = null;
+        try {
+            opened = new GraphJournal(file.toPath(), groupCommitMillis);
+            if (opened.replay(journalReplayer()) == 0) {
+                opened.compact(getGraph());
+            }
+            journal = opened;
+            compactJournalIfLarge();
+            return Constants.SUCCESS;
+        } catch (IOException | RuntimeException e) {
+            Logger.getLogger(SmartGraphPanel.class.getName()).log(Level.SEVERE, "cannot open the graph journal " + file, e);
+            if (opened != null && journal == null) {
+                try {
+                    opened.close();
+                } catch (IOException ignored) {
+                }
+            }
+            return Constants.ERROR;
+        }
+    }
+
+    /**
+     * Compacts the journal into a single snapshot of the current graph.
+     *
+     * @return a status code indicating the result of the operation:
+     *         - {@link Constants#SUCCESS} if the journal was compacted
+     *         - {@link Constants#ERROR} if the snapshot could not be written
+     *         - {@link Constants#INTERRUPTED} if journaling is off
+     *
+     * @author vittoriopiotti
+     */
+    public int compactJournal(){
+        if (journal == null) {
+            return Constants.INTERRUPTED;
+        }
+        try {
+            journal.compact(getGraph());
+            return Constants.SUCCESS;
+        } catch (IOException e) {
+            return Constants.ERROR;
+        }
+    }
+
+    /**
+     * Syncs the pending edits to the disk and turns off the journaling.
+     *
+     * @author vittoriopiotti
+     */
+    public void closeJournal(){
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                Logger.getLogger(SmartGraphPanel.class.getName()).log(Level.SEVERE, "cannot close the graph journal", e);
+            }
+            journal = null;
+        }
+    }
+
+    /**
+     * Checks whether the edits are being journaled.
+     *
+     * @return true if a journal is open
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isJournalOpen(){
+        return journal != null;
+    }
+
+    /**
+     * Runs an operation that edits the graph and, if it succeeds and no other journaled operation is running it,
+     * appends its record to the journal.
+     * <br>
+     * If the record cannot be written, the journal no longer matches the graph: it is turned off and the
+     * callback set by {@link #setJournalErrorCallback(GenericCallback)} is notified.
+     *
+     * @param operation the edit
+     * @param record    the writer of the record of the edit
+     * @return the result of the operation
+     *
+     * @author vittoriopiotti
+     */
+    private boolean journaled(BooleanSupplier operation, JournalRecord record) {
+        journalDepth++;
+        boolean done;
+        try {
+            done = operation.getAsBoolean();
+        } finally {
+            journalDepth--;
+        }
+        if (done && journalDepth == 0 && journal != null) {
+            try {
+                record.write(journal);
+                compactJournalIfLarge();
+            } catch (IOException | RuntimeException e) {
+                Logger.getLogger(SmartGraphPanel.class.getName()).log(Level.SEVERE, "cannot write to the graph journal, journaling is off", e);
+                closeJournal();
+                if (onJournalError != null) {
+                    onJournalError.handle(e);
+                }
+            }
+        }
+        return done;
+    }
+
+    /**
+     * Compacts the journal once it holds twice as many records as the graph has nodes and edges,
+     * so that compacting costs a constant time per edit on average.
+     *
+     * @author vittoriopiotti
+     */
+    private void compactJournalIfLarge() throws IOException {
+        if (journal.size() > Math.max(JOURNAL_COMPACTION_MIN_RECORDS, 2 * (vertexNodes.size() + edgeNodes.size()))) {
+            journal.compact(getGraph());
+        }
+    }
+
+    /**
+     * Returns the handler applying the records of a journal to this graph, which it clears before the first record.
+     *
+     * @return the handler
+     *
+     * @author vittoriopiotti
+     */
+    private GraphJournal.Handler journalReplayer() {
+        return new GraphJournal.Handler() {
+
+            private boolean started;
+
+            private void start() {
+                if (!started) {
+                    started = true;
+                    setGraph(new GraphDTO(new ArrayList<>(), new ArrayList<>()));
+                }
+            }
+
+            @Override
+            public void snapshot(GraphDTO graph) {
+                started = true;
+                setGraph(graph);
+            }
+
+            @Override
+            public void newNode(String label) {
+                start();
+                SmartGraphPanel.this.newNode(label);
+            }
+
+            @Override
+            public void deleteNode(String label) {
+                start();
+                SmartGraphPanel.this.deleteNode(getNodeId(label));
+            }
+
+            @Override
+            public void newEdge(String from, String to, int cost, boolean isArrowed) {
+                start();
+                SmartGraphPanel.this.newEdge(getNodeId(from), getNodeId(to), cost, isArrowed);
+            }
+
+            @Override
+            public void deleteEdge(String from, String to) {
+                start();
+                SmartGraphPanel.this.deleteEdge(getNodeId(from), getNodeId(to));
+            }
+
+            @Override
+            public void setCost(String from, String to, int cost) {
+                start();
+                SmartGraphPanel.this.setCost(getNodeId(from), getNodeId(to), cost);
+            }
+
+            @Override
+            public void rotateEdge(String from, String to) {
+                start();
+                SmartGraphPanel.this.rotateEdge(getNodeId(from), getNodeId(to));
+            }
+
+            @Override
+            public void rotateEdge(String from, String to, int direction) {
+                start();
+                SmartGraphPanel.this.rotateEdge(getNodeId(from), getNodeId(to), direction);
+            }
+
+            @Override
+            public void renameNode(String label, String newLabel) {
+                start();
+                SmartGraphPanel.this.renameNode(getNodeId(label), newLabel);
+            }
+
+            @Override
+            public void splitEdge(String from, String to) {
+                start();
+                SmartGraphPanel.this.splitEdge(getNodeId(from), getNodeId(to));
+            }
+        };
+    }
+
+
+
+    /**
+     * Highlights the specified path in the graph by applying styles to the vertices and edges.
+     *
+     * This method activates all nodes, applies a dashed style to all edges, and updates the style
+     * of the nodes and edges that are part of the provided path. If any node in the path does not exist,
+     * the method will return false.
+     *
+     * @param lpn a list of NodeDTO objects representing the path to highlight
+     * @return true if the path was successfully highlighted; false if any node in the path does not exist
+     *
+     * @author vittoriopiotti
+     */
+    @SuppressWarnings("all")
+    public boolean showPath(List<NodeDTO> lpn) {
+        try {
+            int n = getNodeId(lpn.get(0).getLabel());
+            if (isExistNode(n)) {
+                activeAllNodes();
+                for (Edge<E, V> e : edgeNodes.keySet()) {
+                    edgeNodes.get(e).applyDashStyle();
+                }
+                SmartGraphVertexNode<V> vn = getNodeBase(n);
+                vn.removeStyleClass("vertex");
+                vn.removeStyleClass("vertex-deactivated");
+                vn.removeStyleClass("vertex-deactivated-first");
+                vn.addStyleClass("vertex-hover");
+                for (int i = 1; i < lpn.size(); i++) {
+                    int _n = getNodeId(lpn.get(i).getLabel());
+                    n = getNodeId(lpn.get(i - 1).getLabel());
+                    if (isExistNode(n) && isExistNode(_n)) {
+                        vn = getNodeBase(n);
+                        SmartGraphVertexNode<V> _vn = getNodeBase(_n);
+                        for (Edge<E, V> e : edgeNodes.keySet()) {
+
+                                if (isDoubleEdge(e)) {
+                                    if (edgeNodes.get(e).getDirection() == Constants.NATURAL_DIRECTION && isEqualEdge(edgeNodes.get(e), _vn, vn)) {
+                                        edgeNodes.get(e).resetStyle();
+                                    } else if (edgeNodes.get(e).getDirection() == Constants.OPPOSITE_DIRECTION && isEqualEdge(edgeNodes.get(e), _vn, vn)) {
+                                        getOppositeEdge(edgeNodes.get(e)).resetStyle();
+                                    }
+                                } else if (e.getDirection() == Constants.BIDIRECTIONAL
+                                        ? isConnectedEdge(edgeNodes.get(e), vn, _vn)
+                                        : isEqualEdge(edgeNodes.get(e), vn, _vn)
+                                ) {
+                                    edgeNodes.get(e).resetStyle();
+                                }
+                        }
+
+                        _vn.removeStyleClass("vertex");
+                        _vn.removeStyleClass("vertex-deactivated");
+                        _vn.removeStyleClass("vertex-deactivated-first");
+                        _vn.addStyleClass("vertex-hover");
+                    } else {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return false;
+        } catch (Exception ignored) {
+        }
+        return false;
+    }
+
+
+
+    /**
+     * Finds the path with the lowest cost between two nodes.
+     * <br>
+     * Results are cached by start node, end node and {@link #getGraphVersion() graph version}, so asking
+     * again for the same pair while the graph does not change skips the search.
+     * Paths from a {@link #pinSource(char) pinned source} are read from its shortest path tree, and pairs
+     * that {@link #isReachable(char, char) cannot be reached} are rejected before searching when the transitive
+     * closure has already been computed for the current graph; a miss never computes it.
+     * The returned list is a copy of the cached path, which the caller is free to modify.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @return the nodes of the path from <code>start</code> to <code>end</code>, or null if no path exists
+     *
+     * @author vittoriopiotti
+     */
+    public List<NodeDTO> findPath(String start, String end) {
+        long version = graphVersion;
+        List<NodeDTO> cached = pathCache.get(getNodeId(start), getNodeId(end), version, () -> {
+            HierarchyTable hierarchy = hierarchyTable;
+            AllPairsTable table = allPairsTable;
+            ReachabilityTable reachability = reachabilityTable;
+            List<NodeDTO> path;
+            if (isPinnedSource(start)) {
+                path = getPinnedPath(start, end);
+            } else if (contractionHierarchyEnabled && hierarchy != null && hierarchy.version == version) {
+                path = hierarchy.path(start, end);
+            } else if (table != null && table.version == version) {
+                path = table.path(start, end);
+            } else {
+                if (contractionHierarchyEnabled) {
+                    startContractionHierarchyBuild(version);
+                }
+                boolean unreachable = reachability != null && reachability.version == version
+                        && !reachability.isReachable(start, end);
+                path = unreachable || start.equals(end) ? null : shortestPath(start, end);
+            }
+            return path;
+        });
+        return cached == null ? null : new ArrayList<>(cached);
+    }
+
+    /**
+     * Finds the path with the lowest cost between two nodes with single character labels,
+     * as {@link #findPath(String, String)} does.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @return the nodes of the path from <code>start</code> to <code>end</code>, or null if no path exists
+     *
+     * @author vittoriopiotti
+     */
+    public List<NodeDTO> findPath(char start, char end) {
+        return findPath(String.valueOf(start), String.valueOf(end));
+    }
+
+    /**
+     * Searches the path with the lowest cost between two nodes on the snapshot of the current version.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @return the nodes of the path, or null if no path exists
+     *
+     * @author vittoriopiotti
+     */
+    private List<NodeDTO> shortestPath(String start, String end) {
+        SnapshotTable snapshot = snapshot();
+        int s = snapshot.id(start);
+        int t = snapshot.id(end);
+        return s < 0 || t < 0 ? null : snapshot.nodes(new DijkstraEngine<>(snapshot.graph).shortestPath(s, t));
+    }
+
+    /**
+     * Finds the path with the lowest cost between two nodes with a bidirectional search,
+     * expanding forward from <code>start</code> and backward from <code>end</code> until the two searches meet.
+     * <br>
+     * The search runs on the snapshot of the current {@link #getGraphVersion() graph version}, read once per version.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @return the nodes of the path from <code>start</code> to <code>end</code>, or null if no path exists
+     *
+     * @author vittoriopiotti
+     */
+    public List<NodeDTO> findPathBidirectional(String start, String end) {
+        if (start.equals(end)) {
+            return null;
+        }
+        SnapshotTable snapshot = snapshot();
+        int s = snapshot.id(start);
+        int t = snapshot.id(end);
+        if (s < 0 || t < 0) {
+            return null;
+        }
+        return snapshot.nodes(new BidirectionalDijkstra<>(snapshot.graph).shortestPath(s, t));
+    }
+
+    /**
+     * Finds the path with the lowest cost between two nodes with single character labels with a bidirectional search,
+     * as {@link #findPathBidirectional(String, String)} does.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @return the nodes of the path from <code>start</code> to <code>end</code>, or null if no path exists
+     *
+     * @author vittoriopiotti
+     */
+    public List<NodeDTO> findPathBidirectional(char start, char end) {
+        return findPathBidirectional(String.valueOf(start), String.valueOf(end));
+    }
+
+    /**
+     * Finds the paths with the lowest cost of many queries at once.
+     * <br>
+     * Queries sharing the same starting node are answered by a single search, and the searches run in parallel
+     * on the snapshot of the current {@link #getGraphVersion() graph version}, read once per version.
+     *
+     * @param queries the starting and ending nodes of each path
+     * @return the path of each query, in the iteration order of <code>queries</code>; null for the queries without a path
+     *
+     * @author vittoriopiotti
+     */
+    public List<List<NodeDTO>> findPaths(Collection<PathQueryDTO> queries) {
+        List<PathQueryDTO> list = new ArrayList<>(queries);
+        List<List<NodeDTO>> paths = new ArrayList<>(Collections.nCopies(list.size(), null));
+        if (list.isEmpty()) {
+            return paths;
+        }
+        SnapshotTable snapshot = snapshot();
+        int[] sources = new int[list.size()];
+        int[] targets = new int[list.size()];
+        for (int i = 0; i < list.size(); i++) {
+            sources[i] = snapshot.id(list.get(i).getStart());
+            targets[i] = snapshot.id(list.get(i).getEnd());
+        }
+        int[][] found = DijkstraEngine.shortestPaths(snapshot.graph, sources, targets, ForkJoinPool.commonPool());
+        for (int i = 0; i < found.length; i++) {
+            paths.set(i, snapshot.nodes(found[i]));
+        }
+        return paths;
+    }
+
+    /**
+     * Finds up to <code>k</code> alternative paths without repeated nodes between two nodes, ordered by increasing cost.
+     * <br>
+     * Any of the returned paths can be highlighted with {@link #showPath(List)} or {@link #showPath(char, char, int)}.
+     * <br>
+     * The paths of the last pair of nodes are kept until the {@link #getGraphVersion() graph version} changes,
+     * so asking again for the same pair with the same or a smaller <code>k</code> skips the search.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @param k     the maximum number of paths
+     * @return the paths from <code>start</code> to <code>end</code>, or an empty list if no path exists
+     * @throws IllegalArgumentException if <code>k</code> is negative
+     *
+     * @author vittoriopiotti
+     */
+    public List<List<NodeDTO>> findKShortestPaths(String start, String end, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        KPathsTable table = kShortestPaths(start, end, k);
+        List<List<NodeDTO>> paths = new ArrayList<>();
+        for (int i = 0; i < Math.min(k, table.paths.size()); i++) {
+            paths.add(table.path(i));
+        }
+        return paths;
+    }
+
+    /**
+     * Finds up to <code>k</code> alternative paths between two nodes with single character labels,
+     * as {@link #findKShortestPaths(String, String, int)} does.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @param k     the maximum number of paths
+     * @return the paths from <code>start</code> to <code>end</code>, or an empty list if no path exists
+     * @throws IllegalArgumentException if <code>k</code> is negative
+     *
+     * @author vittoriopiotti
+     */
+    public List<List<NodeDTO>> findKShortestPaths(char start, char end, int k) {
+        return findKShortestPaths(String.valueOf(start), String.valueOf(end), k);
+    }
+
+    /**
+     * Returns the alternative paths between two nodes at the current version, searching them when the
+     * last query does not hold the first <code>k</code>.
+     * <br>
+     * Asking for more paths of the same pair at least doubles the number searched, so paging through
+     * the alternatives one at a time costs a logarithmic number of searches.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @param k     the number of paths needed
+     * @return the paths of the pair
+     *
+     * @author vittoriopiotti
+     */
+    private KPathsTable kShortestPaths(String start, String end, int k) {
+        KPathsTable table = kPathsTable;
+        boolean samePair = table != null && table.start.equals(start) && table.end.equals(end) && table.version == graphVersion;
+        if (samePair && (k <= table.k || table.paths.size() < table.k)) {
+            return table;
+        }
+        int searched = samePair ? Math.max(k, 2 * table.k) : k;
+        SnapshotTable snapshot = snapshot();
+        int s = snapshot.id(start);
+        int t = snapshot.id(end);
+        List<int[]> paths = s < 0 || t < 0 || s == t ? List.of() : KShortestPaths.find(snapshot.graph, s, t, searched);
+        table = new KPathsTable(snapshot.version, start, end, searched, snapshot.graph, paths);
+        synchronized (indexLock) {
+            if (snapshot.version == graphVersion) {
+                kPathsTable = table;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Highlights one of the alternative paths between two nodes returned by {@link #findKShortestPaths(String, String, int)}.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @param index the position of the path among the alternatives, 0 for the path with the lowest cost
+     * @return true if the path exists and was highlighted, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean showPath(String start, String end, int index) {
+        if (index < 0) {
+            return false;
+        }
+        KPathsTable table = kShortestPaths(start, end, index + 1);
+        return index < table.paths.size() && showPath(table.path(index));
+    }
+
+    /**
+     * Highlights one of the alternative paths between two nodes with single character labels,
+     * as {@link #showPath(String, String, int)} does.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @param index the position of the path among the alternatives, 0 for the path with the lowest cost
+     * @return true if the path exists and was highlighted, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean showPath(char start, char end, int index) {
+        return showPath(String.valueOf(start), String.valueOf(end), index);
+    }
+
+    /**
+     * Highlights the path with the lowest cost between two nodes.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @return true if a path exists and was highlighted, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean showPath(String start, String end) {
+        List<NodeDTO> path = findPath(start, end);
+        return path != null && showPath(path);
+    }
+
+    /**
+     * Highlights the path with the lowest cost between two nodes with single character labels.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @return true if a path exists and was highlighted, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean showPath(char start, char end) {
+        return showPath(String.valueOf(start), String.valueOf(end));
+    }
+
+    /**
+     * Finds the path with the lowest cost between two nodes with the A* algorithm,
+     * guided by the positions of the nodes on the panel.
+     * <br>
+     * The search explores first the nodes whose straight-line distance to <code>end</code>, multiplied by
+     * <code>costPerUnit</code>, keeps the total cost low. The path found has the lowest cost only if the costs
+     * are consistent with the layout, that is if no edge costs less than <code>costPerUnit</code> times its length:
+     * with a <code>costPerUnit</code> of zero the search is a plain Dijkstra search.
+     * The number of nodes expanded by the search is returned by {@link #getExpandedNodeCount()}.
+     * <br>
+     * The graph and the positions of the nodes are read once per {@link #getGraphVersion() graph version}
+     * and reused by the following searches: nodes dragged since the last change of the graph keep guiding
+     * the search from their previous positions.
+     *
+     * @param start       the label of the starting node
+     * @param end         the label of the ending node
+     * @param costPerUnit the minimum cost of a unit of distance on the panel
+     * @return the nodes of the path from <code>start</code> to <code>end</code>, or null if no path exists
+     * @throws IllegalArgumentException if <code>costPerUnit</code> is negative
+     *
+     * @author vittoriopiotti
+     */
+    public List<NodeDTO> findPathAStar(String start, String end, double costPerUnit) {
+        if (!(costPerUnit >= 0)) {
+            throw new IllegalArgumentException("costPerUnit must not be negative: " + costPerUnit);
+        }
+        expandedNodeCount = 0;
+        if (start.equals(end)) {
+            return null;
+        }
+        SnapshotTable snapshot = snapshot();
+        int s = snapshot.id(start);
+        int t = snapshot.id(end);
+        if (s < 0 || t < 0) {
+            return null;
+        }
+        DijkstraEngine<NodeDTO> engine = new DijkstraEngine<>(snapshot.graph);
+        int[] path = engine.shortestPath(s, t, snapshot.x, snapshot.y, costPerUnit);
+        expandedNodeCount = engine.expandedCount();
+        return snapshot.nodes(path);
+    }
+
+    /**
+     * Finds the path with the lowest cost between two nodes with single character labels with the A* algorithm,
+     * as {@link #findPathAStar(String, String, double)} does.
+     *
+     * @param start       the label of the starting node
+     * @param end         the label of the ending node
+     * @param costPerUnit the minimum cost of a unit of distance on the panel
+     * @return the nodes of the path from <code>start</code> to <code>end</code>, or null if no path exists
+     * @throws IllegalArgumentException if <code>costPerUnit</code> is negative
+     *
+     * @author vittoriopiotti
+     */
+    public List<NodeDTO> findPathAStar(char start, char end, double costPerUnit) {
+        return findPathAStar(String.valueOf(start), String.valueOf(end), costPerUnit);
+    }
+
+    /**
+     * Returns the number of nodes expanded by the last {@link #findPathAStar(char, char, double)} search.
+     *
+     * @return the number of expanded nodes
+     *
+     * @author vittoriopiotti
+     */
+    public int getExpandedNodeCount() {
+        return expandedNodeCount;
+    }
+
+    /**
+     * Starts building the contraction hierarchy, unless a build was already started for the given version.
+     *
+     * @param version the current version of the graph
+     *
+     * @author vittoriopiotti
+     */
+    private void startContractionHierarchyBuild(long version) {
+        synchronized (indexLock) {
+            if (hierarchyBuildVersion == version) {
+                return;
+            }
+            hierarchyBuildVersion = version;
+        }
+        buildContractionHierarchy();
+    }
+
+    /**
+     * Increments the version of the graph, discarding the path indexes built for the previous one.
+     *
+     * @author vittoriopiotti
+     */
+    private void nextGraphVersion() {
+        synchronized (indexLock) {
+            graphVersion++;
+            snapshotTable = null;
+            hierarchyTable = null;
+            allPairsTable = null;
+            reachabilityTable = null;
+            kPathsTable = null;
+        }
+    }
+
+    /**
+     * Returns the snapshot of the current version of the graph, taking it when missing.
+     * <br>
+     * The nodes and edges are read on the JavaFX application thread, which the calling thread waits for.
+     *
+     * @return the snapshot with the ids of the node labels and the positions of the nodes
+     *
+     * @author vittoriopiotti
+     */
+    private SnapshotTable snapshot() {
+        SnapshotTable table = snapshotTable;
+        if (table != null && table.version == graphVersion) {
+            return table;
+        }
+        if (Platform.isFxApplicationThread()) {
+            table = takeSnapshot();
+        } else {
+            FutureTask<SnapshotTable> task = new FutureTask<>(this::takeSnapshot);
+            Platform.runLater(task);
+            try {
+                table = task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("interrupted while reading the graph");
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("cannot read the graph", e.getCause());
+            }
+        }
+        synchronized (indexLock) {
+            if (table.version == graphVersion) {
+                snapshotTable = table;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Reads the nodes, the edges and the positions of the nodes of the graph.
+     * Must be called on the JavaFX application thread.
+     *
+     * @return the snapshot of the current version
+     *
+     * @author vittoriopiotti
+     */
+    private SnapshotTable takeSnapshot() {
+        CsrGraph<NodeDTO> csr = getGraph().toCsrGraph();
+        double[] x = new double[csr.numVertices()];
+        double[] y = new double[csr.numVertices()];
+        for (int id = 0; id < csr.numVertices(); id++) {
+            SmartGraphVertexNode<V> node = getNodeBase(getNodeId(csr.vertex(id).getLabel()));
+            if (node != null) {
+                x[id] = node.getCenterX();
+                y[id] = node.getCenterY();
+            }
+        }
+        return new SnapshotTable(graphVersion, csr, x, y);
+    }
+
+    /**
+     * Returns the version of the displayed graph.
+     * <br>
+     * The version is incremented every time nodes or edges are added, removed or rotated and every time a cost changes,
+     * so results computed at the same version are still valid.
+     *
+     * @return the version of the graph
+     *
+     * @author vittoriopiotti
+     */
+    public long getGraphVersion() {
+        return graphVersion;
+    }
+
+    /**
+     * Returns the shortest paths between every pair of nodes of the current graph.
+     * <br>
+     * The tables are computed in parallel on the first call and then reused until the
+     * {@link #getGraphVersion() graph version} changes. While they are up to date,
+     * {@link #findPath(char, char)} walks them instead of searching the graph.
+     * Vertex ids follow the order of the nodes of {@link #getGraph()}.
+     * <br>
+     * The graph is read on the JavaFX application thread and the tables are computed on the calling thread,
+     * without holding any lock, so the panel keeps responding while they are built.
+     *
+     * @return the all-pairs shortest paths of the graph
+     *
+     * @author vittoriopiotti
+     */
+    public AllPairsShortestPaths<NodeDTO> getAllPairsShortestPaths() {
+        AllPairsTable table = allPairsTable;
+        if (table == null || table.version != graphVersion) {
+            SnapshotTable snapshot = snapshot();
+            table = new AllPairsTable(snapshot.version, AllPairsShortestPaths.of(snapshot.graph));
+            synchronized (indexLock) {
+                if (snapshot.version == graphVersion) {
+                    allPairsTable = table;
+                }
+            }
+        }
+        return table.paths;
+    }
+
+    /**
+     * Returns the transitive closure of the current graph.
+     * <br>
+     * The closure is computed on the first call and then reused until the {@link #getGraphVersion() graph version}
+     * changes. Vertex ids follow the order of the nodes of {@link #getGraph()}.
+     * <br>
+     * The graph is read on the JavaFX application thread and the closure is computed on the calling thread,
+     * without holding any lock.
+     *
+     * @return the reachability oracle of the graph
+     *
+     * @author vittoriopiotti
+     */
+    public ReachabilityOracle<NodeDTO> getReachabilityOracle() {
+        return reachability().oracle;
+    }
+
+    /**
+     * Checks whether a node can reach another following the direction of the edges.
+     * <br>
+     * The answer is read in O(1) from the transitive closure of {@link #getReachabilityOracle()}.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @return true if there is a path from <code>start</code> to <code>end</code>, false otherwise or if a node does not exist
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isReachable(String start, String end) {
+        return reachability().isReachable(start, end);
+    }
+
+    /**
+     * Checks whether a node can reach another following the direction of the edges, for single character labels.
+     *
+     * @param start the label of the starting node
+     * @param end   the label of the ending node
+     * @return true if there is a path from <code>start</code> to <code>end</code>, false otherwise or if a node does not exist
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isReachable(char start, char end) {
+        return isReachable(String.valueOf(start), String.valueOf(end));
+    }
+
+    /**
+     * Retrieves the nodes that can be reached from a node following the direction of the edges, the node itself excluded.
+     * <br>
+     * Targets missing from the list can be shown as unreachable before asking for a path.
+     *
+     * @param label the label of the starting node
+     * @return a list of {@link NodeDTO} representing the reachable nodes, empty if the node does not exist
+     *
+     * @author vittoriopiotti
+     */
+    public List<NodeDTO> getReachableNodes(String label) {
+        ReachabilityTable table = reachability();
+        List<NodeDTO> nodes = new ArrayList<>();
+        NodeDTO source = table.node(label);
+        if (source != null) {
+            for (NodeDTO node : table.oracle.reachable(source)) {
+                if (!node.getLabel().equals(label)) {
+                    nodes.add(node);
+                }
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Retrieves the nodes that can be reached from a node with a single character label, the node itself excluded.
+     *
+     * @param label the label of the starting node
+     * @return a list of {@link NodeDTO} representing the reachable nodes, empty if the node does not exist
+     *
+     * @author vittoriopiotti
+     */
+    public List<NodeDTO> getReachableNodes(char label) {
+        return getReachableNodes(String.valueOf(label));
+    }
+
+    /**
+     * Returns the transitive closure of the current version, computing it when missing.
+     *
+     * @return the closure with the ids of the node labels
+     *
+     * @author vittoriopiotti
+     */
+    private ReachabilityTable reachability() {
+        ReachabilityTable table = reachabilityTable;
+        if (table == null || table.version != graphVersion) {
+            SnapshotTable snapshot = snapshot();
+            table = new ReachabilityTable(snapshot.version, ReachabilityOracle.of(snapshot.graph));
+            synchronized (indexLock) {
+                if (snapshot.version == graphVersion) {
+                    reachabilityTable = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Builds the contraction hierarchy of the current graph on a background thread.
+     * <br>
+     * The nodes and edges are read on the JavaFX application thread, which the calling thread waits for,
+     * then the hierarchy is built by the common pool without holding any lock.
+     * Once built, and as long as the {@link #getGraphVersion() graph version} does not change,
+     * {@link #findPath(char, char)} answers with two small searches over the hierarchy. Any change of the graph
+     * discards it: with {@link #setContractionHierarchyEnabled(boolean)} it is rebuilt automatically.
+     * The hierarchy is installed and used only while it is enabled.
+     *
+     * @return a future completed with true if the hierarchy is ready for the current graph,
+     *         false if the graph changed or the hierarchy was disabled while it was being built
+     *
+     * @author vittoriopiotti
+     */
+    public CompletableFuture<Boolean> buildContractionHierarchy() {
+        HierarchyTable table = hierarchyTable;
+        if (table != null && table.version == graphVersion) {
+            return CompletableFuture.completedFuture(true);
+        }
+        SnapshotTable snapshot = snapshot();
+        synchronized (indexLock) {
+            hierarchyBuildVersion = snapshot.version;
+        }
+        return CompletableFuture.supplyAsync(() -> new HierarchyTable(snapshot.version, ContractionHierarchy.of(snapshot.graph)))
+                .thenApply(built -> {
+                    synchronized (indexLock) {
+                        if (graphVersion != snapshot.version || !contractionHierarchyEnabled) {
+                            return false;
+                        }
+                        hierarchyTable = built;
+                        return true;
+                    }
+                });
+    }
+
+    /**
+     * Enables or disables the use of a contraction hierarchy by {@link #findPath(char, char)}.
+     * <br>
+     * While enabled, a path query that finds no hierarchy for the current graph falls back to a plain search
+     * and starts building one in the background, at most once per graph version.
+     *
+     * @param enabled true to answer the path queries through the contraction hierarchy
+     *
+     * @author vittoriopiotti
+     */
+    public void setContractionHierarchyEnabled(boolean enabled) {
+        long version;
+        synchronized (indexLock) {
+            contractionHierarchyEnabled = enabled;
+            if (!enabled) {
+                hierarchyTable = null;
+                hierarchyBuildVersion = -1;
+                return;
+            }
+            version = graphVersion;
+        }
+        startContractionHierarchyBuild(version);
+    }
+
+    /**
+     * Checks whether a contraction hierarchy is ready for the current graph.
+     *
+     * @return true if {@link #findPath(char, char)} can answer through the contraction hierarchy
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isContractionHierarchyReady() {
+        HierarchyTable table = hierarchyTable;
+        return contractionHierarchyEnabled && table != null && table.version == graphVersion;
+    }
+
+    /**
+     * Returns the number of {@link #findPath(char, char)} calls answered by the path cache.
+     *
+     * @return the number of cache hits
+     *
+     * @author vittoriopiotti
+     */
+    public long getPathCacheHitCount() {
+        return pathCache.getHitCount();
+    }
+
+    /**
+     * Returns the number of {@link #findPath(char, char)} calls that had to search the path.
+     *
+     * @return the number of cache misses
+     *
+     * @author vittoriopiotti
+     */
+    public long getPathCacheMissCount() {
+        return pathCache.getMissCount();
+    }
+
+    /**
+     * Sets the maximum number of paths kept by the path cache, evicting the least recently used ones.
+     *
+     * @param capacity the maximum number of cached paths
+     * @throws IllegalArgumentException if the capacity is not positive
+     *
+     * @author vittoriopiotti
+     */
+    public void setPathCacheCapacity(int capacity) {
+        pathCache.setCapacity(capacity);
+    }
+
+    /**
+     * Pins a node as a source whose shortest paths to every other node are kept up to date.
+     * <br>
+     * The shortest path tree of a pinned source is computed once; afterwards every change of the graph
+     * repairs only the part of the tree it affects instead of searching again, so frequently asked sources,
+     * such as a depot, stay cheap to query while the graph is being edited.
+     * {@link #findPath(char, char)} reads the paths from a pinned source directly from its tree.
+     * Deleting the node unpins it.
+     * <br>
+     * The trees are repaired assuming that no cost is negative: no source can be pinned while an edge has
+     * a negative cost, and all the sources are unpinned as soon as one does.
+     *
+     * @param label the label of the node to pin
+     * @return true if the node is pinned, false if it does not exist or an edge has a negative cost
+     *
+     * @author vittoriopiotti
+     */
+    public boolean pinSource(String label) {
+        synchronized (graphArcs) {
+            int id = getNodeId(label);
+            if (!isExistNode(id) || negativeArcCount > 0) {
+                return false;
+            }
+            DynamicShortestPathTree tree = pinnedTrees.get(label);
+            if (tree != null && tree.source() == id) {
+                return true;
+            }
+            tree = new DynamicShortestPathTree(id);
+            for (Map.Entry<Long, List<Integer>> arc : graphArcs.entrySet()) {
+                tree.setArc((int) (arc.getKey() >>> 32), arc.getKey().intValue(), Collections.min(arc.getValue()));
+            }
+            pinnedTrees.put(label, tree);
+            return true;
+        }
+    }
+
+    /**
+     * Pins a node with a single character label as a source, as {@link #pinSource(String)} does.
+     *
+     * @param label the label of the node to pin
+     * @return true if the node is pinned, false if it does not exist or an edge has a negative cost
+     *
+     * @author vittoriopiotti
+     */
+    public boolean pinSource(char label) {
+        return pinSource(String.valueOf(label));
+    }
+
+    /**
+     * Unpins a source pinned by {@link #pinSource(String)}, discarding its shortest path tree.
+     *
+     * @param label the label of the pinned node
+     * @return true if the node was pinned
+     *
+     * @author vittoriopiotti
+     */
+    public boolean unpinSource(String label) {
+        synchronized (graphArcs) {
+            return pinnedTrees.remove(label) != null;
+        }
+    }
+
+    /**
+     * Unpins a source with a single character label, as {@link #unpinSource(String)} does.
+     *
+     * @param label the label of the pinned node
+     * @return true if the node was pinned
+     *
+     * @author vittoriopiotti
+     */
+    public boolean unpinSource(char label) {
+        return unpinSource(String.valueOf(label));
+    }
+
+    /**
+     * Checks whether a node is pinned as a source by {@link #pinSource(String)}.
+     *
+     * @param label the label of the node
+     * @return true if the node is pinned
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isPinnedSource(String label) {
+        synchronized (graphArcs) {
+            return pinnedTrees.containsKey(label);
+        }
+    }
+
+    /**
+     * Checks whether a node with a single character label is pinned as a source.
+     *
+     * @param label the label of the node
+     * @return true if the node is pinned
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isPinnedSource(char label) {
+        return isPinnedSource(String.valueOf(label));
+    }
+
+    /**
+     * Returns the cost of the shortest path from a pinned source to a node.
+     *
+     * @param source the label of the pinned source
+     * @param target the label of the target node
+     * @return the cost of the path, or -1 if the source is not pinned or the node cannot be reached
+     *
+     * @author vittoriopiotti
+     */
+    public int getPinnedDistance(String source, String target) {
+        synchronized (graphArcs) {
+            DynamicShortestPathTree tree = pinnedTrees.get(source);
+            if (tree == null) {
+                return -1;
+            }
+            int distance = tree.distance(getNodeId(target));
+            return distance == DynamicShortestPathTree.UNREACHABLE ? -1 : distance;
+        }
+    }
+
+    /**
+     * Returns the cost of the shortest path from a pinned source to a node, for single character labels.
+     *
+     * @param source the label of the pinned source
+     * @param target the label of the target node
+     * @return the cost of the path, or -1 if the source is not pinned or the node cannot be reached
+     *
+     * @author vittoriopiotti
+     */
+    public int getPinnedDistance(char source, char target) {
+        return getPinnedDistance(String.valueOf(source), String.valueOf(target));
+    }
+
+    /**
+     * Returns the shortest path from a pinned source to a node, read from the shortest path tree of the source.
+     *
+     * @param source the label of the pinned source
+     * @param target the label of the target node
+     * @return the nodes of the path from <code>source</code> to <code>target</code>, or null
+     *         if the source is not pinned, the two nodes are the same or no path exists
+     *
+     * @author vittoriopiotti
+     */
+    public List<NodeDTO> getPinnedPath(String source, String target) {
+        synchronized (graphArcs) {
+            DynamicShortestPathTree tree = pinnedTrees.get(source);
+            if (tree == null || source.equals(target)) {
+                return null;
+            }
+            int[] path = tree.pathTo(getNodeId(target));
+            if (path == null) {
+                return null;
+            }
+            List<NodeDTO> nodes = new ArrayList<>(path.length);
+            for (int id : path) {
+                nodes.add(new NodeDTO(nodeIds.labelOf(id)));
+            }
+            return nodes;
+        }
+    }
+
+    /**
+     * Returns the shortest path from a pinned source to a node, for single character labels.
+     *
+     * @param source the label of the pinned source
+     * @param target the label of the target node
+     * @return the nodes of the path from <code>source</code> to <code>target</code>, or null
+     *         if the source is not pinned, the two nodes are the same or no path exists
+     *
+     * @author vittoriopiotti
+     */
+    public List<NodeDTO> getPinnedPath(char source, char target) {
+        return getPinnedPath(String.valueOf(source), String.valueOf(target));
+    }
+
+    /**
+     * Adds the arcs of a displayed edge to {@link #graphArcs}, to the connectivity index
+     * and to the trees of the pinned sources.
+     *
+     * @param node the visual representation of the edge
+     *
+     * @author vittoriopiotti
+     */
+    private void addEdgeArcs(SmartGraphEdgeBase<E, V> node) {
+        long key = arcKey(node);
+        if (key == -1) {
+            return;
+        }
+        synchronized (graphArcs) {
+            addGraphArc(key, node.getCost());
+            if (node.getDirection() == Constants.BIDIRECTIONAL) {
+                addGraphArc(pairKey((int) key, (int) (key >>> 32)), node.getCost());
+            }
+        }
+    }
+
+    /**
+     * Removes the arcs of a displayed edge from {@link #graphArcs}, from the connectivity index
+     * and from the trees of the pinned sources.
      *
-     * @param file the file to which the graph data will be written
-     * @return a status code indicating the result of the operation:
-     *         - {@link Constants#SUCCESS} if the download was successful
-     *         - {@link Constants#ERROR} if an error occurred during download
-     *         - {@link Constants#INTERRUPTED} if the file is null
+     * @param node the visual representation of the edge
      *
      * @author vittoriopiotti
      */
-    public int downloadJSON(File file) {
-        return downloadJSON(file,getGraph());
+    private void removeEdgeArcs(SmartGraphEdgeBase<E, V> node) {
+        long key = arcKey(node);
+        if (key == -1) {
+            return;
+        }
+        synchronized (graphArcs) {
+            removeGraphArc(key, node.getCost());
+            if (node.getDirection() == Constants.BIDIRECTIONAL) {
+                removeGraphArc(pairKey((int) key, (int) (key >>> 32)), node.getCost());
+            }
+        }
     }
 
     /**
-     * Downloads the given graph data to a JSON file, using a file chooser dialog.
+     * Returns the ordered pair of node ids an edge goes along, with the same orientation as {@link #getGraph()}.
      *
-     * @param window the parent window for the file chooser dialog
-     * @param dto the graph data to be downloaded
-     * @return a status code indicating the result of the operation:
-     *         - {@link Constants#SUCCESS} if the download was successful
-     *         - {@link Constants#ERROR} if an error occurred during download
-     *         - {@link Constants#INTERRUPTED} if no file was selected
+     * @param node the visual representation of the edge
+     * @return the key of the ordered pair, or -1 if one of its nodes is not displayed
      *
      * @author vittoriopiotti
      */
-    public int downloadJSON(Window window,GraphDTO dto) {
-        FileChooser fileChooser = new FileChooser();
-        fileChooser.setTitle("Save JSON File");
-        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("JSON Files", "*.json"));
-        fileChooser.setInitialFileName("graph.json");
-        File file = fileChooser.showSaveDialog(window);
-        if (file != null) {
-            try (FileWriter fileWriter = new FileWriter(file)) {
-                fileWriter.write(dto.getGraphJson());
-                return Constants.SUCCESS;
-            } catch (IOException ignored) {
-                return Constants.ERROR;
-            }
-        } else {
-            return Constants.INTERRUPTED;
-        }
+    private long arcKey(SmartGraphEdgeBase<E, V> node) {
+        return !(node instanceof SmartGraphEdgeLine) && node.getDirection() != Constants.OPPOSITE_DIRECTION
+                ? pairKey(node.getInbound(), node.getOutbound())
+                : pairKey(node.getOutbound(), node.getInbound());
     }
 
     /**
-     * Downloads the given graph data to a specified JSON file.
+     * Adds an arc to {@link #graphArcs}, adding the pair to the connectivity index when it is new
+     * and repricing it in the trees of the pinned sources when it becomes cheaper.
+     * A negative cost unpins all the sources.
      *
-     * @param file the file to which the graph data will be written
-     * @param dto the graph data to be downloaded
-     * @return a status code indicating the result of the operation:
-     *         - {@link Constants#SUCCESS} if the download was successful
-     *         - {@link Constants#ERROR} if an error occurred during download
-     *         - {@link Constants#INTERRUPTED} if the file is null
+     * @param key  the ordered pair of node ids
+     * @param cost the cost of the arc
      *
      * @author vittoriopiotti
      */
-    public int downloadJSON(File file,GraphDTO dto) {
-        if (file != null) {
-            try (FileWriter fileWriter = new FileWriter(file)) {
-                fileWriter.write(dto.getGraphJson());
-                return Constants.SUCCESS;
-            } catch (IOException ignored) {
-                return Constants.ERROR;
-            }
-        } else {
-            return Constants.INTERRUPTED;
+    private void addGraphArc(long key, int cost) {
+        int from = (int) (key >>> 32);
+        int to = (int) key;
+        if (cost < 0) {
+            negativeArcCount++;
+            pinnedTrees.clear();
+        }
+        List<Integer> costs = graphArcs.get(key);
+        if (costs == null) {
+            costs = new ArrayList<>(1);
+            graphArcs.put(key, costs);
+            connectivity.addArc(from, to);
+        } else if (cost >= Collections.min(costs)) {
+            costs.add(cost);
+            return;
+        }
+        costs.add(cost);
+        for (DynamicShortestPathTree tree : pinnedTrees.values()) {
+            tree.setArc(from, to, cost);
         }
     }
 
-
-
-
     /**
-     * Highlights the specified path in the graph by applying styles to the vertices and edges.
-     *
-     * This method activates all nodes, applies a dashed style to all edges, and updates the style
-     * of the nodes and edges that are part of the provided path. If any node in the path does not exist,
-     * the method will return false.
+     * Removes an arc from {@link #graphArcs}, removing the pair from the connectivity index when it was the last one
+     * and repricing or removing it in the trees of the pinned sources.
      *
-     * @param lpn a list of NodeDTO objects representing the path to highlight
-     * @return true if the path was successfully highlighted; false if any node in the path does not exist
+     * @param key  the ordered pair of node ids
+     * @param cost the cost of the arc
      *
      * @author vittoriopiotti
      */
-    @SuppressWarnings("all")
-    public boolean showPath(List<NodeDTO> lpn) {
-        try {
-            char n = lpn.get(0).getLabel();
-            if (isExistNode(n)) {
-                activeAllNodes();
-                for (Edge<E, V> e : edgeNodes.keySet()) {
-                    edgeNodes.get(e).applyDashStyle();
-                }
-                SmartGraphVertexNode<V> vn = getNodeBase(n);
-                vn.removeStyleClass("vertex");
-                vn.removeStyleClass("vertex-deactivated");
-                vn.removeStyleClass("vertex-deactivated-first");
-                vn.addStyleClass("vertex-hover");
-                for (int i = 1; i < lpn.size(); i++) {
-                    char _n = lpn.get(i).getLabel();
-                    n = lpn.get(i - 1).getLabel();
-                    if (isExistNode(n) && isExistNode(_n)) {
-                        vn = getNodeBase(n);
-                        SmartGraphVertexNode<V> _vn = getNodeBase(_n);
-                        for (Edge<E, V> e : edgeNodes.keySet()) {
-
-                                if (isDoubleEdge(e)) {
-                                    if (edgeNodes.get(e).getDirection() == Constants.NATURAL_DIRECTION && isEqualEdge(edgeNodes.get(e), _vn, vn)) {
-                                        edgeNodes.get(e).resetStyle();
-                                    } else if (edgeNodes.get(e).getDirection() == Constants.OPPOSITE_DIRECTION && isEqualEdge(edgeNodes.get(e), _vn, vn)) {
-                                        getOppositeEdge(edgeNodes.get(e)).resetStyle();
-                                    }
-                                } else if (e.getDirection() == Constants.BIDIRECTIONAL
-                                        ? isConnectedEdge(edgeNodes.get(e), vn, _vn)
-                                        : isEqualEdge(edgeNodes.get(e), vn, _vn)
-                                ) {
-                                    edgeNodes.get(e).resetStyle();
-                                }
-                        }
-
-                        _vn.removeStyleClass("vertex");
-                        _vn.removeStyleClass("vertex-deactivated");
-                        _vn.removeStyleClass("vertex-deactivated-first");
-                        _vn.addStyleClass("vertex-hover");
-                    } else {
-                        return false;
-                    }
-                }
-                return true;
+    private void removeGraphArc(long key, int cost) {
+        int from = (int) (key >>> 32);
+        int to = (int) key;
+        List<Integer> costs = graphArcs.get(key);
+        if (costs == null || !costs.remove(Integer.valueOf(cost))) {
+            return;
+        }
+        if (cost < 0) {
+            negativeArcCount--;
+        }
+        if (costs.isEmpty()) {
+            graphArcs.remove(key);
+            connectivity.removeArc(from, to);
+            for (DynamicShortestPathTree tree : pinnedTrees.values()) {
+                tree.removeArc(from, to);
+            }
+            return;
+        }
+        int min = Collections.min(costs);
+        if (min > cost) {
+            for (DynamicShortestPathTree tree : pinnedTrees.values()) {
+                tree.setArc(from, to, min);
             }
-            return false;
-        } catch (Exception ignored) {
         }
-        return false;
     }
 
 
@@ -2763,7 +5127,7 @@ public class SmartGraphPanel<V, E> extends Pane {
             scaleTransition.setOnFinished(event -> {
                 if (!vertexNodes.isEmpty()) {
                     do {
-                        deleteNode(getLastElement());
+                        deleteNode(getNodeId(getLastElement()));
                     } while (!vertexNodes.isEmpty());
                 }
                 this.setScaleX(1.0);
@@ -2836,12 +5200,12 @@ public class SmartGraphPanel<V, E> extends Pane {
         List<NodeDTO> nodes = new ArrayList<>();
         List<EdgeDTO> edges = new ArrayList<>();
         vertexNodes.keySet().forEach(v -> {
-            char label = vertexNodes.get(v).getAttachedLabel().getText().charAt(0);
+            String label = vertexNodes.get(v).getAttachedLabel().getText();
             nodes.add(new NodeDTO(label));
         });
         for (Edge<E,V> e : edgeNodes.keySet()) {
-            char i = edgeNodes.get(e).getInbound().getAttachedLabel().getText().charAt(0);
-            char o = edgeNodes.get(e).getOutbound().getAttachedLabel().getText().charAt(0);
+            String i = edgeNodes.get(e).getInbound().getAttachedLabel().getText();
+            String o = edgeNodes.get(e).getOutbound().getAttachedLabel().getText();
             int d = edgeNodes.get(e).getDirection();
             int l = edgeNodes.get(e).getCost();
             edges.add(new EdgeDTO(
@@ -2972,6 +5336,19 @@ public class SmartGraphPanel<V, E> extends Pane {
      * c
      */
     public boolean isDoubleEdge(char start, char end) {
+        return isDoubleEdge(getNodeId(start), getNodeId(end));
+    }
+
+    /**
+     * Checks if the edge connecting the nodes with the given ids is a double edge.
+     *
+     * @param start the id of the starting node of the edge
+     * @param end the id of the ending node of the edge
+     * @return true if the edge is a double edge; false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isDoubleEdge(int start, int end) {
         SmartGraphEdgeBase<E,V> eb = edgeNodes.get(getSpecificEdge(start, end));
         return eb != null && !(eb instanceof SmartGraphEdgeLine);
     }
@@ -2989,7 +5366,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean isDoubleEdge(EdgeDTO edge){
-        return isDoubleEdge(edge.getFrom(),edge.getTo());
+        return isDoubleEdge(getNodeId(edge.getFrom()), getNodeId(edge.getTo()));
     }
 
     /**
@@ -3005,7 +5382,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean isDoubleEdge(NodeDTO start, NodeDTO end){
-        return isDoubleEdge(start.getLabel(),end.getLabel());
+        return isDoubleEdge(getNodeId(start.getLabel()), getNodeId(end.getLabel()));
     }
 
     /**
@@ -3022,29 +5399,30 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     private Edge<E,V> getSpecificEdge(char v1,char v2){
-        try {
-            SmartGraphVertexNode<V> vb1 = getNodeBase(v1);
-            SmartGraphVertexNode<V> vb2 = getNodeBase(v2);
-            for (Edge<E, V> e : edgeNodes.keySet()) {
-                if(isDoubleEdge(e)){
-                    if(isEqualEdge(edgeNodes.get(e),vb2,vb1) && edgeNodes.get(e).getDirection() == Constants.NATURAL_DIRECTION ) {
-                        return e;
-                    }else if(isEqualEdge(edgeNodes.get(e),vb1,vb2)) {
-                        return e;
-                    }
-                }else {
-                    if(isConnectedEdge(edgeNodes.get(e), vb2, vb1)) {
-                        if(edgeNodes.get(e).getDirection() == Constants.BIDIRECTIONAL){
-                            return e;
-                        }else{
-                            if(isEqualEdge(edgeNodes.get(e),vb1,vb2)){
-                                return e;
-                            }
-                        }
-                    }
-                }
+        return getSpecificEdge(getNodeId(v1), getNodeId(v2));
+    }
+
+    /**
+     * Retrieves a specific edge between two vertices identified by their ids.
+     *
+     * @param v1 the id of the first vertex
+     * @param v2 the id of the second vertex
+     * @return the Edge<E, V> connecting the specified vertices, or null if none exists
+     *
+     * @author vittoriopiotti
+     */
+    private Edge<E,V> getSpecificEdge(int v1,int v2){
+        //any edge going v1 ---> v2 matches
+        List<Edge<E, V>> forward = getEdgesFromTo(v1, v2);
+        if (!forward.isEmpty()) {
+            return forward.get(0);
+        }
+        //an edge going v2 ---> v1 matches if it is a natural curve or a bidirectional line
+        for (Edge<E, V> e : getEdgesFromTo(v2, v1)) {
+            SmartGraphEdgeBase<E, V> eb = edgeNodes.get(e);
+            if (isDoubleEdge(e) ? eb.getDirection() == Constants.NATURAL_DIRECTION : eb.getDirection() == Constants.BIDIRECTIONAL) {
+                return e;
             }
-        }catch (Exception ignored){
         }
         return null;
     }
@@ -3065,15 +5443,28 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     private Edge<E,V> getGenericEdge(char v1,char v2){
-        try {
-            SmartGraphVertexNode<V> vb1 = getNodeBase(v1);
-            SmartGraphVertexNode<V> vb2 = getNodeBase(v2);
-            for (Edge<E, V> e : edgeNodes.keySet()) {
-                if(!isDoubleEdge(e) && isConnectedEdge(edgeNodes.get(e),vb2,vb1) ) {
-                        return e;
-                    }
+        return getGenericEdge(getNodeId(v1), getNodeId(v2));
+    }
+
+    /**
+     * Retrieves a generic edge connecting two vertices represented by their ids.
+     *
+     * @param v1 the first vertex id
+     * @param v2 the second vertex id
+     * @return the edge connecting the specified vertices, or null if no such edge exists
+     *
+     * @author vittoriopiotti
+     */
+    private Edge<E,V> getGenericEdge(int v1,int v2){
+        for (Edge<E, V> e : getEdgesFromTo(v1, v2)) {
+            if (!isDoubleEdge(e)) {
+                return e;
+            }
+        }
+        for (Edge<E, V> e : getEdgesFromTo(v2, v1)) {
+            if (!isDoubleEdge(e)) {
+                return e;
             }
-        }catch (Exception ignored){
         }
         return null;
     }
@@ -3085,6 +5476,8 @@ public class SmartGraphPanel<V, E> extends Pane {
 
     /**
      * Retrieves the node base corresponding to a specified vertex character.
+     * <br>
+     * The lookup goes through the label index, so it runs in constant time.
      *
      * @param v the vertex character to search for
      * @return the SmartGraphVertexNode associated with the specified vertex character, or null if not found
@@ -3092,12 +5485,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     private SmartGraphVertexNode<V> getNodeBase(char v){
-        for (Vertex<V> e : vertexNodes.keySet()) {
-            if(vertexNodes.get(e).getAttachedLabel().getText().charAt(0) == v){
-                return vertexNodes.get(e);
-            }
-        }
-        return null;
+        return getNodeBase(getNodeId(v));
     }
 
 
@@ -3117,34 +5505,28 @@ public class SmartGraphPanel<V, E> extends Pane {
             SmartGraphVertexNode<V> vb1 = vertexNodes.get(v1);
             SmartGraphVertexNode<V> vb2 = vertexNodes.get(v2);
             boolean flag = false;
-            for (Edge<E, V> e : edgeNodes.keySet()) {
-                if (isConnectedEdge(edgeNodes.get(e), vb2, vb1)) {
-                    if (e.getDirection() == Constants.BIDIRECTIONAL) {
-                        flag = true;
-                        rotateEdge(e);
-                        break;
-                    }
+            for (Edge<E, V> e : getEdgesBetween(vb1, vb2)) {
+                if (e.getDirection() == Constants.BIDIRECTIONAL) {
+                    flag = true;
+                    rotateEdge(e);
+                    break;
                 }
             }
             if (flag) {
                 adjustEdgeDirection(vb1, vb2);
             }
             Edge<E, V> e = highLevelStaticEdgeCreation(v1, v2, cost,isArrowed);
-            for (Edge<E, V> e2 : edgeNodes.keySet()) {
-                if (isConnectedEdge(edgeNodes.get(e2), vb2, vb1)) {
-                    if (!e.equals(e2)) {
-                        rotateEdge(e2);
-                        rotateEdge(e);
-                        break;
-                    }
+            for (Edge<E, V> e2 : getEdgesBetween(vb1, vb2)) {
+                if (!e.equals(e2)) {
+                    rotateEdge(e2);
+                    rotateEdge(e);
+                    break;
                 }
             }
             adjustEdgeDirection(vb2, vb1);
-            for (Edge<E, V> e2 : edgeNodes.keySet()) {
-                if (isConnectedEdge(edgeNodes.get(e2), vb2, vb1)) {
-                    edgeNodes.get(e2).getInbound().forceMoveToFixBugOnSplit();
-                    break;
-                }
+            List<Edge<E, V>> between = getEdgesBetween(vb1, vb2);
+            if (!between.isEmpty()) {
+                edgeNodes.get(between.get(0)).getInbound().forceMoveToFixBugOnSplit();
             }
             return true;
         }
@@ -3160,11 +5542,9 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     private void adjustEdgeDirection(SmartGraphVertexNode<V> vb1,SmartGraphVertexNode<V> vb2){
-        for (Edge<E,V> e : edgeNodes.keySet()) {
-            if(isEqualEdge(edgeNodes.get(e),vb1,vb2)){
-                rotateEdge(e);
-                break;
-            }
+        List<Edge<E, V>> edges = getEdgesFromTo(vb1, vb2);
+        if (!edges.isEmpty()) {
+            rotateEdge(edges.get(0));
         }
     }
 
@@ -3194,7 +5574,23 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     private boolean isEqualEdge(SmartGraphEdgeBase <E,V> e, char v1, char v2  ) {
-        return e != null && (e.getInbound().getAttachedLabel().getText().charAt(0) == v1 && e.getOutbound().getAttachedLabel().getText().charAt(0) == v2);
+        return isEqualEdge(e, getNodeId(v1), getNodeId(v2));
+    }
+
+    /**
+     * Checks if an edge goes into the node with id <code>v1</code> and out of the node with id <code>v2</code>.
+     *
+     * @param e the edge to compare
+     * @param v1 the id of the inbound vertex node
+     * @param v2 the id of the outbound vertex node
+     * @return true if the edges are equal, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    private boolean isEqualEdge(SmartGraphEdgeBase <E,V> e, int v1, int v2  ) {
+        SmartGraphVertexNode<V> inbound = getNodeBase(v1);
+        SmartGraphVertexNode<V> outbound = getNodeBase(v2);
+        return e != null && inbound != null && outbound != null && e.getInbound() == inbound && e.getOutbound() == outbound;
     }
 
     /**
@@ -3261,12 +5657,19 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean isExistNode(char v){
-        for(Vertex<V> vv : vertexNodes.keySet()){
-            if(vertexNodes.get(vv).getAttachedLabel().getText().charAt(0) == v){
-                return true;
-            }
-        }
-        return false;
+        return isExistNode(getNodeId(v));
+    }
+
+    /**
+     * Checks if a node with the specified id exists.
+     *
+     * @param id the id of the node
+     * @return true if the node exists, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isExistNode(int id){
+        return getNodeBase(id) != null;
     }
 
     /**
@@ -3278,7 +5681,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean isExistNode(NodeDTO node){
-       return isExistNode(node.getLabel());
+       return isExistNode(getNodeId(node.getLabel()));
     }
 
     /**
@@ -3328,13 +5731,9 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     private boolean isExistEdge(Vertex<V> v2, Vertex<V> v1){
-        //search edge
-        for (Edge<E,V> e : edgeNodes.keySet()) {
-            if(
-                    edgeNodes.get(e).getInbound() == vertexNodes.get(v1) &&                        //edge with inbound node
-                            edgeNodes.get(e).getOutbound() == vertexNodes.get(v2) &&               //edge with outbound node
-                            edgeNodes.get(e).getDirection() != Constants.BIDIRECTIONAL    //edge not bidirectional
-            ){
+        //search edge v2 ---> v1
+        for (Edge<E,V> e : getEdgesFromTo(vertexNodes.get(v2), vertexNodes.get(v1))) {
+            if(edgeNodes.get(e).getDirection() != Constants.BIDIRECTIONAL){     //edge not bidirectional
                 return true;            //exist edge
             }
         }
@@ -3352,6 +5751,19 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean isEdgeToRename(char v1,char v2){
+        return isEdgeToRename(getNodeId(v1), getNodeId(v2));
+    }
+
+    /**
+     * Checks if an edge needs to be renamed based on the ids of its vertices.
+     *
+     * @param v1 the id of the first vertex
+     * @param v2 the id of the second vertex
+     * @return true if the edge is to be renamed, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isEdgeToRename(int v1,int v2){
         try {
             SmartGraphVertexNode<V> vb1 = getNodeBase(v1);
             SmartGraphVertexNode<V> vb2 = getNodeBase(v2);
@@ -3380,7 +5792,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean isEdgeToRename(EdgeDTO edge){
-        return isEdgeToRename(edge.getFrom(), edge.getTo());
+        return isEdgeToRename(getNodeId(edge.getFrom()), getNodeId(edge.getTo()));
     }
 
     /**
@@ -3391,7 +5803,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @return true if the edge can be renamed, false otherwise
      */
     public boolean isEdgeToRename(NodeDTO start, NodeDTO end){
-        return isEdgeToRename(start.getLabel(), end.getLabel());
+        return isEdgeToRename(getNodeId(start.getLabel()), getNodeId(end.getLabel()));
     }
 
     /**
@@ -3404,6 +5816,19 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean isExistEdge(char start, char end){
+        return isExistEdge(getNodeId(start), getNodeId(end));
+    }
+
+    /**
+     * Checks if an edge exists between the nodes with the specified ids.
+     *
+     * @param start the id of the outbound node
+     * @param end the id of the inbound node
+     * @return true if the edge exists, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isExistEdge(int start, int end){
         if(isDoubleEdge(start,end)){
             return isConnectedEdge(start,end);
         }else{
@@ -3422,7 +5847,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean isExistEdge(NodeDTO start, NodeDTO end){
-        return isExistEdge(start.getLabel(), end.getLabel());
+        return isExistEdge(getNodeId(start.getLabel()), getNodeId(end.getLabel()));
 
     }
 
@@ -3441,7 +5866,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean isExistEdge(EdgeDTO edge) {
-        return isExistEdge(edge.getFrom(), edge.getTo());
+        return isExistEdge(getNodeId(edge.getFrom()), getNodeId(edge.getTo()));
     }
 
 
@@ -3473,19 +5898,18 @@ public class SmartGraphPanel<V, E> extends Pane {
     /**
      * Retrieves the last element from the vertex nodes based on their order.
      *
-     * @return the character of the last vertex label
+     * @return the label of the last vertex
      * @throws NullPointerException if there are no vertex nodes
      *
      * @author vittoriopiotti
      */
-    public char getLastElement() {
+    public String getLastElement() {
         return Objects.requireNonNull(vertexNodes.values()
                         .stream()
                         .reduce((first, second) -> second)
                         .orElse(null))
                 .getAttachedLabel()
-                .getText()
-                .charAt(0);
+                .getText();
     }
 
 
@@ -3501,9 +5925,23 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public void setGraph(GraphDTO pseudoGraph){
+        journaled(() -> {
+            _setGraph(pseudoGraph);
+            return true;
+        }, journal -> journal.compact(getGraph()));
+    }
+
+    /**
+     * Sets the graph as {@link #setGraph(GraphDTO)} does, without recording the edit in the journal.
+     *
+     * @param pseudoGraph the GraphDTO object containing the new graph data
+     *
+     * @author vittoriopiotti
+     */
+    private void _setGraph(GraphDTO pseudoGraph){
         if (!vertexNodes.isEmpty()) {
             do {
-                deleteNode(getLastElement());
+                deleteNode(getNodeId(getLastElement()));
             } while (!vertexNodes.isEmpty());
         }
         for (NodeDTO node : pseudoGraph.getNodes()) {
@@ -3524,6 +5962,21 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public void setGraph(GraphDTO pseudoGraph, boolean isAnimated){
+        setGraph(pseudoGraph, isAnimated, () -> {
+        });
+    }
+
+    /**
+     * Sets the graph structure using a provided GraphDTO object, with an option for animation,
+     * running a callback once the new graph is displayed.
+     *
+     * @param pseudoGraph the GraphDTO object containing the new graph data
+     * @param isAnimated indicates if the transition should be animated
+     * @param onApplied called on the JavaFX application thread once the new graph is set
+     *
+     * @author vittoriopiotti
+     */
+    private void setGraph(GraphDTO pseudoGraph, boolean isAnimated, Runnable onApplied){
         if(isAnimated) {
 
                 adjustPosition.handle();
@@ -3536,6 +5989,7 @@ public class SmartGraphPanel<V, E> extends Pane {
                 scaleTransition.setToY(0.0);
                 scaleTransition.setOnFinished(event -> {
                     setGraph(pseudoGraph);
+                    onApplied.run();
                     ScaleTransition scaleTransition2 = new ScaleTransition(Duration.seconds(0.5), this);
                     scaleTransition2.setFromX(0.0);
                     scaleTransition2.setFromY(0.0);
@@ -3546,6 +6000,7 @@ public class SmartGraphPanel<V, E> extends Pane {
                 scaleTransition.play();
         }else{
                 setGraph(pseudoGraph);
+                onApplied.run();
         }
 
     }
@@ -3591,21 +6046,26 @@ public class SmartGraphPanel<V, E> extends Pane {
 
 
     /**
-     * Returns the {@code Vertex<V>} node that has an associated label
-     * whose first character matches the specified character.
+     * Returns the {@code Vertex<V>} node whose label is the specified character.
+     * <br>
+     * The lookup goes through the label index, so it runs in constant time.
      *
-     * @param c the character to search for at the beginning of the label associated with the node
-     * @return the {@code Vertex<V>} node whose associated label's first character matches
-     *         the specified character, or {@code null} if no matching node is found
-     * @throws NullPointerException if the label associated with a node or the text of the label is {@code null}
+     * @param c the label of the node
+     * @return the {@code Vertex<V>} node with the specified label, or {@code null} if no matching node is found
      */
     private Vertex<V> getNode(char c){
-        for(Vertex<V> v : vertexNodes.keySet()){
-            if(vertexNodes.get(v).getAttachedLabel().getText().charAt(0) == c){
-                return v;
-            }
-        }
-        return null;
+        return getNode(getNodeId(c));
+    }
+
+    /**
+     * Returns the {@code Vertex<V>} node with the given id.
+     *
+     * @param id the id of the node
+     * @return the {@code Vertex<V>} node with the given id, or {@code null} if no matching node is found
+     */
+    private Vertex<V> getNode(int id){
+        SmartGraphVertexNode<V> node = getNodeBase(id);
+        return node != null ? node.getUnderlyingVertex() : null;
     }
 
     /**
@@ -3614,14 +6074,26 @@ public class SmartGraphPanel<V, E> extends Pane {
      * indicating the vertex is now active. If the "vertex-deactivated-first" style class exists,
      * it will be removed, and the vertex will be marked as deactivated first.
      *
-     * @param c the character of label vertex to check
+     * @param c the character of label vertex to check
+     * @return true if the vertex is active, false otherwise
+     *
+     * @author vittoriopiotti
+     */
+    public boolean isActiveNode(char c){
+        return isActiveNode(getNodeId(c));
+    }
+
+    /**
+     * Checks if the vertex with the given id is active.
+     *
+     * @param id the id of the vertex to check
      * @return true if the vertex is active, false otherwise
      *
      * @author vittoriopiotti
      */
-    public boolean isActiveNode(char c){
+    public boolean isActiveNode(int id){
         try {
-            Vertex<V> v = getNode(c);
+            Vertex<V> v = getNode(id);
             if(v != null){
                 return isActiveNode(v);
             }
@@ -3638,7 +6110,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @return true if the node is active in the graph, false otherwise
      */
     public boolean isActiveNode(NodeDTO node){
-       return isActiveNode(node.getLabel());
+       return isActiveNode(getNodeId(node.getLabel()));
     }
 
 
@@ -3731,29 +6203,32 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @return the {@code Edge<E, V>} connecting the start and end nodes, or {@code null} if no such edge is found.
      */
     private Edge<E,V> _getEdge(char start,char end){
-        for(Edge<E,V> e : edgeNodes.keySet()){
-            SmartGraphEdgeBase<E,V> eb = edgeNodes.get(e);
-            if(isDoubleEdge(e)){
-                if(e.getDirection() == Constants.NATURAL_DIRECTION){
-                    if(isEqualEdge(eb,start,end)){
-                        return e;
-                    }
-                }else{
-                    if(isEqualEdge(getOppositeEdge(eb),start,end)){
-                        return e;
-                    }
-                }
+        return _getEdge(getNodeId(start), getNodeId(end));
+    }
 
-            }else{
-                if(eb.getDirection() == Constants.BIDIRECTIONAL){
-                    if(isEqualEdge(eb,start,end) || isEqualEdge(eb,end,start)){
-                        return e;
-                    }
-                }else{
-                    if(isEqualEdge(eb,start,end)){
-                        return e;
-                    }
+    /**
+     * Retrieves the edge between the nodes with the specified ids.
+     *
+     * @param start the id of the start node.
+     * @param end the id of the end node.
+     * @return the {@code Edge<E, V>} connecting the start and end nodes, or {@code null} if no such edge is found.
+     */
+    private Edge<E,V> _getEdge(int start,int end){
+        //edges going end ---> start: natural curves and any line
+        List<Edge<E, V>> backward = getEdgesFromTo(end, start);
+        for (Edge<E, V> e : backward) {
+            if (!isDoubleEdge(e) || e.getDirection() == Constants.NATURAL_DIRECTION) {
+                return e;
+            }
+        }
+        //edges going start ---> end: curves with an opposite curve and bidirectional lines
+        for (Edge<E, V> e : getEdgesFromTo(start, end)) {
+            if (isDoubleEdge(e)) {
+                if (e.getDirection() != Constants.NATURAL_DIRECTION && !backward.isEmpty()) {
+                    return e;
                 }
+            } else if (edgeNodes.get(e).getDirection() == Constants.BIDIRECTIONAL) {
+                return e;
             }
         }
         return null;
@@ -3771,8 +6246,20 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean disabledConnectionsWithNode(char label){
+        return disabledConnectionsWithNode(getNodeId(label));
+    }
+
+    /**
+     * Disables all connections with the vertex with the given id.
+     *
+     * @param id the id of the vertex to disable connections for
+     * @return true if the connections were successfully disabled, false if the vertex does not exist
+     *
+     * @author vittoriopiotti
+     */
+    public boolean disabledConnectionsWithNode(int id){
         try {
-            Vertex<V> v = getNode(label);
+            Vertex<V> v = getNode(id);
             if(v != null){
                 return disabledConnectionsWithNode(v);
             }
@@ -3791,7 +6278,7 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     public boolean disabledConnectionsWithNode(NodeDTO node){
-        return disabledConnectionsWithNode(node.getLabel());
+        return disabledConnectionsWithNode(getNodeId(node.getLabel()));
     }
 
 
@@ -3843,15 +6330,8 @@ public class SmartGraphPanel<V, E> extends Pane {
      * @author vittoriopiotti
      */
     private SmartGraphEdgeBase<E, V> getOppositeEdge(SmartGraphEdgeBase<E, V> edgeNode){
-        String inbound = edgeNode.getInbound().getAttachedLabel().getText();
-        String outbound = edgeNode.getOutbound().getAttachedLabel().getText();
-        SmartGraphEdgeBase<E, V> oppositeEdge = null;
-        for (SmartGraphEdgeBase<E, V> otherEdge : edgeNodes.values()) {
-            if(inbound.equals(otherEdge.getOutbound().getAttachedLabel().getText()) &&outbound.equals(otherEdge.getInbound().getAttachedLabel().getText()) ){
-                oppositeEdge = otherEdge;
-            }
-        }
-        return  oppositeEdge;
+        List<Edge<E, V>> opposites = getEdgesFromTo(edgeNode.getInbound(), edgeNode.getOutbound());
+        return opposites.isEmpty() ? null : edgeNodes.get(opposites.get(opposites.size() - 1));
     }
 
 
@@ -4086,13 +6566,21 @@ public class SmartGraphPanel<V, E> extends Pane {
 
     /**
      * Updates the view model by removing, inserting, and updating nodes.
+     * <br/>
+     * All the three phases read the same snapshot of the underlying graph.
      *
      * @author brunomnsilva
+     * <p>Modified by vittoriopiotti</p>
      */
     public synchronized void updateViewModel() {
-        removeNodes();
-        insertNodes();
-        updateNodes();
+        GraphSnapshot<V, E> snapshot = theGraph.snapshot();
+        removeNodes(snapshot);
+        insertNodes(snapshot);
+        updateNodes(snapshot);
+        if (snapshot.version() != modelVersion) {
+            modelVersion = snapshot.version();
+            nextGraphVersion();
+        }
     }
 
 
@@ -4118,10 +6606,8 @@ public class SmartGraphPanel<V, E> extends Pane {
             return;
         }
         List<Edge<E, V>> edgesToRemove = new ArrayList<>();
-        for (Edge<E, V> edge : connections.keySet()) {
-            Tuple<Vertex<V>> vertexTuple = connections.get(edge);
-
-            if (vertexTuple.first.equals(vertexToRemove) || vertexTuple.second.equals(vertexToRemove)) {
+        for (Edge<E, V> edge : edgesOf(vertexToRemove)) {
+            if (connections.containsKey(edge)) {
                 edgesToRemove.add(edge);
             }
         }
@@ -4129,7 +6615,7 @@ public class SmartGraphPanel<V, E> extends Pane {
         for (Edge<E, V> e : edgesToRemove) {
             SmartGraphEdgeBase<E, V> edgeToRemove = edgeNodes.get(e);
             if (edgeToRemove != null) {
-                edgeNodes.remove(e);
+                removeEdgeNode(e);
                 removeEdge(edgeToRemove);
                 Tuple<Vertex<V>> vertexTuple = connections.get(e);
                 if (getTotalEdgesBetween(vertexTuple.first, vertexTuple.second) == 0) {
@@ -4146,7 +6632,7 @@ public class SmartGraphPanel<V, E> extends Pane {
                 connections.remove(e);
             }
         }
-        SmartGraphVertexNode<V> removed = vertexNodes.remove(vertexToRemove);
+        SmartGraphVertexNode<V> removed = removeVertexNode(vertexToRemove);
         if (removed != null) {
             removeVertex(removed);
         }
@@ -4167,12 +6653,12 @@ public class SmartGraphPanel<V, E> extends Pane {
 
             SmartGraphVertexNode<V> vertexAnchor = createVertex(vertex, 0, 0);
 
-            vertexNodes.put(vertex, vertexAnchor);
+            putVertexNode(vertex, vertexAnchor);
         }
 
         /* create edges graphical representations between existing vertices */
         //this is used to guarantee that no duplicate edges are ever inserted
-        List<Edge<E, V>> edgesToPlace = listOfEdges();
+        Set<Edge<E, V>> edgesToPlace = new HashSet<>(theGraph.edges());
 
         for (Vertex<V> vertex : vertexNodes.keySet()) {
 
@@ -4319,7 +6805,7 @@ public class SmartGraphPanel<V, E> extends Pane {
     private void addEdge(SmartGraphEdgeBase<E, V> e, Edge<E, V> edge) {
         // Add edge to the back
         this.getChildren().add(0, (Node) e);
-        edgeNodes.put(edge, e);
+        putEdgeNode(edge, e);
 
         String labelText = getEdgeLabelFor(edge.element());
 
@@ -4350,13 +6836,14 @@ public class SmartGraphPanel<V, E> extends Pane {
     /**
      * Inserts nodes into the graph panel based on unplotted vertices and edges.
      *
+     * @param snapshot the snapshot of the underlying graph
      * @throws IllegalStateException if the graph is not initialized properly
      *
      * @author brunomnsilva
      * <p>Modified by vittoriopiotti</p>
      */
-    private void insertNodes() {
-        Collection<Vertex<V>> unplottedVertices = unplottedVertices();
+    private void insertNodes(GraphSnapshot<V, E> snapshot) {
+        Collection<Vertex<V>> unplottedVertices = unplottedVertices(snapshot);
         List<SmartGraphVertexNode<V>> newVertices = null;
         if (!unplottedVertices.isEmpty()) {
             newVertices = new LinkedList<>();
@@ -4365,12 +6852,12 @@ public class SmartGraphPanel<V, E> extends Pane {
                 Point2D optimalPoint = vertexNodes.isEmpty() ? new Point2D(this.getPlotBounds().getMinX() + this.getPlotBounds().getWidth()/2.0+50, this.getPlotBounds().getMinY() + this.getPlotBounds().getHeight() / 2.0+50) : findOptimalPoint();
                 SmartGraphVertexNode<V> newVertex = createVertex(vertex, optimalPoint.getX(), optimalPoint.getY());
                 newVertices.add(newVertex);
-                vertexNodes.put(vertex, newVertex);
+                putVertexNode(vertex, newVertex);
 
             }
         }
 
-        Collection<Edge<E, V>> unplottedEdges = unplottedEdges();
+        Collection<Edge<E, V>> unplottedEdges = unplottedEdges(snapshot);
         if (!unplottedEdges.isEmpty()) {
             for (Edge<E, V> edge : unplottedEdges) {
                 Vertex<V>[] vertices = edge.vertices();
@@ -4440,16 +6927,17 @@ public class SmartGraphPanel<V, E> extends Pane {
     /**
      * Removes nodes and edges from the graph panel that have been removed from the underlying graph.
      *
+     * @param snapshot the snapshot of the underlying graph
      * @throws IllegalStateException if there is an issue with the graph's state
      *
      * @author brunomnsilva
+     * <p>Modified by vittoriopiotti</p>
      */
-    private void removeNodes() {
+    private void removeNodes(GraphSnapshot<V, E> snapshot) {
          //remove edges (graphical elements) that were removed from the underlying graph
-        Collection<Edge<E, V>> removedEdges = removedEdges();
+        Collection<Edge<E, V>> removedEdges = removedEdges(snapshot);
         for (Edge<E, V> e : removedEdges) {
-            SmartGraphEdgeBase<E,V> edgeToRemove = edgeNodes.get(e);
-            edgeNodes.remove(e);
+            SmartGraphEdgeBase<E,V> edgeToRemove = removeEdgeNode(e);
             removeEdge(edgeToRemove);   //remove from panel
 
             //when edges are removed, the adjacency between vertices changes
@@ -4468,9 +6956,9 @@ public class SmartGraphPanel<V, E> extends Pane {
         }
 
         //remove vertices (graphical elements) that were removed from the underlying graph
-        Collection<Vertex<V>> removedVertices = removedVertices();
+        Collection<Vertex<V>> removedVertices = removedVertices(snapshot);
         for (Vertex<V> removedVertex : removedVertices) {
-            SmartGraphVertexNode<V> removed = vertexNodes.remove(removedVertex);
+            SmartGraphVertexNode<V> removed = removeVertexNode(removedVertex);
             removeVertex(removed);
         }
 
@@ -4517,11 +7005,13 @@ public class SmartGraphPanel<V, E> extends Pane {
     /**
      * Updates node's labels
      *
+     * @param snapshot the snapshot of the underlying graph
      * @author brunomnsilva
      * <p>Modified by vittoriopiotti</p>
      */
-    private void updateNodes() {
-        theGraph.vertices().forEach((v) -> {
+    private void updateNodes(GraphSnapshot<V, E> snapshot) {
+        Collection<Edge<E, V>> graphEdges = snapshot.edges();
+        snapshot.vertices().forEach((v) -> {
             SmartGraphVertexNode<V> vertexNode = vertexNodes.get(v);
             if (vertexNode != null) {
                 SmartLabel label = vertexNode.getAttachedLabel();
@@ -4536,7 +7026,7 @@ public class SmartGraphPanel<V, E> extends Pane {
             }
         });
         getChildren().removeIf(node -> node instanceof Rectangle);
-        theGraph.edges().forEach((e) -> {
+        graphEdges.forEach((e) -> {
             SmartGraphEdgeBase<E,V> edgeNode = edgeNodes.get(e);
             if (edgeNode != null) {
                 SmartLabel label =  edgeNode.getAttachedLabel();
@@ -4545,7 +7035,7 @@ public class SmartGraphPanel<V, E> extends Pane {
                 }
             }
         });
-        theGraph.edges().forEach((e) -> {
+        graphEdges.forEach((e) -> {
             SmartGraphEdgeBase<E, V> edgeNode = edgeNodes.get(e);
             SmartLabel label =  edgeNode.getAttachedLabel();
             edgeNode.attachBackground(createBackground(label,edgeNode));
@@ -5083,24 +7573,211 @@ public class SmartGraphPanel<V, E> extends Pane {
      */
     private int getTotalEdgesBetween(Vertex<V> v, Vertex<V> u) {
         int count = 0;
-        for (Edge<E, V> edge : theGraph.edges()) {
-            if (edge.vertices()[0] == v && edge.vertices()[1] == u
-                    || edge.vertices()[0] == u && edge.vertices()[1] == v) {
-                count++;
+        try {
+            for (Edge<E, V> edge : edgesOf(v)) {
+                if (edge.vertices()[0] == v && edge.vertices()[1] == u
+                        || edge.vertices()[0] == u && edge.vertices()[1] == v) {
+                    count++;
+                }
             }
+        } catch (InvalidVertexException ignored) {
+            //the vertex is no longer part of the model, so no edge can connect it
         }
         return count;
     }
 
     /**
-     * Lists all edges in the graph.
+     * Returns all the edges of the model that have the given vertex at one of their ends.
+     * <br/>
+     * For a {@link Digraph} both the incident and the outbound edges are collected, so the
+     * lookup costs O(degree) with an adjacency based model such as {@link DigraphAdjacencyList}.
      *
-     * @return a list of edges in the graph
+     * @param v the vertex
+     * @return the edges connected to the vertex, each one reported once
+     * @throws InvalidVertexException if the vertex does not belong to the model
      *
-     * @author brunomnsilva
+     * @author vittoriopiotti
+     */
+    private Collection<Edge<E, V>> edgesOf(Vertex<V> v) throws InvalidVertexException {
+        if (theGraph instanceof Digraph<V, E> digraph) {
+            List<Edge<E, V>> edges = new ArrayList<>(digraph.incidentEdges(v));
+            for (Edge<E, V> edge : digraph.outboundEdges(v)) {
+                if (edge.vertices()[1] != v) {
+                    edges.add(edge);
+                }
+            }
+            return edges;
+        }
+        return theGraph.incidentEdges(v);
+    }
+
+    /**
+     * Registers the visual representation of a vertex, assigning an id to its label.
+     *
+     * @param v    the vertex
+     * @param node the visual representation of the vertex
+     *
+     * @author vittoriopiotti
+     */
+    private void putVertexNode(Vertex<V> v, SmartGraphVertexNode<V> node) {
+        vertexNodes.put(v, node);
+        int id = nodeIds.intern(getVertexLabelFor(v.element()));
+        while (nodesById.size() <= id) {
+            nodesById.add(null);
+        }
+        nodesById.set(id, node);
+        vertexIds.put(v, id);
+    }
+
+    /**
+     * Unregisters the visual representation of a vertex, releasing the id of its label.
+     *
+     * @param v the vertex
+     * @return the removed visual representation, or null if the vertex was not displayed
+     *
+     * @author vittoriopiotti
+     */
+    private SmartGraphVertexNode<V> removeVertexNode(Vertex<V> v) {
+        SmartGraphVertexNode<V> node = vertexNodes.remove(v);
+        Integer id = vertexIds.remove(v);
+        if (id != null && nodesById.get(id) == node) {
+            nodesById.set(id, null);
+            String label = nodeIds.labelOf(id);
+            nodeIds.release(label);
+            int index = getGeneratedLabelIndex(label);
+            if (index >= 0 && index < freeLabelHint) {
+                freeLabelHint = index;
+            }
+            synchronized (graphArcs) {
+                pinnedTrees.values().removeIf(tree -> tree.source() == id);
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Registers the visual representation of an edge and indexes it by its pair of vertices.
+     *
+     * @param edge the edge
+     * @param node the visual representation of the edge
+     *
+     * @author vittoriopiotti
+     */
+    private void putEdgeNode(Edge<E, V> edge, SmartGraphEdgeBase<E, V> node) {
+        edgeNodes.put(edge, node);
+        long key = pairKey(node.getOutbound(), node.getInbound());
+        if (key != -1) {
+            edgesByPair.computeIfAbsent(key, k -> new ArrayList<>(1)).add(edge);
+        }
+        addEdgeArcs(node);
+    }
+
+    /**
+     * Unregisters the visual representation of an edge and removes it from the pair index.
+     *
+     * @param edge the edge
+     * @return the removed visual representation, or null if the edge was not displayed
+     *
+     * @author vittoriopiotti
+     */
+    private SmartGraphEdgeBase<E, V> removeEdgeNode(Edge<E, V> edge) {
+        SmartGraphEdgeBase<E, V> node = edgeNodes.remove(edge);
+        if (node != null) {
+            long key = pairKey(node.getOutbound(), node.getInbound());
+            List<Edge<E, V>> edges = edgesByPair.get(key);
+            if (edges != null && edges.remove(edge) && edges.isEmpty()) {
+                edgesByPair.remove(key);
+            }
+            removeEdgeArcs(node);
+        }
+        return node;
+    }
+
+    /**
+     * Packs the ids of an outbound and an inbound vertex into the key of {@link #edgesByPair}.
+     *
+     * @param outbound the id of the outbound vertex
+     * @param inbound  the id of the inbound vertex
+     * @return the key of the ordered pair
+     *
+     * @author vittoriopiotti
+     */
+    private static long pairKey(int outbound, int inbound) {
+        return ((long) outbound << 32) | (inbound & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Packs the ids of two vertex nodes into the key of {@link #edgesByPair}.
+     *
+     * @param outbound the outbound vertex node
+     * @param inbound  the inbound vertex node
+     * @return the key of the ordered pair, or -1 if one of the nodes is not displayed
+     *
+     * @author vittoriopiotti
+     */
+    private long pairKey(SmartGraphVertexNode<V> outbound, SmartGraphVertexNode<V> inbound) {
+        Integer out = outbound == null ? null : vertexIds.get(outbound.getUnderlyingVertex());
+        Integer in = inbound == null ? null : vertexIds.get(inbound.getUnderlyingVertex());
+        return out == null || in == null ? -1 : pairKey(out, in);
+    }
+
+    /**
+     * Returns the displayed edges that go out of a vertex and into another one, in O(1).
+     *
+     * @param outbound the id of the outbound vertex
+     * @param inbound  the id of the inbound vertex
+     * @return the edges from <code>outbound</code> to <code>inbound</code>, possibly empty
+     *
+     * @author vittoriopiotti
+     */
+    private List<Edge<E, V>> getEdgesFromTo(int outbound, int inbound) {
+        if (outbound < 0 || inbound < 0) {
+            return Collections.emptyList();
+        }
+        return edgesByPair.getOrDefault(pairKey(outbound, inbound), Collections.emptyList());
+    }
+
+    /**
+     * Returns the displayed edges that go out of a vertex node and into another one, in O(1).
+     *
+     * @param outbound the outbound vertex node
+     * @param inbound  the inbound vertex node
+     * @return the edges from <code>outbound</code> to <code>inbound</code>, possibly empty
+     *
+     * @author vittoriopiotti
+     */
+    private List<Edge<E, V>> getEdgesFromTo(SmartGraphVertexNode<V> outbound, SmartGraphVertexNode<V> inbound) {
+        long key = pairKey(outbound, inbound);
+        return key == -1 ? Collections.emptyList() : edgesByPair.getOrDefault(key, Collections.emptyList());
+    }
+
+    /**
+     * Returns the displayed edges between two vertex nodes, in both directions.
+     *
+     * @param v1 a vertex node
+     * @param v2 another vertex node
+     * @return the edges from <code>v1</code> to <code>v2</code> followed by those from <code>v2</code> to <code>v1</code>
+     *
+     * @author vittoriopiotti
+     */
+    private List<Edge<E, V>> getEdgesBetween(SmartGraphVertexNode<V> v1, SmartGraphVertexNode<V> v2) {
+        List<Edge<E, V>> edges = new ArrayList<>(getEdgesFromTo(v1, v2));
+        if (v1 != v2) {
+            edges.addAll(getEdgesFromTo(v2, v1));
+        }
+        return edges;
+    }
+
+    /**
+     * Retrieves the visual representation of the vertex with the given id.
+     *
+     * @param id the id of the vertex
+     * @return the vertex node, or null if no vertex has this id
+     *
+     * @author vittoriopiotti
      */
-    private List<Edge<E, V>> listOfEdges() {
-        return new LinkedList<>(theGraph.edges());
+    private SmartGraphVertexNode<V> getNodeBase(int id) {
+        return id >= 0 && id < nodesById.size() ? nodesById.get(id) : null;
     }
 
     /**
@@ -5118,14 +7795,16 @@ public class SmartGraphPanel<V, E> extends Pane {
      * Computes the vertex collection of the underlying graph that are not
      * currently being displayed.
      *
+     * @param snapshot the snapshot of the underlying graph
      * @return collection of vertices
      *
      * @author brunomnsilva
+     * <p>Modified by vittoriopiotti</p>
      */
-    private Collection<Vertex<V>> unplottedVertices() {
+    private Collection<Vertex<V>> unplottedVertices(GraphSnapshot<V, E> snapshot) {
         List<Vertex<V>> unplotted = new LinkedList<>();
 
-        for (Vertex<V> v : theGraph.vertices()) {
+        for (Vertex<V> v : snapshot.vertices()) {
             if (!vertexNodes.containsKey(v)) {
                 unplotted.add(v);
             }
@@ -5138,18 +7817,19 @@ public class SmartGraphPanel<V, E> extends Pane {
      * Computes the collection for vertices that are currently being displayed but do
      * no longer exist in the underlying graph.
      *
+     * @param snapshot the snapshot of the underlying graph
      * @return collection of vertices
      *
      * @author brunomnsilva
+     * <p>Modified by vittoriopiotti</p>
      */
-    private Collection<Vertex<V>> removedVertices() {
+    private Collection<Vertex<V>> removedVertices(GraphSnapshot<V, E> snapshot) {
         List<Vertex<V>> removed = new LinkedList<>();
 
-        Collection<Vertex<V>> graphVertices = theGraph.vertices();
         Collection<SmartGraphVertexNode<V>> plotted = vertexNodes.values();
 
         for (SmartGraphVertexNode<V> v : plotted) {
-            if (!graphVertices.contains(v.getUnderlyingVertex())) {
+            if (!snapshot.containsVertex(v.getUnderlyingVertex())) {
                 removed.add(v.getUnderlyingVertex());
             }
         }
@@ -5161,18 +7841,19 @@ public class SmartGraphPanel<V, E> extends Pane {
      * Computes the collection for edges that are currently being displayed but do
      * no longer exist in the underlying graph.
      *
+     * @param snapshot the snapshot of the underlying graph
      * @return collection of edges
      *
      * @author brunomnsilva
+     * <p>Modified by vittoriopiotti</p>
      */
-    private Collection<Edge<E, V>> removedEdges() {
+    private Collection<Edge<E, V>> removedEdges(GraphSnapshot<V, E> snapshot) {
         List<Edge<E, V>> removed = new LinkedList<>();
 
-        Collection<Edge<E, V>> graphEdges = theGraph.edges();
         Collection<SmartGraphEdgeBase<E,V>> plotted = edgeNodes.values();
 
         for (SmartGraphEdgeBase<E,V> e : plotted) {
-            if (!graphEdges.contains(e.getUnderlyingEdge())) {
+            if (!snapshot.containsEdge(e.getUnderlyingEdge())) {
                 removed.add(e.getUnderlyingEdge());
             }
         }
@@ -5184,14 +7865,16 @@ public class SmartGraphPanel<V, E> extends Pane {
      * Computes the edge collection of the underlying graph that are not
      * currently being displayed.
      *
+     * @param snapshot the snapshot of the underlying graph
      * @return collection of edges
      *
      * @author brunomnsilva
+     * <p>Modified by vittoriopiotti</p>
      */
-    private Collection<Edge<E, V>> unplottedEdges() {
+    private Collection<Edge<E, V>> unplottedEdges(GraphSnapshot<V, E> snapshot) {
         List<Edge<E, V>> unplotted = new LinkedList<>();
 
-        for (Edge<E, V> e : theGraph.edges()) {
+        for (Edge<E, V> e : snapshot.edges()) {
             if (!edgeNodes.containsKey(e)) {
                 unplotted.add(e);
             }
@@ -5375,6 +8058,282 @@ public class SmartGraphPanel<V, E> extends Pane {
 
 
 
+    /**
+     * Snapshot of a given version of the graph, with the ids of the node labels and the positions of the nodes.
+     *
+     * @author vittoriopiotti
+     */
+    private static final class SnapshotTable {
+
+        private final long version;
+        private final CsrGraph<NodeDTO> graph;
+        private final Map<String, Integer> ids;
+        private final double[] x;
+        private final double[] y;
+
+        SnapshotTable(long version, CsrGraph<NodeDTO> graph, double[] x, double[] y) {
+            this.version = version;
+            this.graph = graph;
+            this.ids = labelIds(graph);
+            this.x = x;
+            this.y = y;
+        }
+
+        int id(String label) {
+            Integer id = ids.get(label);
+            return id == null ? -1 : id;
+        }
+
+        List<NodeDTO> nodes(int[] path) {
+            if (path == null) {
+                return null;
+            }
+            List<NodeDTO> nodes = new ArrayList<>(path.length);
+            for (int id : path) {
+                nodes.add(graph.vertex(id));
+            }
+            return nodes;
+        }
+    }
+
+    /**
+     * Alternative paths between two nodes searched at a given version of the graph.
+     *
+     * @author vittoriopiotti
+     */
+    private static final class KPathsTable {
+
+        private final long version;
+        private final String start;
+        private final String end;
+        private final int k;
+        private final CsrGraph<NodeDTO> graph;
+        private final List<int[]> paths;
+
+        KPathsTable(long version, String start, String end, int k, CsrGraph<NodeDTO> graph, List<int[]> paths) {
+            this.version = version;
+            this.start = start;
+            this.end = end;
+            this.k = k;
+            this.graph = graph;
+            this.paths = paths;
+        }
+
+        List<NodeDTO> path(int index) {
+            int[] ids = paths.get(index);
+            List<NodeDTO> nodes = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                nodes.add(graph.vertex(id));
+            }
+            return nodes;
+        }
+    }
+
+    /**
+     * All-pairs shortest paths computed at a given version of the graph, with the ids of the node labels.
+     *
+     * @author vittoriopiotti
+     */
+    private static final class AllPairsTable {
+
+        private final long version;
+        private final AllPairsShortestPaths<NodeDTO> paths;
+        private final Map<String, Integer> ids;
+
+        AllPairsTable(long version, AllPairsShortestPaths<NodeDTO> paths) {
+            this.version = version;
+            this.paths = paths;
+            this.ids = labelIds(paths.graph());
+        }
+
+        List<NodeDTO> path(String start, String end) {
+            Integer s = ids.get(start);
+            Integer t = ids.get(end);
+            if (s == null || t == null || start.equals(end)) {
+                return null;
+            }
+            return paths.path(paths.graph().vertex(s), paths.graph().vertex(t));
+        }
+    }
+
+    /**
+     * Contraction hierarchy built at a given version of the graph, with the ids of the node labels.
+     *
+     * @author vittoriopiotti
+     */
+    private static final class HierarchyTable {
+
+        private final long version;
+        private final ContractionHierarchy<NodeDTO> hierarchy;
+        private final Map<String, Integer> ids;
+
+        HierarchyTable(long version, ContractionHierarchy<NodeDTO> hierarchy) {
+            this.version = version;
+            this.hierarchy = hierarchy;
+            this.ids = labelIds(hierarchy.graph());
+        }
+
+        List<NodeDTO> path(String start, String end) {
+            Integer s = ids.get(start);
+            Integer t = ids.get(end);
+            if (s == null || t == null || start.equals(end)) {
+                return null;
+            }
+            return hierarchy.shortestPath(hierarchy.graph().vertex(s), hierarchy.graph().vertex(t));
+        }
+    }
+
+    /**
+     * Writer of the journal record of an edit.
+     *
+     * @author vittoriopiotti
+     */
+    @FunctionalInterface
+    private interface JournalRecord {
+
+        void write(GraphJournal journal) throws IOException;
+    }
+
+    /**
+     * Future of an asynchronous upload, which cannot be cancelled anymore once its graph starts being applied.
+     *
+     * @author vittoriopiotti
+     */
+    private static final class UploadFuture extends CompletableFuture<Integer> {
+
+        private boolean applying;
+
+        @Override
+        public synchronized boolean cancel(boolean mayInterruptIfRunning) {
+            return !applying && super.cancel(mayInterruptIfRunning);
+        }
+
+        /**
+         * Claims the upload to apply its graph, unless it is already cancelled or completed.
+         *
+         * @return true if the graph can be applied
+         */
+        synchronized boolean startApplying() {
+            if (isDone()) {
+                return false;
+            }
+            applying = true;
+            return true;
+        }
+    }
+
+    /**
+     * Input stream reporting the fraction of a file read, which fails once the operation is cancelled.
+     *
+     * @author vittoriopiotti
+     */
+    private static final class ProgressInputStream extends FilterInputStream {
+
+        private final long size;
+        private final Future<?> operation;
+        private final DoubleConsumer progress;
+        private long read;
+
+        ProgressInputStream(InputStream in, long size, Future<?> operation, DoubleConsumer progress) {
+            super(in);
+            this.size = size;
+            this.operation = operation;
+            this.progress = progress;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (operation.isDone()) {
+                throw new InterruptedIOException("operation cancelled");
+            }
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                read += n;
+                progress.accept(size == 0 ? 1.0 : (double) read / size);
+            }
+            return n;
+        }
+    }
+
+    /**
+     * Output stream which fails once the operation writing through it is cancelled.
+     *
+     * @author vittoriopiotti
+     */
+    private static final class CancellableOutputStream extends FilterOutputStream {
+
+        private final Future<?> operation;
+
+        CancellableOutputStream(OutputStream out, Future<?> operation) {
+            super(out);
+            this.operation = operation;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (operation.isDone()) {
+                throw new InterruptedIOException("operation cancelled");
+            }
+            out.write(b, off, len);
+        }
+    }
+
+    /**
+     * Transitive closure computed at a given version of the graph, with the ids of the node labels.
+     *
+     * @author vittoriopiotti
+     */
+    private static final class ReachabilityTable {
+
+        private final long version;
+        private final ReachabilityOracle<NodeDTO> oracle;
+        private final Map<String, Integer> ids;
+
+        ReachabilityTable(long version, ReachabilityOracle<NodeDTO> oracle) {
+            this.version = version;
+            this.oracle = oracle;
+            this.ids = labelIds(oracle.graph());
+        }
+
+        boolean isReachable(String start, String end) {
+            Integer s = ids.get(start);
+            Integer t = ids.get(end);
+            return s != null && t != null && oracle.isReachable(s, t);
+        }
+
+        NodeDTO node(String label) {
+            Integer id = ids.get(label);
+            return id == null ? null : oracle.graph().vertex(id);
+        }
+    }
+
+    /**
+     * Maps the label of every node of a snapshot to its id, keeping the first id of repeated labels.
+     *
+     * @param graph the snapshot built by {@link GraphDTO#toCsrGraph()}
+     * @return the ids by label
+     *
+     * @author vittoriopiotti
+     */
+    private static Map<String, Integer> labelIds(CsrGraph<NodeDTO> graph) {
+        Map<String, Integer> ids = new HashMap<>();
+        for (int id = graph.numVertices() - 1; id >= 0; id--) {
+            ids.put(graph.vertex(id).getLabel(), id);
+        }
+        return ids;
+    }
+
     /**
      * Represents a tuple in Java.
      *
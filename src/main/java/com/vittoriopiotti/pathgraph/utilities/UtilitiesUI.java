@@ -405,7 +405,7 @@ public class UtilitiesUI {
      * @return a {@link TextField} with the specified properties and event handling.
      *
      * @throws IllegalArgumentException if the maximum length is less than zero, or if the {@code eventHandler} is of type {@link Object}
-     *                                  and {@code params} is not an array of characters with at least two elements.
+     *                                  and {@code params} is not an array of labels with at least two elements.
      */
     public static TextField createTextField(String promptText, boolean numbers, boolean strings, boolean focus,
                                             int maxLength, double width,
@@ -0,0 +1,184 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.dto;
+
+import com.vittoriopiotti.pathgraph.graph.CsrGraph;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@link GraphBinaryCodec} decodes what it encodes and rejects damaged data.
+ *
+ * @author vittoriopiotti
+ */
+class GraphBinaryCodecTest {
+
+    @Test
+    void roundTripsRandomGraphs() throws IOException {
+        Random random = new Random(21);
+        for (int trial = 0; trial < 200; trial++) {
+            List<NodeDTO> nodes = new ArrayList<>();
+            List<EdgeDTO> edges = new ArrayList<>();
+            int n = random.nextInt(30);
+            for (int i = 0; i < n; i++) {
+                nodes.add(new NodeDTO((char) ('A' + i)));
+            }
+            for (int i = 0; n > 0 && i < random.nextInt(3 * n); i++) {
+                int cost = random.nextInt(4) == 0 ? random.nextInt() : random.nextInt(100);
+                edges.add(new EdgeDTO((char) ('A' + random.nextInt(n)), (char) ('A' + random.nextInt(n)), cost, random.nextBoolean()));
+            }
+            boolean checksum = random.nextBoolean();
+            Recorder decoded = decode(encode(nodes, edges, checksum));
+            assertEquals(describe(nodes, edges), decoded.lines);
+        }
+    }
+
+    @Test
+    void roundTripsLabelsLongerThanOneCharacter() throws IOException {
+        List<NodeDTO> nodes = List.of(new NodeDTO("Milano"), new NodeDTO("Mi"), new NodeDTO("Città \u263A"), new NodeDTO("AA"));
+        List<EdgeDTO> edges = List.of(
+                new EdgeDTO("Milano", "Mi", 3, true),
+                new EdgeDTO("Città \u263A", "AA", -8, false),
+                new EdgeDTO("Mi", "Z", 1, true));
+        for (boolean checksum : new boolean[]{false, true}) {
+            assertEquals(describe(nodes, edges), decode(encode(nodes, edges, checksum)).lines);
+        }
+    }
+
+    @Test
+    void readsTheFirstVersionWithSingleCharacterLabels() throws IOException {
+        byte[] bytes = {'P', 'G', 'R', 'B', 1, 0, 2, 'A', 'B', 2, 0, 1, 1, 1, 1, 14};
+        assertEquals(List.of("node A", "node B", "edge A B 7 true"), decode(bytes).lines);
+        byte[] unknown = bytes.clone();
+        unknown[GraphBinaryCodec.MAGIC.length] = GraphBinaryCodec.VERSION + 1;
+        assertThrows(IOException.class, () -> decode(unknown));
+    }
+
+    @Test
+    void decodesStraightIntoTheSnapshotOfTheGraph() throws IOException {
+        Random random = new Random(22);
+        for (int trial = 0; trial < 100; trial++) {
+            List<NodeDTO> nodes = new ArrayList<>();
+            List<EdgeDTO> edges = new ArrayList<>();
+            int n = random.nextInt(30);
+            for (int i = 0; i < n; i++) {
+                nodes.add(new NodeDTO((char) ('A' + i)));
+            }
+            for (int i = 0; n > 0 && i < random.nextInt(3 * n); i++) {
+                /* labels past the nodes make dangling edges, which both snapshots skip */
+                edges.add(new EdgeDTO((char) ('A' + random.nextInt(n + 2)), (char) ('A' + random.nextInt(n)), random.nextInt(100), random.nextBoolean()));
+            }
+            byte[] bytes = encode(nodes, edges, random.nextBoolean());
+            CsrGraph<NodeDTO> expected = new GraphDTO(ByteBuffer.wrap(bytes)).toCsrGraph();
+            CsrGraph<NodeDTO> actual = GraphDTO.readCsrGraph(ByteBuffer.wrap(bytes));
+            assertEquals(expected.numVertices(), actual.numVertices());
+            assertEquals(expected.numArcs(), actual.numArcs());
+            for (int v = 0; v < expected.numVertices(); v++) {
+                assertEquals(expected.vertex(v).getLabel(), actual.vertex(v).getLabel());
+                assertEquals(expected.firstArc(v), actual.firstArc(v));
+                assertEquals(expected.endArc(v), actual.endArc(v));
+            }
+            for (int arc = 0; arc < expected.numArcs(); arc++) {
+                assertEquals(expected.target(arc), actual.target(arc));
+                assertEquals(expected.cost(arc), actual.cost(arc));
+            }
+        }
+        assertThrows(IOException.class, () -> GraphDTO.readCsrGraph(ByteBuffer.wrap(new byte[]{'P', 'G'})));
+    }
+
+    @Test
+    void keepsTheExtremeCosts() throws IOException {
+        List<EdgeDTO> edges = List.of(
+                new EdgeDTO('A', 'B', Integer.MAX_VALUE, true),
+                new EdgeDTO('B', 'A', Integer.MIN_VALUE, false));
+        assertEquals(describe(List.of(), edges), decode(encode(List.of(), edges, false)).lines);
+    }
+
+    @Test
+    void detectsTheMagicBytes() throws IOException {
+        byte[] bytes = encode(List.of(new NodeDTO('A')), List.of(), false);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        assertTrue(GraphBinaryCodec.isBinary(buffer));
+        assertEquals(0, buffer.position());
+        assertFalse(GraphBinaryCodec.isBinary(ByteBuffer.wrap("{\"nodes\":[]}".getBytes(StandardCharsets.UTF_8))));
+        assertFalse(GraphBinaryCodec.isBinary(ByteBuffer.wrap(new byte[]{'P', 'G'})));
+    }
+
+    @Test
+    void rejectsCorruptedData() throws IOException {
+        List<NodeDTO> nodes = List.of(new NodeDTO('A'), new NodeDTO('B'));
+        List<EdgeDTO> edges = List.of(new EdgeDTO('A', 'B', 7, true));
+        byte[] bytes = encode(nodes, edges, true);
+        for (int i = GraphBinaryCodec.MAGIC.length + 2; i < bytes.length; i++) {
+            byte[] corrupted = bytes.clone();
+            corrupted[i] ^= 0x10;
+            assertThrows(IOException.class, () -> decode(corrupted), "byte " + i);
+        }
+    }
+
+    @Test
+    void rejectsTruncatedData() throws IOException {
+        List<NodeDTO> nodes = List.of(new NodeDTO('A'), new NodeDTO('B'));
+        List<EdgeDTO> edges = List.of(new EdgeDTO('A', 'B', 300, false));
+        for (boolean checksum : new boolean[]{false, true}) {
+            byte[] bytes = encode(nodes, edges, checksum);
+            for (int length = 0; length < bytes.length; length++) {
+                byte[] truncated = Arrays.copyOf(bytes, length);
+                assertThrows(IOException.class, () -> decode(truncated), "length " + length);
+            }
+        }
+    }
+
+    private static byte[] encode(List<NodeDTO> nodes, List<EdgeDTO> edges, boolean checksum) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GraphBinaryCodec.write(nodes, edges, out, checksum);
+        return out.toByteArray();
+    }
+
+    private static Recorder decode(byte[] bytes) throws IOException {
+        Recorder recorder = new Recorder();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        GraphBinaryCodec.read(buffer, recorder);
+        assertFalse(buffer.hasRemaining());
+        return recorder;
+    }
+
+    private static List<String> describe(List<NodeDTO> nodes, List<EdgeDTO> edges) {
+        Recorder recorder = new Recorder();
+        nodes.forEach(node -> recorder.node(node.getLabel()));
+        edges.forEach(edge -> recorder.edge(edge.getFrom(), edge.getTo(), edge.getCost(), edge.getIsArrowed()));
+        return recorder.lines;
+    }
+
+    /**
+     * Handler writing down the nodes and edges it receives, in order.
+     */
+    private static final class Recorder implements GraphHandler {
+
+        private final List<String> lines = new ArrayList<>();
+
+        @Override
+        public void node(String label) {
+            lines.add("node " + label);
+        }
+
+        @Override
+        public void edge(String from, String to, int cost, boolean isArrowed) {
+            lines.add("edge " + from + " " + to + " " + cost + " " + isArrowed);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.dto;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@link GraphDTO#GraphDTO(Path)} loads the JSON and the binary files written by the graph.
+ *
+ * @author vittoriopiotti
+ */
+class GraphDTOFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void loadsJsonFiles() throws IOException {
+        Random random = new Random(22);
+        for (int trial = 0; trial < 20; trial++) {
+            GraphDTO graph = GraphDTOTest.randomGraph(random, 1 + random.nextInt(12), random.nextInt(30));
+            boolean compact = random.nextBoolean();
+            Path file = dir.resolve("graph" + trial + ".json");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                graph.writeGraphJson(out, compact);
+            }
+            assertEquals(graph.getGraphJson(), new GraphDTO(file).getGraphJson());
+        }
+    }
+
+    @Test
+    void decodesMultiByteLabelsAcrossBlocks() throws IOException {
+        List<NodeDTO> nodes = new ArrayList<>();
+        List<EdgeDTO> edges = new ArrayList<>();
+        String labels = "Aé中ß€";
+        for (int i = 0; i < labels.length(); i++) {
+            nodes.add(new NodeDTO(labels.charAt(i)));
+        }
+        Random random = new Random(220);
+        /* enough edges for the text to span many decoder blocks */
+        for (int i = 0; i < 20_000; i++) {
+            edges.add(new EdgeDTO(labels.charAt(random.nextInt(labels.length())), labels.charAt(random.nextInt(labels.length())),
+                    random.nextInt(100), random.nextBoolean()));
+        }
+        GraphDTO graph = new GraphDTO(nodes, edges);
+        Path file = dir.resolve("graph.json");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            graph.writeGraphJson(out, false);
+        }
+        assertEquals(graph.getGraphJson(), new GraphDTO(file).getGraphJson());
+    }
+
+    @Test
+    void loadsBinaryFiles() throws IOException {
+        Random random = new Random(2200);
+        for (int trial = 0; trial < 20; trial++) {
+            GraphDTO graph = GraphDTOTest.randomGraph(random, 1 + random.nextInt(12), random.nextInt(30));
+            Path file = dir.resolve("graph" + trial + ".bin");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                graph.writeBinary(out, random.nextBoolean());
+            }
+            assertEquals(graph.getGraphJson(), new GraphDTO(file).getGraphJson());
+        }
+    }
+
+    @Test
+    void rejectsFilesThatAreNotGraphs() throws IOException {
+        Path empty = Files.createFile(dir.resolve("empty.json"));
+        assertThrows(IllegalArgumentException.class, () -> new GraphDTO(empty));
+        Path text = Files.writeString(dir.resolve("text.json"), "not a graph");
+        assertThrows(IllegalArgumentException.class, () -> new GraphDTO(text));
+        assertThrows(IOException.class, () -> new GraphDTO(dir.resolve("missing.json")));
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the path searches of {@link GraphDTO} against the Bellman-Ford algorithm on random graphs.
+ *
+ * @author vittoriopiotti
+ */
+class GraphDTOTest {
+
+    @Test
+    void findPathMatchesBellmanFord() {
+        Random random = new Random(8);
+        for (int trial = 0; trial < 40; trial++) {
+            GraphDTO graph = randomGraph(random, 1 + random.nextInt(12), random.nextInt(30));
+            for (NodeDTO start : graph.getNodes()) {
+                long[] expected = distances(graph, start.getLabel());
+                for (NodeDTO end : graph.getNodes()) {
+                    List<NodeDTO> path = graph.findPath(start.getLabel(), end.getLabel());
+                    if (start == end || expected[index(end.getLabel())] == Long.MAX_VALUE) {
+                        assertNull(path, start.getLabel() + " -> " + end.getLabel());
+                    } else {
+                        assertEquals(expected[index(end.getLabel())], cost(graph, path, start.getLabel(), end.getLabel()));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void findPathRejectsMissingLabels() {
+        GraphDTO graph = new GraphDTO(
+                List.of(new NodeDTO('A'), new NodeDTO('B')),
+                List.of(new EdgeDTO('A', 'B', 2, true)));
+        assertEquals(List.of("A", "B"), labels(graph.findPath('A', 'B')));
+        assertNull(graph.findPath('B', 'A'));
+        assertNull(graph.findPath('A', 'A'));
+        assertNull(graph.findPath('A', 'Z'));
+        assertNull(graph.findPath('\0', 'B'));
+    }
+
+    @Test
+    void findPathFollowsLabelsLongerThanOneCharacter() {
+        GraphDTO graph = new GraphDTO(
+                List.of(new NodeDTO("Milano"), new NodeDTO("Mi"), new NodeDTO("Roma")),
+                List.of(new EdgeDTO("Milano", "Mi", 1, true), new EdgeDTO("Mi", "Roma", 1, true), new EdgeDTO("Milano", "Roma", 5, true)));
+        assertEquals(List.of("Milano", "Mi", "Roma"), labels(graph.findPath("Milano", "Roma")));
+        assertEquals(List.of("Milano", "Mi", "Roma"), labels(graph.findPathBidirectional("Milano", "Roma")));
+        assertEquals(2, graph.findKShortestPaths("Milano", "Roma", 3).size());
+        assertNull(graph.findPath("Roma", "Milano"));
+        assertNull(graph.findPath("M", "Roma"));
+    }
+
+    @Test
+    void findPathBidirectionalMatchesFindPath() {
+        Random random = new Random(12);
+        for (int trial = 0; trial < 40; trial++) {
+            GraphDTO graph = randomGraph(random, 1 + random.nextInt(12), random.nextInt(30));
+            for (NodeDTO start : graph.getNodes()) {
+                for (NodeDTO end : graph.getNodes()) {
+                    String s = start.getLabel();
+                    String e = end.getLabel();
+                    List<NodeDTO> expected = graph.findPath(s, e);
+                    List<NodeDTO> actual = graph.findPathBidirectional(s, e);
+                    if (expected == null) {
+                        assertNull(actual, s + " -> " + e);
+                    } else {
+                        assertEquals(cost(graph, expected, s, e), cost(graph, actual, s, e), s + " -> " + e);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void findKShortestPathsStartsWithFindPath() {
+        Random random = new Random(14);
+        for (int trial = 0; trial < 40; trial++) {
+            GraphDTO graph = randomGraph(random, 2 + random.nextInt(7), random.nextInt(20));
+            String s = graph.getNodes().get(0).getLabel();
+            String e = graph.getNodes().get(graph.getNodes().size() - 1).getLabel();
+            List<NodeDTO> shortest = graph.findPath(s, e);
+            List<List<NodeDTO>> paths = graph.findKShortestPaths(s, e, 5);
+            if (shortest == null) {
+                assertTrue(paths.isEmpty());
+                continue;
+            }
+            assertFalse(paths.isEmpty());
+            assertTrue(paths.size() <= 5);
+            assertEquals(cost(graph, shortest, s, e), cost(graph, paths.get(0), s, e));
+            for (int i = 1; i < paths.size(); i++) {
+                assertTrue(cost(graph, paths.get(i - 1), s, e) <= cost(graph, paths.get(i), s, e), "path " + i);
+                assertNotEquals(labels(paths.get(i - 1)), labels(paths.get(i)));
+            }
+        }
+        GraphDTO graph = randomGraph(new Random(0), 3, 3);
+        assertTrue(graph.findKShortestPaths('A', 'B', 0).isEmpty());
+        assertTrue(graph.findKShortestPaths('A', 'A', 3).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> graph.findKShortestPaths('A', 'B', -1));
+    }
+
+    @Test
+    void findPathsMatchesFindPath() {
+        Random random = new Random(15);
+        for (int trial = 0; trial < 40; trial++) {
+            GraphDTO graph = randomGraph(random, 1 + random.nextInt(12), random.nextInt(30));
+            List<PathQueryDTO> queries = new ArrayList<>();
+            for (int q = random.nextInt(40); q > 0; q--) {
+                queries.add(new PathQueryDTO(randomLabel(random, 14), randomLabel(random, 14)));
+            }
+            List<List<NodeDTO>> paths = graph.findPaths(queries);
+            assertEquals(queries.size(), paths.size());
+            for (int i = 0; i < queries.size(); i++) {
+                String s = queries.get(i).getStart();
+                String e = queries.get(i).getEnd();
+                List<NodeDTO> expected = graph.findPath(s, e);
+                if (expected == null) {
+                    assertNull(paths.get(i), s + " -> " + e);
+                } else {
+                    assertEquals(cost(graph, expected, s, e), cost(graph, paths.get(i), s, e), s + " -> " + e);
+                }
+            }
+        }
+        assertTrue(randomGraph(new Random(0), 3, 3).findPaths(List.of()).isEmpty());
+    }
+
+    @Test
+    void connectionsMatchThePerNodeFilter() {
+        Random random = new Random(25);
+        for (int trial = 0; trial < 60; trial++) {
+            int n = 1 + random.nextInt(10);
+            List<NodeDTO> nodes = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                /* repeated labels and self loops are allowed */
+                nodes.add(new NodeDTO(randomLabel(random, n)));
+            }
+            List<EdgeDTO> edges = new ArrayList<>();
+            for (int m = random.nextInt(3 * n); m > 0; m--) {
+                String from = nodes.get(random.nextInt(n)).getLabel();
+                String to = nodes.get(random.nextInt(n)).getLabel();
+                edges.add(new EdgeDTO(from, to, random.nextInt(10), random.nextBoolean()));
+            }
+            GraphDTO graph = new GraphDTO(nodes, edges);
+            assertEquals(n, graph.getConnections().size());
+            for (NodeDTO node : nodes) {
+                List<String> expected = new ArrayList<>();
+                for (EdgeDTO edge : edges) {
+                    boolean touches = edge.getIsArrowed()
+                            ? edge.getFrom().equals(node.getLabel())
+                            : edge.getFrom().equals(node.getLabel()) || edge.getTo().equals(node.getLabel());
+                    if (touches) {
+                        String other = edge.getFrom().equals(node.getLabel()) ? edge.getTo() : edge.getFrom();
+                        expected.add(other + ":" + edge.getCost());
+                    }
+                }
+                List<String> actual = new ArrayList<>();
+                for (ConnectionDTO connection : graph.getConnections().get(node)) {
+                    actual.add(connection.getLabel() + ":" + connection.getCost());
+                }
+                assertEquals(expected, actual, "connections of " + node.getLabel());
+            }
+        }
+    }
+
+    @Test
+    void connectionsRejectDanglingEdges() {
+        List<NodeDTO> nodes = List.of(new NodeDTO('A'));
+        assertThrows(NullPointerException.class, () -> new GraphDTO(nodes, List.of(new EdgeDTO('A', 'Z', 1, true))));
+        assertThrows(NullPointerException.class, () -> new GraphDTO(nodes, List.of(new EdgeDTO('Z', 'A', 1, false))));
+        assertTrue(new GraphDTO(nodes, List.of(new EdgeDTO('Z', 'A', 1, true))).getConnections().get(nodes.get(0)).isEmpty());
+    }
+
+    static GraphDTO randomGraph(Random random, int nodes, int edges) {
+        List<NodeDTO> nodeList = new ArrayList<>();
+        for (int i = 0; i < nodes; i++) {
+            nodeList.add(new NodeDTO((char) ('A' + i)));
+        }
+        List<EdgeDTO> edgeList = new ArrayList<>();
+        for (int i = 0; i < edges; i++) {
+            edgeList.add(new EdgeDTO(randomLabel(random, nodes), randomLabel(random, nodes), random.nextInt(20), random.nextBoolean()));
+        }
+        return new GraphDTO(nodeList, edgeList);
+    }
+
+    private static char randomLabel(Random random, int bound) {
+        return (char) ('A' + random.nextInt(bound));
+    }
+
+    private static int index(String label) {
+        return label.charAt(0) - 'A';
+    }
+
+    private static long[] distances(GraphDTO graph, String start) {
+        long[] distances = new long[graph.getNodes().size()];
+        Arrays.fill(distances, Long.MAX_VALUE);
+        distances[index(start)] = 0;
+        for (boolean changed = true; changed; ) {
+            changed = false;
+            for (EdgeDTO edge : graph.getEdges()) {
+                changed |= relax(distances, index(edge.getFrom()), index(edge.getTo()), edge.getCost());
+                if (!edge.getIsArrowed()) {
+                    changed |= relax(distances, index(edge.getTo()), index(edge.getFrom()), edge.getCost());
+                }
+            }
+        }
+        return distances;
+    }
+
+    private static boolean relax(long[] distances, int from, int to, int cost) {
+        if (distances[from] != Long.MAX_VALUE && distances[from] + cost < distances[to]) {
+            distances[to] = distances[from] + cost;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the cost of a path, walking the cheapest edge between consecutive nodes.
+     */
+    private static long cost(GraphDTO graph, List<NodeDTO> path, String start, String end) {
+        assertNotNull(path, start + " -> " + end);
+        assertEquals(start, path.get(0).getLabel());
+        assertEquals(end, path.get(path.size() - 1).getLabel());
+        long cost = 0;
+        for (int i = 1; i < path.size(); i++) {
+            String from = path.get(i - 1).getLabel();
+            String to = path.get(i).getLabel();
+            long cheapest = Long.MAX_VALUE;
+            for (EdgeDTO edge : graph.getEdges()) {
+                if (edge.getFrom().equals(from) && edge.getTo().equals(to) || !edge.getIsArrowed() && edge.getFrom().equals(to) && edge.getTo().equals(from)) {
+                    cheapest = Math.min(cheapest, edge.getCost());
+                }
+            }
+            assertNotEquals(Long.MAX_VALUE, cheapest, "no edge " + from + " -> " + to);
+            cost += cheapest;
+        }
+        return cost;
+    }
+
+    private static List<String> labels(List<NodeDTO> path) {
+        List<String> labels = new ArrayList<>();
+        for (NodeDTO node : path) {
+            labels.add(node.getLabel());
+        }
+        return labels;
+    }
+}
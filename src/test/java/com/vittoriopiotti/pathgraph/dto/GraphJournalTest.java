@@ -0,0 +1,203 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.dto;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the replay of {@link GraphJournal}, in particular after a write torn by a crash.
+ *
+ * @author vittoriopiotti
+ */
+class GraphJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysTheRecordsInOrder() throws IOException {
+        Path file = directory.resolve("graph.journal");
+        try (GraphJournal journal = new GraphJournal(file, 20)) {
+            writeEdits(journal);
+        }
+        assertEquals(EDITS, replay(file));
+    }
+
+    @Test
+    void dropsARecordTornAtAnyByte() throws IOException {
+        Path file = directory.resolve("graph.journal");
+        try (GraphJournal journal = new GraphJournal(file, 0)) {
+            writeEdits(journal);
+        }
+        byte[] complete = Files.readAllBytes(file);
+        try (GraphJournal journal = new GraphJournal(file, 0)) {
+            journal.newNode("Q");
+        }
+        byte[] withLast = Files.readAllBytes(file);
+        for (int length = complete.length; length < withLast.length; length++) {
+            Files.write(file, Arrays.copyOf(withLast, length));
+            assertEquals(EDITS, replay(file), "torn at " + length);
+            assertEquals(complete.length, Files.size(file), "truncated at " + length);
+        }
+    }
+
+    @Test
+    void appendsAfterTheLastValidRecord() throws IOException {
+        Path file = directory.resolve("graph.journal");
+        try (GraphJournal journal = new GraphJournal(file, 0)) {
+            writeEdits(journal);
+            journal.newNode("Q");
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 2));
+        try (GraphJournal journal = new GraphJournal(file, 0)) {
+            assertEquals(EDITS.size(), journal.replay(new Recorder()));
+            journal.newNode("R");
+        }
+        List<String> expected = new ArrayList<>(EDITS);
+        expected.add("newNode R");
+        assertEquals(expected, replay(file));
+    }
+
+    @Test
+    void stopsAtARecordFailingItsChecksum() throws IOException {
+        Path file = directory.resolve("graph.journal");
+        try (GraphJournal journal = new GraphJournal(file, 0)) {
+            journal.newNode("A");
+        }
+        long first = Files.size(file);
+        try (GraphJournal journal = new GraphJournal(file, 0)) {
+            journal.newNode("B");
+            journal.newNode("C");
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[(int) first + 8] ^= 1;
+        Files.write(file, bytes);
+        assertEquals(List.of("newNode A"), replay(file));
+        assertEquals(first, Files.size(file));
+    }
+
+    @Test
+    void compactsIntoASnapshot() throws IOException {
+        Path file = directory.resolve("graph.journal");
+        GraphDTO graph = new GraphDTO(List.of(new NodeDTO('A'), new NodeDTO('B')), List.of(new EdgeDTO('A', 'B', 4, true)));
+        try (GraphJournal journal = new GraphJournal(file, 0)) {
+            writeEdits(journal);
+            journal.compact(graph);
+            assertEquals(1, journal.size());
+            journal.newNode("C");
+        }
+        assertEquals(List.of("snapshot [A, B] [A>B 4]", "newNode C"), replay(file));
+        assertFalse(Files.exists(directory.resolve("graph.journal.part")));
+    }
+
+    @Test
+    void rejectsAFileThatIsNotAJournal() throws IOException {
+        Path file = directory.resolve("graph.json");
+        Files.writeString(file, "{\"nodes\":[]}");
+        assertThrows(IOException.class, () -> new GraphJournal(file, 0));
+        assertThrows(IllegalArgumentException.class, () -> new GraphJournal(directory.resolve("other.journal"), -1));
+    }
+
+    private static final List<String> EDITS = List.of(
+            "newNode A", "newNode Bé", "newEdge A Bé " + Integer.MIN_VALUE + " true", "setCost A Bé -3",
+            "rotateEdge A Bé", "rotateEdge A Bé 2", "renameNode A Z", "splitEdge Z Bé",
+            "deleteEdge Z Bé", "deleteNode Z");
+
+    private static void writeEdits(GraphJournal journal) throws IOException {
+        journal.newNode("A");
+        journal.newNode("Bé");
+        journal.newEdge("A", "Bé", Integer.MIN_VALUE, true);
+        journal.setCost("A", "Bé", -3);
+        journal.rotateEdge("A", "Bé");
+        journal.rotateEdge("A", "Bé", 2);
+        journal.renameNode("A", "Z");
+        journal.splitEdge("Z", "Bé");
+        journal.deleteEdge("Z", "Bé");
+        journal.deleteNode("Z");
+    }
+
+    private static List<String> replay(Path file) throws IOException {
+        Recorder recorder = new Recorder();
+        try (GraphJournal journal = new GraphJournal(file, 0)) {
+            assertEquals(journal.replay(recorder), recorder.lines.size());
+        }
+        return recorder.lines;
+    }
+
+    /**
+     * Handler writing down the records it receives, in order.
+     */
+    private static final class Recorder implements GraphJournal.Handler {
+
+        private final List<String> lines = new ArrayList<>();
+
+        @Override
+        public void snapshot(GraphDTO graph) {
+            List<String> edges = new ArrayList<>();
+            graph.getEdges().forEach(e -> edges.add(e.getFrom() + (e.getIsArrowed() ? ">" : "-") + e.getTo() + " " + e.getCost()));
+            List<String> nodes = new ArrayList<>();
+            graph.getNodes().forEach(n -> nodes.add(n.getLabel()));
+            lines.add("snapshot " + nodes + " " + edges);
+        }
+
+        @Override
+        public void newNode(String label) {
+            lines.add("newNode " + label);
+        }
+
+        @Override
+        public void deleteNode(String label) {
+            lines.add("deleteNode " + label);
+        }
+
+        @Override
+        public void newEdge(String from, String to, int cost, boolean isArrowed) {
+            lines.add("newEdge " + from + " " + to + " " + cost + " " + isArrowed);
+        }
+
+        @Override
+        public void deleteEdge(String from, String to) {
+            lines.add("deleteEdge " + from + " " + to);
+        }
+
+        @Override
+        public void setCost(String from, String to, int cost) {
+            lines.add("setCost " + from + " " + to + " " + cost);
+        }
+
+        @Override
+        public void rotateEdge(String from, String to) {
+            lines.add("rotateEdge " + from + " " + to);
+        }
+
+        @Override
+        public void rotateEdge(String from, String to, int direction) {
+            lines.add("rotateEdge " + from + " " + to + " " + direction);
+        }
+
+        @Override
+        public void renameNode(String label, String newLabel) {
+            lines.add("renameNode " + label + " " + newLabel);
+        }
+
+        @Override
+        public void splitEdge(String from, String to) {
+            lines.add("splitEdge " + from + " " + to);
+        }
+    }
+}
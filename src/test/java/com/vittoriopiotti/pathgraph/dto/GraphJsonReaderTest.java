@@ -0,0 +1,150 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the graphs read by {@link GraphJsonReader} through {@link GraphDTO}, from the format written
+ * by the original string based exporter and from looser layouts.
+ *
+ * @author vittoriopiotti
+ */
+class GraphJsonReaderTest {
+
+    @Test
+    void readsTheExportedFormat() throws IOException {
+        String json = "{\n"
+                + "  \"nodes\": [\n"
+                + "    \"A\",\n"
+                + "    \"B\",\n"
+                + "    \"C\"\n"
+                + "  ],\n"
+                + "  \"edges\": [\n"
+                + "    {\n"
+                + "      \"from\": \"A\",\n"
+                + "      \"to\": \"B\",\n"
+                + "      \"cost\": \"3\",\n"
+                + "      \"isArrowed\": true\n"
+                + "    },\n"
+                + "    {\n"
+                + "      \"from\": \"C\",\n"
+                + "      \"to\": \"B\",\n"
+                + "      \"cost\": \"-2\",\n"
+                + "      \"isArrowed\": false\n"
+                + "    }\n"
+                + "  ]\n"
+                + "}";
+        GraphDTO graph = read(json);
+        assertEquals(List.of("A", "B", "C"), labels(graph.getNodes()));
+        assertEquals(List.of("A>B:3:true", "C>B:-2:false"), edges(graph.getEdges()));
+        assertEquals(labels(graph.getNodes()), labels(new GraphDTO(json).getNodes()));
+    }
+
+    @Test
+    void acceptsLooseLayouts() throws IOException {
+        GraphDTO graph = read("{'meta': {'title': \"]}\", 'tags': [1, [2, {\"nodes\": 3}]]},"
+                + " edges: [{cost: 7, isArrowed: TRUE, extra: {to: 'X'}, to: B, from: A,}, {from: 'B', to: 'A', cost: 'x'},],"
+                + " \"nodes\": [\"Alpha\", B, 'C',, ],}");
+        assertEquals(List.of("Alpha", "B", "C"), labels(graph.getNodes()));
+        assertEquals(List.of("A>B:7:true"), edges(graph.getEdges()));
+        assertTrue(read("{\"nodes\": [], \"edges\": []}").getNodes().isEmpty());
+        assertEquals(List.of("A"), labels(read("{\"wrapper\": {\"nodes\": [\"A\"]}}").getNodes()));
+    }
+
+    @Test
+    void readsTruncatedInputUpToWhereItStops() throws IOException {
+        GraphDTO graph = read("{\"nodes\": [\"A\", \"B\"], \"edges\": [{\"from\": \"A\", \"to\": \"B\", \"cost\": 1}, {\"from\": \"B\", \"to\"");
+        assertEquals(List.of("A", "B"), labels(graph.getNodes()));
+        assertEquals(List.of("A>B:1:false"), edges(graph.getEdges()));
+    }
+
+    @Test
+    void readsLabelsUpToTheLimit() throws IOException {
+        String longest = "N".repeat(256);
+        GraphDTO graph = read("{\"nodes\": [\"Milano\", \"" + longest + "\"], \"edges\": [{\"from\": \"Milano\", \"to\": \"" + longest + "\", \"cost\": 4}]}");
+        assertEquals(List.of("Milano", longest), labels(graph.getNodes()));
+        assertEquals(List.of("Milano>" + longest + ":4:false"), edges(graph.getEdges()));
+        assertThrows(IOException.class, () -> read("{\"nodes\": [\"" + longest + "N\"]}"));
+    }
+
+    @Test
+    void rejectsContentWithoutNodesOrEdges() {
+        assertThrows(IllegalArgumentException.class, () -> read(""));
+        assertThrows(IllegalArgumentException.class, () -> read("{\"vertices\": [\"A\"]}"));
+        assertThrows(IllegalArgumentException.class, () -> read("[\"nodes\", \"edges\"]"));
+        assertThrows(IllegalArgumentException.class, () -> read("{\"nodes\": \"A\"}"));
+        assertThrows(IllegalArgumentException.class, () -> new GraphDTO("not a graph"));
+    }
+
+    @Test
+    void streamsLargeGraphsThroughTheBuffer() throws IOException {
+        Random random = new Random(19);
+        int count = 100_000;
+        List<EdgeDTO> expected = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            expected.add(new EdgeDTO((char) ('A' + random.nextInt(26)), (char) ('A' + random.nextInt(26)), random.nextInt(1000), random.nextBoolean()));
+        }
+        Reader reader = new Reader() {
+            private int next = -1;
+            private String pending = "{\"nodes\": [\"A\"], \"edges\": [";
+            private int position;
+
+            @Override
+            public int read(char[] chars, int offset, int length) {
+                while (position == pending.length()) {
+                    if (++next > count) {
+                        return -1;
+                    }
+                    EdgeDTO edge = next < count ? expected.get(next) : null;
+                    pending = edge == null ? "]}" : "{\"from\": \"" + edge.getFrom() + "\", \"to\": \"" + edge.getTo()
+                            + "\", \"cost\": \"" + edge.getCost() + "\", \"isArrowed\": " + edge.getIsArrowed() + "},\n";
+                    position = 0;
+                }
+                int n = Math.min(length, pending.length() - position);
+                pending.getChars(position, position + n, chars, offset);
+                position += n;
+                return n;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        GraphDTO graph = new GraphDTO(reader);
+        assertEquals(edges(expected), edges(graph.getEdges()));
+    }
+
+    private static GraphDTO read(String json) throws IOException {
+        return new GraphDTO(new StringReader(json));
+    }
+
+    private static List<String> labels(List<NodeDTO> nodes) {
+        List<String> labels = new ArrayList<>();
+        for (NodeDTO node : nodes) {
+            labels.add(node.getLabel());
+        }
+        return labels;
+    }
+
+    private static List<String> edges(List<EdgeDTO> edges) {
+        List<String> strings = new ArrayList<>();
+        for (EdgeDTO edge : edges) {
+            strings.add(edge.getFrom() + ">" + edge.getTo() + ":" + edge.getCost() + ":" + edge.getIsArrowed());
+        }
+        return strings;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the documents written by {@link GraphJsonWriter} against the output of the original string builders,
+ * and the compact documents against the reader.
+ *
+ * @author vittoriopiotti
+ */
+class GraphJsonWriterTest {
+
+    @Test
+    void indentedOutputMatchesTheOriginalFormat() {
+        Random random = new Random(20);
+        for (int trial = 0; trial < 30; trial++) {
+            int n = random.nextInt(8);
+            GraphDTO graph = GraphDTOTest.randomGraph(random, n, n == 0 ? 0 : random.nextInt(12));
+            assertEquals(graphJson(graph), graph.getGraphJson());
+            assertEquals(nodesJson(graph), graph.getNodesJson());
+            assertEquals(edgesJson(graph), graph.getEdgesJson());
+            assertEquals(connectionsJson(graph), graph.getConnectionsJson());
+        }
+    }
+
+    @Test
+    void writesLabelsLongerThanOneCharacter() throws IOException {
+        GraphDTO graph = new GraphDTO(
+                List.of(new NodeDTO("Milano"), new NodeDTO("Sant'\"Angelo\"\\1")),
+                List.of(new EdgeDTO("Milano", "Sant'\"Angelo\"\\1", 12, true)));
+        assertTrue(graph.getNodesJson().contains("\"Sant'\\\"Angelo\\\"\\\\1\""), graph.getNodesJson());
+        StringWriter writer = new StringWriter();
+        graph.writeGraphJson(writer, true);
+        GraphDTO read = new GraphDTO(new StringReader(writer.toString()));
+        assertEquals(graph.getGraphJson(), read.getGraphJson());
+        assertEquals("Sant'\"Angelo\"\\1", read.getNodes().get(1).getLabel());
+    }
+
+    @Test
+    void compactOutputReadsBackTheSameGraph() throws IOException {
+        Random random = new Random(200);
+        for (int trial = 0; trial < 30; trial++) {
+            GraphDTO graph = GraphDTOTest.randomGraph(random, 1 + random.nextInt(8), random.nextInt(12));
+            StringWriter writer = new StringWriter();
+            graph.writeGraphJson(writer, true);
+            String compact = writer.toString();
+            assertFalse(compact.contains("\n") || compact.contains(" "), compact);
+            assertTrue(compact.length() < graph.getGraphJson().length());
+            GraphDTO read = new GraphDTO(new StringReader(compact));
+            assertEquals(graph.getGraphJson(), read.getGraphJson());
+        }
+    }
+
+    @Test
+    void writesTheSameBytesToEveryTarget() throws IOException {
+        GraphDTO graph = GraphDTOTest.randomGraph(new Random(2000), 6, 10);
+        for (boolean compact : new boolean[]{false, true}) {
+            StringWriter writer = new StringWriter();
+            graph.writeGraphJson(writer, compact);
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            graph.writeGraphJson(stream, compact);
+            ByteArrayOutputStream channel = new ByteArrayOutputStream();
+            graph.writeGraphJson(Channels.newChannel(channel), compact);
+            assertEquals(writer.toString(), stream.toString(StandardCharsets.UTF_8));
+            assertEquals(writer.toString(), channel.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void reportsTheProgressOfEveryElement() throws IOException {
+        GraphDTO graph = GraphDTOTest.randomGraph(new Random(23), 7, 12);
+        List<Double> fractions = new ArrayList<>();
+        GraphJsonWriter writer = new GraphJsonWriter(new StringWriter(), false);
+        writer.setProgressListener(fractions::add);
+        writer.writeGraph(graph.getNodes(), graph.getEdges());
+        assertEquals(graph.getNodes().size() + graph.getEdges().size(), fractions.size());
+        for (int i = 1; i < fractions.size(); i++) {
+            assertTrue(fractions.get(i - 1) < fractions.get(i));
+        }
+        assertEquals(1.0, fractions.get(fractions.size() - 1));
+        fractions.clear();
+        writer.writeNodes(graph.getNodes());
+        assertEquals(graph.getNodes().size(), fractions.size());
+        assertEquals(1.0, fractions.get(fractions.size() - 1));
+        writer.setProgressListener(null);
+        writer.writeEdges(graph.getEdges());
+        assertEquals(graph.getNodes().size(), fractions.size());
+    }
+
+    @Test
+    void stopsWhenTheListenerOrTheTargetFails() {
+        GraphDTO graph = GraphDTOTest.randomGraph(new Random(230), 7, 12);
+        GraphJsonWriter cancelled = new GraphJsonWriter(new StringWriter(), false);
+        cancelled.setProgressListener(fraction -> {
+            if (fraction > 0.5) {
+                throw new CancellationException();
+            }
+        });
+        assertThrows(CancellationException.class, () -> cancelled.writeGraph(graph.getNodes(), graph.getEdges()));
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("disk full");
+            }
+        };
+        assertThrows(IOException.class, () -> {
+            try (GraphJsonWriter writer = new GraphJsonWriter(failing, true)) {
+                writer.writeGraph(graph.getNodes(), graph.getEdges());
+            }
+        });
+    }
+
+    /* the string builders that the writer replaced, kept as the reference of the indented format */
+
+    private static String graphJson(GraphDTO graph) {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"nodes\": [\n");
+        appendNodes(json, graph.getNodes());
+        json.append("  ],\n");
+        json.append("  \"edges\": [\n");
+        appendEdges(json, graph.getEdges());
+        json.append("  ]\n");
+        return json.append("}").toString();
+    }
+
+    private static String nodesJson(GraphDTO graph) {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"nodes\": [\n");
+        appendNodes(json, graph.getNodes());
+        json.append("  ]\n");
+        return json.append("}").toString();
+    }
+
+    private static String edgesJson(GraphDTO graph) {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"edges\": [\n");
+        appendEdges(json, graph.getEdges());
+        json.append("  ]\n");
+        return json.append("}").toString();
+    }
+
+    private static String connectionsJson(GraphDTO graph) {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"connections\": [\n");
+        int index = 0;
+        Map<NodeDTO, List<ConnectionDTO>> connections = graph.getConnections();
+        for (Map.Entry<NodeDTO, List<ConnectionDTO>> entry : connections.entrySet()) {
+            json.append("    {\n");
+            json.append("      \"node\": \"").append(entry.getKey().getLabel()).append("\",\n");
+            json.append("      \"edges\": [\n");
+            List<ConnectionDTO> list = entry.getValue();
+            for (int i = 0; i < list.size(); i++) {
+                json.append("        {\n");
+                json.append("          \"to\": \"").append(list.get(i).getLabel()).append("\",\n");
+                json.append("          \"cost\": ").append(list.get(i).getCost()).append("\n");
+                json.append("        }").append(i < list.size() - 1 ? "," : "").append("\n");
+            }
+            json.append("      ]\n");
+            json.append("    }").append(index++ < connections.size() - 1 ? "," : "").append("\n");
+        }
+        json.append("  ]\n");
+        return json.append("}").toString();
+    }
+
+    private static void appendNodes(StringBuilder json, List<NodeDTO> nodes) {
+        for (int j = 0; j < nodes.size(); j++) {
+            json.append("    \"").append(nodes.get(j).getLabel()).append("\"").append(j < nodes.size() - 1 ? "," : "").append("\n");
+        }
+    }
+
+    private static void appendEdges(StringBuilder json, List<EdgeDTO> edges) {
+        List<String> lines = new ArrayList<>();
+        for (EdgeDTO edge : edges) {
+            lines.add("    {\n"
+                    + "      \"from\": \"" + edge.getFrom() + "\",\n"
+                    + "      \"to\": \"" + edge.getTo() + "\",\n"
+                    + "      \"cost\": \"" + edge.getCost() + "\",\n"
+                    + "      \"isArrowed\": " + edge.getIsArrowed() + "\n"
+                    + "    }");
+        }
+        for (int j = 0; j < lines.size(); j++) {
+            json.append(lines.get(j)).append(j < lines.size() - 1 ? "," : "").append("\n");
+        }
+    }
+}
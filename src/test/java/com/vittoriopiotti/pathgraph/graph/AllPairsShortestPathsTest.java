@@ -0,0 +1,74 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the tables of {@link AllPairsShortestPaths} against one {@link DijkstraEngine} search per source.
+ *
+ * @author vittoriopiotti
+ */
+class AllPairsShortestPathsTest {
+
+    @Test
+    void matchesDijkstraOnRandomGraphs() {
+        Random random = new Random(10);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (int trial = 0; trial < 40; trial++) {
+                int n = 1 + random.nextInt(40);
+                CsrGraph<Integer> graph = RandomGraphs.of(random, n, random.nextInt(3 * n + 1), 20);
+                AllPairsShortestPaths<Integer> tables = AllPairsShortestPaths.of(graph, pool);
+                DijkstraEngine<Integer> dijkstra = new DijkstraEngine<>(graph);
+                assertEquals(n, tables.numVertices());
+                int[] distances = tables.distances();
+                for (int s = 0; s < n; s++) {
+                    dijkstra.run(s, -1);
+                    for (int t = 0; t < n; t++) {
+                        assertEquals(dijkstra.distance(t), tables.distance(s, t), s + " -> " + t);
+                        assertEquals(dijkstra.distance(t), distances[s * n + t]);
+                        int[] path = tables.path(s, t);
+                        if (!dijkstra.isReachable(t)) {
+                            assertNull(path, s + " -> " + t);
+                            assertEquals(-1, tables.nextHop(s, t));
+                            continue;
+                        }
+                        assertEquals(dijkstra.distance(t), RandomGraphs.checkedCost(graph, path, s, t), s + " -> " + t);
+                        assertEquals(s == t ? -1 : path[1], tables.nextHop(s, t));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void answersOnTheElementsOfTheGraph() {
+        CsrGraph.Builder<String> builder = new CsrGraph.Builder<>();
+        int a = builder.addVertex("A");
+        int b = builder.addVertex("B");
+        int c = builder.addVertex("C");
+        builder.addEdge(a, b, 2, true);
+        builder.addEdge(b, c, 2, false);
+        builder.addEdge(a, c, 5, true);
+        AllPairsShortestPaths<String> tables = AllPairsShortestPaths.of(builder.build());
+        assertEquals(List.of("A", "B", "C"), tables.path("A", "C"));
+        assertEquals(List.of("C", "B"), tables.path("C", "B"));
+        assertNull(tables.path("C", "A"));
+        assertNull(tables.path("A", "Z"));
+        assertEquals(AllPairsShortestPaths.UNREACHABLE, tables.distance(c, a));
+        assertThrows(IndexOutOfBoundsException.class, () -> tables.path(3, 0));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks where the two searches of {@link BidirectionalDijkstra} meet and when they stop.
+ *
+ * @author vittoriopiotti
+ */
+class BidirectionalDijkstraTest {
+
+    /**
+     * The first vertex settled by both searches is not on the shortest path: stopping there,
+     * instead of when the frontiers can no longer improve the best meeting, returns the wrong path.
+     */
+    @Test
+    void keepsSearchingAfterTheFirstCommonVertex() {
+        CsrGraph.Builder<String> builder = new CsrGraph.Builder<>();
+        int s = builder.addVertex("S");
+        int m = builder.addVertex("M");
+        int a = builder.addVertex("A");
+        int b = builder.addVertex("B");
+        int t = builder.addVertex("T");
+        builder.addEdge(s, m, 3, true);
+        builder.addEdge(m, t, 3, true);
+        builder.addEdge(s, a, 2, true);
+        builder.addEdge(a, b, 1, true);
+        builder.addEdge(b, t, 2, true);
+        BidirectionalDijkstra<String> engine = new BidirectionalDijkstra<>(builder.build());
+        assertEquals(List.of("S", "A", "B", "T"), engine.shortestPath("S", "T"));
+        assertEquals(5, engine.distance());
+    }
+
+    /**
+     * The backward search must walk the inbound arcs: walking the outbound ones of the target
+     * would meet the forward search on the cheap cycle running against the arrows.
+     */
+    @Test
+    void searchesBackwardAgainstTheArrows() {
+        CsrGraph.Builder<String> builder = new CsrGraph.Builder<>();
+        int s = builder.addVertex("S");
+        int a = builder.addVertex("A");
+        int t = builder.addVertex("T");
+        builder.addEdge(s, t, 10, true);
+        builder.addEdge(t, a, 1, true);
+        builder.addEdge(a, s, 1, true);
+        BidirectionalDijkstra<String> engine = new BidirectionalDijkstra<>(builder.build());
+        assertEquals(List.of("S", "T"), engine.shortestPath("S", "T"));
+        assertEquals(10, engine.distance());
+        assertEquals(List.of("T", "A", "S"), engine.shortestPath("T", "S"));
+        assertEquals(2, engine.distance());
+    }
+
+    /**
+     * A source with a wide fan of cheap leaves and a long chain to the target: a single search settles every leaf,
+     * the bidirectional one grows the smaller frontier, which is the chain.
+     */
+    @Test
+    void growsTheSmallerFrontier() {
+        int leaves = 200;
+        int chain = 10;
+        CsrGraph.Builder<Integer> builder = new CsrGraph.Builder<>();
+        for (int v = 0; v < 1 + leaves + chain; v++) {
+            builder.addVertex(v);
+        }
+        for (int leaf = 1; leaf <= leaves; leaf++) {
+            builder.addEdge(0, leaf, 1, true);
+        }
+        int previous = 0;
+        for (int v = leaves + 1; v <= leaves + chain; v++) {
+            builder.addEdge(previous, v, 2, true);
+            previous = v;
+        }
+        CsrGraph<Integer> graph = builder.build();
+        BidirectionalDijkstra<Integer> engine = new BidirectionalDijkstra<>(graph);
+        int[] path = engine.shortestPath(0, leaves + chain);
+        assertEquals(chain + 1, path.length);
+        assertEquals(2 * chain, engine.distance());
+        assertTrue(engine.settledCount() <= chain + 2, "settled " + engine.settledCount());
+    }
+
+    @Test
+    void meetsOnAShortestPathOnRandomGraphs() {
+        Random random = new Random(12);
+        for (int trial = 0; trial < 60; trial++) {
+            int n = 1 + random.nextInt(30);
+            CsrGraph<Integer> graph = RandomGraphs.of(random, n, random.nextInt(3 * n + 1), 20);
+            BidirectionalDijkstra<Integer> engine = new BidirectionalDijkstra<>(graph);
+            for (int s = 0; s < n; s++) {
+                long[] expected = RandomGraphs.distances(graph, s);
+                for (int t = 0; t < n; t++) {
+                    /* the engine is reused: marks left by the previous query must not leak into this one */
+                    int[] path = engine.shortestPath(s, t);
+                    if (expected[t] == Long.MAX_VALUE) {
+                        assertNull(path, s + " -> " + t);
+                        assertEquals(BidirectionalDijkstra.UNREACHABLE, engine.distance());
+                        continue;
+                    }
+                    assertEquals(expected[t], engine.distance(), s + " -> " + t);
+                    assertEquals(expected[t], RandomGraphs.checkedCost(graph, path, s, t), s + " -> " + t);
+                }
+            }
+        }
+    }
+
+    @Test
+    void answersTrivialQueries() {
+        CsrGraph.Builder<String> builder = new CsrGraph.Builder<>();
+        builder.addVertex("A");
+        builder.addVertex("B");
+        BidirectionalDijkstra<String> engine = new BidirectionalDijkstra<>(builder.build());
+        assertEquals(List.of("A"), engine.shortestPath("A", "A"));
+        assertEquals(0, engine.distance());
+        assertNull(engine.shortestPath("A", "B"));
+        assertNull(engine.shortestPath("A", "Z"));
+        assertThrows(IndexOutOfBoundsException.class, () -> engine.shortestPath(0, 2));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import com.vittoriopiotti.pathgraph.app.Constants;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@link ConcurrentDigraph} keeps its wrapped digraph consistent under concurrent readers and writers.
+ *
+ * @author vittoriopiotti
+ */
+class ConcurrentDigraphTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int VERTICES_PER_WRITER = 300;
+
+    @Test
+    void readersSeeConsistentStateWhileWritersInsert() throws Exception {
+        Digraph<String, String> graph = new ConcurrentDigraph<>();
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        List<Future<?>> readers = new ArrayList<>();
+        try {
+            for (int w = 0; w < WRITERS; w++) {
+                String prefix = "w" + w + "-";
+                writers.add(pool.submit(() -> {
+                    start.await();
+                    Vertex<String> previous = graph.insertVertex(prefix + 0);
+                    for (int i = 1; i < VERTICES_PER_WRITER; i++) {
+                        Vertex<String> vertex = graph.insertVertex(prefix + i);
+                        graph.insertEdge(previous, vertex, prefix + "e" + i, i, Constants.NATURAL_DIRECTION);
+                        previous = vertex;
+                    }
+                    return null;
+                }));
+            }
+            for (int r = 0; r < READERS; r++) {
+                readers.add(pool.submit(() -> {
+                    start.await();
+                    while (writing.get()) {
+                        int edges = graph.edges().size();
+                        int vertices = graph.vertices().size();
+                        assertTrue(edges <= vertices, edges + " edges over " + vertices + " vertices");
+                        for (Vertex<String> v : graph.vertices()) {
+                            for (Edge<String, String> e : graph.outboundEdges(v)) {
+                                assertSame(v, e.vertices()[0]);
+                                assertTrue(graph.areAdjacent(v, e.vertices()[1]));
+                            }
+                        }
+                        assertTrue(graph.numVertices() >= vertices);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            writing.set(false);
+            pool.shutdownNow();
+        }
+        assertEquals(WRITERS * VERTICES_PER_WRITER, graph.numVertices());
+        assertEquals(WRITERS * (VERTICES_PER_WRITER - 1), graph.numEdges());
+    }
+
+    @Test
+    void failedWritesReleaseTheLock() throws Exception {
+        Digraph<String, String> graph = new ConcurrentDigraph<>(new DigraphEdgeList<>());
+        Vertex<String> a = graph.insertVertex("A");
+        assertThrows(InvalidVertexException.class, () -> graph.insertVertex("A"));
+        assertThrows(InvalidVertexException.class, () -> graph.insertEdge("A", "Z", "AZ", 1, Constants.NATURAL_DIRECTION));
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Vertex<String> b = pool.submit(() -> graph.insertVertex("B")).get(5, TimeUnit.SECONDS);
+            graph.insertEdge(a, b, "AB", 1, Constants.NATURAL_DIRECTION);
+            assertEquals(1, graph.numEdges());
+            assertEquals(2, graph.numVertices());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
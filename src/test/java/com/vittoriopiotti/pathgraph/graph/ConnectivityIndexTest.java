@@ -0,0 +1,105 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks {@link ConnectivityIndex} against searches over the list of arcs, after every random insertion and removal.
+ *
+ * @author vittoriopiotti
+ */
+class ConnectivityIndexTest {
+
+    @Test
+    void matchesSearchesAfterRandomChanges() {
+        Random random = new Random(17);
+        for (int trial = 0; trial < 100; trial++) {
+            int n = 1 + random.nextInt(12);
+            ConnectivityIndex index = new ConnectivityIndex();
+            List<int[]> arcs = new ArrayList<>();
+            for (int step = 0; step < 100; step++) {
+                if (!arcs.isEmpty() && random.nextInt(5) < 2) {
+                    int[] arc = arcs.remove(random.nextInt(arcs.size()));
+                    assertTrue(index.removeArc(arc[0], arc[1]));
+                } else {
+                    int[] arc = {random.nextInt(n), random.nextInt(n)};
+                    arcs.add(arc);
+                    index.addArc(arc[0], arc[1]);
+                }
+                for (int u = 0; u < n; u++) {
+                    int size = 0;
+                    for (int v = 0; v < n; v++) {
+                        boolean connected = reaches(arcs, n, u, v, true);
+                        boolean strong = reaches(arcs, n, u, v, false) && reaches(arcs, n, v, u, false);
+                        assertEquals(connected, index.isSameComponent(u, v), "component of " + u + ", " + v);
+                        assertEquals(strong, index.isStronglyConnected(u, v), "strong component of " + u + ", " + v);
+                        if (connected) {
+                            size++;
+                        }
+                    }
+                    assertEquals(size, index.componentSize(u));
+                }
+            }
+        }
+    }
+
+    @Test
+    void removesParallelArcsOneAtATime() {
+        ConnectivityIndex index = new ConnectivityIndex();
+        index.addArc(0, 1);
+        index.addArc(0, 1);
+        assertTrue(index.removeArc(0, 1));
+        assertTrue(index.hasArc(0, 1));
+        assertTrue(index.isSameComponent(0, 1));
+        assertTrue(index.removeArc(0, 1));
+        assertFalse(index.hasArc(0, 1));
+        assertFalse(index.isSameComponent(0, 1));
+        assertFalse(index.removeArc(0, 1));
+    }
+
+    @Test
+    void splitsStrongComponentWhenCycleIsBroken() {
+        ConnectivityIndex index = new ConnectivityIndex();
+        index.addArc(0, 1);
+        index.addArc(1, 2);
+        index.addArc(2, 0);
+        assertTrue(index.isStronglyConnected(0, 2));
+        index.removeArc(2, 0);
+        assertFalse(index.isStronglyConnected(0, 2));
+        assertTrue(index.isSameComponent(0, 2));
+    }
+
+    private static boolean reaches(List<int[]> arcs, int n, int source, int target, boolean undirected) {
+        boolean[] visited = new boolean[n];
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        visited[source] = true;
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            if (u == target) {
+                return true;
+            }
+            for (int[] arc : arcs) {
+                int v = arc[0] == u ? arc[1] : undirected && arc[1] == u ? arc[0] : -1;
+                if (v >= 0 && !visited[v]) {
+                    visited[v] = true;
+                    queue.add(v);
+                }
+            }
+        }
+        return false;
+    }
+}
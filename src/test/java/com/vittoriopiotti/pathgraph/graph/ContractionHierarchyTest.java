@@ -0,0 +1,187 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the shortcuts added by {@link ContractionHierarchy}, the unpacking of its paths and its rebuilds.
+ *
+ * @author vittoriopiotti
+ */
+class ContractionHierarchyTest {
+
+    /**
+     * In a complete digraph of unit costs every path through a contracted vertex costs 2
+     * while the direct arc costs 1, so the witness search must rule out every shortcut.
+     */
+    @Test
+    void witnessesAvoidUselessShortcuts() {
+        int n = 8;
+        CsrGraph.Builder<Integer> builder = new CsrGraph.Builder<>();
+        for (int v = 0; v < n; v++) {
+            builder.addVertex(v);
+        }
+        for (int u = 0; u < n; u++) {
+            for (int w = 0; w < n; w++) {
+                if (u != w) {
+                    builder.addEdge(u, w, 1, true);
+                }
+            }
+        }
+        ContractionHierarchy<Integer> hierarchy = ContractionHierarchy.of(builder.build());
+        assertEquals(0, hierarchy.numShortcuts());
+        assertArrayEquals(new int[]{2, 5}, hierarchy.shortestPath(2, 5));
+    }
+
+    /**
+     * In a ring the only shortest path between the two neighbours of a contracted vertex runs through it,
+     * so contracting requires shortcuts, and paths over them must unpack into arcs of the ring.
+     */
+    @Test
+    void shortcutsUnpackIntoTheOriginalArcs() {
+        int n = 12;
+        CsrGraph.Builder<Integer> builder = new CsrGraph.Builder<>();
+        for (int v = 0; v < n; v++) {
+            builder.addVertex(v);
+        }
+        for (int v = 0; v < n; v++) {
+            builder.addEdge(v, (v + 1) % n, 1, false);
+        }
+        CsrGraph<Integer> graph = builder.build();
+        ContractionHierarchy<Integer> hierarchy = ContractionHierarchy.of(graph);
+        assertTrue(hierarchy.numShortcuts() > 0);
+        Set<Integer> ranks = new HashSet<>();
+        for (int v = 0; v < n; v++) {
+            ranks.add(hierarchy.rank(v));
+        }
+        assertEquals(n, ranks.size());
+        for (int s = 0; s < n; s++) {
+            for (int t = 0; t < n; t++) {
+                int[] path = hierarchy.shortestPath(s, t);
+                int hops = Math.min(Math.floorMod(t - s, n), Math.floorMod(s - t, n));
+                assertEquals(hops + 1, path.length, s + " -> " + t);
+                assertEquals(hops, RandomGraphs.checkedCost(graph, path, s, t), s + " -> " + t);
+            }
+        }
+    }
+
+    @Test
+    void matchesBellmanFordOnRandomGraphs() {
+        Random random = new Random(13);
+        for (int trial = 0; trial < 60; trial++) {
+            int n = 1 + random.nextInt(30);
+            CsrGraph<Integer> graph = RandomGraphs.of(random, n, random.nextInt(3 * n + 1), 20);
+            ContractionHierarchy<Integer>.Query query = ContractionHierarchy.of(graph).newQuery();
+            for (int s = 0; s < n; s++) {
+                long[] expected = RandomGraphs.distances(graph, s);
+                for (int t = 0; t < n; t++) {
+                    int[] path = query.shortestPath(s, t);
+                    if (expected[t] == Long.MAX_VALUE) {
+                        assertNull(path, s + " -> " + t);
+                        assertEquals(ContractionHierarchy.UNREACHABLE, query.distance());
+                        continue;
+                    }
+                    assertEquals(expected[t], query.distance(), s + " -> " + t);
+                    assertEquals(expected[t], RandomGraphs.checkedCost(graph, path, s, t), s + " -> " + t);
+                }
+            }
+        }
+    }
+
+    /**
+     * A hierarchy is bound to the snapshot it was built from: after an edit a new one must be built,
+     * and the old one keeps answering on the old graph.
+     */
+    @Test
+    void rebuildsAfterAnEdit() {
+        int n = 10;
+        CsrGraph.Builder<Integer> before = new CsrGraph.Builder<>();
+        CsrGraph.Builder<Integer> after = new CsrGraph.Builder<>();
+        for (int v = 0; v < n; v++) {
+            before.addVertex(v);
+            after.addVertex(v);
+        }
+        for (int v = 0; v + 1 < n; v++) {
+            before.addEdge(v, v + 1, 1, false);
+            after.addEdge(v, v + 1, 1, false);
+        }
+        /* the edit adds a short cut between the two ends of the line */
+        after.addEdge(0, n - 1, 2, true);
+        CsrGraph<Integer> oldGraph = before.build();
+        CsrGraph<Integer> newGraph = after.build();
+        ContractionHierarchy<Integer> oldHierarchy = ContractionHierarchy.of(oldGraph);
+        ContractionHierarchy<Integer> newHierarchy = ContractionHierarchy.of(newGraph);
+        assertSame(oldGraph, oldHierarchy.graph());
+        assertEquals(n, oldHierarchy.shortestPath(0, n - 1).length);
+        assertArrayEquals(new int[]{0, n - 1}, newHierarchy.shortestPath(0, n - 1));
+        assertEquals(n, newHierarchy.shortestPath(n - 1, 0).length);
+        assertEquals(n, oldHierarchy.shortestPath(0, n - 1).length);
+    }
+
+    @Test
+    void answersConcurrentQueries() throws Exception {
+        Random random = new Random(31);
+        int n = 200;
+        CsrGraph<Integer> graph = RandomGraphs.of(random, n, 3 * n, 50);
+        ContractionHierarchy<Integer> hierarchy = ContractionHierarchy.of(graph);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                long seed = random.nextLong();
+                futures.add(pool.submit(() -> {
+                    Random queries = new Random(seed);
+                    DijkstraEngine<Integer> dijkstra = new DijkstraEngine<>(graph);
+                    for (int q = 0; q < 300; q++) {
+                        int s = queries.nextInt(n);
+                        int t = queries.nextInt(n);
+                        int[] path = hierarchy.shortestPath(s, t);
+                        if (!dijkstra.run(s, t)) {
+                            assertNull(path);
+                        } else {
+                            assertEquals(dijkstra.distance(t), RandomGraphs.checkedCost(graph, path, s, t));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void answersOnTheElementsOfTheGraph() {
+        CsrGraph.Builder<String> builder = new CsrGraph.Builder<>();
+        int a = builder.addVertex("A");
+        int b = builder.addVertex("B");
+        int c = builder.addVertex("C");
+        builder.addEdge(a, b, 2, true);
+        builder.addEdge(b, c, 2, true);
+        builder.addEdge(a, c, 5, true);
+        ContractionHierarchy<String> hierarchy = ContractionHierarchy.of(builder.build());
+        assertEquals(List.of("A", "B", "C"), hierarchy.shortestPath("A", "C"));
+        assertNull(hierarchy.shortestPath("C", "A"));
+        assertNull(hierarchy.shortestPath("A", "Z"));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import com.vittoriopiotti.pathgraph.app.Constants;
+import com.vittoriopiotti.pathgraph.dto.EdgeDTO;
+import com.vittoriopiotti.pathgraph.dto.GraphDTO;
+import com.vittoriopiotti.pathgraph.dto.NodeDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the arcs of {@link CsrGraph} built from graphs, from graph DTOs and from its builder.
+ *
+ * @author vittoriopiotti
+ */
+class CsrGraphTest {
+
+    @Test
+    void followsTheDirectionOfTheEdges() {
+        Digraph<String, String> graph = new DigraphEdgeList<>();
+        graph.insertVertex("A");
+        graph.insertVertex("B");
+        graph.insertVertex("C");
+        graph.insertEdge("A", "B", "natural", 1, Constants.NATURAL_DIRECTION);
+        graph.insertEdge("B", "C", "opposite", 2, Constants.OPPOSITE_DIRECTION);
+        graph.insertEdge("C", "A", "both", 3, Constants.BIDIRECTIONAL);
+        CsrGraph<String> csr = CsrGraph.of(graph);
+        assertEquals(3, csr.numVertices());
+        assertEquals(4, csr.numArcs());
+        assertEquals(List.of("B:1:" + Constants.NATURAL_DIRECTION, "C:3:" + Constants.BIDIRECTIONAL), arcs(csr, "A"));
+        assertEquals(List.of(), arcs(csr, "B"));
+        assertEquals(List.of("A:3:" + Constants.BIDIRECTIONAL, "B:2:" + Constants.NATURAL_DIRECTION), arcs(csr, "C"));
+        assertEquals(-1, csr.idOf("Z"));
+    }
+
+    @Test
+    void groupsTheArcsOfTheBuilderBySource() {
+        Random random = new Random(2);
+        for (int trial = 0; trial < 50; trial++) {
+            int n = 1 + random.nextInt(20);
+            CsrGraph.Builder<Integer> builder = new CsrGraph.Builder<>(1, 1);
+            for (int v = 0; v < n; v++) {
+                assertEquals(v, builder.addVertex(v));
+            }
+            assertEquals(n - 1, builder.addVertex(n - 1));
+            List<List<String>> expected = new ArrayList<>();
+            for (int v = 0; v < n; v++) {
+                expected.add(new ArrayList<>());
+            }
+            int edges = random.nextInt(4 * n);
+            for (int e = 0; e < edges; e++) {
+                int from = random.nextInt(n);
+                int to = random.nextInt(n);
+                int cost = random.nextInt(100);
+                boolean isArrowed = random.nextBoolean();
+                builder.addEdge(from, to, cost, isArrowed);
+                expected.get(from).add(to + ":" + cost);
+                if (!isArrowed && from != to) {
+                    expected.get(to).add(from + ":" + cost);
+                }
+            }
+            CsrGraph<Integer> csr = builder.build();
+            int arcs = 0;
+            for (int v = 0; v < n; v++) {
+                List<String> actual = new ArrayList<>();
+                for (int arc = csr.firstArc(v); arc < csr.endArc(v); arc++) {
+                    actual.add(csr.target(arc) + ":" + csr.cost(arc));
+                }
+                assertEquals(expected.get(v), actual, "arcs of " + v);
+                assertEquals(actual.size(), csr.outDegree(v));
+                arcs += actual.size();
+            }
+            assertEquals(arcs, csr.numArcs());
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> new CsrGraph.Builder<String>().addEdge(0, 0, 1, true));
+    }
+
+    @Test
+    void convertsGraphDtoSkippingDanglingEdges() {
+        List<NodeDTO> nodes = List.of(new NodeDTO('A'), new NodeDTO('B'), new NodeDTO('C'));
+        List<EdgeDTO> edges = List.of(
+                new EdgeDTO('A', 'B', 4, true),
+                new EdgeDTO('B', 'C', 5, false));
+        GraphDTO graph = new GraphDTO(nodes, edges);
+        graph.getEdges().add(new EdgeDTO('C', 'Z', 6, true));
+        CsrGraph<NodeDTO> csr = graph.toCsrGraph();
+        assertEquals(3, csr.numVertices());
+        assertEquals(3, csr.numArcs());
+        for (int id = 0; id < nodes.size(); id++) {
+            assertEquals(nodes.get(id).getLabel(), csr.vertex(id).getLabel());
+        }
+        assertEquals(1, csr.outDegree(0));
+        assertEquals(1, csr.target(csr.firstArc(0)));
+        assertEquals(4, csr.cost(csr.firstArc(0)));
+        assertEquals(1, csr.outDegree(1));
+        assertEquals(1, csr.outDegree(2));
+        assertEquals(1, csr.target(csr.firstArc(2)));
+    }
+
+    private static List<String> arcs(CsrGraph<String> csr, String vertex) {
+        List<String> arcs = new ArrayList<>();
+        int v = csr.idOf(vertex);
+        for (int arc = csr.firstArc(v); arc < csr.endArc(v); arc++) {
+            arcs.add(csr.vertex(csr.target(arc)) + ":" + csr.cost(arc) + ":" + csr.direction(arc));
+        }
+        arcs.sort(null);
+        return arcs;
+    }
+}
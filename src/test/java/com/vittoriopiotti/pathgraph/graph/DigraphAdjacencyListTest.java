@@ -0,0 +1,156 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import com.vittoriopiotti.pathgraph.app.Constants;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks {@link DigraphAdjacencyList} against the edge list of {@link DigraphEdgeList} under random edits.
+ *
+ * @author vittoriopiotti
+ */
+class DigraphAdjacencyListTest {
+
+    @Test
+    void matchesEdgeListUnderRandomEdits() {
+        Random random = new Random(1);
+        Digraph<String, String> expected = new DigraphEdgeList<>();
+        Digraph<String, String> actual = new DigraphAdjacencyList<>();
+        int nextEdge = 0;
+        for (int step = 0; step < 2000; step++) {
+            int operation = random.nextInt(10);
+            String a = String.valueOf((char) ('A' + random.nextInt(12)));
+            String b = String.valueOf((char) ('A' + random.nextInt(12)));
+            if (operation < 3) {
+                if (!contains(expected, a)) {
+                    expected.insertVertex(a);
+                    actual.insertVertex(a);
+                }
+            } else if (operation < 7) {
+                if (contains(expected, a) && contains(expected, b)) {
+                    String edge = "e" + nextEdge++;
+                    int cost = random.nextInt(10);
+                    expected.insertEdge(a, b, edge, cost, Constants.NATURAL_DIRECTION);
+                    actual.insertEdge(a, b, edge, cost, Constants.NATURAL_DIRECTION);
+                }
+            } else if (operation < 9) {
+                List<Edge<String, String>> edges = new ArrayList<>(expected.edges());
+                if (!edges.isEmpty()) {
+                    String edge = edges.get(random.nextInt(edges.size())).element();
+                    expected.removeEdge(edgeOf(expected, edge));
+                    actual.removeEdge(edgeOf(actual, edge));
+                }
+            } else if (contains(expected, a)) {
+                expected.removeVertex(vertexOf(expected, a));
+                actual.removeVertex(vertexOf(actual, a));
+            }
+            assertSameDigraph(expected, actual);
+        }
+    }
+
+    @Test
+    void rejectsDuplicatesAndForeignElements() {
+        Digraph<String, String> graph = new DigraphAdjacencyList<>();
+        Vertex<String> a = graph.insertVertex("A");
+        Vertex<String> b = graph.insertVertex("B");
+        Edge<String, String> edge = graph.insertEdge(a, b, "AB", 1, Constants.NATURAL_DIRECTION);
+        assertThrows(InvalidVertexException.class, () -> graph.insertVertex("A"));
+        assertThrows(InvalidEdgeException.class, () -> graph.insertEdge(b, a, "AB", 1, Constants.NATURAL_DIRECTION));
+        assertThrows(InvalidVertexException.class, () -> graph.insertEdge("A", "Z", "AZ", 1, Constants.NATURAL_DIRECTION));
+
+        Digraph<String, String> other = new DigraphAdjacencyList<>();
+        Vertex<String> foreign = other.insertVertex("A");
+        assertThrows(InvalidVertexException.class, () -> graph.outboundEdges(foreign));
+        assertThrows(InvalidEdgeException.class, () -> other.removeEdge(edge));
+
+        assertSame(b, graph.opposite(a, edge));
+        assertSame(a, graph.opposite(b, edge));
+        assertEquals("A", graph.removeVertex(a));
+        assertEquals(0, graph.numEdges());
+        assertThrows(InvalidEdgeException.class, () -> graph.removeEdge(edge));
+        assertTrue(graph.incidentEdges(b).isEmpty());
+    }
+
+    @Test
+    void replacesElementsInPlace() {
+        Digraph<String, String> graph = new DigraphAdjacencyList<>();
+        Vertex<String> a = graph.insertVertex("A");
+        Vertex<String> b = graph.insertVertex("B");
+        Edge<String, String> edge = graph.insertEdge(a, b, "AB", 3, Constants.NATURAL_DIRECTION);
+        assertEquals("A", graph.replace(a, "C"));
+        assertEquals("C", a.element());
+        assertThrows(InvalidVertexException.class, () -> graph.replace(b, "C"));
+        assertEquals("AB", graph.replace(edge, "CB"));
+        assertEquals(List.of(edge), new ArrayList<>(graph.outboundEdges(a)));
+        assertThrows(InvalidVertexException.class, () -> graph.insertEdge("A", "B", "X", 1, Constants.NATURAL_DIRECTION));
+        graph.insertEdge("B", "C", "BC", 1, Constants.NATURAL_DIRECTION);
+        assertTrue(graph.areAdjacent(b, a));
+    }
+
+    private static boolean contains(Digraph<String, String> graph, String element) {
+        return vertexOf(graph, element) != null;
+    }
+
+    private static Vertex<String> vertexOf(Digraph<String, String> graph, String element) {
+        for (Vertex<String> v : graph.vertices()) {
+            if (v.element().equals(element)) {
+                return v;
+            }
+        }
+        return null;
+    }
+
+    private static Edge<String, String> edgeOf(Digraph<String, String> graph, String element) {
+        for (Edge<String, String> e : graph.edges()) {
+            if (e.element().equals(element)) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    private static void assertSameDigraph(Digraph<String, String> expected, Digraph<String, String> actual) {
+        assertEquals(expected.numVertices(), actual.numVertices());
+        assertEquals(expected.numEdges(), actual.numEdges());
+        assertEquals(elements(expected.edges()), elements(actual.edges()));
+        Map<String, Vertex<String>> vertices = new HashMap<>();
+        for (Vertex<String> v : actual.vertices()) {
+            vertices.put(v.element(), v);
+        }
+        assertEquals(expected.numVertices(), vertices.size());
+        for (Vertex<String> v : expected.vertices()) {
+            Vertex<String> w = vertices.get(v.element());
+            assertNotNull(w, v.element());
+            assertEquals(elements(expected.outboundEdges(v)), elements(actual.outboundEdges(w)), "outbound of " + v.element());
+            assertEquals(elements(expected.incidentEdges(v)), elements(actual.incidentEdges(w)), "inbound of " + v.element());
+            for (Vertex<String> u : expected.vertices()) {
+                assertEquals(expected.areAdjacent(v, u), actual.areAdjacent(w, vertices.get(u.element())),
+                        v.element() + " -> " + u.element());
+            }
+        }
+    }
+
+    private static Set<String> elements(Collection<Edge<String, String>> edges) {
+        Set<String> elements = new HashSet<>();
+        for (Edge<String, String> e : edges) {
+            elements.add(e.element() + ":" + e.vertices()[0].element() + ">" + e.vertices()[1].element() + ":" + e.getCost());
+        }
+        return elements;
+    }
+}
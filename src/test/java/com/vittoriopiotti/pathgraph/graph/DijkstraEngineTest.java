@@ -0,0 +1,194 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the distances and paths of {@link DijkstraEngine} against the Bellman-Ford algorithm on random graphs.
+ *
+ * @author vittoriopiotti
+ */
+class DijkstraEngineTest {
+
+    @Test
+    void matchesBellmanFordOnRandomGraphs() {
+        Random random = new Random(8);
+        for (int trial = 0; trial < 60; trial++) {
+            int n = 1 + random.nextInt(40);
+            CsrGraph<Integer> graph = RandomGraphs.of(random, n, random.nextInt(3 * n + 1), 30);
+            DijkstraEngine<Integer> engine = new DijkstraEngine<>(graph);
+            for (int s = 0; s < n; s++) {
+                long[] expected = RandomGraphs.distances(graph, s);
+                assertTrue(engine.run(s, -1));
+                assertEquals(s, engine.source());
+                for (int t = 0; t < n; t++) {
+                    if (expected[t] == Long.MAX_VALUE) {
+                        assertFalse(engine.isReachable(t), s + " -> " + t);
+                        assertEquals(DijkstraEngine.UNREACHABLE, engine.distance(t));
+                        assertNull(engine.pathTo(t));
+                        continue;
+                    }
+                    assertEquals(expected[t], engine.distance(t), s + " -> " + t);
+                    assertEquals(expected[t], RandomGraphs.checkedCost(graph, engine.pathTo(t), s, t), s + " -> " + t);
+                }
+            }
+        }
+    }
+
+    @Test
+    void stopsAtTheTargetWithItsFinalDistance() {
+        Random random = new Random(9);
+        for (int trial = 0; trial < 60; trial++) {
+            int n = 2 + random.nextInt(40);
+            CsrGraph<Integer> graph = RandomGraphs.of(random, n, random.nextInt(3 * n + 1), 30);
+            DijkstraEngine<Integer> engine = new DijkstraEngine<>(graph);
+            int s = random.nextInt(n);
+            int t = random.nextInt(n);
+            long[] expected = RandomGraphs.distances(graph, s);
+            int[] path = engine.shortestPath(s, t);
+            if (expected[t] == Long.MAX_VALUE) {
+                assertNull(path);
+            } else {
+                assertEquals(expected[t], engine.distance(t));
+                assertEquals(expected[t], RandomGraphs.checkedCost(graph, path, s, t));
+            }
+        }
+    }
+
+    @Test
+    void aStarMatchesDijkstraWithConsistentCosts() {
+        Random random = new Random(11);
+        for (int trial = 0; trial < 60; trial++) {
+            int n = 2 + random.nextInt(40);
+            double scale = random.nextInt(3) == 0 ? 0 : 0.5 + random.nextDouble() * 2;
+            double[] x = new double[n];
+            double[] y = new double[n];
+            CsrGraph.Builder<Integer> builder = new CsrGraph.Builder<>();
+            for (int v = 0; v < n; v++) {
+                builder.addVertex(v);
+                x[v] = random.nextDouble() * 100;
+                y[v] = random.nextDouble() * 100;
+            }
+            for (int e = random.nextInt(4 * n); e > 0; e--) {
+                int from = random.nextInt(n);
+                int to = random.nextInt(n);
+                /* no arc is cheaper than the scaled distance between its ends */
+                int cost = (int) Math.ceil(scale * Math.hypot(x[from] - x[to], y[from] - y[to])) + random.nextInt(20);
+                builder.addEdge(from, to, cost, random.nextBoolean());
+            }
+            CsrGraph<Integer> graph = builder.build();
+            DijkstraEngine<Integer> aStar = new DijkstraEngine<>(graph);
+            DijkstraEngine<Integer> dijkstra = new DijkstraEngine<>(graph);
+            for (int query = 0; query < 10; query++) {
+                int s = random.nextInt(n);
+                int t = random.nextInt(n);
+                int[] path = aStar.shortestPath(s, t, x, y, scale);
+                boolean reachable = dijkstra.run(s, t);
+                if (!reachable) {
+                    assertNull(path, s + " -> " + t);
+                    continue;
+                }
+                assertEquals(dijkstra.distance(t), aStar.distance(t), s + " -> " + t);
+                assertEquals(dijkstra.distance(t), RandomGraphs.checkedCost(graph, path, s, t), s + " -> " + t);
+            }
+        }
+    }
+
+    @Test
+    void aStarExpandsFewerVerticesOnAGrid() {
+        int side = 30;
+        double[] x = new double[side * side];
+        double[] y = new double[side * side];
+        CsrGraph.Builder<Integer> builder = new CsrGraph.Builder<>();
+        for (int v = 0; v < side * side; v++) {
+            builder.addVertex(v);
+            x[v] = v % side;
+            y[v] = v / side;
+        }
+        for (int v = 0; v < side * side; v++) {
+            if (v % side < side - 1) {
+                builder.addEdge(v, v + 1, 10, false);
+            }
+            if (v / side < side - 1) {
+                builder.addEdge(v, v + side, 10, false);
+            }
+        }
+        DijkstraEngine<Integer> engine = new DijkstraEngine<>(builder.build());
+        int source = side * (side / 2);
+        int target = source + side - 1;
+        engine.run(source, target);
+        int dijkstraExpanded = engine.expandedCount();
+        assertEquals(10 * (side - 1), engine.distance(target));
+        int[] path = engine.shortestPath(source, target, x, y, 10);
+        assertEquals(side, path.length);
+        assertEquals(10 * (side - 1), engine.distance(target));
+        assertTrue(engine.expandedCount() * 4 < dijkstraExpanded, engine.expandedCount() + " vs " + dijkstraExpanded);
+        assertThrows(IllegalArgumentException.class, () -> engine.runAStar(0, 1, x, y, -1));
+        assertThrows(IllegalArgumentException.class, () -> engine.runAStar(0, 1, new double[1], y, 1));
+    }
+
+    @Test
+    void answersOnTheElementsOfTheGraph() {
+        CsrGraph.Builder<String> builder = new CsrGraph.Builder<>();
+        int a = builder.addVertex("A");
+        int b = builder.addVertex("B");
+        int c = builder.addVertex("C");
+        builder.addEdge(a, b, 1, true);
+        builder.addEdge(b, c, 1, false);
+        builder.addEdge(a, c, 5, true);
+        DijkstraEngine<String> engine = new DijkstraEngine<>(builder.build());
+        assertEquals(-1, engine.source());
+        assertEquals(List.of("A", "B", "C"), engine.shortestPath("A", "C"));
+        assertEquals(List.of("C", "B"), engine.shortestPath("C", "B"));
+        assertNull(engine.shortestPath("C", "A"));
+        assertNull(engine.shortestPath("A", "Z"));
+        assertEquals(List.of("A"), engine.shortestPath("A", "A"));
+        assertThrows(IndexOutOfBoundsException.class, () -> engine.run(3, -1));
+    }
+
+    @Test
+    void answersBatchesOfQueries() {
+        Random random = new Random(10);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int trial = 0; trial < 30; trial++) {
+                int n = 1 + random.nextInt(40);
+                CsrGraph<Integer> graph = RandomGraphs.of(random, n, random.nextInt(3 * n + 1), 30);
+                int queries = random.nextInt(50);
+                int[] sources = new int[queries];
+                int[] targets = new int[queries];
+                for (int i = 0; i < queries; i++) {
+                    sources[i] = random.nextInt(n + 1) - 1;
+                    targets[i] = random.nextInt(n + 1) - 1;
+                }
+                int[][] paths = DijkstraEngine.shortestPaths(graph, sources, targets, pool);
+                assertEquals(queries, paths.length);
+                for (int i = 0; i < queries; i++) {
+                    int s = sources[i];
+                    int t = targets[i];
+                    if (s < 0 || t < 0 || s == t || RandomGraphs.distances(graph, s)[t] == Long.MAX_VALUE) {
+                        assertNull(paths[i], s + " -> " + t);
+                        continue;
+                    }
+                    assertEquals(RandomGraphs.distances(graph, s)[t], RandomGraphs.checkedCost(graph, paths[i], s, t), s + " -> " + t);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        CsrGraph<Integer> graph = RandomGraphs.of(random, 3, 3, 10);
+        assertThrows(IllegalArgumentException.class, () -> DijkstraEngine.shortestPaths(graph, new int[1], new int[2], ForkJoinPool.commonPool()));
+        assertThrows(IndexOutOfBoundsException.class, () -> DijkstraEngine.shortestPaths(graph, new int[]{0}, new int[]{3}, ForkJoinPool.commonPool()));
+    }
+}
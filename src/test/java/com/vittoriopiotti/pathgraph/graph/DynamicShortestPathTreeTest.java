@@ -0,0 +1,107 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the repaired {@link DynamicShortestPathTree} against Bellman-Ford after every random change of an arc.
+ *
+ * @author vittoriopiotti
+ */
+class DynamicShortestPathTreeTest {
+
+    @Test
+    void matchesBellmanFordAfterRandomChanges() {
+        Random random = new Random(16);
+        for (int trial = 0; trial < 100; trial++) {
+            int n = 2 + random.nextInt(12);
+            DynamicShortestPathTree tree = new DynamicShortestPathTree(0);
+            Map<Long, Integer> arcs = new HashMap<>();
+            for (int step = 0; step < 80; step++) {
+                int from = random.nextInt(n);
+                int to = random.nextInt(n);
+                long key = (long) from << 32 | to;
+                if (random.nextInt(4) == 0) {
+                    assertEquals(arcs.remove(key) != null, tree.removeArc(from, to));
+                } else {
+                    int cost = random.nextInt(10);
+                    arcs.put(key, cost);
+                    tree.setArc(from, to, cost);
+                }
+                int[] expected = bellmanFord(arcs, n);
+                for (int v = 0; v < n; v++) {
+                    assertEquals(expected[v], tree.distance(v), "distance of " + v);
+                    assertPathCosts(tree, arcs, v);
+                }
+            }
+        }
+    }
+
+    @Test
+    void repairsTheTreeWhenAnArcOfItIsRemoved() {
+        DynamicShortestPathTree tree = new DynamicShortestPathTree(0);
+        tree.setArc(0, 1, 1);
+        tree.setArc(1, 2, 1);
+        tree.setArc(0, 2, 5);
+        assertArrayEquals(new int[]{0, 1, 2}, tree.pathTo(2));
+        tree.removeArc(1, 2);
+        assertArrayEquals(new int[]{0, 2}, tree.pathTo(2));
+        assertEquals(5, tree.distance(2));
+        tree.removeArc(0, 2);
+        assertFalse(tree.isReachable(2));
+        assertNull(tree.pathTo(2));
+    }
+
+    @Test
+    void rejectsNegativeCosts() {
+        DynamicShortestPathTree tree = new DynamicShortestPathTree(0);
+        assertThrows(IllegalArgumentException.class, () -> tree.setArc(0, 1, -1));
+        assertThrows(IllegalArgumentException.class, () -> new DynamicShortestPathTree(-1));
+    }
+
+    private static void assertPathCosts(DynamicShortestPathTree tree, Map<Long, Integer> arcs, int target) {
+        int[] path = tree.pathTo(target);
+        if (path == null) {
+            assertFalse(tree.isReachable(target));
+            return;
+        }
+        assertEquals(tree.source(), path[0]);
+        assertEquals(target, path[path.length - 1]);
+        int cost = 0;
+        for (int i = 1; i < path.length; i++) {
+            Integer arc = arcs.get((long) path[i - 1] << 32 | path[i]);
+            assertNotNull(arc, "arc " + path[i - 1] + " -> " + path[i]);
+            cost += arc;
+        }
+        assertEquals(tree.distance(target), cost);
+    }
+
+    private static int[] bellmanFord(Map<Long, Integer> arcs, int n) {
+        int[] distances = new int[n];
+        Arrays.fill(distances, DynamicShortestPathTree.UNREACHABLE);
+        distances[0] = 0;
+        for (int round = 1; round < n; round++) {
+            for (Map.Entry<Long, Integer> arc : arcs.entrySet()) {
+                int from = (int) (arc.getKey() >>> 32);
+                int to = arc.getKey().intValue();
+                if (distances[from] != DynamicShortestPathTree.UNREACHABLE
+                        && distances[from] + arc.getValue() < distances[to]) {
+                    distances[to] = distances[from] + arc.getValue();
+                }
+            }
+        }
+        return distances;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks {@link IndexedMinHeap} against an ordered set of (key, element) pairs.
+ *
+ * @author vittoriopiotti
+ */
+class IndexedMinHeapTest {
+
+    @Test
+    void pollsInKeyOrderWithDecreaseKey() {
+        Random random = new Random(8);
+        int capacity = 50;
+        IndexedMinHeap heap = new IndexedMinHeap(capacity);
+        TreeSet<Long> expected = new TreeSet<>();
+        int[] keys = new int[capacity];
+        for (int step = 0; step < 20000; step++) {
+            int element = random.nextInt(capacity);
+            if (random.nextInt(3) > 0) {
+                int key = random.nextInt(1000);
+                boolean lowered = !heap.contains(element) || key < keys[element];
+                assertEquals(lowered, heap.push(element, key));
+                if (lowered) {
+                    expected.remove((long) keys[element] * capacity + element);
+                    expected.add((long) key * capacity + element);
+                    keys[element] = key;
+                }
+            } else if (!expected.isEmpty()) {
+                long min = expected.first() / capacity;
+                assertEquals(min, heap.peekKey());
+                int polled = heap.poll();
+                assertEquals(min, keys[polled]);
+                assertTrue(expected.remove((long) keys[polled] * capacity + polled));
+                assertFalse(heap.contains(polled));
+            }
+            assertEquals(expected.size(), heap.size());
+        }
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        for (int element = 0; element < capacity; element++) {
+            assertFalse(heap.contains(element));
+        }
+        assertThrows(NoSuchElementException.class, heap::poll);
+        assertThrows(NoSuchElementException.class, heap::peekKey);
+    }
+}
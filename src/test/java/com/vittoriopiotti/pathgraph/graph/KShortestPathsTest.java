@@ -0,0 +1,86 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the paths of {@link KShortestPaths} against the enumeration of all the loopless paths of small random graphs.
+ *
+ * @author vittoriopiotti
+ */
+class KShortestPathsTest {
+
+    @Test
+    void matchesEnumerationOnRandomGraphs() {
+        Random random = new Random(14);
+        for (int trial = 0; trial < 80; trial++) {
+            int n = 2 + random.nextInt(6);
+            CsrGraph<Integer> graph = RandomGraphs.of(random, n, random.nextInt(3 * n + 1), 9);
+            int s = random.nextInt(n);
+            int t = (s + 1 + random.nextInt(n - 1)) % n;
+            int k = 1 + random.nextInt(8);
+            List<Long> expected = allPathCosts(graph, s, t);
+            List<int[]> paths = KShortestPaths.find(graph, s, t, k);
+            assertEquals(Math.min(k, expected.size()), paths.size());
+            Set<List<Integer>> distinct = new HashSet<>();
+            for (int i = 0; i < paths.size(); i++) {
+                int[] path = paths.get(i);
+                assertEquals(expected.get(i), RandomGraphs.checkedCost(graph, path, s, t), "path " + i);
+                List<Integer> vertices = new ArrayList<>();
+                Arrays.stream(path).forEach(vertices::add);
+                assertEquals(path.length, new HashSet<>(vertices).size(), "path " + i + " repeats a vertex");
+                assertTrue(distinct.add(vertices), "path " + i + " found twice");
+            }
+        }
+    }
+
+    @Test
+    void rejectsNegativeK() {
+        CsrGraph<Integer> graph = RandomGraphs.of(new Random(0), 2, 1, 1);
+        assertThrows(IllegalArgumentException.class, () -> KShortestPaths.find(graph, 0, 1, -1));
+        assertTrue(KShortestPaths.find(graph, 0, 1, 0).isEmpty());
+    }
+
+    private static List<Long> allPathCosts(CsrGraph<?> graph, int source, int target) {
+        List<Long> costs = new ArrayList<>();
+        enumerate(graph, new ArrayList<>(List.of(source)), new boolean[graph.numVertices()], target, costs);
+        Collections.sort(costs);
+        return costs;
+    }
+
+    private static void enumerate(CsrGraph<?> graph, List<Integer> path, boolean[] visited, int target, List<Long> costs) {
+        int last = path.get(path.size() - 1);
+        if (last == target) {
+            costs.add(KShortestPaths.cost(graph, path.stream().mapToInt(Integer::intValue).toArray()));
+            return;
+        }
+        visited[last] = true;
+        Set<Integer> next = new HashSet<>();
+        for (int arc = graph.firstArc(last); arc < graph.endArc(last); arc++) {
+            next.add(graph.target(arc));
+        }
+        for (int v : next) {
+            if (!visited[v]) {
+                path.add(v);
+                enumerate(graph, path, visited, target, costs);
+                path.remove(path.size() - 1);
+            }
+        }
+        visited[last] = false;
+    }
+}
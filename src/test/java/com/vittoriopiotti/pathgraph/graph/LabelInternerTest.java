@@ -0,0 +1,90 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the ids assigned by {@link LabelInterner} against a plain map of the interned labels.
+ *
+ * @author vittoriopiotti
+ */
+class LabelInternerTest {
+
+    @Test
+    void keepsIdsDenseAndStableUnderRandomEdits() {
+        Random random = new Random(5);
+        LabelInterner interner = new LabelInterner();
+        Map<String, Integer> expected = new HashMap<>();
+        for (int step = 0; step < 5000; step++) {
+            String label = "n" + random.nextInt(64);
+            if (random.nextInt(3) > 0) {
+                Integer previous = expected.get(label);
+                int id = interner.intern(label);
+                if (previous != null) {
+                    assertEquals(previous.intValue(), id, label);
+                } else {
+                    assertFalse(expected.containsValue(id), "id " + id + " assigned twice");
+                    expected.put(label, id);
+                }
+            } else {
+                assertEquals(expected.remove(label) != null, interner.release(label), label);
+            }
+            assertEquals(expected.size(), interner.size());
+            assertTrue(interner.idBound() <= 64);
+            for (Map.Entry<String, Integer> entry : expected.entrySet()) {
+                assertEquals(entry.getValue().intValue(), interner.idOf(entry.getKey()));
+                assertEquals(entry.getKey(), interner.labelOf(entry.getValue()));
+            }
+        }
+    }
+
+    @Test
+    void recyclesReleasedIds() {
+        LabelInterner interner = new LabelInterner();
+        assertEquals(0, interner.intern("A"));
+        assertEquals(1, interner.intern("B"));
+        assertEquals(2, interner.intern("C"));
+        assertTrue(interner.release("B"));
+        assertFalse(interner.release("B"));
+        assertNull(interner.labelOf(1));
+        assertEquals(-1, interner.idOf("B"));
+        assertEquals(1, interner.intern("D"));
+        assertEquals(3, interner.idBound());
+        assertNull(interner.labelOf(-1));
+        assertNull(interner.labelOf(3));
+        assertEquals(-1, interner.idOf(null));
+        assertThrows(NullPointerException.class, () -> interner.intern(null));
+        interner.clear();
+        assertEquals(0, interner.size());
+        assertEquals(0, interner.idBound());
+        assertNull(interner.labelOf(0));
+        assertEquals(0, interner.intern("C"));
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        LabelInterner interner = new LabelInterner();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, interner.intern("label" + i));
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertTrue(interner.release("label" + i));
+        }
+        for (int i = 0; i < 500; i++) {
+            assertTrue(interner.intern("other" + i) < 1000);
+        }
+        assertEquals(1000, interner.idBound());
+        assertEquals(1000, interner.size());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the hits, misses and evictions of {@link PathCache}.
+ *
+ * @author vittoriopiotti
+ */
+class PathCacheTest {
+
+    @Test
+    void computesEachPairOncePerVersion() {
+        PathCache<List<Integer>> cache = new PathCache<>();
+        AtomicInteger computed = new AtomicInteger();
+        assertEquals(List.of(1, 2), cache.get(1, 2, 0, () -> List.of(1, 2 + computed.getAndIncrement())));
+        assertEquals(List.of(1, 2), cache.get(1, 2, 0, () -> List.of(1, 2 + computed.getAndIncrement())));
+        assertEquals(1, computed.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        /* the pair is directed */
+        assertEquals(List.of(2, 1), cache.get(2, 1, 0, () -> List.of(2, 1)));
+        assertEquals(2, cache.size());
+
+        /* a new version drops every entry */
+        assertEquals(List.of(1, 3), cache.get(1, 2, 1, () -> List.of(1, 2 + computed.getAndIncrement())));
+        assertEquals(1, cache.size());
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    void cachesMissingPaths() {
+        PathCache<List<Integer>> cache = new PathCache<>();
+        AtomicInteger computed = new AtomicInteger();
+        assertNull(cache.get(0, 1, 7, () -> {
+            computed.incrementAndGet();
+            return null;
+        }));
+        assertNull(cache.get(0, 1, 7, () -> {
+            computed.incrementAndGet();
+            return List.of();
+        }));
+        assertEquals(1, computed.get());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedPath() {
+        PathCache<String> cache = new PathCache<>(2);
+        cache.get(0, 1, 0, () -> "01");
+        cache.get(0, 2, 0, () -> "02");
+        cache.get(0, 1, 0, () -> "stale");
+        cache.get(0, 3, 0, () -> "03");
+        assertEquals(2, cache.size());
+        assertEquals("01", cache.get(0, 1, 0, () -> "stale"));
+        assertEquals("recomputed", cache.get(0, 2, 0, () -> "recomputed"));
+
+        cache.setCapacity(1);
+        assertEquals(1, cache.getCapacity());
+        assertEquals(1, cache.size());
+        assertEquals("recomputed", cache.get(0, 2, 0, () -> "stale"));
+        assertThrows(IllegalArgumentException.class, () -> cache.setCapacity(0));
+        assertThrows(IllegalArgumentException.class, () -> new PathCache<String>(-1));
+    }
+
+    @Test
+    void clearKeepsTheCounters() {
+        PathCache<String> cache = new PathCache<>();
+        cache.get(0, 1, 0, () -> "01");
+        cache.get(0, 1, 0, () -> "01");
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        cache.resetCounters();
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+}
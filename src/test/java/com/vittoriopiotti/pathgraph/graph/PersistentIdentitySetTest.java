@@ -0,0 +1,131 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks {@link PersistentIdentitySet} against an identity based {@link java.util.HashSet}.
+ *
+ * @author vittoriopiotti
+ */
+class PersistentIdentitySetTest {
+
+    @Test
+    void matchesAnIdentitySetUnderRandomEdits() {
+        Random random = new Random(4);
+        List<Object> pool = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            pool.add(new Object());
+        }
+        PersistentIdentitySet<Object> set = PersistentIdentitySet.empty();
+        Set<Object> oracle = identitySet();
+        for (int step = 0; step < 20000; step++) {
+            Object element = pool.get(random.nextInt(pool.size()));
+            if (random.nextInt(3) == 0) {
+                PersistentIdentitySet<Object> next = set.minus(element);
+                assertEquals(oracle.remove(element), next != set);
+                set = next;
+            } else {
+                PersistentIdentitySet<Object> next = set.plus(element);
+                assertEquals(oracle.add(element), next != set);
+                set = next;
+            }
+            assertEquals(oracle.size(), set.size());
+            if (step % 1000 == 0) {
+                assertSameElements(oracle, set);
+            }
+        }
+        assertSameElements(oracle, set);
+        for (Object element : pool) {
+            assertEquals(oracle.contains(element), set.contains(element));
+        }
+    }
+
+    @Test
+    void leavesEarlierVersionsUnchanged() {
+        Random random = new Random(9);
+        List<PersistentIdentitySet<Object>> versions = new ArrayList<>();
+        List<Set<Object>> expected = new ArrayList<>();
+        List<Object> pool = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            pool.add(new Object());
+        }
+        PersistentIdentitySet<Object> set = PersistentIdentitySet.empty();
+        Set<Object> oracle = identitySet();
+        for (int step = 0; step < 2000; step++) {
+            Object element = pool.get(random.nextInt(pool.size()));
+            if (random.nextBoolean()) {
+                set = set.plus(element);
+                oracle.add(element);
+            } else {
+                set = set.minus(element);
+                oracle.remove(element);
+            }
+            versions.add(set);
+            Set<Object> copy = identitySet();
+            copy.addAll(oracle);
+            expected.add(copy);
+        }
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(expected.get(i).size(), versions.get(i).size(), "version " + i);
+            assertSameElements(expected.get(i), versions.get(i));
+        }
+    }
+
+    @Test
+    void comparesReferencesNotEquality() {
+        String a = new String("edge");
+        String b = new String("edge");
+        PersistentIdentitySet<String> set = PersistentIdentitySet.<String>empty().plus(a);
+        assertTrue(set.contains(a));
+        assertFalse(set.contains(b));
+        assertSame(set, set.minus(b));
+        set = set.plus(b);
+        assertEquals(2, set.size());
+        set = set.minus(a);
+        assertEquals(1, set.size());
+        assertTrue(set.contains(b));
+        assertFalse(set.contains(a));
+        assertSame(b, set.iterator().next());
+    }
+
+    @Test
+    void handlesTheEmptySet() {
+        PersistentIdentitySet<Object> empty = PersistentIdentitySet.empty();
+        Object element = new Object();
+        assertEquals(0, empty.size());
+        assertFalse(empty.contains(element));
+        assertFalse(empty.contains(null));
+        assertFalse(empty.iterator().hasNext());
+        assertSame(empty, empty.minus(element));
+        assertEquals(0, empty.plus(element).minus(element).size());
+        assertThrows(NullPointerException.class, () -> empty.plus(null));
+    }
+
+    private static Set<Object> identitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    private static void assertSameElements(Set<Object> expected, PersistentIdentitySet<?> actual) {
+        Set<Object> seen = identitySet();
+        for (Object element : actual) {
+            assertTrue(seen.add(element), "element iterated twice");
+            assertTrue(expected.contains(element), "unexpected element");
+        }
+        assertEquals(expected.size(), seen.size());
+    }
+}
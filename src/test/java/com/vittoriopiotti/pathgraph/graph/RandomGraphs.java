@@ -0,0 +1,98 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Random graphs for the tests of the shortest path algorithms.
+ *
+ * @author vittoriopiotti
+ */
+final class RandomGraphs {
+
+    private RandomGraphs() {
+    }
+
+    /**
+     * Builds a graph with random edges, arrowed or not, including parallel edges and loops.
+     *
+     * @param random   the source of randomness
+     * @param vertices the number of vertices
+     * @param edges    the number of edges
+     * @param maxCost  the highest cost of an edge, costs start from 0
+     * @return the graph, whose vertex elements are their ids
+     */
+    static CsrGraph<Integer> of(Random random, int vertices, int edges, int maxCost) {
+        CsrGraph.Builder<Integer> builder = new CsrGraph.Builder<>();
+        for (int v = 0; v < vertices; v++) {
+            builder.addVertex(v);
+        }
+        for (int e = 0; e < edges; e++) {
+            builder.addEdge(random.nextInt(vertices), random.nextInt(vertices), random.nextInt(maxCost + 1), random.nextBoolean());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Computes the distances from a source with the Bellman-Ford algorithm, as a reference for the faster searches.
+     *
+     * @param graph  the graph
+     * @param source the source vertex
+     * @return the distance of every vertex, {@link Long#MAX_VALUE} for the vertices that cannot be reached
+     */
+    static long[] distances(CsrGraph<?> graph, int source) {
+        long[] distances = new long[graph.numVertices()];
+        Arrays.fill(distances, Long.MAX_VALUE);
+        distances[source] = 0;
+        for (boolean changed = true; changed; ) {
+            changed = false;
+            for (int u = 0; u < graph.numVertices(); u++) {
+                if (distances[u] == Long.MAX_VALUE) {
+                    continue;
+                }
+                for (int arc = graph.firstArc(u); arc < graph.endArc(u); arc++) {
+                    if (distances[u] + graph.cost(arc) < distances[graph.target(arc)]) {
+                        distances[graph.target(arc)] = distances[u] + graph.cost(arc);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Asserts that a path starts and ends at the given vertices and returns its cost.
+     *
+     * @param graph  the graph
+     * @param path   the vertex ids of the path
+     * @param source the expected first vertex
+     * @param target the expected last vertex
+     * @return the cost of the path, walking the cheapest arc between consecutive vertices
+     */
+    static long checkedCost(CsrGraph<?> graph, int[] path, int source, int target) {
+        if (path.length == 0 || path[0] != source || path[path.length - 1] != target) {
+            throw new AssertionError("path does not join " + source + " and " + target);
+        }
+        long cost = 0;
+        for (int i = 1; i < path.length; i++) {
+            long cheapest = Long.MAX_VALUE;
+            for (int arc = graph.firstArc(path[i - 1]); arc < graph.endArc(path[i - 1]); arc++) {
+                if (graph.target(arc) == path[i]) {
+                    cheapest = Math.min(cheapest, graph.cost(arc));
+                }
+            }
+            if (cheapest == Long.MAX_VALUE) {
+                throw new AssertionError("path walks a missing arc " + path[i - 1] + " -> " + path[i]);
+            }
+            cost += cheapest;
+        }
+        return cost;
+    }
+}
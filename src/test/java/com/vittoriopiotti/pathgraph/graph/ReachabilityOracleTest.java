@@ -0,0 +1,88 @@
+/*
+ * PathGraph v1.0.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/releases/tag/1.0.0)
+ * PathGraph | Copyright 2024  Vittorio Piotti
+ * Licensed under GPL v3.0 (https://github.com/vittorioPiotti/PathGraph-JavaFX/blob/main/LICENSE.txt)
+ */
+
+package com.vittoriopiotti.pathgraph.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the transitive closure of {@link ReachabilityOracle} against a breadth-first search on random graphs.
+ *
+ * @author vittoriopiotti
+ */
+class ReachabilityOracleTest {
+
+    @Test
+    void matchesBreadthFirstSearchOnRandomGraphs() {
+        Random random = new Random(18);
+        for (int trial = 0; trial < 80; trial++) {
+            /* more than 64 vertices on some trials, so the rows span several words */
+            int n = 1 + random.nextInt(trial < 60 ? 20 : 150);
+            CsrGraph<Integer> graph = RandomGraphs.of(random, n, random.nextInt(2 * n + 1), 1);
+            ReachabilityOracle<Integer> oracle = ReachabilityOracle.of(graph);
+            for (int s = 0; s < n; s++) {
+                long[] distances = RandomGraphs.distances(graph, s);
+                List<Integer> expected = new ArrayList<>();
+                for (int t = 0; t < n; t++) {
+                    boolean reachable = distances[t] != Long.MAX_VALUE;
+                    assertEquals(reachable, oracle.isReachable(s, t), s + " -> " + t);
+                    if (reachable) {
+                        expected.add(t);
+                    }
+                }
+                assertEquals(expected, oracle.reachable((Integer) s), "reachable from " + s);
+                assertEquals(expected.size(), oracle.reachable(s).length);
+            }
+        }
+    }
+
+    @Test
+    void numbersComponentsInReverseTopologicalOrder() {
+        Random random = new Random(81);
+        for (int trial = 0; trial < 50; trial++) {
+            int n = 1 + random.nextInt(40);
+            CsrGraph<Integer> graph = RandomGraphs.of(random, n, random.nextInt(2 * n + 1), 1);
+            ReachabilityOracle<Integer> oracle = ReachabilityOracle.of(graph);
+            for (int u = 0; u < n; u++) {
+                assertTrue(oracle.component(u) < oracle.numComponents());
+                for (int arc = graph.firstArc(u); arc < graph.endArc(u); arc++) {
+                    assertTrue(oracle.component(graph.target(arc)) <= oracle.component(u), u + " -> " + graph.target(arc));
+                }
+                for (int v = 0; v < n; v++) {
+                    boolean strong = oracle.isReachable(u, v) && oracle.isReachable(v, u);
+                    assertEquals(strong, oracle.component(u) == oracle.component(v), u + " ~ " + v);
+                }
+            }
+        }
+    }
+
+    @Test
+    void answersOnTheElementsOfTheGraph() {
+        CsrGraph.Builder<String> builder = new CsrGraph.Builder<>();
+        int a = builder.addVertex("A");
+        int b = builder.addVertex("B");
+        int c = builder.addVertex("C");
+        builder.addVertex("D");
+        builder.addEdge(a, b, 1, true);
+        builder.addEdge(b, c, 1, false);
+        ReachabilityOracle<String> oracle = ReachabilityOracle.of(builder.build());
+        assertEquals(3, oracle.numComponents());
+        assertTrue(oracle.isReachable("A", "C"));
+        assertFalse(oracle.isReachable("C", "A"));
+        assertFalse(oracle.isReachable("A", "Z"));
+        assertEquals(List.of("A", "B", "C"), oracle.reachable("A"));
+        assertEquals(List.of("B", "C"), oracle.reachable("C"));
+        assertEquals(List.of("D"), oracle.reachable("D"));
+        assertTrue(oracle.reachable("Z").isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> oracle.isReachable(0, 4));
+    }
+}